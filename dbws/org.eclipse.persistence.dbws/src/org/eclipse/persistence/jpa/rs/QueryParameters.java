@@ -25,5 +25,8 @@ public class QueryParameters extends QueryHints {
     // Paging related query parameters
     public static final String JPARS_PAGING_OFFSET = "offset";
     public static final String JPARS_PAGING_LIMIT = "limit";
+    // Comma separated values of the order by items of the last row of the previous page (keyset paging),
+    // a comma or backslash in a value is escaped by a backslash
+    public static final String JPARS_PAGING_AFTER = "after";
     
 }
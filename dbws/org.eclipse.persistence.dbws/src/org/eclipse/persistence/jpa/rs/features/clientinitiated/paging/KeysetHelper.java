@@ -0,0 +1,256 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Oracle. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 and Eclipse Distribution License v. 1.0
+ * which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * Contributors:
+ *      Oracle - 2.6 - initial implementation
+ ******************************************************************************/
+package org.eclipse.persistence.jpa.rs.features.clientinitiated.paging;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.eclipse.persistence.descriptors.ClassDescriptor;
+import org.eclipse.persistence.expressions.Expression;
+import org.eclipse.persistence.internal.expressions.FunctionExpression;
+import org.eclipse.persistence.internal.expressions.QueryKeyExpression;
+import org.eclipse.persistence.internal.helper.ClassConstants;
+import org.eclipse.persistence.internal.queries.ReportItem;
+import org.eclipse.persistence.internal.sessions.AbstractSession;
+import org.eclipse.persistence.mappings.DatabaseMapping;
+import org.eclipse.persistence.mappings.foundation.AbstractDirectMapping;
+import org.eclipse.persistence.queries.ObjectLevelReadQuery;
+import org.eclipse.persistence.queries.ReadQuery;
+
+/**
+ * Converts the order by values of a row to and from the value of the "after" (keyset paging) query parameter.
+ * <p>
+ * The values are separated by commas, a comma or a backslash in a value is escaped by a backslash.
+ * Each value is the string form of the database value of its order by item, and is converted back
+ * to the attribute value through the mapping of the order by item (including its converter).
+ */
+class KeysetHelper {
+    private static final char SEPARATOR = ',';
+    private static final char ESCAPE = '\\';
+
+    /**
+     * Join the values into the "after" query parameter value.
+     */
+    static String join(List<String> values) {
+        StringBuilder after = new StringBuilder();
+        for (int index = 0; index < values.size(); index++) {
+            if (index > 0) {
+                after.append(SEPARATOR);
+            }
+            String value = values.get(index);
+            for (int position = 0; position < value.length(); position++) {
+                char character = value.charAt(position);
+                if ((character == SEPARATOR) || (character == ESCAPE)) {
+                    after.append(ESCAPE);
+                }
+                after.append(character);
+            }
+        }
+        return after.toString();
+    }
+
+    /**
+     * Split the "after" query parameter value into its values, or return null if it is not escaped correctly.
+     */
+    static List<String> split(String after) {
+        List<String> values = new ArrayList<String>();
+        StringBuilder value = new StringBuilder();
+        for (int position = 0; position < after.length(); position++) {
+            char character = after.charAt(position);
+            if (character == ESCAPE) {
+                position++;
+                if (position == after.length()) {
+                    return null;
+                }
+                value.append(after.charAt(position));
+            } else if (character == SEPARATOR) {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(character);
+            }
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+    /**
+     * Return the direct mappings of the order by items of the query.
+     * The mapping of an order by item that is not a direct attribute of the query's reference class is null.
+     * Return null if the query has no order by items.
+     */
+    static List<AbstractDirectMapping> getOrderByMappings(ReadQuery query, AbstractSession session) {
+        List<Expression> orderBy = getOrderBy(query);
+        if ((orderBy == null) || (query.getReferenceClass() == null)) {
+            return null;
+        }
+        ClassDescriptor descriptor = session.getDescriptor(query.getReferenceClass());
+        List<AbstractDirectMapping> mappings = new ArrayList<AbstractDirectMapping>(orderBy.size());
+        for (Expression expression : orderBy) {
+            mappings.add(getMapping(descriptor, getAttributePath(expression)));
+        }
+        return mappings;
+    }
+
+    /**
+     * Return the order by items of the query, or null if it has none.
+     */
+    private static List<Expression> getOrderBy(ReadQuery query) {
+        if (!(query instanceof ObjectLevelReadQuery)) {
+            return null;
+        }
+        List<Expression> orderBy = ((ObjectLevelReadQuery) query).getOrderByExpressions();
+        if ((orderBy == null) || orderBy.isEmpty()) {
+            return null;
+        }
+        return orderBy;
+    }
+
+    /**
+     * Return the attribute names of the path of an order by item from its expression builder,
+     * or null if the order by item is not an attribute path.
+     */
+    static List<String> getAttributePath(Expression expression) {
+        while (expression.isFunctionExpression() && expression.getOperator().isOrderOperator()) {
+            expression = ((FunctionExpression) expression).getBaseExpression();
+        }
+        LinkedList<String> path = new LinkedList<String>();
+        while (expression.isQueryKeyExpression()) {
+            path.addFirst(expression.getName());
+            expression = ((QueryKeyExpression) expression).getBaseExpression();
+        }
+        if (path.isEmpty() || !expression.isExpressionBuilder()) {
+            return null;
+        }
+        return path;
+    }
+
+    /**
+     * Return the direct mapping the attribute path ends in, or null.
+     */
+    private static AbstractDirectMapping getMapping(ClassDescriptor descriptor, List<String> path) {
+        if (path == null) {
+            return null;
+        }
+        DatabaseMapping mapping = null;
+        for (String attributeName : path) {
+            if (descriptor == null) {
+                return null;
+            }
+            mapping = descriptor.getObjectBuilder().getMappingForAttributeName(attributeName);
+            if (mapping == null) {
+                return null;
+            }
+            descriptor = mapping.getReferenceDescriptor();
+        }
+        return mapping.isAbstractDirectMapping() ? (AbstractDirectMapping) mapping : null;
+    }
+
+    /**
+     * Convert a value of the "after" query parameter to the attribute value of its order by item's mapping.
+     */
+    static Object toAttributeValue(String value, AbstractDirectMapping mapping, AbstractSession session) {
+        Class fieldType = mapping.getField().getType();
+        if (fieldType == null) {
+            fieldType = mapping.getAttributeClassification();
+        }
+        Object fieldValue = session.getDatasourcePlatform().getConversionManager().convertObject(value, fieldType);
+        return mapping.getObjectValue(fieldValue, session);
+    }
+
+    /**
+     * Build the "after" query parameter value of the page following the entity,
+     * or return null if an order by value of the entity cannot be represented.
+     */
+    static String buildAfter(Object entity, ReadQuery query, AbstractSession session) {
+        List<Expression> orderBy = getOrderBy(query);
+        if (orderBy == null) {
+            return null;
+        }
+        List<String> values = new ArrayList<String>(orderBy.size());
+        for (Expression expression : orderBy) {
+            List<String> path = getAttributePath(expression);
+            if (path == null) {
+                return null;
+            }
+            Object object = entity;
+            ClassDescriptor descriptor = session.getDescriptor(entity);
+            DatabaseMapping mapping = null;
+            for (String attributeName : path) {
+                if ((object == null) || (descriptor == null)) {
+                    return null;
+                }
+                mapping = descriptor.getObjectBuilder().getMappingForAttributeName(attributeName);
+                if (mapping == null) {
+                    return null;
+                }
+                object = mapping.getRealAttributeValueFromObject(object, session);
+                descriptor = mapping.getReferenceDescriptor();
+            }
+            if (!mapping.isAbstractDirectMapping()) {
+                return null;
+            }
+            String value = toString(object, (AbstractDirectMapping) mapping, session);
+            if (value == null) {
+                return null;
+            }
+            values.add(value);
+        }
+        return join(values);
+    }
+
+    /**
+     * Build the "after" query parameter value of the page following the report query result row,
+     * or return null if an order by item is not one of the selected items.
+     */
+    static String buildAfter(Object[] row, List<ReportItem> items, ReadQuery query, AbstractSession session) {
+        List<AbstractDirectMapping> mappings = getOrderByMappings(query, session);
+        if (mappings == null) {
+            return null;
+        }
+        List<Expression> orderBy = ((ObjectLevelReadQuery) query).getOrderByExpressions();
+        List<String> values = new ArrayList<String>(mappings.size());
+        for (int index = 0; index < orderBy.size(); index++) {
+            List<String> path = getAttributePath(orderBy.get(index));
+            AbstractDirectMapping mapping = mappings.get(index);
+            if ((path == null) || (mapping == null)) {
+                return null;
+            }
+            String value = null;
+            for (int column = 0; (column < items.size()) && (column < row.length); column++) {
+                Expression itemExpression = items.get(column).getAttributeExpression();
+                if ((itemExpression != null) && path.equals(getAttributePath(itemExpression))) {
+                    value = toString(row[column], mapping, session);
+                    break;
+                }
+            }
+            if (value == null) {
+                return null;
+            }
+            values.add(value);
+        }
+        return join(values);
+    }
+
+    /**
+     * Return the string form of the database value of the attribute value, or null for a null value.
+     */
+    private static String toString(Object attributeValue, AbstractDirectMapping mapping, AbstractSession session) {
+        Object fieldValue = mapping.getFieldValue(attributeValue, session);
+        if (fieldValue == null) {
+            return null;
+        }
+        return (String) session.getDatasourcePlatform().getConversionManager().convertObject(fieldValue, ClassConstants.STRING);
+    }
+}
@@ -13,17 +13,22 @@
 
 package org.eclipse.persistence.jpa.rs.features.clientinitiated.paging;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
 import javax.persistence.Query;
 import javax.ws.rs.core.UriInfo;
 
+import org.eclipse.persistence.config.QueryHints;
+import org.eclipse.persistence.exceptions.ConversionException;
 import org.eclipse.persistence.expressions.Expression;
+import org.eclipse.persistence.internal.sessions.AbstractSession;
 import org.eclipse.persistence.jpa.rs.QueryParameters;
 import org.eclipse.persistence.jpa.rs.SystemDefaults;
 import org.eclipse.persistence.jpa.rs.features.FeatureRequestValidatorImpl;
 import org.eclipse.persistence.jpa.rs.util.JPARSLogger;
+import org.eclipse.persistence.mappings.foundation.AbstractDirectMapping;
 import org.eclipse.persistence.queries.ObjectLevelReadQuery;
 import org.eclipse.persistence.queries.ReadAllQuery;
 import org.eclipse.persistence.queries.ReadQuery;
@@ -33,6 +38,7 @@ public class PagingRequestValidator extends FeatureRequestValidatorImpl {
     private String limit = null;
     public static String DB_QUERY = "dbQuery";
     public static String QUERY = "query";
+    public static String SESSION = "session";
 
     /* (non-Javadoc)
      * @see org.eclipse.persistence.jpa.rs.features.FeatureRequestValidatorImpl#isRequestValid(javax.ws.rs.core.UriInfo, java.util.Map)
@@ -41,10 +47,12 @@ public class PagingRequestValidator extends FeatureRequestValidatorImpl {
     public boolean isRequestValid(UriInfo uri, Map<String, Object> additionalParams) {
         Query query = null;
         ReadQuery dbQuery = null;
+        AbstractSession session = null;
 
         if ((additionalParams != null) && (!additionalParams.isEmpty())) {
             dbQuery = (ReadQuery) additionalParams.get(DB_QUERY);
             query = (Query) additionalParams.get(QUERY);
+            session = (AbstractSession) additionalParams.get(SESSION);
 
             if ((dbQuery != null) && (query != null) && ((dbQuery instanceof ObjectLevelReadQuery) || (dbQuery instanceof ReadAllQuery))) {
                 List<Expression> orderBy = null;
@@ -64,8 +72,9 @@ public class PagingRequestValidator extends FeatureRequestValidatorImpl {
 
         String paramLimit = (String) queryParameters.get(QueryParameters.JPARS_PAGING_LIMIT);
         String paramOffset = (String) queryParameters.get(QueryParameters.JPARS_PAGING_OFFSET);
+        String paramAfter = (String) queryParameters.get(QueryParameters.JPARS_PAGING_AFTER);
 
-        if ((paramLimit == null) && (paramOffset == null)) {
+        if ((paramLimit == null) && (paramOffset == null) && (paramAfter == null)) {
             return false;
         }
 
@@ -85,7 +94,27 @@ public class PagingRequestValidator extends FeatureRequestValidatorImpl {
             if ((offset != null) && (limit != null)) {
                 int intOffset = Integer.parseInt(offset);
                 int intLimit = Integer.parseInt(limit);
-                if ((intOffset >= 0) && (intLimit > 0)) {
+                if ((paramAfter != null) && (intOffset == 0) && (intLimit > 0)) {
+                    // keyset paging, the page starts after the given order by values
+                    List<Object> keysetValues = buildKeysetValues(paramAfter, dbQuery, session);
+                    if (keysetValues == null) {
+                        return false;
+                    }
+                    if (query != null) {
+                        query.setHint(QueryHints.KEYSET_VALUES, keysetValues);
+                        query.setMaxResults(intLimit);
+                        return true;
+                    }
+
+                    if (dbQuery instanceof ReadAllQuery) {
+                        ((ReadAllQuery) dbQuery).setKeysetValues(keysetValues);
+                        dbQuery.setMaxRows(intLimit);
+                        return true;
+                    }
+                    return false;
+                }
+
+                if ((paramAfter == null) && (intOffset >= 0) && (intLimit > 0)) {
                     if (query != null) {
                         setOfsetAndLimit(query, intOffset, intLimit);
                         return true;
@@ -112,13 +141,46 @@ public class PagingRequestValidator extends FeatureRequestValidatorImpl {
         Map<String, Object> queryParameters = getQueryParameters(uri);
         String paramLimit = (String) queryParameters.get(QueryParameters.JPARS_PAGING_LIMIT);
         String paramOffset = (String) queryParameters.get(QueryParameters.JPARS_PAGING_OFFSET);
+        String paramAfter = (String) queryParameters.get(QueryParameters.JPARS_PAGING_AFTER);
 
-        if ((paramLimit != null) || (paramOffset != null)) {
+        if ((paramLimit != null) || (paramOffset != null) || (paramAfter != null)) {
             return true;
         }
         return false;
     }
 
+    /**
+     * Build the order by values to continue after from the "after" query parameter.
+     * Each value is converted through the mapping of its order by item when it can be resolved.
+     * Return null if the parameter is not escaped correctly or a value cannot be converted.
+     */
+    private List<Object> buildKeysetValues(String after, ReadQuery dbQuery, AbstractSession session) {
+        List<String> strings = KeysetHelper.split(after);
+        if (strings == null) {
+            return null;
+        }
+        List<Object> values = new ArrayList<Object>(strings);
+        if (session == null) {
+            return values;
+        }
+        List<AbstractDirectMapping> mappings = KeysetHelper.getOrderByMappings(dbQuery, session);
+        if ((mappings == null) || (mappings.size() != values.size())) {
+            // a value count that does not match the order by items is reported by the query
+            return values;
+        }
+        try {
+            for (int index = 0; index < mappings.size(); index++) {
+                AbstractDirectMapping mapping = mappings.get(index);
+                if (mapping != null) {
+                    values.set(index, KeysetHelper.toAttributeValue(strings.get(index), mapping, session));
+                }
+            }
+        } catch (ConversionException exception) {
+            return null;
+        }
+        return values;
+    }
+
     private void setOfsetAndLimit(Query query, int offset, int limit) {
         query.setFirstResult(offset);
         query.setMaxResults(limit);
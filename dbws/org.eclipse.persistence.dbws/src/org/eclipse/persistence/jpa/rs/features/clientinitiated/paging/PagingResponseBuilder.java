@@ -12,6 +12,8 @@
  ******************************************************************************/
 package org.eclipse.persistence.jpa.rs.features.clientinitiated.paging;
 
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
@@ -26,16 +28,19 @@ import org.eclipse.persistence.descriptors.ClassDescriptor;
 import org.eclipse.persistence.internal.jpa.rs.metadata.model.ItemLinks;
 import org.eclipse.persistence.internal.jpa.rs.metadata.model.LinkV2;
 import org.eclipse.persistence.internal.queries.ReportItem;
+import org.eclipse.persistence.internal.sessions.AbstractSession;
 import org.eclipse.persistence.internal.weaving.PersistenceWeavedRest;
 import org.eclipse.persistence.jpa.rs.PersistenceContext;
 import org.eclipse.persistence.jpa.rs.QueryParameters;
 import org.eclipse.persistence.jpa.rs.ReservedWords;
+import org.eclipse.persistence.jpa.rs.SystemDefaults;
 import org.eclipse.persistence.jpa.rs.features.FeatureResponseBuilderImpl;
 import org.eclipse.persistence.jpa.rs.util.IdHelper;
 import org.eclipse.persistence.jpa.rs.util.list.PageableCollection;
 import org.eclipse.persistence.jpa.rs.util.list.ReadAllQueryResultCollection;
 import org.eclipse.persistence.jpa.rs.util.list.ReportQueryResultCollection;
 import org.eclipse.persistence.jpa.rs.util.list.ReportQueryResultListItem;
+import org.eclipse.persistence.queries.ReadQuery;
 
 public class PagingResponseBuilder extends FeatureResponseBuilderImpl {
     private static String NO_PREVIOUS_CHUNK = "-1";
@@ -51,7 +56,7 @@ public class PagingResponseBuilder extends FeatureResponseBuilderImpl {
         }
 
         response.setCount(items.size());
-        return populatePagedCollectionLinks(queryParams, uriInfo, response);
+        return populatePagedCollectionLinks(queryParams, uriInfo, response, buildNextAfter(context, queryParams, items));
     }
 
     /* (non-Javadoc)
@@ -59,7 +64,7 @@ public class PagingResponseBuilder extends FeatureResponseBuilderImpl {
      */
     @Override
     public Object buildReportQueryResponse(PersistenceContext context, Map<String, Object> queryParams, List<Object[]> results, List<ReportItem> items, UriInfo uriInfo) {
-        return populatePagedReportQueryCollectionLinks(queryParams, results, items, uriInfo);
+        return populatePagedReportQueryCollectionLinks(context, queryParams, results, items, uriInfo);
     }
 
     /* (non-Javadoc)
@@ -76,7 +81,7 @@ public class PagingResponseBuilder extends FeatureResponseBuilderImpl {
                         ReadAllQueryResultCollection response = new ReadAllQueryResultCollection();
                         response.setItems(items);
                         response.setCount(collection.getItems().size());
-                        return populatePagedCollectionLinks(queryParams, uriInfo, response);
+                        return populatePagedCollectionLinks(queryParams, uriInfo, response, buildNextAfter(context, queryParams, items));
                     }
                 }
             }
@@ -111,11 +116,26 @@ public class PagingResponseBuilder extends FeatureResponseBuilderImpl {
         return result;
     }
 
-    private PageableCollection populatePagedCollectionLinks(Map<String, Object> queryParams, UriInfo uriInfo, PageableCollection resultCollection) {
+    /**
+     * Build the "after" query parameter value of the next page from the order by values of the last item
+     * of a page requested with the "after" query parameter, or return null.
+     */
+    private String buildNextAfter(PersistenceContext context, Map<String, Object> queryParams, List<Object> items) {
+        if ((queryParams.get(QueryParameters.JPARS_PAGING_AFTER) == null) || items.isEmpty()) {
+            return null;
+        }
+        ReadQuery dbQuery = (ReadQuery) queryParams.get(PagingRequestValidator.DB_QUERY);
+        return KeysetHelper.buildAfter(items.get(items.size() - 1), dbQuery, (AbstractSession) context.getServerSession());
+    }
+
+    private PageableCollection populatePagedCollectionLinks(Map<String, Object> queryParams, UriInfo uriInfo, PageableCollection resultCollection, String nextAfter) {
         // populate links for entire response
         List<LinkV2> links = new ArrayList<LinkV2>();
-        int limit = Integer.parseInt((String) queryParams.get(QueryParameters.JPARS_PAGING_LIMIT));
-        int offset = Integer.parseInt((String) queryParams.get(QueryParameters.JPARS_PAGING_OFFSET));
+        int limit = getIntParameter(queryParams, QueryParameters.JPARS_PAGING_LIMIT, SystemDefaults.JPARS_DEFAULT_PAGE_LIMIT);
+        int offset = getIntParameter(queryParams, QueryParameters.JPARS_PAGING_OFFSET, SystemDefaults.JPARS_DEFAULT_PAGE_OFFSET);
+        if (queryParams.get(QueryParameters.JPARS_PAGING_AFTER) != null) {
+            return populateKeysetPagedCollectionLinks(limit, nextAfter, uriInfo, resultCollection);
+        }
         String nextOffset = null;
         String prevOffset = null;
         if (limit > offset) {
@@ -162,9 +182,50 @@ public class PagingResponseBuilder extends FeatureResponseBuilderImpl {
         return resultCollection;
     }
 
+    /**
+     * Populate the links of a page requested with the order by values of the last row of the previous page.
+     * The next link continues after the order by values of the last row of this page, no previous link is generated.
+     */
+    private PageableCollection populateKeysetPagedCollectionLinks(int limit, String nextAfter, UriInfo uriInfo, PageableCollection resultCollection) {
+        List<LinkV2> links = new ArrayList<LinkV2>();
+        if (resultCollection.getCount() != null) {
+            boolean hasMore = resultCollection.getCount() >= limit;
+            if (hasMore && (nextAfter != null)) {
+                // next link, only the after parameter changes
+                UriBuilder uriBuilder = UriBuilder.fromUri(uriInfo.getRequestUri());
+                uriBuilder.replaceQueryParam(QueryParameters.JPARS_PAGING_AFTER, encodeQueryParameter(nextAfter));
+                links.add(new LinkV2(ReservedWords.JPARS_REL_NEXT, uriBuilder.build().toString()));
+            }
+            resultCollection.setHasMore(hasMore);
+        }
+        links.add(new LinkV2(ReservedWords.JPARS_REL_SELF, uriInfo.getRequestUri().toString()));
+
+        resultCollection.setLinks(links);
+        resultCollection.setOffset(0);
+        resultCollection.setLimit(limit);
+
+        return resultCollection;
+    }
+
+    private String encodeQueryParameter(String value) {
+        try {
+            // the value is already encoded, so the URI builder does not interpret it as a template
+            return URLEncoder.encode(value, "UTF-8").replace("+", "%20");
+        } catch (UnsupportedEncodingException exception) {
+            // UTF-8 is always supported
+            return value;
+        }
+    }
+
+    private int getIntParameter(Map<String, Object> queryParams, String name, int defaultValue) {
+        String value = (String) queryParams.get(name);
+        return (value == null) ? defaultValue : Integer.parseInt(value);
+    }
+
     /**
      * Populate paged report query collection links.
      *
+     * @param context the context
      * @param queryParams the query params
      * @param results the results
      * @param reportItems the report items
@@ -172,7 +233,7 @@ public class PagingResponseBuilder extends FeatureResponseBuilderImpl {
      * @return the pageable collection
      */
     @SuppressWarnings({ "rawtypes" })
-    private PageableCollection populatePagedReportQueryCollectionLinks(Map<String, Object> queryParams, List<Object[]> results, List<ReportItem> reportItems, UriInfo uriInfo) {
+    private PageableCollection populatePagedReportQueryCollectionLinks(PersistenceContext context, Map<String, Object> queryParams, List<Object[]> results, List<ReportItem> reportItems, UriInfo uriInfo) {
         ReportQueryResultCollection response = new ReportQueryResultCollection();
         for (Object result : results) {
             ReportQueryResultListItem queryResultListItem = new ReportQueryResultListItem();
@@ -187,6 +248,11 @@ public class PagingResponseBuilder extends FeatureResponseBuilderImpl {
         }
 
         response.setCount(results.size());
-        return populatePagedCollectionLinks(queryParams, uriInfo, response);
+        String nextAfter = null;
+        if ((queryParams.get(QueryParameters.JPARS_PAGING_AFTER) != null) && !results.isEmpty()) {
+            ReadQuery dbQuery = (ReadQuery) queryParams.get(PagingRequestValidator.DB_QUERY);
+            nextAfter = KeysetHelper.buildAfter(results.get(results.size() - 1), reportItems, dbQuery, (AbstractSession) context.getServerSession());
+        }
+        return populatePagedCollectionLinks(queryParams, uriInfo, response, nextAfter);
     }
 }
@@ -89,7 +89,7 @@ public abstract class AbstractEntityResource extends AbstractResource {
                     JPARSLogger.error("jpars_could_not_find_entity_for_attribute", new Object[] { attribute, type, id, persistenceUnit });
                     throw JPARSException.attributeCouldNotBeFoundForEntity(attribute, type, id, persistenceUnit);
                 }
-                return findAttributeResponse(context, attribute, type, id, persistenceUnit, result, headers, uriInfo, context.getSupportedFeatureSet().getResponseBuilder(Feature.NO_PAGING));
+                return findAttributeResponse(context, attribute, type, id, persistenceUnit, null, result, headers, uriInfo, context.getSupportedFeatureSet().getResponseBuilder(Feature.NO_PAGING));
             }
 
             ReadQuery query = (ReadQuery) ((((ForeignReferenceMapping) attributeMapping).getSelectionQuery()).clone());
@@ -103,6 +103,7 @@ public abstract class AbstractEntityResource extends AbstractResource {
                 FeatureRequestValidator requestValidator = featureSet.getRequestValidator(Feature.PAGING);
                 Map<String, Object> map = new HashMap<String, Object>();
                 map.put(PagingRequestValidator.DB_QUERY, query);
+                map.put(PagingRequestValidator.SESSION, serverSession);
                 if (requestValidator.isRequested(uriInfo, null)) {
                     if (!requestValidator.isRequestValid(uriInfo, map)) {
                         throw JPARSException.invalidPagingRequest();
@@ -110,11 +111,11 @@ public abstract class AbstractEntityResource extends AbstractResource {
                     // check orderBy, and generate a warning if there is none 
                     checkOrderBy(query);
                     result = clientSession.executeQuery(query, descriptor.getObjectBuilder().buildRow(entity, clientSession, WriteType.INSERT));
-                    return findAttributeResponse(context, attribute, type, id, persistenceUnit, result, headers, uriInfo, context.getSupportedFeatureSet().getResponseBuilder(Feature.PAGING));
+                    return findAttributeResponse(context, attribute, type, id, persistenceUnit, query, result, headers, uriInfo, context.getSupportedFeatureSet().getResponseBuilder(Feature.PAGING));
                 }
             }
             result = clientSession.executeQuery(query, descriptor.getObjectBuilder().buildRow(entity, clientSession, WriteType.INSERT));
-            return findAttributeResponse(context, attribute, type, id, persistenceUnit, result, headers, uriInfo, context.getSupportedFeatureSet().getResponseBuilder(Feature.NO_PAGING));
+            return findAttributeResponse(context, attribute, type, id, persistenceUnit, null, result, headers, uriInfo, context.getSupportedFeatureSet().getResponseBuilder(Feature.NO_PAGING));
         } catch (Exception ex) {
             throw JPARSException.exceptionOccurred(ex);
         } finally {
@@ -307,8 +308,12 @@ public abstract class AbstractEntityResource extends AbstractResource {
         }
     }
 
-    private Response findAttributeResponse(PersistenceContext context, String attribute, String entityType, String id, String persistenceUnit, Object queryResults, HttpHeaders headers, UriInfo uriInfo, FeatureResponseBuilder responseBuilder) {
+    private Response findAttributeResponse(PersistenceContext context, String attribute, String entityType, String id, String persistenceUnit, ReadQuery query, Object queryResults, HttpHeaders headers, UriInfo uriInfo, FeatureResponseBuilder responseBuilder) {
         Map<String, Object> queryParams = getQueryParameters(uriInfo);
+        if (query != null) {
+            // the paging response builds the next keyset page from the order by items of the query
+            queryParams.put(PagingRequestValidator.DB_QUERY, query);
+        }
         if (queryResults != null) {
             Object results = responseBuilder.buildAttributeResponse(context, queryParams, attribute, queryResults, uriInfo);
             if (results != null) {
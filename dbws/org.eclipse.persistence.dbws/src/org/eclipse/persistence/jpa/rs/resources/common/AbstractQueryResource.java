@@ -91,6 +91,7 @@ public abstract class AbstractQueryResource extends AbstractResource {
                     Map<String, Object> map = new HashMap<String, Object>();
                     map.put(PagingRequestValidator.DB_QUERY, dbQuery);
                     map.put(PagingRequestValidator.QUERY, query);
+                    map.put(PagingRequestValidator.SESSION, context.getServerSession());
                     if (!requestValidator.isRequestValid(uriInfo, map)) {
                         // some query parameters for paging are invalid 
                         throw JPARSException.invalidPagingRequest();
@@ -107,6 +108,8 @@ public abstract class AbstractQueryResource extends AbstractResource {
     @SuppressWarnings("unchecked")
     private Response namedQueryResponse(PersistenceContext context, String queryName, DatabaseQuery dbQuery, Query query, HttpHeaders headers, UriInfo uriInfo, FeatureResponseBuilder responseBuilder) {
         Map<String, Object> queryParams = getQueryParameters(uriInfo);
+        // the paging response builds the next keyset page from the order by items of the query
+        queryParams.put(PagingRequestValidator.DB_QUERY, dbQuery);
 
         if (dbQuery instanceof ReportQuery) {
             // simple types selected : select u.name, u.age from employee
@@ -67,6 +67,7 @@ public class PerformanceComparisonModel extends TestModel {
         //suite.addTest(new EmulatedReadAllvsReadAllFromResultSet());
         suite.addTest(new ReadObjectPreparedvsDynamicTest());
         suite.addTest(new EmulatedReadObjectPreparedvsDynamicTest());
+        suite.addTest(new ReportQueryvsColumnsTest());
 
         return suite;
     }
@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ * This program and the accompanying materials are made available under the 
+ * terms of the Eclipse Public License v1.0 and Eclipse Distribution License v. 1.0 
+ * which accompanies this distribution. 
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at 
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * Contributors:
+ *     Oracle - 2.6 - initial implementation
+ ******************************************************************************/  
+package org.eclipse.persistence.testing.tests.performance.reading;
+
+import java.util.*;
+import org.eclipse.persistence.expressions.*;
+import org.eclipse.persistence.queries.*;
+import org.eclipse.persistence.testing.models.performance.toplink.*;
+import org.eclipse.persistence.testing.framework.*;
+
+/**
+ * This test compares the performance of a report query returning ReportQueryResult rows vs columns.
+ */
+public class ReportQueryvsColumnsTest extends PerformanceComparisonTestCase {
+    public ReportQueryvsColumnsTest() {
+        setDescription("This test compares the performance of a report query returning ReportQueryResult rows vs columns.");
+        addReportQueryColumnsTest();
+    }
+
+    /**
+     * Build the report query on all employees.
+     */
+    public static ReportQuery buildReportQuery() {
+        ReportQuery query = new ReportQuery(Employee.class, new ExpressionBuilder());
+        query.addAttribute("id");
+        query.addAttribute("firstName");
+        query.addAttribute("lastName");
+        query.addAttribute("salary");
+        return query;
+    }
+
+    /**
+     * Report the employees as ReportQueryResult rows.
+     */
+    public void test() throws Exception {
+        ReportQuery query = buildReportQuery();
+        List results = (List)getSession().executeQuery(query);
+        long total = 0;
+        for (int index = 0; index < results.size(); index++) {
+            Number salary = (Number)((ReportQueryResult)results.get(index)).get("salary");
+            if (salary != null) {
+                total = total + salary.longValue();
+            }
+        }
+    }
+
+    /**
+     * Report the employees as columns.
+     */
+    public void addReportQueryColumnsTest() {
+        PerformanceComparisonTestCase test = new PerformanceComparisonTestCase() {
+            public void test() {
+                ReportQuery query = buildReportQuery();
+                query.returnColumns();
+                List results = (List)getSession().executeQuery(query);
+                ReportQueryColumns columns = (ReportQueryColumns)results.get(0);
+                long total = 0;
+                Object salaries = columns.getColumn("salary");
+                if (salaries instanceof long[]) {
+                    long[] values = (long[])salaries;
+                    for (int index = 0; index < columns.size(); index++) {
+                        total = total + values[index];
+                    }
+                } else {
+                    for (int index = 0; index < columns.size(); index++) {
+                        Number salary = (Number)columns.get(3, index);
+                        if (salary != null) {
+                            total = total + salary.longValue();
+                        }
+                    }
+                }
+            }
+        };
+        test.setName("ReportQueryColumnsTest");
+        test.setAllowableDecrease(0);
+        addTest(test);
+    }
+}
@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ * This program and the accompanying materials are made available under the 
+ * terms of the Eclipse Public License v1.0 and Eclipse Distribution License v. 1.0 
+ * which accompanies this distribution. 
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at 
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * Contributors:
+ *     Oracle - 2.6 - initial implementation
+ ******************************************************************************/  
+package org.eclipse.persistence.testing.tests.queries;
+
+import java.util.List;
+import org.eclipse.persistence.internal.databaseaccess.AdaptiveFetchSize;
+import org.eclipse.persistence.internal.databaseaccess.DatabaseCall;
+import org.eclipse.persistence.internal.databaseaccess.DatabasePlatform;
+import org.eclipse.persistence.internal.queries.DatasourceCallQueryMechanism;
+import org.eclipse.persistence.queries.ReadAllQuery;
+import org.eclipse.persistence.testing.framework.*;
+import org.eclipse.persistence.testing.models.employee.domain.Employee;
+
+/**
+ * Tests that the adaptive fetch size of a call records the rows it returns,
+ * and that the fetch size is bounded by the platform's settings.
+ */
+public class AdaptiveFetchSizeTest extends AutoVerifyTestCase {
+    private DatabasePlatform m_platform;
+    private boolean m_usesAdaptiveFetchSize;
+    private ReadAllQuery m_query;
+    private List m_results;
+    private List m_secondResults;
+    private AdaptiveFetchSize m_fetchSize;
+
+    public AdaptiveFetchSizeTest() {
+        setDescription("Test that the fetch size of a call is adapted to the rows it returns.");
+    }
+
+    protected void setup() {
+        m_platform = (DatabasePlatform)getSession().getDatasourcePlatform();
+        m_usesAdaptiveFetchSize = m_platform.usesAdaptiveFetchSize();
+        m_platform.setUsesAdaptiveFetchSize(true);
+    }
+
+    public void test() {
+        m_query = new ReadAllQuery(Employee.class);
+        m_query.addAscendingOrdering("id");
+        m_results = (List)getSession().executeQuery(m_query);
+        m_secondResults = (List)getSession().executeQuery(m_query);
+        m_fetchSize = ((DatabaseCall)((DatasourceCallQueryMechanism)m_query.getQueryMechanism()).getCall()).getAdaptiveFetchSize();
+    }
+
+    protected void verify() {
+        if (m_fetchSize == null) {
+            throw new TestErrorException("The adaptive fetch size was not kept on the query's call.");
+        }
+        if (!m_results.equals(m_secondResults)) {
+            throw new TestErrorException("The execution with the adapted fetch size returned different objects: " + m_secondResults);
+        }
+        if (m_fetchSize.getAverageRows() != m_results.size()) {
+            throw new TestErrorException("The average rows is " + m_fetchSize.getAverageRows() + " but the query returned " + m_results.size() + " rows.");
+        }
+        int fetchSize = m_fetchSize.getFetchSize(m_platform, 0);
+        int expected = Math.max(Math.min(m_results.size() + 1, m_platform.getAdaptiveFetchSizeMaximum()), m_platform.getAdaptiveFetchSizeMinimum());
+        if ((fetchSize > expected) || (fetchSize < 1)) {
+            throw new TestErrorException("The fetch size " + fetchSize + " is not within the bounds, expected at most " + expected);
+        }
+        if (m_fetchSize.getFetchSize(m_platform, 2) > 2) {
+            throw new TestErrorException("The fetch size is greater than the max rows.");
+        }
+    }
+
+    public void reset() {
+        m_platform.setUsesAdaptiveFetchSize(m_usesAdaptiveFetchSize);
+    }
+}
@@ -0,0 +1,152 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ * This program and the accompanying materials are made available under the 
+ * terms of the Eclipse Public License v1.0 and Eclipse Distribution License v. 1.0 
+ * which accompanies this distribution. 
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at 
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * Contributors:
+ *     Oracle - 2.6 - initial implementation
+ ******************************************************************************/  
+package org.eclipse.persistence.testing.tests.queries;
+
+import org.eclipse.persistence.expressions.*;
+import org.eclipse.persistence.testing.framework.*;
+import org.eclipse.persistence.sessions.Session;
+import org.eclipse.persistence.sessions.SessionEvent;
+import org.eclipse.persistence.sessions.SessionEventAdapter;
+import org.eclipse.persistence.sessions.UnitOfWork;
+import org.eclipse.persistence.sessions.server.Server;
+import org.eclipse.persistence.queries.DeleteAllQuery;
+import org.eclipse.persistence.queries.ModifyAllChunkListener;
+import org.eclipse.persistence.queries.ModifyAllQuery;
+import org.eclipse.persistence.testing.models.employee.domain.Employee;
+import org.eclipse.persistence.testing.models.employee.domain.PhoneNumber;
+
+/**
+ * Tests a delete all query executed in chunks of primary keys,
+ * on phone numbers that have a composite primary key of the owner id and the type.
+ * In a transaction the chunks share the transaction, otherwise each chunk is committed
+ * in its own transaction, through a client session for a ServerSession.
+ */
+public class DeleteAllQueryChunkTest extends AutoVerifyTestCase {
+    private static final int CHUNK_SIZE = 3;
+    private static final int PHONE_COUNT = 7;
+    private static final String AREA_CODE = "999";
+    private boolean m_shouldUseTransaction;
+    private boolean m_shouldUseServerSession;
+    private Session m_session;
+    private PhoneNumber m_phone;
+    private Integer m_result;
+    private int m_chunkCount;
+    private int m_listenerTotal;
+    private int m_commitCount;
+
+    public DeleteAllQueryChunkTest(boolean shouldUseTransaction, boolean shouldUseServerSession) {
+        m_shouldUseTransaction = shouldUseTransaction;
+        m_shouldUseServerSession = shouldUseServerSession;
+        setName("DeleteAllQueryChunkTest" + (shouldUseTransaction ? "" : "NoTransaction") + (shouldUseServerSession ? "ServerSession" : ""));
+        setDescription("Test a delete all query on a composite primary key executed in chunks of " + CHUNK_SIZE + " rows"
+                + (shouldUseTransaction ? " in a transaction." : ", each chunk committed in its own transaction."));
+    }
+
+    protected void setup() {
+        if (m_shouldUseTransaction) {
+            beginTransaction();
+        }
+        // The phone numbers deleted by the test, removed in reset if the test fails.
+        UnitOfWork uow = getSession().acquireUnitOfWork();
+        Employee employee = (Employee)uow.readObject(Employee.class);
+        for (int index = 0; index < PHONE_COUNT; index++) {
+            employee.addPhoneNumber(new PhoneNumber("Chunk" + index, AREA_CODE, "555000" + index));
+        }
+        uow.commit();
+        if (m_shouldUseServerSession) {
+            Server serverSession = getSession().getProject().createServerSession();
+            serverSession.setSessionLog(getSession().getSessionLog());
+            serverSession.login();
+            m_session = serverSession;
+        } else {
+            m_session = getSession();
+        }
+        m_session.getIdentityMapAccessor().initializeIdentityMaps();
+        m_chunkCount = 0;
+        m_listenerTotal = 0;
+        m_commitCount = 0;
+    }
+
+    public void reset() {
+        if (m_shouldUseServerSession) {
+            ((Server)m_session).logout();
+        }
+        if (m_shouldUseTransaction) {
+            rollbackTransaction();
+        } else {
+            beginTransaction();
+            try {
+                DeleteAllQuery deleteQuery = new DeleteAllQuery(PhoneNumber.class);
+                deleteQuery.setSelectionCriteria(deleteQuery.getExpressionBuilder().get("areaCode").equal(AREA_CODE));
+                getSession().executeQuery(deleteQuery);
+                commitTransaction();
+            } catch (RuntimeException exception) {
+                rollbackTransaction();
+                throw exception;
+            }
+        }
+        getSession().getIdentityMapAccessor().initializeIdentityMaps();
+    }
+
+    public void test() {
+        ExpressionBuilder eb = new ExpressionBuilder();
+        // Read a phone number into the cache to check that it is invalidated.
+        m_phone = (PhoneNumber)m_session.readObject(PhoneNumber.class, eb.get("areaCode").equal(AREA_CODE));
+
+        DeleteAllQuery deleteQuery = new DeleteAllQuery(PhoneNumber.class, eb.get("areaCode").equal(AREA_CODE));
+        deleteQuery.setChunkSize(CHUNK_SIZE);
+        deleteQuery.setChunkListener(new ModifyAllChunkListener() {
+            public void chunkExecuted(ModifyAllQuery query, int chunkRowCount, int totalRowCount) {
+                m_chunkCount++;
+                m_listenerTotal = totalRowCount;
+            }
+        });
+        // Client sessions acquired for the chunks inherit the listener.
+        SessionEventAdapter commitListener = new SessionEventAdapter() {
+            public void postCommitTransaction(SessionEvent event) {
+                m_commitCount++;
+            }
+        };
+        m_session.getEventManager().addListener(commitListener);
+        try {
+            m_result = (Integer)m_session.executeQuery(deleteQuery);
+        } finally {
+            m_session.getEventManager().removeListener(commitListener);
+        }
+    }
+
+    protected void verify() {
+        if (m_result.intValue() != PHONE_COUNT) {
+            throw new TestErrorException("Expected " + PHONE_COUNT + " rows deleted but was " + m_result);
+        }
+        if (m_listenerTotal != PHONE_COUNT) {
+            throw new TestErrorException("The chunk listener reported " + m_listenerTotal + " rows deleted instead of " + PHONE_COUNT);
+        }
+        int expectedChunks = (PHONE_COUNT + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        if (m_chunkCount != expectedChunks) {
+            throw new TestErrorException("Expected " + expectedChunks + " chunks but was " + m_chunkCount);
+        }
+        int expectedCommits = m_shouldUseTransaction ? 0 : expectedChunks;
+        if (m_commitCount != expectedCommits) {
+            throw new TestErrorException("Expected " + expectedCommits + " commits but was " + m_commitCount);
+        }
+        if ((m_phone == null) || m_session.getIdentityMapAccessor().isValid(m_phone)) {
+            throw new TestErrorException("The deleted phone number was not invalidated in the cache.");
+        }
+        m_session.getIdentityMapAccessor().initializeIdentityMaps();// Ensure we read from the database
+        int remaining = m_session.readAllObjects(PhoneNumber.class, new ExpressionBuilder().get("areaCode").equal(AREA_CODE)).size();
+        if (remaining != 0) {
+            throw new TestErrorException(remaining + " phone numbers were not deleted.");
+        }
+    }
+}
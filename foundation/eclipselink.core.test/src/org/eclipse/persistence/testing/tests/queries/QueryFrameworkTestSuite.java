@@ -281,6 +281,14 @@ public class QueryFrameworkTestSuite extends TestSuite {
         addTest(new UpdateAllQueryUOWTest(false));
         addTest(new UpdateAllQueryExpressionMathTest());
         addTest(new UpdateAllQueryRollbackTest());
+        addTest(new UpdateAllQueryChunkTest());
+        addTest(new UpdateAllQueryChunkTest(false, false));
+        addTest(new UpdateAllQueryChunkTest(false, true));
+        addTest(new DeleteAllQueryChunkTest(true, false));
+        addTest(new DeleteAllQueryChunkTest(false, false));
+        addTest(new DeleteAllQueryChunkTest(false, true));
+        addTest(new ResultSetReaderPlanTest());
+        addTest(new AdaptiveFetchSizeTest());
 
         addTest(new UOWgetQueryTest());
         addTest(new CascadeNoBindingOnQuery());
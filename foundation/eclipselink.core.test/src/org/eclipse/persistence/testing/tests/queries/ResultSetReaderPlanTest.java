@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ * This program and the accompanying materials are made available under the 
+ * terms of the Eclipse Public License v1.0 and Eclipse Distribution License v. 1.0 
+ * which accompanies this distribution. 
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at 
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * Contributors:
+ *     Oracle - 2.6 - initial implementation
+ ******************************************************************************/  
+package org.eclipse.persistence.testing.tests.queries;
+
+import java.util.List;
+import org.eclipse.persistence.expressions.ExpressionBuilder;
+import org.eclipse.persistence.internal.databaseaccess.DatabaseCall;
+import org.eclipse.persistence.internal.databaseaccess.DatabasePlatform;
+import org.eclipse.persistence.internal.databaseaccess.ResultSetReaderPlan;
+import org.eclipse.persistence.internal.queries.DatasourceCallQueryMechanism;
+import org.eclipse.persistence.queries.ReportQuery;
+import org.eclipse.persistence.testing.framework.*;
+import org.eclipse.persistence.testing.models.employee.domain.Employee;
+
+/**
+ * Tests that the result set readers of a call are built once and reused,
+ * and read the same values as the non-optimized data conversion.
+ */
+public class ResultSetReaderPlanTest extends AutoVerifyTestCase {
+    private ReportQuery m_query;
+    private List m_results;
+    private List m_secondResults;
+    private List m_unoptimizedResults;
+    private ResultSetReaderPlan m_plan;
+    private ResultSetReaderPlan m_secondPlan;
+
+    public ResultSetReaderPlanTest() {
+        setDescription("Test that the result set readers of a call are reused and read the same values as getObject.");
+    }
+
+    protected ReportQuery buildQuery() {
+        ReportQuery query = new ReportQuery(Employee.class, new ExpressionBuilder());
+        query.addAttribute("id");
+        query.addAttribute("firstName");
+        query.addAttribute("lastName");
+        query.addAttribute("gender");
+        query.addAttribute("salary");
+        query.addAttribute("startTime");
+        query.addAscendingOrdering("id");
+        return query;
+    }
+
+    protected ResultSetReaderPlan getPlan(ReportQuery query) {
+        return ((DatabaseCall)((DatasourceCallQueryMechanism)query.getQueryMechanism()).getCall()).getResultSetReaderPlan();
+    }
+
+    public void test() {
+        m_query = buildQuery();
+        m_results = (List)getSession().executeQuery(m_query);
+        m_plan = getPlan(m_query);
+        m_secondResults = (List)getSession().executeQuery(m_query);
+        m_secondPlan = getPlan(m_query);
+
+        DatabasePlatform platform = (DatabasePlatform)getSession().getDatasourcePlatform();
+        boolean optimizeData = platform.shouldOptimizeDataConversion();
+        platform.setShouldOptimizeDataConversion(false);
+        try {
+            m_unoptimizedResults = (List)getSession().executeQuery(buildQuery());
+        } finally {
+            platform.setShouldOptimizeDataConversion(optimizeData);
+        }
+    }
+
+    protected void verify() {
+        if (m_plan == null) {
+            throw new TestErrorException("The result set reader plan was not kept on the query's call.");
+        }
+        if (m_plan != m_secondPlan) {
+            throw new TestErrorException("The result set reader plan was not reused by the second execution.");
+        }
+        if (!m_results.equals(m_secondResults)) {
+            throw new TestErrorException("The second execution returned different values: " + m_secondResults);
+        }
+        if (!m_results.equals(m_unoptimizedResults)) {
+            throw new TestErrorException("The result set readers returned " + m_results + " but getObject returned " + m_unoptimizedResults);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ * This program and the accompanying materials are made available under the 
+ * terms of the Eclipse Public License v1.0 and Eclipse Distribution License v. 1.0 
+ * which accompanies this distribution. 
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at 
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * Contributors:
+ *     Oracle - 2.6 - initial implementation
+ ******************************************************************************/  
+package org.eclipse.persistence.testing.tests.queries;
+
+import java.util.List;
+import java.util.Vector;
+import org.eclipse.persistence.expressions.*;
+import org.eclipse.persistence.testing.framework.*;
+import org.eclipse.persistence.sessions.Session;
+import org.eclipse.persistence.sessions.SessionEvent;
+import org.eclipse.persistence.sessions.SessionEventAdapter;
+import org.eclipse.persistence.sessions.server.Server;
+import org.eclipse.persistence.queries.ModifyAllChunkListener;
+import org.eclipse.persistence.queries.ModifyAllQuery;
+import org.eclipse.persistence.queries.ReportQuery;
+import org.eclipse.persistence.queries.UpdateAllQuery;
+import org.eclipse.persistence.testing.models.employee.domain.Employee;
+
+/**
+ * Tests an update all query executed in chunks of primary keys.
+ * In a transaction the chunks share the transaction, otherwise each chunk is committed
+ * in its own transaction, through a client session for a ServerSession.
+ */
+public class UpdateAllQueryChunkTest extends AutoVerifyTestCase {
+    private static final int CHUNK_SIZE = 3;
+    private boolean m_shouldUseTransaction;
+    private boolean m_shouldUseServerSession;
+    private Session m_session;
+    private Employee m_employee;
+    private int m_employeeCount;
+    private Integer m_result;
+    private int m_chunkCount;
+    private int m_listenerTotal;
+    private int m_commitCount;
+    private List<Object[]> m_lastNames;
+
+    public UpdateAllQueryChunkTest() {
+        this(true, false);
+    }
+
+    public UpdateAllQueryChunkTest(boolean shouldUseTransaction, boolean shouldUseServerSession) {
+        m_shouldUseTransaction = shouldUseTransaction;
+        m_shouldUseServerSession = shouldUseServerSession;
+        setName("UpdateAllQueryChunkTest" + (shouldUseTransaction ? "" : "NoTransaction") + (shouldUseServerSession ? "ServerSession" : ""));
+        setDescription("Test an update all query executed in chunks of " + CHUNK_SIZE + " rows"
+                + (shouldUseTransaction ? " in a transaction." : ", each chunk committed in its own transaction."));
+    }
+
+    protected void setup() {
+        if (getSession().getDatasourcePlatform().isSymfoware()) {
+            throwWarning("Test UpdateAllQueryChunkTest skipped for this platform, "
+                    + "Symfoware doesn't support UpdateAll/DeleteAll on multi-table objects (see rfe 298193).");
+        }
+        if (m_shouldUseServerSession) {
+            Server serverSession = getSession().getProject().createServerSession();
+            serverSession.setSessionLog(getSession().getSessionLog());
+            serverSession.login();
+            m_session = serverSession;
+        } else {
+            m_session = getSession();
+        }
+        if (m_shouldUseTransaction) {
+            beginTransaction();
+        } else {
+            // The updates are committed, the last names are restored in reset.
+            ReportQuery lastNamesQuery = new ReportQuery(Employee.class, new ExpressionBuilder());
+            lastNamesQuery.addAttribute("id");
+            lastNamesQuery.addAttribute("lastName");
+            lastNamesQuery.setReturnType(ReportQuery.ShouldReturnArray);
+            m_lastNames = (List<Object[]>)getSession().executeQuery(lastNamesQuery);
+        }
+        m_session.getIdentityMapAccessor().initializeIdentityMaps();
+        m_chunkCount = 0;
+        m_listenerTotal = 0;
+        m_commitCount = 0;
+    }
+
+    public void reset() {
+        if (m_shouldUseServerSession) {
+            ((Server)m_session).logout();
+        }
+        if (m_shouldUseTransaction) {
+            rollbackTransaction();
+        } else if (m_lastNames != null) {
+            beginTransaction();
+            try {
+                for (Object[] lastName : m_lastNames) {
+                    ExpressionBuilder eb = new ExpressionBuilder();
+                    UpdateAllQuery restoreQuery = new UpdateAllQuery(Employee.class);
+                    restoreQuery.setSelectionCriteria(eb.get("id").equal(lastName[0]));
+                    restoreQuery.addUpdate(eb.get("lastName"), lastName[1]);
+                    getSession().executeQuery(restoreQuery);
+                }
+                commitTransaction();
+            } catch (RuntimeException exception) {
+                rollbackTransaction();
+                throw exception;
+            }
+            m_lastNames = null;
+        }
+        getSession().getIdentityMapAccessor().initializeIdentityMaps();
+    }
+
+    public void test() {
+        m_employeeCount = m_session.readAllObjects(Employee.class).size();
+        // Read an employee into the cache to check that it is invalidated.
+        m_employee = (Employee)m_session.readObject(Employee.class);
+
+        ExpressionBuilder eb = new ExpressionBuilder();
+        UpdateAllQuery updateQuery = new UpdateAllQuery(Employee.class);
+        updateQuery.setSelectionCriteria(eb.get("id").notNull());
+        updateQuery.addUpdate(eb.get("lastName"), "oneverynonelikelylastname");
+        updateQuery.setChunkSize(CHUNK_SIZE);
+        updateQuery.setChunkListener(new ModifyAllChunkListener() {
+            public void chunkExecuted(ModifyAllQuery query, int chunkRowCount, int totalRowCount) {
+                m_chunkCount++;
+                m_listenerTotal = totalRowCount;
+            }
+        });
+        // Client sessions acquired for the chunks inherit the listener.
+        SessionEventAdapter commitListener = new SessionEventAdapter() {
+            public void postCommitTransaction(SessionEvent event) {
+                m_commitCount++;
+            }
+        };
+        m_session.getEventManager().addListener(commitListener);
+        try {
+            m_result = (Integer)m_session.executeQuery(updateQuery);
+        } finally {
+            m_session.getEventManager().removeListener(commitListener);
+        }
+    }
+
+    protected void verify() {
+        if (m_result.intValue() != m_employeeCount) {
+            throw new TestErrorException("Expected " + m_employeeCount + " rows updated but was " + m_result);
+        }
+        if (m_listenerTotal != m_employeeCount) {
+            throw new TestErrorException("The chunk listener reported " + m_listenerTotal + " rows updated instead of " + m_employeeCount);
+        }
+        int expectedChunks = (m_employeeCount + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        if (m_chunkCount != expectedChunks) {
+            throw new TestErrorException("Expected " + expectedChunks + " chunks but was " + m_chunkCount);
+        }
+        int expectedCommits = m_shouldUseTransaction ? 0 : expectedChunks;
+        if (m_commitCount != expectedCommits) {
+            throw new TestErrorException("Expected " + expectedCommits + " commits but was " + m_commitCount);
+        }
+        if (m_session.getIdentityMapAccessor().isValid(m_employee)) {
+            throw new TestErrorException("The updated employee was not invalidated in the cache.");
+        }
+        m_session.getIdentityMapAccessor().initializeIdentityMaps();// Ensure we read from the database
+        Vector emps = m_session.readAllObjects(Employee.class);
+
+        for (int i = 0; i < emps.size(); i++) {
+            Employee emp = (Employee)emps.elementAt(i);
+
+            if (!emp.getLastName().equals("oneverynonelikelylastname")) {
+                throw new TestErrorException("Employee (" + emp.getFirstName() + ") had the wrong last name (" + emp.getLastName());
+            }
+        }
+    }
+}
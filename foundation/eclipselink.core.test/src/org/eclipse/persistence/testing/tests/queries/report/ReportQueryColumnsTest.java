@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 and Eclipse Distribution License v. 1.0
+ * which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * Contributors:
+ *     Oracle - 2.6 - initial implementation
+ ******************************************************************************/
+package org.eclipse.persistence.testing.tests.queries.report;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.persistence.expressions.ExpressionBuilder;
+import org.eclipse.persistence.queries.ReportQuery;
+import org.eclipse.persistence.queries.ReportQueryColumns;
+import org.eclipse.persistence.testing.framework.TestCase;
+import org.eclipse.persistence.testing.framework.TestErrorException;
+import org.eclipse.persistence.testing.models.employee.domain.Employee;
+
+/**
+ * Test a ReportQuery returning its result by columns (ReportQuery.returnColumns()).
+ * The columns must hold the same values as the rows of the same query,
+ * with null values recorded in the BitSet of primitive columns.
+ */
+public class ReportQueryColumnsTest extends TestCase {
+
+    public ReportQueryColumnsTest() {
+        setDescription("Test a ReportQuery returning its result by columns.");
+    }
+
+    @Override
+    protected void setup() {
+        if (getSession().isRemoteSession()) {
+            throwWarning("Report queries returning columns are not supported on remote session.");
+        }
+    }
+
+    @Override
+    public void test() {
+        testNullValues();
+        testMixedTypes();
+        testDistinct();
+    }
+
+    /**
+     * The salary of the manager is null for the employees without a manager,
+     * it is 0 in the long[] column and its row is set in the nulls.
+     */
+    protected void testNullValues() {
+        List<Object[]> rows = (List<Object[]>)getSession().executeQuery(buildManagerSalaryQuery(false));
+        ReportQueryColumns columns = (ReportQueryColumns)((List)getSession().executeQuery(buildManagerSalaryQuery(true))).get(0);
+        if (columns.size() != rows.size()) {
+            throw new TestErrorException("The columns have " + columns.size() + " rows, expected: " + rows.size());
+        }
+        if (!(columns.getColumn(1) instanceof long[])) {
+            throw new TestErrorException("The salary column should be a long[]: " + columns.getColumn(1));
+        }
+        long[] salaries = columns.getLongColumn(1);
+        for (int index = 0; index < rows.size(); index++) {
+            Object salary = rows.get(index)[1];
+            if (salary == null) {
+                if (!columns.isNull(1, index) || !columns.getNulls(1).get(index) || (salaries[index] != 0)) {
+                    throw new TestErrorException("The null salary of row " + index + " is not recorded as null.");
+                }
+            } else if (columns.isNull(1, index) || (salaries[index] != ((Number)salary).longValue())) {
+                throw new TestErrorException("The salary of row " + index + " is " + columns.get(1, index) + ", expected: " + salary);
+            }
+        }
+        if (columns.getNulls(1).isEmpty()) {
+            throw new TestErrorException("Some employees have no manager, so some salaries should be null.");
+        }
+    }
+
+    protected ReportQuery buildManagerSalaryQuery(boolean returnColumns) {
+        ExpressionBuilder builder = new ExpressionBuilder();
+        ReportQuery query = new ReportQuery(Employee.class, builder);
+        query.addAttribute("id", builder.get("id"));
+        query.addAttribute("managerSalary", builder.getAllowingNull("manager").get("salary"));
+        query.addOrdering(builder.get("id").ascending());
+        if (returnColumns) {
+            query.returnColumns();
+        } else {
+            query.returnWithoutReportQueryResult();
+        }
+        return query;
+    }
+
+    /**
+     * A value that cannot be stored in the primitive array of its column,
+     * such as an Integer in a double[] column, makes it an Object[] column keeping all of the values.
+     */
+    protected void testMixedTypes() {
+        ReportQueryColumns columns = new ReportQueryColumns(Arrays.asList("double", "long"), new Class[] { Double.class, Long.class }, 3);
+        columns.setValue(0, 0, Double.valueOf(1.5));
+        columns.setValue(0, 1, null);
+        columns.setValue(1, 0, Long.valueOf(1));
+        columns.setValue(1, 1, Integer.valueOf(2));
+        if (!(columns.getColumn(0) instanceof double[]) || !(columns.getColumn(1) instanceof long[])) {
+            throw new TestErrorException("The columns should be primitive arrays until a value of another type is set.");
+        }
+        columns.setValue(0, 2, Integer.valueOf(2));
+        columns.setValue(1, 2, Double.valueOf(3.5));
+        if ((columns.getColumn(0).getClass() != Object[].class) || (columns.getColumn(1).getClass() != Object[].class)) {
+            throw new TestErrorException("The columns should fall back to an Object[] for mixed types.");
+        }
+        Object[] doubles = columns.getObjectColumn(0);
+        if (!Double.valueOf(1.5).equals(doubles[0]) || (doubles[1] != null) || !Integer.valueOf(2).equals(doubles[2])) {
+            throw new TestErrorException("The double column values are wrong: " + Arrays.asList(doubles));
+        }
+        Object[] longs = columns.getObjectColumn(1);
+        if (!Long.valueOf(1).equals(longs[0]) || !Long.valueOf(2).equals(longs[1]) || !Double.valueOf(3.5).equals(longs[2])) {
+            throw new TestErrorException("The long column values are wrong: " + Arrays.asList(longs));
+        }
+        if (!columns.isNull(0, 1) || columns.isNull(0, 2)) {
+            throw new TestErrorException("The nulls of the column should be kept.");
+        }
+    }
+
+    /**
+     * A distinct query returns the same values by columns as by rows.
+     */
+    protected void testDistinct() {
+        List<Object> rows = (List<Object>)getSession().executeQuery(buildProvinceQuery(false));
+        ReportQueryColumns columns = (ReportQueryColumns)((List)getSession().executeQuery(buildProvinceQuery(true))).get(0);
+        Object[] provinces = columns.getObjectColumn(0);
+        if (!rows.equals(Arrays.asList(provinces))) {
+            throw new TestErrorException("The distinct provinces are " + Arrays.asList(provinces) + ", expected: " + rows);
+        }
+    }
+
+    protected ReportQuery buildProvinceQuery(boolean returnColumns) {
+        ExpressionBuilder builder = new ExpressionBuilder();
+        ReportQuery query = new ReportQuery(Employee.class, builder);
+        query.addAttribute("province", builder.get("address").get("province"));
+        query.addOrdering(builder.get("address").get("province").ascending());
+        query.useDistinct();
+        if (returnColumns) {
+            query.returnColumns();
+        } else {
+            query.returnSingleAttribute();
+        }
+        return query;
+    }
+}
@@ -113,6 +113,8 @@ public class ReportQueryTestSuite extends TestSuite {
         
         // bug 415010
         addTest(new ParameterizedSubqueryTest());
+
+        addTest(new ReportQueryColumnsTest());
     }
 
     private void addCountDirectCollectionTest() {
@@ -28,6 +28,12 @@ public class ParserValidationType {
     public static final String JPA20 = "JPA 2.0";
     public static final String JPA21 = "JPA 2.1";
     public static final String None = "None";
+    /**
+     * Only validates the JPQL query grammatically (EclipseLink grammar) before it is translated,
+     * the semantic validation is only done when the translation fails in order to report the problem.
+     * @since EclipseLink 2.6
+     */
+    public static final String Lazy = "Lazy";
 
     public static final String DEFAULT = EclipseLink;
 }
\ No newline at end of file
@@ -229,12 +229,40 @@ public class PersistenceUnitProperties {
      * <li>"JPA 2.0" - only allows valid JPA 2.0 JPQL.
      * <li>"JPA 2.1" - only allows valid JPA 2.1 JPQL.
      * <li>"None" - no JPQL validation is done.
+     * <li>"Lazy" - only grammatical validation is done, the semantic validation is only done
+     * if the query cannot be translated.
      * </ul>
      * 
      * @see ParserValidationType
      */
     public static final String JPQL_VALIDATION = "eclipselink.jpql.validation";
     
+    /**
+     * The <code>"eclipselink.query-warm-up"</code> property configures
+     * whether the named queries are prepared in the background after deploy.
+     * Preparing a query generates its SQL, which is otherwise done on its
+     * first execution.  A query that fails to prepare is reported on first use.
+     * The progress is available through the runtime services MBean.
+     * Valid values are:
+     * <ul>
+     * <li>"true" - prepare the named queries in the background after deploy.
+     * <li>"false" (DEFAULT) - prepare each query on first use.
+     * </ul>
+     * 
+     * @see #QUERY_WARM_UP_THREADS
+     */
+    public static final String QUERY_WARM_UP = "eclipselink.query-warm-up";
+    
+    /**
+     * The <code>"eclipselink.query-warm-up.threads"</code> property
+     * configures the number of threads used to prepare the named queries when
+     * {@link #QUERY_WARM_UP} is enabled.
+     * <p>
+     * Values: an integer, "1" prepares the queries on a single background thread.
+     * Default is the number of available processors.
+     */
+    public static final String QUERY_WARM_UP_THREADS = "eclipselink.query-warm-up.threads";
+    
     /**
      * The <code>"wait"</code> property.
      * This can be append to any connection pool property,
@@ -868,6 +896,78 @@ public class PersistenceUnitProperties {
      */
     public static final String CACHE_STATEMENTS_SIZE = "eclipselink.jdbc.cache-statements.size";
 
+    /**
+     * The <code>"eclipselink.expression-query-cache.size"</code> property
+     * specifies the number of dynamic expression queries of each entity whose
+     * generated SQL is kept, so that executing an equal expression query again
+     * does not regenerate its SQL. The value must be a string value containing
+     * a positive integer or zero, zero disables the cache.
+     * The hits and misses are reported to the session profiler as the
+     * "Counter:ExpressionQueryCacheHits" and "Counter:ExpressionQueryCacheMisses"
+     * counters.
+     * <p>
+     * Default: "20".
+     * 
+     * @see org.eclipse.persistence.descriptors.DescriptorQueryManager#setExpressionQueryCacheMaxSize(int)
+     */
+    public static final String EXPRESSION_QUERY_CACHE_SIZE = "eclipselink.expression-query-cache.size";
+
+    /**
+     * The <code>"eclipselink.jdbc.fetch-size.adaptive"</code> property
+     * specifies whether the JDBC fetch size of queries that do not set a
+     * fetch size is adapted to the number of rows returned by their previous
+     * executions, so that large results are fetched in fewer round trips.
+     * The fetch size is bounded by the <code>"eclipselink.jdbc.fetch-size.adaptive.min"</code>
+     * and <code>"eclipselink.jdbc.fetch-size.adaptive.max"</code> properties, and by the
+     * number of rows that fit in <code>"eclipselink.jdbc.fetch-size.adaptive.max-memory"</code>.
+     * <p>
+     * Valid values:
+     * <ul>
+     * <li>true - adapt the fetch size to the rows returned.
+     * <li>false - use the fetch size of the query or the driver default. (DEFAULT)
+     * </ul>
+     * 
+     * @see org.eclipse.persistence.internal.databaseaccess.DatabasePlatform#setUsesAdaptiveFetchSize(boolean)
+     */
+    public static final String ADAPTIVE_FETCH_SIZE = "eclipselink.jdbc.fetch-size.adaptive";
+
+    /**
+     * The <code>"eclipselink.jdbc.fetch-size.adaptive.min"</code> property
+     * specifies the minimum adaptive JDBC fetch size. The value must be a
+     * string value containing a positive integer or zero, and must not be
+     * greater than the maximum.
+     * <p>
+     * Default: "10".
+     * 
+     * @see #ADAPTIVE_FETCH_SIZE
+     */
+    public static final String ADAPTIVE_FETCH_SIZE_MIN = "eclipselink.jdbc.fetch-size.adaptive.min";
+
+    /**
+     * The <code>"eclipselink.jdbc.fetch-size.adaptive.max"</code> property
+     * specifies the maximum adaptive JDBC fetch size. The value must be a
+     * string value containing a positive integer or zero, and must not be
+     * less than the minimum.
+     * <p>
+     * Default: "1000".
+     * 
+     * @see #ADAPTIVE_FETCH_SIZE
+     */
+    public static final String ADAPTIVE_FETCH_SIZE_MAX = "eclipselink.jdbc.fetch-size.adaptive.max";
+
+    /**
+     * The <code>"eclipselink.jdbc.fetch-size.adaptive.max-memory"</code> property
+     * specifies the maximum estimated size in bytes of the rows of an adaptive
+     * fetch, the row size is estimated from the display size of the columns.
+     * The value must be a string value containing a positive integer or zero,
+     * zero means no limit.
+     * <p>
+     * Default: "1048576".
+     * 
+     * @see #ADAPTIVE_FETCH_SIZE
+     */
+    public static final String ADAPTIVE_FETCH_SIZE_MAX_MEMORY = "eclipselink.jdbc.fetch-size.adaptive.max-memory";
+
     /**
      * The <code>"eclipselink.jdbc.cache-statements"</code> property specifies
      * whether JDBC statements should be cached. This is recommended when using
@@ -2242,6 +2342,29 @@ public class PersistenceUnitProperties {
      */
     public static final String METADATA_SOURCE_PROPERTIES_FILE = "eclipselink.metadata-source.properties.file";
     
+    /**
+     * The <code>"eclipselink.metadata-processing.threads"</code> property
+     * configures the number of threads used to scan the persistence unit
+     * archives and read the persistent classes during predeploy.
+     * The threads are created for the predeploy and are not managed by the
+     * container, so this should only be set where that is allowed.
+     * <p>
+     * Values: a positive integer, "1" (default) processes all metadata on the
+     * deploying thread.
+     */
+    public static final String METADATA_PROCESSING_THREADS = "eclipselink.metadata-processing.threads";
+    
+    /**
+     * The <code>"eclipselink.metadata-processing.class-index"</code> property
+     * configures whether the class index (META-INF/eclipselink-class-index,
+     * generated at build time by org.eclipse.persistence.tools.weaving.jpa.StaticIndex)
+     * of an archive is used to find the persistent classes, instead of reading
+     * every class in the archive.  Archives without an index are always read.
+     * <p>
+     * Values: "true" (default) or "false".
+     */
+    public static final String METADATA_PROCESSING_CLASS_INDEX = "eclipselink.metadata-processing.class-index";
+    
     /**
      * The property <code>"eclipselink.application-location"</code>
      * 
@@ -2454,6 +2577,7 @@ public class PersistenceUnitProperties {
      * <li>"PerformanceMonitor": Use {@link PerformanceMonitor}
      * <li>"PerformanceProfiler": Use {@link PerformanceProfiler}
      * <li>"QueryMonitor": Use {@link QueryMonitor}
+     * <li>"QueryStatisticsMonitor": Use {@link org.eclipse.persistence.tools.profiler.QueryStatisticsMonitor}
      * <li>"DMSProfiler": Use {@link DMSPerformanceProfiler}
      * <li>Custom profiler - Specify a custom profiler class name which
      * implements {@link SessionProfiler}
@@ -2462,6 +2586,20 @@ public class PersistenceUnitProperties {
      * @see ProfilerType
      */
     public static final String PROFILER = "eclipselink.profiler";
+
+    /**
+     * The <code>"eclipselink.profiler.query-statistics"</code> property configures whether the execution
+     * statistics of each statement are recorded by a {@link org.eclipse.persistence.tools.profiler.QueryStatisticsMonitor},
+     * in addition to the profiler configured by {@link #PROFILER}, which the monitor forwards to.
+     * <p>
+     * Values (case insensitive):
+     * <ul>
+     * <li>"false" (DEFAULT)
+     * <li>"true"
+     * </ul>
+     * @see org.eclipse.persistence.services.RuntimeServices#getQueryStatistics()
+     */
+    public static final String QUERY_STATISTICS = "eclipselink.profiler.query-statistics";
     
     /**
      * The <code>"eclipselink.tuning"</code>property configures the type of
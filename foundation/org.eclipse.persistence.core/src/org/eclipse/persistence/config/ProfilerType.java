@@ -30,6 +30,12 @@ public class ProfilerType {
     public static final String PerformanceProfiler = "PerformanceProfiler";
     public static final String QueryMonitor = "QueryMonitor";
     public static final String PerformanceMonitor = "PerformanceMonitor";
+    /**
+     * Records the execution statistics of each SQL statement.
+     * @see org.eclipse.persistence.tools.profiler.QueryStatisticsMonitor
+     * @since EclipseLink 2.6
+     */
+    public static final String QueryStatisticsMonitor = "QueryStatisticsMonitor";
     public static final String DMSProfiler = "DMSProfiler";
     public static final String NoProfiler = "NoProfiler";
 
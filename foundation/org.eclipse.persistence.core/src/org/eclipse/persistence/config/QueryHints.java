@@ -327,6 +327,22 @@ public class QueryHints {
      */
     public static final String LEFT_FETCH = "eclipselink.left-join-fetch";
     
+    /**
+     * "eclipselink.join-fetch.batch-collections"
+     * <p>Configures the query to batch read its join fetched collection relationships instead of joining them,
+     * including the relationships join fetched by the mappings (JoinFetch).
+     * Joining several collections returns a row for each combination of their elements,
+     * each collection is instead read by a query correlated by the keys of the source objects (the IN batch type),
+     * so the number of rows is the sum of the elements of the collections.
+     * Valid values are:  HintValues.FALSE, HintValues.TRUE,
+     * "" could be used instead of default value HintValues.FALSE
+     * @see #FETCH
+     * @see #LEFT_FETCH
+     * @see #BATCH
+     * @see org.eclipse.persistence.queries.ObjectLevelReadQuery#setShouldBatchCollectionJoins(boolean)
+     */
+    public static final String BATCH_COLLECTION_JOINS = "eclipselink.join-fetch.batch-collections";
+    
     /**
      * "eclipselink.read-only"
      * <p>Configures the query to return shared (read-only) objects from the cache,
@@ -376,6 +392,34 @@ public class QueryHints {
      * @see org.eclipse.persistence.queries.ReadQuery#setFirstResult(int)
      */
     public static final String JDBC_FIRST_RESULT = "eclipselink.jdbc.first-result";
+
+    /**
+     * "eclipselink.keyset-values"
+     * <p>Configures the query to use keyset (seek) pagination, only the rows ordered after the given
+     * values of the ORDER BY items are returned, which are normally the values of the last row of the previous page.
+     * Unlike setFirstResult() the database does not have to read the rows of the previous pages.
+     * The query must have one ORDER BY item for each value, and should order on a unique key.
+     * Valid values are a List or an array of the values, or a single value for a single ORDER BY item.
+     * @see javax.persistence.Query#setMaxResults(int)
+     * @see org.eclipse.persistence.queries.ReadAllQuery#setKeysetValues(java.util.List)
+     * @since EclipseLink 2.6
+     */
+    public static final String KEYSET_VALUES = "eclipselink.keyset-values";
+
+    /**
+     * "eclipselink.parallel-object-building"
+     * <p>Configures the query to build the objects of its result on several threads.
+     * The rows are fetched on the executing thread, then built in chunks of the given number of rows
+     * by the server platform's thread pool, the order of the result is not affected.
+     * Only read-only queries are built in parallel, as the objects of a unit of work are registered in order.
+     * This can improve the performance of large results when building the objects is expensive,
+     * such as with converters or embeddables.
+     * Valid values are Integer or Strings that can be parsed to int values, the number of rows in a chunk,
+     * 0 (the default) builds the objects on the executing thread.
+     * @see org.eclipse.persistence.queries.ReadAllQuery#setParallelObjectBuildingChunkSize(int)
+     * @since EclipseLink 2.6
+     */
+    public static final String PARALLEL_OBJECT_BUILDING = "eclipselink.parallel-object-building";
     
     /**
      * "eclipselink.result-collection-type"
@@ -794,7 +838,8 @@ public class QueryHints {
      * <p>i.e. "Select e.firstName, e.lastName from Employee e" returns List<Object[]>
      * <p>or the native query, "SELECT * FROM EMPLOYEE" returns List<Object[]>
      * <p>The ResultType can be used to instead return a Map of values (DatabaseRecord, ReportQueryResult).
-     * <p>It can also be used to return a single column, or single value.
+     * <p>It can also be used to return a single column, or single value,
+     * or the values by columns in primitive arrays (ReportQueryColumns).
      * Valid values are defined in ResultType.
      * @see ResultType
      * @see org.eclipse.persistence.sessions.Record
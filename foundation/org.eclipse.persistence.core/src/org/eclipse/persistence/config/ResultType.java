@@ -64,6 +64,16 @@ public class ResultType {
      */
     public static final String  Value = "Value";    
 
+    /**
+     * The values are returned by columns instead of by rows, (List<ReportQueryColumns>).
+     * The list contains a single ReportQueryColumns holding an array of the values of each select item,
+     * numeric and boolean values are stored in primitive arrays.
+     * This is only supported for JPQL queries that do not select a single entity.
+     * @see org.eclipse.persistence.queries.ReportQueryColumns
+     * @since EclipseLink 2.6
+     */
+    public static final String  Columns = "Columns";
+
  
     /**
      * The default type is Array.
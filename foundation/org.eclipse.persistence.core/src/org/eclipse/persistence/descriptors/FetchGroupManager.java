@@ -480,6 +480,38 @@ public class FetchGroupManager implements Cloneable, java.io.Serializable {
         return (groupInObject == null) || groupInObject.isSupersetOf(fetchGroup);
     }
 
+    /**
+     * INTERNAL:
+     * Return the fetch group to load the attributes missing from the partial object when the attribute is accessed,
+     * the attributes of the default fetch group (or all attributes if none) and the accessed attribute not fetched yet.
+     * This avoids selecting the columns of the attributes already fetched, and of the attributes such as LOBs
+     * excluded from the default fetch group.
+     * Return null if the object is not partial, or if all of the attributes should be read.
+     */
+    public FetchGroup getUnfetchedAttributesFetchGroup(Object object, String attributeName) {
+        FetchGroup groupInObject = ((FetchGroupTracker)object)._persistence_getFetchGroup();
+        if ((groupInObject == null) || (attributeName == null)) {
+            return null;
+        }
+        FetchGroup targetGroup = this.defaultFetchGroup;
+        if (targetGroup == null) {
+            targetGroup = this.fullFetchGroup;
+        }
+        FetchGroup unfetchedGroup = new FetchGroup();
+        for (String name : targetGroup.getAttributeNames()) {
+            if (!groupInObject.containsAttributeInternal(name)) {
+                unfetchedGroup.addAttribute(name);
+            }
+        }
+        if (!groupInObject.containsAttributeInternal(attributeName)) {
+            unfetchedGroup.addAttribute(attributeName);
+        }
+        if (!unfetchedGroup.hasItems()) {
+            return null;
+        }
+        return unfetchedGroup;
+    }
+
     /**
      * INTERNAL:
      * Return true if the cached object data should be written in clone.
@@ -125,6 +125,7 @@ public class DynamicHelper {
             getSession().getProject().getDescriptors().remove(type.getJavaClass());
             //bug 430318 - clear the parsed cache as queries in that cache could be using this descriptor
             getSession().getProject().getJPQLParseCache().clear();
+            getSession().getProject().getCriteriaQueryCache().clear();
             ((AbstractSession)getSession()).getCommitManager().getCommitOrder().remove(type.getJavaClass());
         }
     }
@@ -207,6 +207,7 @@ public class QueryException extends ValidationException {
     public final static int SOP_OBJECT_WRONG_VERSION = 6181;
     public final static int SOP_OBJECT_WRONG_PK = 6182;
     public final static int UNSUPPORTED_MAPPING_FOR_QUERYBYEXAMPLE = 6183;
+    public final static int KEYSET_VALUES_ORDER_BY_MISMATCH = 6184;
     
     
     /**
@@ -1677,5 +1678,13 @@ public class QueryException extends ValidationException {
         queryException.setErrorCode(UNSUPPORTED_MAPPING_FOR_QUERYBYEXAMPLE);
         return queryException;
     }
+
+    public static QueryException keysetValuesOrderByMismatch(DatabaseQuery query, int keysetSize, int orderBySize) {
+        Object[] args = {keysetSize, orderBySize};
+
+        QueryException queryException = new QueryException(ExceptionMessageGenerator.buildMessage(QueryException.class, KEYSET_VALUES_ORDER_BY_MISMATCH, args), query);
+        queryException.setErrorCode(KEYSET_VALUES_ORDER_BY_MISMATCH);
+        return queryException;
+    }
 }
 
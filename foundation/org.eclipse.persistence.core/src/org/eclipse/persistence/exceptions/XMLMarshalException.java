@@ -71,6 +71,9 @@ public class XMLMarshalException extends ValidationException {
     public static final int MISSING_ID_FOR_IDREF = 25040;
     public static final int INVALID_ATTRIBUTE_GROUP_NAME = 25041;
     public static final int NULL_VALUE_NOT_ALLOWED_FOR_VARIABLE = 25042;
+    public static final int BINARY_MEDIA_TYPE_REQUIRES_BYTE_STREAM = 25043;
+    public static final int CBOR_ROOT_NOT_MAP_OR_ARRAY = 25044;
+    public static final int MALFORMED_CBOR_DOCUMENT = 25045;
 
     // ==========================================================================================
     protected XMLMarshalException(String message) {
@@ -472,4 +475,25 @@ public class XMLMarshalException extends ValidationException {
         exception.setErrorCode(NULL_VALUE_NOT_ALLOWED_FOR_VARIABLE);
         return exception;
     }
+
+    public static XMLMarshalException binaryMediaTypeRequiresByteStream(String mediaType) {
+        Object[] args = {mediaType};
+        XMLMarshalException exception = new XMLMarshalException(ExceptionMessageGenerator.buildMessage(XMLMarshalException.class, BINARY_MEDIA_TYPE_REQUIRES_BYTE_STREAM, args));
+        exception.setErrorCode(BINARY_MEDIA_TYPE_REQUIRES_BYTE_STREAM);
+        return exception;
+    }
+
+    public static XMLMarshalException cborRootNotMapOrArray() {
+        Object[] args = {};
+        XMLMarshalException exception = new XMLMarshalException(ExceptionMessageGenerator.buildMessage(XMLMarshalException.class, CBOR_ROOT_NOT_MAP_OR_ARRAY, args));
+        exception.setErrorCode(CBOR_ROOT_NOT_MAP_OR_ARRAY);
+        return exception;
+    }
+
+    public static XMLMarshalException malformedCBORDocument(long offset) {
+        Object[] args = {offset};
+        XMLMarshalException exception = new XMLMarshalException(ExceptionMessageGenerator.buildMessage(XMLMarshalException.class, MALFORMED_CBOR_DOCUMENT, args));
+        exception.setErrorCode(MALFORMED_CBOR_DOCUMENT);
+        return exception;
+    }
 }
\ No newline at end of file
@@ -64,7 +64,10 @@ public class XMLMarshalExceptionResource extends ListResourceBundle {
                                            { "25039", "An error occured unmarshalling from {0}"},
                                            { "25040", "An object of type {0} with ID {1} was not found."},
                                            { "25041", "The attribute group specified {0} is not defined for the class {1}."},
-                                           { "25042", "The value of the variable property {0} on the class {1} can not be null."}                                           
+                                           { "25042", "The value of the variable property {0} on the class {1} can not be null."},
+                                           { "25043", "The media type {0} is a binary format and can only be marshalled to an OutputStream or unmarshalled from an InputStream."},
+                                           { "25044", "The CBOR document must contain a map or an array."},
+                                           { "25045", "The CBOR document is not well formed, the data item at byte {0} is not valid at that position."}
                                            
     };
 
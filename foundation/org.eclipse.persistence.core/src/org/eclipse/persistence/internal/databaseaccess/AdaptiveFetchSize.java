@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 and Eclipse Distribution License v. 1.0
+ * which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * Contributors:
+ *     Oracle - 2.6 - initial implementation
+ ******************************************************************************/
+package org.eclipse.persistence.internal.databaseaccess;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+/**
+ * INTERNAL:
+ * The fetch size of a call's statement, adapted to the number of rows returned by its previous executions.
+ * The average number of rows is a moving average weighted towards the recent executions,
+ * and the fetch size is bounded by the platform's minimum and maximum, and by the number of rows
+ * of the estimated row width that fit in the platform's fetch memory limit.
+ * The row width is estimated once from the display size of the columns.
+ * The statistics are updated without locking, a lost update only delays the adaptation.
+ *
+ * @see DatabasePlatform#usesAdaptiveFetchSize()
+ * @since EclipseLink 2.6
+ */
+public class AdaptiveFetchSize {
+    /** The estimated width of a column whose display size is not known. */
+    protected static final int DEFAULT_COLUMN_WIDTH = 32;
+    /** The maximum estimated width of a column, LOB and long columns report very large display sizes. */
+    protected static final int MAX_COLUMN_WIDTH = 4000;
+
+    /** The average number of rows returned, -1 until the first execution. */
+    protected volatile int averageRows;
+    /** The estimated width in bytes of a row, 0 until the first execution. */
+    protected volatile int rowWidth;
+
+    public AdaptiveFetchSize() {
+        this.averageRows = -1;
+    }
+
+    /**
+     * Record the number of rows returned by an execution of the call.
+     */
+    public void recordRows(int rows, ResultSetMetaData metaData) {
+        int average = this.averageRows;
+        if (average < 0) {
+            this.averageRows = rows;
+        } else {
+            this.averageRows = (int)((average * 3L + rows) / 4);
+        }
+        if (this.rowWidth == 0) {
+            this.rowWidth = estimateRowWidth(metaData);
+        }
+    }
+
+    /**
+     * Return the estimated width in bytes of a row of the result set.
+     */
+    protected int estimateRowWidth(ResultSetMetaData metaData) {
+        int width = 0;
+        try {
+            int columnCount = metaData.getColumnCount();
+            for (int index = 1; index <= columnCount; index++) {
+                int columnWidth = metaData.getColumnDisplaySize(index);
+                if (columnWidth <= 0) {
+                    columnWidth = DEFAULT_COLUMN_WIDTH;
+                }
+                width = width + Math.min(columnWidth, MAX_COLUMN_WIDTH);
+            }
+        } catch (SQLException exception) {
+            // Some drivers do not support the display size, only the row count limits are used.
+            return 1;
+        }
+        return Math.max(width, 1);
+    }
+
+    /**
+     * Return the fetch size for the next execution of the call, or 0 to use the driver default
+     * until the call has been executed.
+     */
+    public int getFetchSize(DatabasePlatform platform, int maxRows) {
+        int average = this.averageRows;
+        if (average < 0) {
+            return 0;
+        }
+        // Fetch one more row than the average, so the typical execution requires a single round trip.
+        int fetchSize = Math.max(average + 1, platform.getAdaptiveFetchSizeMinimum());
+        fetchSize = Math.min(fetchSize, platform.getAdaptiveFetchSizeMaximum());
+        int width = this.rowWidth;
+        if ((width > 0) && (platform.getAdaptiveFetchSizeMaxMemory() > 0)) {
+            fetchSize = Math.min(fetchSize, Math.max(platform.getAdaptiveFetchSizeMaxMemory() / width, 1));
+        }
+        if ((maxRows > 0) && (fetchSize > maxRows)) {
+            fetchSize = maxRows;
+        }
+        return fetchSize;
+    }
+
+    /**
+     * Return the average number of rows returned, -1 until the call is executed.
+     */
+    public int getAverageRows() {
+        return averageRows;
+    }
+
+    /**
+     * Return the estimated width in bytes of a row, 0 until the call is executed.
+     */
+    public int getRowWidth() {
+        return rowWidth;
+    }
+}
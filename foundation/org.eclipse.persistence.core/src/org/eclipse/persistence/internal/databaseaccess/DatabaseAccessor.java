@@ -728,10 +728,12 @@ public class DatabaseAccessor extends DatasourceAccessor {
             throw new IllegalStateException(ExceptionLocalization.buildMessage("jpa21_invalid_call_with_no_result_sets_returned"));
         }
         
+        int rowCount = 0;
         session.startOperationProfile(SessionProfiler.RowFetch, call.getQuery(), SessionProfiler.ALL);
         try {
             if (call.isOneRowReturned()) {
                 if (resultSet.next()) {
+                    rowCount = 1;
                     if (call.isLOBLocatorNeeded()) {
                         //if Oracle BLOB/CLOB field is being written, and the thin driver is used, the driver 4k
                         //limit bug prevent the call from directly writing to the table if the LOB value size exceeds 4k.
@@ -739,7 +741,7 @@ public class DatabaseAccessor extends DatasourceAccessor {
                         // Bug 2804663 - LOBValueWriter is no longer a singleton
                         getLOBWriter().fetchLocatorAndWriteValue(call, resultSet);
                     } else {
-                        result = fetchRow(call.getFields(), call.getFieldsArray(), resultSet, metaData, session);
+                        result = fetchRow(call, resultSet, metaData, session);
                     }
                     if (resultSet.next()) {
                         // Raise more rows event, some apps may interpret as error or warning.
@@ -765,13 +767,14 @@ public class DatabaseAccessor extends DatasourceAccessor {
                         } else {
                             results = new Vector(16);
                             while (hasNext) {
-                                results.add(fetchRow(call.getFields(), call.getFieldsArray(), resultSet, metaData, session));
+                                results.add(fetchRow(call, resultSet, metaData, session));
                                 hasNext = resultSet.next();
                             }
                         }
                     } else {
                         results = new Vector(0);
                     }
+                    rowCount = rowCount + results.size();
                     if (result == null) {
                         if (call.returnMultipleResultSetCollections()) {
                             result = new Vector();
@@ -803,6 +806,18 @@ public class DatabaseAccessor extends DatasourceAccessor {
         } finally {
             session.endOperationProfile(SessionProfiler.RowFetch, call.getQuery(), SessionProfiler.ALL);
         }
+        if (session.isInProfile()) {
+            session.updateProfile(SessionProfiler.RowsFetched, Integer.valueOf(rowCount));
+        }
+        // PERF: Adapt the fetch size of the next execution to the rows returned.
+        if (getPlatform().usesAdaptiveFetchSize() && !call.isOneRowReturned() && (call.getResultSetFetchSize() == 0)) {
+            AdaptiveFetchSize adaptiveFetchSize = call.getAdaptiveFetchSize();
+            if (adaptiveFetchSize == null) {
+                adaptiveFetchSize = new AdaptiveFetchSize();
+                call.setAdaptiveFetchSize(adaptiveFetchSize);
+            }
+            adaptiveFetchSize.recordRows(rowCount, metaData);
+        }
         return result;
     }
     
@@ -820,7 +835,7 @@ public class DatabaseAccessor extends DatasourceAccessor {
                         // Initial next was already validated before this method is called.
                         boolean hasNext = true;
                         while (hasNext) {
-                            results.add(fetchRow(dbCall.getFields(), dbCall.getFieldsArray(), resultSet, metaData, session));
+                            results.add(fetchRow(dbCall, resultSet, metaData, session));
                             hasNext = resultSet.next();
                         }
                         resultSet.close();// This must be closed in case the statement is cached and not closed.
@@ -1081,6 +1096,195 @@ public class DatabaseAccessor extends DatasourceAccessor {
         // Row creation is optimized through sharing the same fields for the entire result set.
         return new ArrayRecord(fields, fieldsArray, values);
     }
+
+    /**
+     * Return a new DatabaseRow populated from the result set of the call.
+     * PERF: Each value is read using the call's reader plan, which is built on the first fetch
+     * and reused for every row, to avoid checking the JDBC type and field type of each value.
+     */
+    public AbstractRecord fetchRow(DatabaseCall call, ResultSet resultSet, ResultSetMetaData metaData, AbstractSession session) throws DatabaseException {
+        DatabaseField[] fieldsArray = call.getFieldsArray();
+        DatabasePlatform platform = getPlatform();
+        ResultSetReaderPlan plan = call.getResultSetReaderPlan();
+        if ((plan == null) || !plan.isValidFor(fieldsArray, platform)) {
+            plan = buildResultSetReaderPlan(fieldsArray, metaData, platform, session);
+            call.setResultSetReaderPlan(plan);
+        }
+        int[] readers = plan.getReaders();
+        int size = fieldsArray.length;
+        Object[] values = new Object[size];
+        for (int index = 0; index < size; index++) {
+            int reader = readers[index];
+            if (reader != ResultSetReaderPlan.NONE) {
+                values[index] = getObject(resultSet, fieldsArray[index], reader, metaData, index + 1, platform, session);
+            }
+        }
+
+        // Row creation is optimized through sharing the same fields for the entire result set.
+        return new ArrayRecord(call.getFields(), fieldsArray, values);
+    }
+
+    /**
+     * Build the reader of each field from its JDBC type and field type,
+     * the reader is the direct type API used by getObjectThroughOptimizedDataConversion.
+     */
+    protected ResultSetReaderPlan buildResultSetReaderPlan(DatabaseField[] fieldsArray, ResultSetMetaData metaData, DatabasePlatform platform, AbstractSession session) throws DatabaseException {
+        int size = fieldsArray.length;
+        int[] readers = new int[size];
+        boolean optimizeData = platform.shouldOptimizeDataConversion();
+        try {
+            for (int index = 0; index < size; index++) {
+                DatabaseField field = fieldsArray[index];
+                // Field can be null for fetch groups.
+                if (field == null) {
+                    readers[index] = ResultSetReaderPlan.NONE;
+                    continue;
+                }
+                int type = field.sqlType;
+                if (type == NULL_SQL_TYPE) {
+                    type = metaData.getColumnType(index + 1);
+                    field.setSqlType(type);
+                }
+                readers[index] = optimizeData ? getResultSetReader(field.type, type, platform) : ResultSetReaderPlan.OBJECT;
+            }
+        } catch (SQLException exception) {
+            DatabaseException commException = processExceptionForCommError(session, exception, null);
+            if (commException != null) throw commException;
+            throw DatabaseException.sqlException(exception, this, session, false);
+        }
+        return new ResultSetReaderPlan(fieldsArray, platform, readers);
+    }
+
+    /**
+     * Return the reader for the JDBC type and field type,
+     * this must match the conversion done by getObjectThroughOptimizedDataConversion.
+     */
+    protected int getResultSetReader(Class fieldType, int type, DatabasePlatform platform) {
+        if ((type == Types.VARCHAR) || (type == Types.CHAR) || type == Types.NVARCHAR || type == Types.NCHAR) {
+            if ((type == Types.CHAR || type == Types.NCHAR) && platform.shouldTrimStrings()) {
+                return ResultSetReaderPlan.TRIMMED_STRING;
+            }
+            return ResultSetReaderPlan.STRING;
+        } else if (fieldType == null) {
+            return ResultSetReaderPlan.OBJECT_OPTIMIZED;
+        } else if ((fieldType == ClassConstants.PLONG) || (fieldType == ClassConstants.LONG)) {
+            return ResultSetReaderPlan.LONG;
+        } else if ((fieldType == ClassConstants.INTEGER) || (fieldType == ClassConstants.PINT)) {
+            return ResultSetReaderPlan.INTEGER;
+        } else if ((fieldType == ClassConstants.FLOAT) || (fieldType == ClassConstants.PFLOAT)) {
+            return ResultSetReaderPlan.FLOAT;
+        } else if ((fieldType == ClassConstants.DOUBLE) || (fieldType == ClassConstants.PDOUBLE)) {
+            return ResultSetReaderPlan.DOUBLE;
+        } else if ((fieldType == ClassConstants.SHORT) || (fieldType == ClassConstants.PSHORT)) {
+            return ResultSetReaderPlan.SHORT;
+        } else if ((type == Types.TIME) || (type == Types.DATE) || (type == Types.TIMESTAMP)) {
+            if (Helper.shouldOptimizeDates) {
+                return ResultSetReaderPlan.DATE_STRING;
+            } else if (fieldType == ClassConstants.SQLDATE) {
+                return ResultSetReaderPlan.DATE;
+            } else if (fieldType == ClassConstants.TIME) {
+                return ResultSetReaderPlan.TIME;
+            } else if (fieldType == ClassConstants.TIMESTAMP) {
+                return ResultSetReaderPlan.TIMESTAMP;
+            }
+        } else if (fieldType == ClassConstants.BIGINTEGER) {
+            return ResultSetReaderPlan.BIGINTEGER;
+        } else if (fieldType == ClassConstants.BIGDECIMAL) {
+            return ResultSetReaderPlan.BIGDECIMAL;
+        }
+        return ResultSetReaderPlan.OBJECT_OPTIMIZED;
+    }
+
+    /**
+     * Return the value of the column read with the reader from the call's reader plan.
+     * If the direct type API fails the value is read through getObject.
+     */
+    protected Object getObject(ResultSet resultSet, DatabaseField field, int reader, ResultSetMetaData metaData, int columnNumber, DatabasePlatform platform, AbstractSession session) throws DatabaseException {
+        if (reader == ResultSetReaderPlan.OBJECT) {
+            return getObject(resultSet, field, metaData, columnNumber, platform, false, session);
+        }
+        try {
+            if (reader != ResultSetReaderPlan.OBJECT_OPTIMIZED) {
+                try {
+                    return getObjectThroughReader(resultSet, field, reader, columnNumber, platform);
+                } catch (SQLException exception) {
+                    // Log the exception and try non-optimized data conversion
+                    if (session.shouldLog(SessionLog.WARNING, SessionLog.SQL)) {
+                        session.logThrowable(SessionLog.WARNING, SessionLog.SQL, exception);
+                    }
+                }
+            }
+            return getObjectWithoutOptimization(resultSet, field.sqlType, columnNumber, platform, session);
+        } catch (SQLException exception) {
+            DatabaseException commException = processExceptionForCommError(session, exception, null);
+            if (commException != null) throw commException;
+            throw DatabaseException.sqlException(exception, this, session, false);
+        }
+    }
+
+    /**
+     * Handle the conversion into java through calling the direct type API of the reader.
+     */
+    protected Object getObjectThroughReader(ResultSet resultSet, DatabaseField field, int reader, int columnNumber, DatabasePlatform platform) throws SQLException {
+        Object value = null;
+        boolean isPrimitive = false;
+        switch (reader) {
+            case ResultSetReaderPlan.STRING:
+                return resultSet.getString(columnNumber);
+            case ResultSetReaderPlan.TRIMMED_STRING:
+                value = resultSet.getString(columnNumber);
+                if (value != null) {
+                    value = Helper.rightTrimString((String)value);
+                }
+                return value;
+            case ResultSetReaderPlan.LONG:
+                long longValue = resultSet.getLong(columnNumber);
+                value = Long.valueOf(longValue);
+                isPrimitive = longValue == 0l;
+                break;
+            case ResultSetReaderPlan.INTEGER:
+                int intValue = resultSet.getInt(columnNumber);
+                value = Integer.valueOf(intValue);
+                isPrimitive = intValue == 0;
+                break;
+            case ResultSetReaderPlan.FLOAT:
+                float floatValue = resultSet.getFloat(columnNumber);
+                value = Float.valueOf(floatValue);
+                isPrimitive = floatValue == 0f;
+                break;
+            case ResultSetReaderPlan.DOUBLE:
+                double doubleValue = resultSet.getDouble(columnNumber);
+                value = Double.valueOf(doubleValue);
+                isPrimitive = doubleValue == 0d;
+                break;
+            case ResultSetReaderPlan.SHORT:
+                short shortValue = resultSet.getShort(columnNumber);
+                value = Short.valueOf(shortValue);
+                isPrimitive = shortValue == 0;
+                break;
+            case ResultSetReaderPlan.DATE_STRING:
+                return platform.convertObject(resultSet.getString(columnNumber), field.type);
+            case ResultSetReaderPlan.DATE:
+                return resultSet.getDate(columnNumber);
+            case ResultSetReaderPlan.TIME:
+                return resultSet.getTime(columnNumber);
+            case ResultSetReaderPlan.TIMESTAMP:
+                return resultSet.getTimestamp(columnNumber);
+            case ResultSetReaderPlan.BIGINTEGER:
+                value = resultSet.getBigDecimal(columnNumber);
+                if (value != null) {
+                    value = ((BigDecimal)value).toBigInteger();
+                }
+                return value;
+            case ResultSetReaderPlan.BIGDECIMAL:
+                return resultSet.getBigDecimal(columnNumber);
+        }
+        // PERF: Only check for null for primitives.
+        if (isPrimitive && resultSet.wasNull()) {
+            value = null;
+        }
+        return value;
+    }
     public void populateRow(DatabaseField[] fieldsArray, Object[] values, ResultSet resultSet, ResultSetMetaData metaData, AbstractSession session, int startIndex, int endIndex) throws DatabaseException {
         // PERF: Pass platform and optimize data flag.
         DatabasePlatform platform = getPlatform();
@@ -1277,47 +1481,7 @@ public class DatabaseAccessor extends DatasourceAccessor {
                 }
             }
             if (value == null) {
-                if ((type == Types.LONGVARBINARY) && platform.usesStreamsForBinding()) {
-                    //can read large binary data as a stream
-                    InputStream tempInputStream;
-                    tempInputStream = resultSet.getBinaryStream(columnNumber);
-                    if (tempInputStream != null) {
-                        try {
-                            ByteArrayOutputStream tempOutputStream = new ByteArrayOutputStream();
-                            int tempInt = tempInputStream.read();
-                            while (tempInt != -1) {
-                                tempOutputStream.write(tempInt);
-                                tempInt = tempInputStream.read();
-                            }
-                            value = tempOutputStream.toByteArray();
-                        } catch (IOException exception) {
-                            throw DatabaseException.errorReadingBlobData();
-                        }
-                    } else {
-                        value = null;
-                    }
-                } else {
-                    value = platform.getObjectFromResultSet(resultSet, columnNumber, type, session);                      
-                    // PERF: only perform blob check on non-optimized types.
-                    // CR2943 - convert early if the type is a BLOB or a CLOB.  
-                    if (isBlob(type)) {
-                        // EL Bug 294578 - Store previous value of BLOB so that temporary objects can be freed after conversion
-                        Object originalValue = value;
-                        value = platform.convertObject(value, ClassConstants.APBYTE);
-                        platform.freeTemporaryObject(originalValue);
-                    } else if (isClob(type)) {
-                        // EL Bug 294578 - Store previous value of CLOB so that temporary objects can be freed after conversion
-                        Object originalValue = value;
-                        value = platform.convertObject(value, ClassConstants.STRING);
-                        platform.freeTemporaryObject(originalValue);
-                    } else if (isArray(type)){
-                        //Bug6068155 convert early if type is Array and Structs.
-                        value = ObjectRelationalDataTypeDescriptor.buildArrayObjectFromArray(value);
-                    } else if (isStruct(type, value)){
-                        //Bug6068155 convert early if type is Array and Structs.
-                        value=ObjectRelationalDataTypeDescriptor.buildArrayObjectFromStruct(value);
-                    }
-                }
+                value = getObjectWithoutOptimization(resultSet, type, columnNumber, platform, session);
             }
             // PERF: Avoid wasNull check, null is return from the get call for nullable classes.
             if ((!optimizeData) && resultSet.wasNull()) {
@@ -1332,6 +1496,56 @@ public class DatabaseAccessor extends DatasourceAccessor {
         return value;
     }
 
+    /**
+     * Return an object retrieved from resultSet through the platform,
+     * converting LOB, array and struct values early.
+     */
+    protected Object getObjectWithoutOptimization(ResultSet resultSet, int type, int columnNumber, DatabasePlatform platform, AbstractSession session) throws SQLException {
+        Object value = null;
+        if ((type == Types.LONGVARBINARY) && platform.usesStreamsForBinding()) {
+            //can read large binary data as a stream
+            InputStream tempInputStream;
+            tempInputStream = resultSet.getBinaryStream(columnNumber);
+            if (tempInputStream != null) {
+                try {
+                    ByteArrayOutputStream tempOutputStream = new ByteArrayOutputStream();
+                    int tempInt = tempInputStream.read();
+                    while (tempInt != -1) {
+                        tempOutputStream.write(tempInt);
+                        tempInt = tempInputStream.read();
+                    }
+                    value = tempOutputStream.toByteArray();
+                } catch (IOException exception) {
+                    throw DatabaseException.errorReadingBlobData();
+                }
+            } else {
+                value = null;
+            }
+        } else {
+            value = platform.getObjectFromResultSet(resultSet, columnNumber, type, session);                      
+            // PERF: only perform blob check on non-optimized types.
+            // CR2943 - convert early if the type is a BLOB or a CLOB.  
+            if (isBlob(type)) {
+                // EL Bug 294578 - Store previous value of BLOB so that temporary objects can be freed after conversion
+                Object originalValue = value;
+                value = platform.convertObject(value, ClassConstants.APBYTE);
+                platform.freeTemporaryObject(originalValue);
+            } else if (isClob(type)) {
+                // EL Bug 294578 - Store previous value of CLOB so that temporary objects can be freed after conversion
+                Object originalValue = value;
+                value = platform.convertObject(value, ClassConstants.STRING);
+                platform.freeTemporaryObject(originalValue);
+            } else if (isArray(type)){
+                //Bug6068155 convert early if type is Array and Structs.
+                value = ObjectRelationalDataTypeDescriptor.buildArrayObjectFromArray(value);
+            } else if (isStruct(type, value)){
+                //Bug6068155 convert early if type is Array and Structs.
+                value=ObjectRelationalDataTypeDescriptor.buildArrayObjectFromStruct(value);
+            }
+        }
+        return value;
+    }
+
     /**
      * Handle the conversion into java optimally through calling the direct type API.
      * If the type is not one that can be optimized return null.
@@ -1678,7 +1892,7 @@ public class DatabaseAccessor extends DatasourceAccessor {
         if (call.getMaxRows() > 0) { 
             statement.setMaxRows(0); 
         } 
-        if (call.getResultSetFetchSize() > 0) { 
+        if ((call.getResultSetFetchSize() > 0) || (call.getAdaptiveFetchSize() != null)) { 
             statement.setFetchSize(0); 
         }
     }
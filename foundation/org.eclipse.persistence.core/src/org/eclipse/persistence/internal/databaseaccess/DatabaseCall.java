@@ -83,6 +83,10 @@ public abstract class DatabaseCall extends DatasourceCall {
     transient protected Vector fields;
     // PERF: fields array
     transient protected DatabaseField[] fieldsArray;
+    // PERF: The ResultSet get method of each field, built on the first fetch.
+    transient protected ResultSetReaderPlan resultSetReaderPlan;
+    // PERF: The fetch size adapted to the rows returned by previous executions, if enabled by the platform.
+    transient protected AdaptiveFetchSize adaptiveFetchSize;
 
     // Field matching is required for custom SQL when the fields order is not known.
     protected boolean isFieldMatchingRequired;
@@ -363,6 +367,40 @@ public abstract class DatabaseCall extends DatasourceCall {
         return fieldsArray;
     }
 
+    /**
+     * INTERNAL:
+     * Return the reader of each field of the result set, built on the first fetch.
+     * The plan is only valid for the current fields array.
+     */
+    public ResultSetReaderPlan getResultSetReaderPlan() {
+        return resultSetReaderPlan;
+    }
+
+    /**
+     * INTERNAL:
+     * Set the reader of each field of the result set.
+     */
+    public void setResultSetReaderPlan(ResultSetReaderPlan resultSetReaderPlan) {
+        this.resultSetReaderPlan = resultSetReaderPlan;
+    }
+
+    /**
+     * INTERNAL:
+     * Return the fetch size adapted to the rows returned by previous executions,
+     * null if the call has not been executed or the platform does not use adaptive fetch sizes.
+     */
+    public AdaptiveFetchSize getAdaptiveFetchSize() {
+        return adaptiveFetchSize;
+    }
+
+    /**
+     * INTERNAL:
+     * Set the fetch size adapted to the rows returned by previous executions.
+     */
+    public void setAdaptiveFetchSize(AdaptiveFetchSize adaptiveFetchSize) {
+        this.adaptiveFetchSize = adaptiveFetchSize;
+    }
+
     /**
      * INTERNAL:
      * Unfortunately can't avoid referencing query and descriptor:
@@ -786,7 +824,12 @@ public abstract class DatabaseCall extends DatasourceCall {
         }
         if (this.resultSetFetchSize > 0) { 
             statement.setFetchSize(this.resultSetFetchSize);
-        } 
+        } else if ((this.adaptiveFetchSize != null) && !isOneRowReturned()) {
+            int fetchSize = this.adaptiveFetchSize.getFetchSize(accessor.getPlatform(), this.ignoreMaxResultsSetting ? 0 : this.maxRows);
+            if (fetchSize > 0) {
+                statement.setFetchSize(fetchSize);
+            }
+        }
 
         if (this.parameters == null) {
             return statement;
@@ -179,6 +179,18 @@ public class DatabasePlatform extends DatasourcePlatform {
      */
     protected boolean shouldOptimizeDataConversion;
 
+    /** Allow the fetch size of calls to be adapted to the number of rows they return, by default false. */
+    protected boolean usesAdaptiveFetchSize;
+
+    /** The minimum adaptive fetch size, by default 10. */
+    protected int adaptiveFetchSizeMinimum;
+
+    /** The maximum adaptive fetch size, by default 1000. */
+    protected int adaptiveFetchSizeMaximum;
+
+    /** The maximum estimated size in bytes of the rows of an adaptive fetch, by default 1MB. */
+    protected int adaptiveFetchSizeMaxMemory;
+
     /** Stores mapping of class types to database types for schema creation. */
     protected transient Map<String, Class> classTypes;
 
@@ -261,6 +273,10 @@ public class DatabasePlatform extends DatasourcePlatform {
         this.shouldBindAllParameters = true;
         this.shouldCacheAllStatements = false;
         this.shouldOptimizeDataConversion = true;
+        this.usesAdaptiveFetchSize = false;
+        this.adaptiveFetchSizeMinimum = 10;
+        this.adaptiveFetchSizeMaximum = 1000;
+        this.adaptiveFetchSizeMaxMemory = 1048576;
         this.statementCacheSize = 50;
         this.shouldForceFieldNamesToUpperCase = false;
         this.maxBatchWritingSize = 0;
@@ -916,6 +932,10 @@ public class DatabasePlatform extends DatasourcePlatform {
         databasePlatform.setMaxBatchWritingSize(getMaxBatchWritingSize());
         databasePlatform.setShouldForceFieldNamesToUpperCase(shouldForceFieldNamesToUpperCase());
         databasePlatform.setShouldOptimizeDataConversion(shouldOptimizeDataConversion());
+        databasePlatform.setUsesAdaptiveFetchSize(usesAdaptiveFetchSize());
+        databasePlatform.setAdaptiveFetchSizeMinimum(getAdaptiveFetchSizeMinimum());
+        databasePlatform.setAdaptiveFetchSizeMaximum(getAdaptiveFetchSizeMaximum());
+        databasePlatform.setAdaptiveFetchSizeMaxMemory(getAdaptiveFetchSizeMaxMemory());
         databasePlatform.setStringBindingSize(getStringBindingSize());
         databasePlatform.setUsesBatchWriting(usesBatchWriting());
         databasePlatform.setUsesJDBCBatchWriting(usesJDBCBatchWriting());
@@ -1309,6 +1329,17 @@ public class DatabasePlatform extends DatasourcePlatform {
         return 50;
     }
 
+    /**
+     * INTERNAL:
+     * Return the maximum number of values to use in a single IN list.
+     * Reading many objects by primary key is split into queries of at most this many values,
+     * composite keys use a value per primary key field.
+     * The default is the Oracle limit of 1000 expressions in a list.
+     */
+    public int getMaxINListSize() {
+        return 1000;
+    }
+
     /**
      * INTERNAL:
      * returns the maximum number of characters that can be used in a foreign key
@@ -1883,6 +1914,75 @@ public class DatabasePlatform extends DatasourcePlatform {
         this.shouldOptimizeDataConversion = value;
     }
 
+    /**
+     * PUBLIC:
+     * Return if the fetch size of calls that do not set a fetch size is adapted to the number of rows
+     * returned by their previous executions.
+     */
+    public boolean usesAdaptiveFetchSize() {
+        return usesAdaptiveFetchSize;
+    }
+
+    /**
+     * PUBLIC:
+     * Set if the fetch size of calls that do not set a fetch size is adapted to the number of rows
+     * returned by their previous executions.
+     * This avoids the round trips of fetching large results with the driver's default fetch size.
+     * The fetch size is bounded by the adaptive fetch size minimum and maximum, and by the maximum memory.
+     */
+    public void setUsesAdaptiveFetchSize(boolean usesAdaptiveFetchSize) {
+        this.usesAdaptiveFetchSize = usesAdaptiveFetchSize;
+    }
+
+    /**
+     * PUBLIC:
+     * Return the minimum adaptive fetch size, by default 10.
+     */
+    public int getAdaptiveFetchSizeMinimum() {
+        return adaptiveFetchSizeMinimum;
+    }
+
+    /**
+     * PUBLIC:
+     * Set the minimum adaptive fetch size.
+     */
+    public void setAdaptiveFetchSizeMinimum(int adaptiveFetchSizeMinimum) {
+        this.adaptiveFetchSizeMinimum = adaptiveFetchSizeMinimum;
+    }
+
+    /**
+     * PUBLIC:
+     * Return the maximum adaptive fetch size, by default 1000.
+     */
+    public int getAdaptiveFetchSizeMaximum() {
+        return adaptiveFetchSizeMaximum;
+    }
+
+    /**
+     * PUBLIC:
+     * Set the maximum adaptive fetch size.
+     */
+    public void setAdaptiveFetchSizeMaximum(int adaptiveFetchSizeMaximum) {
+        this.adaptiveFetchSizeMaximum = adaptiveFetchSizeMaximum;
+    }
+
+    /**
+     * PUBLIC:
+     * Return the maximum estimated size in bytes of the rows of an adaptive fetch, by default 1MB.
+     */
+    public int getAdaptiveFetchSizeMaxMemory() {
+        return adaptiveFetchSizeMaxMemory;
+    }
+
+    /**
+     * PUBLIC:
+     * Set the maximum estimated size in bytes of the rows of an adaptive fetch.
+     * The row size is estimated from the display size of the columns, 0 means no limit.
+     */
+    public void setAdaptiveFetchSizeMaxMemory(int adaptiveFetchSizeMaxMemory) {
+        this.adaptiveFetchSizeMaxMemory = adaptiveFetchSizeMaxMemory;
+    }
+
     public void setShouldTrimStrings(boolean aBoolean) {
         shouldTrimStrings = aBoolean;
     }
@@ -2514,6 +2614,15 @@ public class DatabasePlatform extends DatasourcePlatform {
         return false;
     }
 
+    /**
+     * INTERNAL:
+     * Indicates whether the platform supports row value comparisons such as "(A, B) > (?, ?)".
+     * This is used by keyset pagination, otherwise the comparison is expanded using OR.
+     */
+    public boolean supportsRowValueComparison() {
+        return false;
+    }
+
     /**
      * INTERNAL:
      * Return if this database support index creation.
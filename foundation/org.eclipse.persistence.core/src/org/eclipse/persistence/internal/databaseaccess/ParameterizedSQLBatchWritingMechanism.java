@@ -178,6 +178,9 @@ public class ParameterizedSQLBatchWritingMechanism extends BatchWritingMechanism
             // += is used as native batch writing can return a row count before execution.
             this.executionCount += this.databaseAccessor.executeJDK12BatchStatement(statement, this.lastCallAppended, session, true);
             this.databaseAccessor.writeStatementsCount++;
+            if (session.isInProfile()) {
+                session.updateProfile(SessionProfiler.StatementsBatched, Integer.valueOf(this.statementCount));
+            }
             
             if (this.previousCall.hasOptimisticLock() && (this.executionCount != this.statementCount)) {
                 throw OptimisticLockException.batchStatementExecutionFailure();
@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ * This program and the accompanying materials are made available under the 
+ * terms of the Eclipse Public License v1.0 and Eclipse Distribution License v. 1.0 
+ * which accompanies this distribution. 
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at 
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * Contributors:
+ *     Oracle - 2.6 - initial implementation
+ ******************************************************************************/  
+package org.eclipse.persistence.internal.databaseaccess;
+
+import org.eclipse.persistence.internal.helper.DatabaseField;
+
+/**
+ * INTERNAL:
+ * The reader of each column of a call's result set.
+ * The reader is the ResultSet get method that returns the value of the column
+ * directly in the type of its field, it is determined from the JDBC type and
+ * field type on the first fetch of the call and reused for every row.
+ * The plan is immutable, it is only valid for the fields and platform it was built for.
+ *
+ * @see DatabaseAccessor#fetchRow(DatabaseCall, java.sql.ResultSet, java.sql.ResultSetMetaData, org.eclipse.persistence.internal.sessions.AbstractSession)
+ * @since EclipseLink 2.6
+ */
+public class ResultSetReaderPlan {
+    /** The column is not read (fetch groups). */
+    public static final int NONE = 0;
+    /** The column is read through getObject and the platform conversion, checking wasNull. */
+    public static final int OBJECT = 1;
+    /** The column is read through getObject and the platform conversion, when data conversion is optimized. */
+    public static final int OBJECT_OPTIMIZED = 15;
+    public static final int STRING = 2;
+    /** The column is read through getString and right trimmed. */
+    public static final int TRIMMED_STRING = 3;
+    public static final int LONG = 4;
+    public static final int INTEGER = 5;
+    public static final int FLOAT = 6;
+    public static final int DOUBLE = 7;
+    public static final int SHORT = 8;
+    /** The date column is read through getString and converted to the field type. */
+    public static final int DATE_STRING = 9;
+    public static final int DATE = 10;
+    public static final int TIME = 11;
+    public static final int TIMESTAMP = 12;
+    public static final int BIGINTEGER = 13;
+    public static final int BIGDECIMAL = 14;
+
+    protected final DatabaseField[] fields;
+    protected final DatabasePlatform platform;
+    protected final int[] readers;
+
+    public ResultSetReaderPlan(DatabaseField[] fields, DatabasePlatform platform, int[] readers) {
+        this.fields = fields;
+        this.platform = platform;
+        this.readers = readers;
+    }
+
+    /**
+     * Return the reader of each column.
+     */
+    public int[] getReaders() {
+        return readers;
+    }
+
+    /**
+     * Return if the plan was built for the fields and platform.
+     */
+    public boolean isValidFor(DatabaseField[] fields, DatabasePlatform platform) {
+        return (this.fields == fields) && (this.platform == platform);
+    }
+}
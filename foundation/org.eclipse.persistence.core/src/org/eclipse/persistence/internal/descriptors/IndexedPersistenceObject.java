@@ -0,0 +1,37 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 and Eclipse Distribution License v. 1.0
+ * which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * Contributors:
+ *     Oracle - 2.6 - initial implementation
+ ******************************************************************************/
+package org.eclipse.persistence.internal.descriptors;
+
+/**
+ * Define an interface for index based get and set methods weaved into the
+ * persistence classes.  The index of an attribute is returned by
+ * _persistence_index.
+ * 
+ * @see PersistenceObjectAttributeAccessor
+ * @since EclipseLink 2.6
+ */
+public interface IndexedPersistenceObject extends PersistenceObject {
+    /** Returned by _persistence_index for an attribute that is not weaved. */
+    int NOT_INDEXED = -1;
+
+    int _persistence_index(String attribute);
+    Object _persistence_get(int index);
+    void _persistence_set(int index, Object value);
+    /**
+     * Return if the primitive attribute has the same value in this and the
+     * other object, without boxing the values.  Floating point values are
+     * compared as their bits, as their wrapper's equals does.  Return false
+     * if the attribute is not primitive.
+     */
+    boolean _persistence_primitiveEquals(int index, Object object);
+}
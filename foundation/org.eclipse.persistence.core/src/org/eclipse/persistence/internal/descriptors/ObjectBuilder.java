@@ -25,6 +25,9 @@ import java.util.*;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.eclipse.persistence.annotations.BatchFetchType;
 import org.eclipse.persistence.annotations.CacheKeyType;
@@ -62,6 +65,8 @@ import org.eclipse.persistence.mappings.querykeys.*;
 import org.eclipse.persistence.sessions.remote.*;
 import org.eclipse.persistence.sessions.CopyGroup;
 import org.eclipse.persistence.sessions.SessionProfiler;
+import org.eclipse.persistence.sessions.server.ClientSession;
+import org.eclipse.persistence.platform.server.ServerPlatform;
 import org.eclipse.persistence.sessions.DatabaseRecord;
 
 /**
@@ -1317,6 +1322,10 @@ public class ObjectBuilder extends CoreObjectBuilder<AbstractRecord, AbstractSes
                     }
                     query.setPrefetchedCacheKeys(session.getIdentityMapAccessorInstance().getAllCacheKeysFromIdentityMapWithEntityPK(pkList, descriptor));
                 }
+                Object[] builtObjects = null;
+                if (query.shouldBuildObjectsInParallel() && (size > query.getParallelObjectBuildingChunkSize())) {
+                    builtObjects = buildObjectsInParallel(query, databaseRows, session, inheritancePolicy, shouldUseWrapperPolicy);
+                }
                 ContainerPolicy policy = query.getContainerPolicy();
                 if (policy.shouldAddAll()) {
                     List domainObjectsIn = new ArrayList(size);
@@ -1325,8 +1334,12 @@ public class ObjectBuilder extends CoreObjectBuilder<AbstractRecord, AbstractSes
                         AbstractRecord databaseRow = (AbstractRecord)databaseRows.get(index);
                         // PERF: 1-m joining nulls out duplicate rows.
                         if (databaseRow != null) {
-                            domainObjectsIn.add(buildObject(query, databaseRow, joinManager, session, this.descriptor, inheritancePolicy,
-                                    isUnitOfWork, shouldCacheQueryResults, shouldUseWrapperPolicy));
+                            if (builtObjects != null) {
+                                domainObjectsIn.add(builtObjects[index]);
+                            } else {
+                                domainObjectsIn.add(buildObject(query, databaseRow, joinManager, session, this.descriptor, inheritancePolicy,
+                                        isUnitOfWork, shouldCacheQueryResults, shouldUseWrapperPolicy));
+                            }
                             databaseRowsIn.add(databaseRow);
                         }
                     }
@@ -1337,8 +1350,13 @@ public class ObjectBuilder extends CoreObjectBuilder<AbstractRecord, AbstractSes
                         AbstractRecord databaseRow = (AbstractRecord)databaseRows.get(index);
                         // PERF: 1-m joining nulls out duplicate rows.
                         if (databaseRow != null) {
-                            Object domainObject = buildObject(query, databaseRow, joinManager, session, this.descriptor, inheritancePolicy,
-                                    isUnitOfWork, shouldCacheQueryResults, shouldUseWrapperPolicy);
+                            Object domainObject = null;
+                            if (builtObjects != null) {
+                                domainObject = builtObjects[index];
+                            } else {
+                                domainObject = buildObject(query, databaseRow, joinManager, session, this.descriptor, inheritancePolicy,
+                                        isUnitOfWork, shouldCacheQueryResults, shouldUseWrapperPolicy);
+                            }
                             if (quickAdd) {
                                 ((Collection)domainObjects).add(domainObject);
                             } else {
@@ -1355,6 +1373,94 @@ public class ObjectBuilder extends CoreObjectBuilder<AbstractRecord, AbstractSes
         return domainObjects;
     }
 
+    /**
+     * Build the objects for the database rows on concurrent threads, and return them in the order of the rows,
+     * or null if the objects must be built on the executing thread.
+     * The rows are split in chunks of the query's parallel object building chunk size, and the chunks are claimed
+     * by the server platform's thread pool and by the executing thread, so the building never waits on a thread to be available.
+     * The objects are built in the session executing the query, each chunk with its own clone of the query, as the query
+     * and its joined attribute manager keep state for the row being built, and the CacheKey locks are used as by concurrent queries.
+     * The objects are built on the executing thread in a unit of work, as its clones are not thread safe,
+     * and if the session does not read through pooled connections, as a single connection cannot be shared by the threads.
+     */
+    protected Object[] buildObjectsInParallel(final ReadAllQuery query, final List databaseRows, final AbstractSession session, final InheritancePolicy inheritancePolicy, final boolean shouldUseWrapperPolicy) {
+        if (session.isUnitOfWork() || !query.shouldMaintainCache() || query.shouldRetrieveBypassCache() || query.shouldStoreBypassCache()
+                || query.hasBatchReadAttributes() || query.shouldCacheQueryResults()) {
+            return null;
+        }
+        CachePolicy cachePolicy = this.descriptor.getCachePolicy();
+        if (cachePolicy.isIsolated() || cachePolicy.isProtectedIsolation()) {
+            return null;
+        }
+        if (session.isClientSession()) {
+            if (session.isExclusiveConnectionRequired() || ((ClientSession)session).hasWriteConnection()) {
+                return null;
+            }
+        } else if (!session.isServerSession()) {
+            return null;
+        }
+        final ServerPlatform platform = session.getServerPlatform();
+        // Only use the shared bounded thread pool, never a new thread for each worker.
+        if (platform.getThreadPoolSize() <= 0) {
+            return null;
+        }
+        final int size = databaseRows.size();
+        final Object[] builtObjects = new Object[size];
+        final int chunkSize = query.getParallelObjectBuildingChunkSize();
+        final int chunkCount = (size + chunkSize - 1) / chunkSize;
+        final AtomicInteger nextChunk = new AtomicInteger();
+        final CountDownLatch remainingChunks = new CountDownLatch(chunkCount);
+        final AtomicReference<RuntimeException> failure = new AtomicReference<RuntimeException>();
+        Runnable builder = new Runnable() {
+            public void run() {
+                for (int chunk = nextChunk.getAndIncrement(); chunk < chunkCount; chunk = nextChunk.getAndIncrement()) {
+                    try {
+                        if (failure.get() == null) {
+                            ReadAllQuery chunkQuery = (ReadAllQuery)query.clone();
+                            chunkQuery.setSession(session);
+                            JoinedAttributeManager joinManager = null;
+                            if (chunkQuery.hasJoining()) {
+                                joinManager = chunkQuery.getJoinedAttributeManager();
+                                // The nested joined queries are cloned per execution query, so must not be shared.
+                                joinManager.setJoinedMappingQueryClones(null);
+                            }
+                            int end = Math.min(size, (chunk + 1) * chunkSize);
+                            for (int index = chunk * chunkSize; index < end; index++) {
+                                AbstractRecord databaseRow = (AbstractRecord)databaseRows.get(index);
+                                // PERF: 1-m joining nulls out duplicate rows.
+                                if (databaseRow != null) {
+                                    builtObjects[index] = buildObject(chunkQuery, databaseRow, joinManager, session, descriptor, inheritancePolicy, false, false, shouldUseWrapperPolicy);
+                                }
+                            }
+                        }
+                    } catch (RuntimeException exception) {
+                        failure.compareAndSet(null, exception);
+                    } finally {
+                        remainingChunks.countDown();
+                    }
+                }
+            }
+        };
+        // The bounded pool limits the number of threads building concurrently.
+        int threadCount = Math.min(chunkCount, platform.getThreadPoolSize());
+        for (int thread = 1; thread < threadCount; thread++) {
+            platform.launchContainerRunnable(builder);
+        }
+        builder.run();
+        try {
+            // Only the chunks already being built by other threads remain.
+            remainingChunks.await();
+        } catch (InterruptedException exception) {
+            // The objects are built or found in the cache on the executing thread instead.
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+        return builtObjects;
+    }
+
     /**
      * Version of buildObjectsInto method that takes call instead of rows.
      * Return a container which contains the instances of the receivers javaClass.
@@ -2121,6 +2227,39 @@ public class ObjectBuilder extends CoreObjectBuilder<AbstractRecord, AbstractSes
         unitOfWork.deferEvent(event);
     }
 
+    /**
+     * Build the attributes of the query's fetch group that the partial working clone has not fetched
+     * from the row into the working and backup clones, and union the fetch group of the clone with the query's.
+     * The fetched attributes of the clone are not refreshed, so its changes are kept,
+     * as when writing a partial cached object into the clone.
+     */
+    protected void buildUnfetchedAttributesIntoWorkingCopyClone(Object workingClone, ObjectBuildingQuery query, JoinedAttributeManager joinManager, AbstractRecord databaseRow, UnitOfWorkImpl unitOfWork) {
+        FetchGroupManager fetchGroupManager = this.descriptor.getFetchGroupManager();
+        FetchGroup fetchGroupInClone = fetchGroupManager.getObjectFetchGroup(workingClone);
+        FetchGroup fetchGroup = query.getExecutionFetchGroup(this.descriptor);
+        Object backupClone = unitOfWork.getBackupClone(workingClone, this.descriptor);
+        // Update the fetch group first to avoid fetching during building.
+        fetchGroupManager.unionEntityFetchGroupIntoObject(workingClone, fetchGroupManager.getEntityFetchGroup(fetchGroup), unitOfWork, false);
+        if (workingClone != backupClone) {
+            fetchGroupManager.setObjectFetchGroup(backupClone, fetchGroupManager.getObjectFetchGroup(workingClone), unitOfWork);
+        }
+        ObjectChangePolicy policy = this.descriptor.getObjectChangePolicy();
+        // Turn it 'off' to prevent unwanted events.
+        policy.dissableEventProcessing(workingClone);
+        try {
+            for (DatabaseMapping mapping : this.descriptor.getMappings()) {
+                if (!fetchGroupInClone.containsAttributeInternal(mapping.getAttributeName()) && query.shouldReadMapping(mapping, fetchGroup)) {
+                    mapping.buildCloneFromRow(databaseRow, joinManager, workingClone, null, query, unitOfWork, unitOfWork);
+                    if (workingClone != backupClone) {
+                        mapping.buildClone(workingClone, null, backupClone, null, unitOfWork);
+                    }
+                }
+            }
+        } finally {
+            policy.enableEventProcessing(workingClone);
+        }
+    }
+
     /**
      * INTERNAL:
      * Builds a working copy clone directly from the database row.
@@ -2145,7 +2284,10 @@ public class ObjectBuilder extends CoreObjectBuilder<AbstractRecord, AbstractSes
             boolean wasAClone = workingClone != null;
             boolean isARefresh = query.shouldRefreshIdentityMapResult() || (query.isLockQuery() && (!wasAClone || !query.isClonePessimisticLocked(workingClone, unitOfWork)));
             // Also need to refresh if the clone is a partial object and query requires more than its fetch group.
+            // Only the attributes the clone has not fetched are built then, so its changes are kept.
+            boolean isAFetchGroupRefresh = false;
             if (wasAClone && fetchGroupManager != null && (fetchGroupManager.isPartialObject(workingClone) && (!fetchGroupManager.isObjectValidForFetchGroup(workingClone, fetchGroupManager.getEntityFetchGroup(fetchGroup))))) {
+                isAFetchGroupRefresh = !isARefresh;
                 isARefresh = true;
             }
             if (wasAClone && (!isARefresh)) {
@@ -2221,48 +2363,53 @@ public class ObjectBuilder extends CoreObjectBuilder<AbstractRecord, AbstractSes
             }
             copyQueryInfoToCacheKey(unitOfWorkCacheKey, query, databaseRow, unitOfWork, descriptor);
             
-            ObjectChangePolicy policy = descriptor.getObjectChangePolicy();
-            // If it was a clone the change listener must be cleared after.
-            if (!wasAClone) {
-                // The change listener must be set before building the clone as aggregate/collections need the listener.
-                policy.setChangeListener(workingClone, unitOfWork, descriptor);
-            }
+            if (isAFetchGroupRefresh) {
+                buildUnfetchedAttributesIntoWorkingCopyClone(workingClone, query, joinManager, databaseRow, unitOfWork);
+                query.recordCloneForPessimisticLocking(workingClone, unitOfWork);
+            } else {
+                ObjectChangePolicy policy = descriptor.getObjectChangePolicy();
+                // If it was a clone the change listener must be cleared after.
+                if (!wasAClone) {
+                    // The change listener must be set before building the clone as aggregate/collections need the listener.
+                    policy.setChangeListener(workingClone, unitOfWork, descriptor);
+                }
     
-            // Turn it 'off' to prevent unwanted events.
-            policy.dissableEventProcessing(workingClone);
-            if (isARefresh && fetchGroupManager != null) {
-                fetchGroupManager.setObjectFetchGroup(workingClone, query.getExecutionFetchGroup(this.descriptor), unitOfWork);
-            }
-            if (!unitOfWork.wasTransactionBegunPrematurely() && descriptor.getCachePolicy().isProtectedIsolation() && !isIsolated && !query.shouldStoreBypassCache()) {
-                // we are at this point because we have isolated protected entities to the UnitOfWork
-                // we should ensure that we populate the cache as well.
-                originalCacheKey = (CacheKey) buildObject(true, query, databaseRow, unitOfWork.getParentIdentityMapSession(descriptor, false, true), primaryKey, preFetchedCacheKey, descriptor, joinManager);
-            }
-            //If we are unable to access the shared cache because of any of the above settings at this point
-            // the cachekey will be null so the attribute building will not be able to access the shared cache.
-            if (isARefresh){
-                //if we need to refresh the UOW then remove the cache key and the clone will be rebuilt not using any of the 
-                //cache.  This should be updated to force the buildAttributesIntoWorkingCopyClone to refresh the objects 
-                originalCacheKey = null;
-            }
-            // Build/refresh the clone from the row.
-            buildAttributesIntoWorkingCopyClone(workingClone, originalCacheKey, query, joinManager, databaseRow, unitOfWork, wasAClone);
-            // Set fetch group after building object if not a refresh to avoid checking fetch during building.           
-            if ((!isARefresh) && fetchGroupManager != null) {
-                fetchGroupManager.setObjectFetchGroup(workingClone, query.getExecutionFetchGroup(this.descriptor), unitOfWork);
-            }
-            Object backupClone = policy.buildBackupClone(workingClone, this, unitOfWork);
+                // Turn it 'off' to prevent unwanted events.
+                policy.dissableEventProcessing(workingClone);
+                if (isARefresh && fetchGroupManager != null) {
+                    fetchGroupManager.setObjectFetchGroup(workingClone, query.getExecutionFetchGroup(this.descriptor), unitOfWork);
+                }
+                if (!unitOfWork.wasTransactionBegunPrematurely() && descriptor.getCachePolicy().isProtectedIsolation() && !isIsolated && !query.shouldStoreBypassCache()) {
+                    // we are at this point because we have isolated protected entities to the UnitOfWork
+                    // we should ensure that we populate the cache as well.
+                    originalCacheKey = (CacheKey) buildObject(true, query, databaseRow, unitOfWork.getParentIdentityMapSession(descriptor, false, true), primaryKey, preFetchedCacheKey, descriptor, joinManager);
+                }
+                //If we are unable to access the shared cache because of any of the above settings at this point
+                // the cachekey will be null so the attribute building will not be able to access the shared cache.
+                if (isARefresh){
+                    //if we need to refresh the UOW then remove the cache key and the clone will be rebuilt not using any of the 
+                    //cache.  This should be updated to force the buildAttributesIntoWorkingCopyClone to refresh the objects 
+                    originalCacheKey = null;
+                }
+                // Build/refresh the clone from the row.
+                buildAttributesIntoWorkingCopyClone(workingClone, originalCacheKey, query, joinManager, databaseRow, unitOfWork, wasAClone);
+                // Set fetch group after building object if not a refresh to avoid checking fetch during building.           
+                if ((!isARefresh) && fetchGroupManager != null) {
+                    fetchGroupManager.setObjectFetchGroup(workingClone, query.getExecutionFetchGroup(this.descriptor), unitOfWork);
+                }
+                Object backupClone = policy.buildBackupClone(workingClone, this, unitOfWork);
     
-            // If it was a clone the change listener must be cleared.
-            if (wasAClone) {
-                policy.clearChanges(workingClone, unitOfWork, descriptor, isARefresh);
-            }
-            policy.enableEventProcessing(workingClone);
-            unitOfWork.getCloneMapping().put(workingClone, backupClone);
-            query.recordCloneForPessimisticLocking(workingClone, unitOfWork);
-            // PERF: Cache the primary key if implements PersistenceEntity.
-            if (workingClone instanceof PersistenceEntity) {
-                ((PersistenceEntity)workingClone)._persistence_setId(primaryKey);
+                // If it was a clone the change listener must be cleared.
+                if (wasAClone) {
+                    policy.clearChanges(workingClone, unitOfWork, descriptor, isARefresh);
+                }
+                policy.enableEventProcessing(workingClone);
+                unitOfWork.getCloneMapping().put(workingClone, backupClone);
+                query.recordCloneForPessimisticLocking(workingClone, unitOfWork);
+                // PERF: Cache the primary key if implements PersistenceEntity.
+                if (workingClone instanceof PersistenceEntity) {
+                    ((PersistenceEntity)workingClone)._persistence_setId(primaryKey);
+                }
             }
         } finally {
             unitOfWorkCacheKey.release();            
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 1998, 2013 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1998, 2014 Oracle and/or its affiliates. All rights reserved.
  * This program and the accompanying materials are made available under the 
  * terms of the Eclipse Public License v1.0 and Eclipse Distribution License v. 1.0 
  * which accompanies this distribution. 
@@ -16,9 +16,20 @@ import org.eclipse.persistence.exceptions.DescriptorException;
 
 /**
  * Used with weaving to access attributes without using reflection.
+ * If the class was weaved with the index based methods, the attribute is
+ * accessed by its index, which is resolved on first access.
  */
 public class PersistenceObjectAttributeAccessor extends InstanceVariableAttributeAccessor {
     
+    /** The index of the attribute has not been resolved yet. */
+    protected static final int UNRESOLVED = -2;
+    
+    /** PERF: The index of the attribute in the weaved class, or NOT_INDEXED. */
+    protected int index = UNRESOLVED;
+    
+    /** If the attribute is primitive. */
+    protected boolean isPrimitive;
+    
     public PersistenceObjectAttributeAccessor(String attributeName) {
         this.attributeName = attributeName.intern();
     }
@@ -27,7 +38,27 @@ public class PersistenceObjectAttributeAccessor extends InstanceVariableAttribut
      * Returns the value of the attribute on the specified object.
      */
     public Object getAttributeValueFromObject(Object object) {
-        return ((PersistenceObject)object)._persistence_get(this.attributeName);
+        int index = getIndex(object);
+        if (index < 0) {
+            return ((PersistenceObject)object)._persistence_get(this.attributeName);
+        }
+        return ((IndexedPersistenceObject)object)._persistence_get(index);
+    }
+    
+    /**
+     * Return the index of the attribute, resolving it from the object on first access.
+     */
+    protected int getIndex(Object object) {
+        int index = this.index;
+        if ((index == UNRESOLVED) && (object != null)) {
+            if (object instanceof IndexedPersistenceObject) {
+                index = ((IndexedPersistenceObject)object)._persistence_index(this.attributeName);
+            } else {
+                index = IndexedPersistenceObject.NOT_INDEXED;
+            }
+            this.index = index;
+        }
+        return index;
     }
     
     /**
@@ -35,14 +66,38 @@ public class PersistenceObjectAttributeAccessor extends InstanceVariableAttribut
      */
     public void initializeAttributes(Class descriptorClass) throws DescriptorException {
         this.attributeName = attributeName.intern();
+        this.index = UNRESOLVED;
         super.initializeAttributes(descriptorClass);
+        this.isPrimitive = getAttributeType().isPrimitive();
+    }
+    
+    /**
+     * INTERNAL:
+     * Return if the attribute is primitive and can be compared without boxing.
+     */
+    public boolean isPrimitiveIndexed(Object object) {
+        return this.isPrimitive && (getIndex(object) >= 0);
+    }
+    
+    /**
+     * INTERNAL:
+     * Return if the primitive attribute has the same value in both objects,
+     * the values are compared without boxing them.
+     * This must only be called if isPrimitiveIndexed is true.
+     */
+    public boolean primitiveValuesEqual(Object firstObject, Object secondObject) {
+        return ((IndexedPersistenceObject)firstObject)._persistence_primitiveEquals(this.index, secondObject);
     }
-
     
     /**
      * Sets the value of the instance variable in the object to the value.
      */
     public void setAttributeValueInObject(Object object, Object value) {
-        ((PersistenceObject)object)._persistence_set(this.attributeName, value);
+        int index = getIndex(object);
+        if (index < 0) {
+            ((PersistenceObject)object)._persistence_set(this.attributeName, value);
+        } else {
+            ((IndexedPersistenceObject)object)._persistence_set(index, value);
+        }
     }
 }
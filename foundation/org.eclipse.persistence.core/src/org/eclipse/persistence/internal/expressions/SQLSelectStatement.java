@@ -97,6 +97,9 @@ public class SQLSelectStatement extends SQLStatement {
     /** It is used by subselect to re-normalize joins */
     protected Map<Expression, Expression> optimizedClonedExpressions;
 
+    /** The name prefix of the translation row fields used for the keyset pagination values. */
+    public static final String KEYSET_FIELD_PREFIX = "EclipseLink-Keyset-";
+
     public SQLSelectStatement() {
         this.fields = org.eclipse.persistence.internal.helper.NonSynchronizedVector.newInstance(2);
         this.tables = new ArrayList(4);
@@ -144,6 +147,68 @@ public class SQLSelectStatement extends SQLStatement {
         }
     }
 
+    /**
+     * INTERNAL:
+     * Add the keyset pagination criteria to the where clause, so only the rows ordered
+     * after the keyset values of the query are selected.
+     * The keyset values are the parameters {@link #getKeysetField(int)} of the translation row.
+     * The criteria is printed as "(A, B) > (?, ?)" if row value comparisons are supported and
+     * all order by expressions have the same direction, otherwise as the expanded
+     * "(A > ?) OR ((A = ?) AND (B > ?))".
+     */
+    public void addKeysetCriteria(boolean supportsRowValueComparison) {
+        int size = getOrderByExpressions().size();
+        List<Expression> keys = new ArrayList<Expression>(size);
+        List<Expression> values = new ArrayList<Expression>(size);
+        boolean[] isDescending = new boolean[size];
+        boolean isSameDirection = true;
+        for (int index = 0; index < size; index++) {
+            Expression key = getOrderByExpressions().get(index);
+            while (key.isFunctionExpression() && (key.getOperator().isOrderOperator())) {
+                if (key.getOperator().getSelector() == ExpressionOperator.Descending) {
+                    isDescending[index] = true;
+                }
+                key = ((FunctionExpression)key).getBaseExpression();
+            }
+            keys.add(key);
+            values.add(key.getParameter(getKeysetField(index)));
+            isSameDirection = isSameDirection && (isDescending[index] == isDescending[0]);
+        }
+        Expression criteria = null;
+        if (supportsRowValueComparison && isSameDirection && (size > 1)) {
+            StringWriter sql = new StringWriter();
+            sql.write("(?");
+            for (int index = 1; index < size; index++) {
+                sql.write(", ?");
+            }
+            sql.write(isDescending[0] ? ") < (?" : ") > (?");
+            for (int index = 1; index < size; index++) {
+                sql.write(", ?");
+            }
+            sql.write(")");
+            List<Expression> arguments = new ArrayList<Expression>(keys.subList(1, size));
+            arguments.addAll(values);
+            criteria = keys.get(0).sql(sql.toString(), arguments);
+        } else {
+            Expression equalKeys = null;
+            for (int index = 0; index < size; index++) {
+                Expression key = keys.get(index);
+                Expression value = values.get(index);
+                Expression comparison = isDescending[index] ? key.lessThan(value) : key.greaterThan(value);
+                if (equalKeys != null) {
+                    comparison = equalKeys.and(comparison);
+                }
+                criteria = (criteria == null) ? comparison : criteria.or(comparison);
+                equalKeys = (equalKeys == null) ? key.equal(value) : equalKeys.and(key.equal(value));
+            }
+        }
+        if (getWhereClause() == null) {
+            setWhereClause(criteria);
+        } else {
+            setWhereClause(getWhereClause().and(criteria));
+        }
+    }
+
     /**
      * Add a table to the statement. The table will
      * be used in the FROM part of the SQL statement.
@@ -1092,6 +1157,14 @@ public class SQLSelectStatement extends SQLStatement {
         return nonSelectFields;
     }
     
+    /**
+     * INTERNAL:
+     * Return the translation row field of the keyset pagination value at the index.
+     */
+    public static DatabaseField getKeysetField(int index) {
+        return new DatabaseField(KEYSET_FIELD_PREFIX + index);
+    }
+
     /**
      * INTERNAL:
      * Return the order expressions for the query.
@@ -58,10 +58,14 @@ import static org.eclipse.persistence.jpa.jpql.JPQLQueryProblemMessages.*;
  * is allowed. For instance, if the JPQL query has functions defined for EclipseLink grammar but
  * the validation level is set for generic JPA, then an exception will be thrown indicating the
  * function cannot be used.
+ * <p>
+ * With the {@link ParserValidationType#Lazy lazy} validation level, only the grammatical validation
+ * is done before the parsed tree is translated. The semantic validation, which has to resolve the
+ * type of every path, is only done when the translation fails, in order to report the problems.
  *
  * @see JPQLExpression
  *
- * @version 2.5
+ * @version 2.6
  * @since 2.3
  * @author John Bracken
  * @author Pascal Filion
@@ -74,6 +78,18 @@ public final class HermesParser implements JPAQueryBuilder {
 	 */
 	private String validationLevel;
 
+	/**
+	 * The validation levels supported by this parser.
+	 */
+	private static final String[] VALIDATION_LEVELS = {
+		ParserValidationType.EclipseLink,
+		ParserValidationType.JPA10,
+		ParserValidationType.JPA20,
+		ParserValidationType.JPA21,
+		ParserValidationType.None,
+		ParserValidationType.Lazy
+	};
+
 	/**
 	 * Creates a new <code>HermesParser</code>.
 	 */
@@ -191,7 +207,13 @@ public final class HermesParser implements JPAQueryBuilder {
 			validate(queryContext, jpqlExpression.getQueryStatement());
 
 			// Create the Expression representing the selection criteria
-			return queryContext.buildExpression(jpqlExpression.getQueryStatement());
+			try {
+				return queryContext.buildExpression(jpqlExpression.getQueryStatement());
+			}
+			catch (RuntimeException exception) {
+				validateSemantically(queryContext, jpqlExpression.getQueryStatement());
+				throw exception;
+			}
 		}
 		catch (JPQLException exception) {
 			throw exception;
@@ -279,7 +301,14 @@ public final class HermesParser implements JPAQueryBuilder {
 
 			// Create the DatabaseQuery by visiting the parsed tree
 			DatabaseQueryVisitor visitor = new DatabaseQueryVisitor(queryContext, jpqlQuery);
-			jpqlExpression.accept(visitor);
+
+			try {
+				jpqlExpression.accept(visitor);
+			}
+			catch (RuntimeException exception) {
+				validateSemantically(queryContext, jpqlExpression);
+				throw exception;
+			}
 
 			// Add the input parameter types to the DatabaseQuery
 			if (query == null) {
@@ -306,12 +335,22 @@ public final class HermesParser implements JPAQueryBuilder {
 	 */
 	@Override
 	public void setValidationLevel(String validationLevel) {
+
+		// The validation level is compared by identity, the value of a persistence unit property
+		// is case insensitive and is not the constant
+		for (String level : VALIDATION_LEVELS) {
+			if (level.equalsIgnoreCase(validationLevel)) {
+				validationLevel = level;
+				break;
+			}
+		}
+
 		this.validationLevel = validationLevel;
 	}
 
 	/**
 	 * Grammatically and semantically validates the JPQL query. If the query is not valid, then an
-	 * exception will be thrown.
+	 * exception will be thrown. The semantic validation is skipped when the validation is lazy.
 	 *
 	 * @param queryContext The context used to query information about the application metadata and
 	 * cached information
@@ -338,21 +377,59 @@ public final class HermesParser implements JPAQueryBuilder {
 				);
 			}
 
-			// Validate the JPQL query semantically (contextually)
-			EclipseLinkSemanticValidator semantic = new EclipseLinkSemanticValidator(queryContext);
-			semantic.setProblems(problems);
-			expression.accept(semantic);
-
-			if (!problems.isEmpty()) {
-				throw buildException(
-					queryContext,
-					problems,
-					HermesParser_SemanticValidator_ErrorMessage
-				);
+			// The semantic validation is deferred until the translation fails
+			if (validationLevel != ParserValidationType.Lazy) {
+				validateSemantically(queryContext, expression, problems);
 			}
 		}
 	}
 
+	/**
+	 * Semantically validates the JPQL query after its translation failed when the validation is
+	 * {@link ParserValidationType#Lazy lazy}. If the query is not valid, then an exception describing
+	 * the problems will be thrown, otherwise the translation failure is reported as is.
+	 *
+	 * @param queryContext The context used to query information about the application metadata and
+	 * cached information
+	 * @param expression The {@link org.eclipse.persistence.jpa.jpql.parser.Expression Expression} to
+	 * validate semantically
+	 */
+	private void validateSemantically(JPQLQueryContext queryContext,
+	                                  org.eclipse.persistence.jpa.jpql.parser.Expression expression) {
+
+		if (validationLevel == ParserValidationType.Lazy) {
+			validateSemantically(queryContext, expression, new LinkedList<JPQLQueryProblem>());
+		}
+	}
+
+	/**
+	 * Semantically validates the JPQL query. If the query is not valid, then an exception will be
+	 * thrown.
+	 *
+	 * @param queryContext The context used to query information about the application metadata and
+	 * cached information
+	 * @param expression The {@link org.eclipse.persistence.jpa.jpql.parser.Expression Expression} to
+	 * validate semantically
+	 * @param problems The collection used to store the problems
+	 */
+	private void validateSemantically(JPQLQueryContext queryContext,
+	                                  org.eclipse.persistence.jpa.jpql.parser.Expression expression,
+	                                  Collection<JPQLQueryProblem> problems) {
+
+		// Validate the JPQL query semantically (contextually)
+		EclipseLinkSemanticValidator semantic = new EclipseLinkSemanticValidator(queryContext);
+		semantic.setProblems(problems);
+		expression.accept(semantic);
+
+		if (!problems.isEmpty()) {
+			throw buildException(
+				queryContext,
+				problems,
+				HermesParser_SemanticValidator_ErrorMessage
+			);
+		}
+	}
+
 	/**
 	 * This visitor traverses the parsed tree and create the right EclipseLink query and populates it.
 	 */
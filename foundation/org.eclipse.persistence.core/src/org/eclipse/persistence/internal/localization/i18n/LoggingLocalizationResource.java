@@ -176,6 +176,7 @@ public class LoggingLocalizationResource extends ListResourceBundle {
         { "no_jar_entry_migratable_in_ear", "None of the jar entry in the input EAR file ({0}) is migratable." },
         { "invalid_command_line_argument", "The command line argument ({0}) is invalid" },
         { "persistence_unit_ignores_statments_cache_setting", "The statement cache cannot be enabled because no connection pool is configured." },
+        { "project_cache_digest_failed", "The persistence unit digest could not be computed, the project cache is not used and the metadata is processed: {0}" },
         { "column_size_not_migrated", "DB column size ({0}) is not migrated. See migration doc for details." },
         { "associate_using_third_table_not_migrated", "Oc4j native CMP feature -DassociateUsingThirdTable=true to map 1:m using a relation table is not migrated. You must re-map cmr field ({1}) of the entity ({0}) as one-to-many mapping through Mapping Workbench after the migration process." },
         { "delay_updates_until_commit_not_supported", "Oc4j native CMP feature 'delay-updates-until-commit' on entity({0}) is not directly supported in EclipseLink CMP. See migration doc for details." },
@@ -381,6 +382,7 @@ public class LoggingLocalizationResource extends ListResourceBundle {
         { "resource_local_persistence_init_info_ignores_jta_data_source", "PersistenceUnitInfo {0} has transactionType RESOURCE_LOCAL and therefore jtaDataSource will be ignored"},
         { "deprecated_property", "property {1} is deprecated, property {0} should be used instead."},
         { "persistence_unit_processor_error_loading_class", "{0}: {1} was thrown on attempt of PersistenceLoadProcessor to load class {2}. The class is ignored."},
+        { "class_index_class_not_found", "The class {0} listed in the class index of {1} is not in the archive. The class is ignored, rebuild the index with StaticIndex."},
         
         { "attempted_to_open_url_as_jar", "{1} was thrown on attempt to open {0} as a jar."},
         { "attempted_to_open_url_as_directory", "{1} was thrown on attempt to open {0} as a directory."},
@@ -81,6 +81,10 @@ public class ToStringLocalizationResource extends ListResourceBundle {
                                            { "staticweave_commandline_help_message_11of19", "           Specify logging file." },
                                            { "staticweave_commandline_help_message_12of19", "    -loglevel" },
                                            { "staticweave_commandline_help_message_13of19", "           Specify the integer value of the logging level (8=OFF,7=SEVERE,6=WARNING,5=INFO,4=CONFIG,3=FINE,2=FINER(default),1=FINEST,0=ALL)." },
+                                           { "staticweave_commandline_help_message_threads", "    -threads" },
+                                           { "staticweave_commandline_help_message_threads_description", "           Specify the number of threads weaving classes (default 1)." },
+                                           { "staticweave_commandline_help_message_incremental", "    -incremental" },
+                                           { "staticweave_commandline_help_message_incremental_description", "           Only weave the classes changed since the last weave of a directory target, as recorded in the manifest written next to the target." },
                                            { "staticweave_commandline_help_message_14of19", "    The classpath must contain all the classes necessary to load the classes in the source." },
                                            { "staticweave_commandline_help_message_15of19", "    The weaving will be performed in place if source and target point to the same location.  Weaving in place is ONLY applicable for directory-based sources." },
                                            { "staticweave_commandline_help_message_16of19", "  Example:" },
@@ -88,6 +92,15 @@ public class ToStringLocalizationResource extends ListResourceBundle {
                                            { "staticweave_commandline_help_message_18of19", "    and output to C:\\foo-target.jar:" },
                                            { "staticweave_commandline_help_message_19of19", "    StaticWeave -persistenceinfo C:\\foo-containing-persistence-xml.jar -classpath C:\\classpath1;C:\\classpath2 C:\\foo-source.jar C:\\foo-target.jar"},
                                            
+                                           { "staticindex_commandline_help_message_usage", "  Usage: StaticIndex source [target]" },
+                                           { "staticindex_commandline_help_message_source", "    source" },
+                                           { "staticindex_commandline_help_message_source_description", "           The directory or jar containing the persistence unit classes." },
+                                           { "staticindex_commandline_help_message_target", "    target" },
+                                           { "staticindex_commandline_help_message_target_description", "           The index file to write.  If not given, the index is written as {0} inside a directory source, or added to a jar source." },
+                                           { "staticindex_commandline_help_message_stale", "    The index must be rebuilt whenever the classes change.  Only the indexed classes are deployed, so persistent classes added after the index was built are not found." },
+                                           { "staticindex_commandline_help_message_example", "  Example:" },
+                                           { "staticindex_commandline_help_message_example_command", "    StaticIndex C:\\foo-source.jar" },
+                                           
                                            { "sdo_classgenerator_usage_help_1of8", "{0} Usage: org.eclipse.persistence.sdo.helper.{0} [-options]" },
                                            { "sdo_classgenerator_usage_help_2of8", "Options:" },
                                            { "sdo_classgenerator_usage_help_3of8", "    -help                        Prints the help message text" },
@@ -273,12 +273,17 @@ public class TraceLocalizationResource extends ListResourceBundle {
                                            { "dbPlatformHelper_patternSyntaxException", "Exception while using regular expression: {0}" },
                                            { "unknown_query_hint", "query {0}: unknown query hint {1} will be ignored"},
                                            { "query_hint", "query {0}: query hint {1}; value {2}"},
+                                           { "query_warm_up_begin", "Begin preparing {1} queries of session {0} using {2} threads"},
+                                           { "query_warm_up_end", "End preparing the queries of session {0}; prepared {1}; failed {2}; took {3} ms"},
+                                           { "query_warm_up_failed", "query {0}: preparation failed, it will be prepared on first use: {1}"},
                                            { "property_value_specified", "property={0}; value={1}"},
                                            { "property_value_default", "property={0}; default value={1}"},
                                            { "handler_property_value_specified", "property={0}; value={1}; translated value={2}"},
                                            { "handler_property_value_default", "property={0}; default value={1}; translated value={2}"},
                                            { "predeploy_begin", "Begin predeploying Persistence Unit {0}; session {1}; state {2}; factoryCount {3}"},
                                            { "predeploy_end", "End predeploying Persistence Unit {0}; session {1}; state {2}; factoryCount {3}"},
+                                           { "metadata_processing_phase_time", "Metadata processing phase {0} for Persistence Unit {1} took {2} ms"},
+                                           { "project_cache_digest_mismatch", "The project cached in {0} was built from different persistence unit metadata and will be rebuilt"},
                                            { "session_name_change", "Session change name: Persistence Unit {0}; old session {1}; new session {2}"},
                                            { "deploy_begin", "Begin deploying Persistence Unit {0}; session {1}; state {2}; factoryCount {3}"},
                                            { "deploy_end", "End deploying Persistence Unit {0}; session {1}; state {2}; factoryCount {3}"},
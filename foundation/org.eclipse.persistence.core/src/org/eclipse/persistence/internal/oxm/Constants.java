@@ -158,6 +158,11 @@ public class Constants {
         public boolean isApplicationXML() {
             return false;
         }
+
+        @Override
+        public boolean isApplicationCBOR() {
+            return false;
+        }
         
     };
 
@@ -172,6 +177,11 @@ public class Constants {
         public boolean isApplicationXML() {
             return true;
         }
+
+        @Override
+        public boolean isApplicationCBOR() {
+            return false;
+        }
         
     };
 
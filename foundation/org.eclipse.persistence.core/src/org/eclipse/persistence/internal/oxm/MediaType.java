@@ -22,4 +22,11 @@ public interface MediaType {
 
     public boolean isApplicationXML();
 
+    /**
+     * Return true if the JSON binding is encoded as CBOR.  The JSON
+     * marshal and unmarshal properties also apply to this media type.
+     * @since EclipseLink 2.6
+     */
+    public boolean isApplicationCBOR();
+
 }
\ No newline at end of file
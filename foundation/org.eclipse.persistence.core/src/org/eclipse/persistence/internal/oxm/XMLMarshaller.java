@@ -24,6 +24,7 @@ import java.lang.reflect.Method;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.Collection;
+import java.util.Iterator;
 
 import javax.xml.namespace.QName;
 import javax.xml.transform.Result;
@@ -46,6 +47,7 @@ import org.eclipse.persistence.internal.oxm.record.namespaces.PrefixMapperNamesp
 import org.eclipse.persistence.internal.security.PrivilegedAccessHelper;
 import org.eclipse.persistence.oxm.JSONWithPadding;
 import org.eclipse.persistence.oxm.attachment.XMLAttachmentMarshaller;
+import org.eclipse.persistence.oxm.record.CBORWriterRecord;
 import org.eclipse.persistence.oxm.record.ContentHandlerRecord;
 import org.eclipse.persistence.oxm.record.FormattedOutputStreamRecord;
 import org.eclipse.persistence.oxm.record.FormattedWriterRecord;
@@ -143,6 +145,7 @@ public abstract class XMLMarshaller<
     private boolean wrapperAsCollectionName = false;
     private String xmlHeader;
     private Object marshalAttributeGroup;
+    private int collectionFlushSize;
 
     public XMLMarshaller(CONTEXT context) {
         super(context);
@@ -176,6 +179,7 @@ public abstract class XMLMarshaller<
         valueWrapper = xmlMarshaller.getValueWrapper();
         wrapperAsCollectionName = xmlMarshaller.isWrapperAsCollectionName();
         xmlHeader = xmlMarshaller.getXmlHeader();
+        collectionFlushSize = xmlMarshaller.getCollectionFlushSize();
     }
 
     protected void addDescriptorNamespacesToXMLRecord(DESCRIPTOR xmlDescriptor, AbstractMarshalRecord record) {
@@ -241,6 +245,16 @@ public abstract class XMLMarshaller<
         return this.attachmentMarshaller;
     }
 
+    /**
+     * The number of elements of a root level collection or iterator after
+     * which the output is flushed.  0 (the default) means the output is
+     * only flushed once the whole collection has been marshalled.
+     * @since 2.6
+     */
+    public int getCollectionFlushSize() {
+        return collectionFlushSize;
+    }
+
     /**
      * Value that will be used to prefix attributes.  
      * Ignored marshalling XML.   
@@ -408,12 +422,13 @@ public abstract class XMLMarshaller<
 
     /**
      * INTERNAL
-     * @return true if the media type is application/json, else false.
+     * @return true if the media type is application/json or application/cbor
+     * (the CBOR encoding of the JSON binding), else false.
      * @since EclipseLink 2.6.0
      */
     @Override
     public boolean isApplicationJSON() {
-        return null != mediaType && mediaType.isApplicationJSON();
+        return null != mediaType && (mediaType.isApplicationJSON() || mediaType.isApplicationCBOR());
     }
 
     /**
@@ -901,6 +916,12 @@ public abstract class XMLMarshaller<
             encoding = xroot.getEncoding() != null ? xroot.getEncoding() : encoding;
         }
 
+        if(null != mediaType && mediaType.isApplicationCBOR()) {
+            // CBOR is binary, the encoding and formatting properties do not apply
+            marshalStreamOrWriter(object, new CBORWriterRecord(outputStream), session, xmlDescriptor, isXMLRoot);
+            return;
+        }
+
         if(!encoding.equals(Constants.DEFAULT_XML_ENCODING)) {
             try {
                 OutputStreamWriter writer = new OutputStreamWriter(outputStream, encoding);
@@ -1057,6 +1078,9 @@ public abstract class XMLMarshaller<
         if ((object == null) || (writer == null)) {
             throw XMLMarshalException.nullArgumentException();
         }
+        if(null != mediaType && mediaType.isApplicationCBOR()) {
+            throw XMLMarshalException.binaryMediaTypeRequiresByteStream(org.eclipse.persistence.oxm.MediaType.APPLICATION_CBOR.getMediaType());
+        }
         boolean isXMLRoot = false;
         String version = DEFAULT_XML_VERSION;
         String encoding = getEncoding();
@@ -1104,6 +1128,15 @@ public abstract class XMLMarshaller<
         String rootName = null;
         String rootNamespace = null;
         if(isXMLRoot){
+            Object rootObject = ((Root)object).getObject();
+            if(rootObject instanceof Iterator) {
+                if(isApplicationJSON()) {
+                    marshalCollection((Iterator) rootObject, marshalRecord);
+                } else {
+                    marshalWrappedCollection((Root) object, (Iterator) rootObject, marshalRecord);
+                }
+                return;
+            }
             rootName = ((Root)object).getLocalName();
             rootNamespace = ((Root)object).getNamespaceURI();
             if(session == null || descriptor == null){
@@ -1121,18 +1154,17 @@ public abstract class XMLMarshaller<
         }else{
             Class objectClass = object.getClass();
             if(object instanceof Collection) {
-                marshalRecord.startCollection();
-                for(Object o : (Collection) object) {
-                    marshal(o, marshalRecord);
-                }
-                marshalRecord.endCollection();
-                marshalRecord.flush();
+                marshalCollection(((Collection) object).iterator(), marshalRecord);
+                return;
+            } else if(object instanceof Iterator) {
+                marshalCollection((Iterator) object, marshalRecord);
                 return;
             } else if(objectClass.isArray()) {
                 marshalRecord.startCollection();
                 int arrayLength = Array.getLength(object);
                 for(int x=0; x<arrayLength; x++) {
                     marshal(Array.get(object, x), marshalRecord);
+                    flushIfRequired(x + 1, marshalRecord);
                 }
                 marshalRecord.endCollection();
                 marshalRecord.flush();
@@ -1148,6 +1180,82 @@ public abstract class XMLMarshaller<
         marshalRecord.flush();
     }
 
+    /**
+     * INTERNAL:
+     * Marshal each element returned by the iterator as a member of a root
+     * level collection.  Elements are pulled from the iterator one at a time
+     * so the collection never needs to be held in memory.
+     */
+    private void marshalCollection(Iterator iterator, MarshalRecord marshalRecord) {
+        marshalRecord.startCollection();
+        int count = 0;
+        while(iterator.hasNext()) {
+            marshal(iterator.next(), marshalRecord);
+            flushIfRequired(++count, marshalRecord);
+        }
+        marshalRecord.endCollection();
+        marshalRecord.flush();
+    }
+
+    /**
+     * INTERNAL:
+     * Marshal each element returned by the iterator as a child of a wrapper
+     * element named by the Root.  Used for XML where a document requires a
+     * single root element.
+     */
+    private void marshalWrappedCollection(Root root, Iterator iterator, MarshalRecord marshalRecord) {
+        if (!isFragment()) {
+            String encoding = getEncoding();
+            if (root.getEncoding() != null) {
+                encoding = root.getEncoding();
+            }
+            String version = DEFAULT_XML_VERSION;
+            if (root.getXMLVersion() != null) {
+                version = root.getXMLVersion();
+            }
+            marshalRecord.startDocument(encoding, version);
+        }
+        if (getXmlHeader() != null) {
+            marshalRecord.writeHeader();
+        }
+        NamespaceResolver nr = marshalRecord.getNamespaceResolver();
+        XPathFragment wrapperFragment = buildRootFragment(root, null, true, marshalRecord);
+        marshalRecord.startPrefixMappings(nr);
+        marshalRecord.openStartElement(wrapperFragment, nr);
+        marshalRecord.namespaceDeclarations(nr);
+        marshalRecord.closeStartElement();
+
+        // The elements are written inside the wrapper so must not start a new document
+        // nor repeat the header
+        boolean wasFragment = isFragment();
+        String header = getXmlHeader();
+        setFragment(true);
+        setXmlHeader(null);
+        try {
+            int count = 0;
+            while(iterator.hasNext()) {
+                marshal(iterator.next(), marshalRecord);
+                flushIfRequired(++count, marshalRecord);
+            }
+        } finally {
+            setFragment(wasFragment);
+            setXmlHeader(header);
+        }
+
+        marshalRecord.endElement(wrapperFragment, nr);
+        marshalRecord.endPrefixMappings(nr);
+        if (!isFragment()) {
+            marshalRecord.endDocument();
+        }
+        marshalRecord.flush();
+    }
+
+    private void flushIfRequired(int count, MarshalRecord marshalRecord) {
+        if(collectionFlushSize > 0 && count % collectionFlushSize == 0) {
+            marshalRecord.flush();
+        }
+    }
+
     /**
      * INTERNAL:
      * Wrap Writer in a BufferedWriter only if its write() operations may be costly
@@ -1326,6 +1434,16 @@ public abstract class XMLMarshaller<
         this.wrapperAsCollectionName = wrapperAsCollectionName;
     }
 
+    /**
+     * Set the number of elements of a root level collection or iterator after
+     * which the output is flushed, so that large results can be streamed to
+     * the client while they are being marshalled.
+     * @since 2.6
+     */
+    public void setCollectionFlushSize(int collectionFlushSize) {
+        this.collectionFlushSize = collectionFlushSize;
+    }
+
     /**
      * Name of the property to marshal/unmarshal as a wrapper on the text() mappings   
      * Ignored marshalling XML.  
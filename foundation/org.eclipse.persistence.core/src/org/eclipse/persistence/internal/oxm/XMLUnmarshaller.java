@@ -745,12 +745,13 @@ public class XMLUnmarshaller<
 
     /**
      * INTERNAL
-     * @return true if the media type is application/json, else false.
+     * @return true if the media type is application/json or application/cbor
+     * (the CBOR encoding of the JSON binding), else false.
      * @since EclipseLink 2.6.0
      */
     @Override
     public boolean isApplicationJSON() {
-        return null != mediaType && mediaType.isApplicationJSON();
+        return null != mediaType && (mediaType.isApplicationJSON() || mediaType.isApplicationCBOR());
     }
 
     /**
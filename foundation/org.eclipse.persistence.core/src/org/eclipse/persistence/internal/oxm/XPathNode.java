@@ -59,6 +59,8 @@ public class XPathNode {
     private Map<XPathFragment, XPathNode> nonAttributeChildrenMap;
     private Map<String, XPathNode> nonAttributeChildrenLookupTable;
     private boolean isNonAttributeChildrenLookupTableFilled = false;
+    private ChildrenDispatchTable attributeChildrenDispatchTable;
+    private ChildrenDispatchTable nonAttributeChildrenDispatchTable;
     private MappingNodeValue anyAttributeNodeValue;
     private XPathNode anyAttributeNode;
     private XPathNode textNode;
@@ -148,6 +150,71 @@ public class XPathNode {
         return this.attributeChildrenMap;
     }
 
+    /**
+     * INTERNAL:
+     * Return the element child matching the XPathFragment, equivalent to
+     * getNonAttributeChildrenMap().get(xPathFragment).  Plain names are
+     * resolved through a precomputed dispatch table which avoids hashing and
+     * comparing XPathFragments for every unmarshal event.
+     * @since 2.6
+     */
+    public XPathNode getNonAttributeChild(XPathFragment xPathFragment) {
+        if (null == nonAttributeChildrenMap) {
+            return null;
+        }
+        if (!ChildrenDispatchTable.isDispatchable(xPathFragment)) {
+            return nonAttributeChildrenMap.get(xPathFragment);
+        }
+        ChildrenDispatchTable dispatchTable = nonAttributeChildrenDispatchTable;
+        if (null == dispatchTable) {
+            dispatchTable = new ChildrenDispatchTable(nonAttributeChildrenMap);
+            nonAttributeChildrenDispatchTable = dispatchTable;
+        }
+        return dispatchTable.get(xPathFragment);
+    }
+
+    /**
+     * INTERNAL:
+     * Return the attribute child matching the XPathFragment, equivalent to
+     * getAttributeChildrenMap().get(xPathFragment).
+     * @since 2.6
+     */
+    public XPathNode getAttributeChild(XPathFragment xPathFragment) {
+        if (null == attributeChildrenMap) {
+            return null;
+        }
+        if (!ChildrenDispatchTable.isDispatchable(xPathFragment)) {
+            return attributeChildrenMap.get(xPathFragment);
+        }
+        ChildrenDispatchTable dispatchTable = attributeChildrenDispatchTable;
+        if (null == dispatchTable) {
+            dispatchTable = new ChildrenDispatchTable(attributeChildrenMap);
+            attributeChildrenDispatchTable = dispatchTable;
+        }
+        return dispatchTable.get(xPathFragment);
+    }
+
+    /**
+     * INTERNAL:
+     * Build the child dispatch tables of this node and all of its descendants.
+     * Called once the tree is complete so that the first unmarshal does not
+     * pay for building them.
+     * @since 2.6
+     */
+    public void initializeChildrenDispatchTables() {
+        if (null != attributeChildrenMap) {
+            attributeChildrenDispatchTable = new ChildrenDispatchTable(attributeChildrenMap);
+        }
+        if (null != nonAttributeChildrenMap) {
+            nonAttributeChildrenDispatchTable = new ChildrenDispatchTable(nonAttributeChildrenMap);
+            for (XPathNode child : nonAttributeChildrenMap.values()) {
+                if (child != this) {
+                    child.initializeChildrenDispatchTables();
+                }
+            }
+        }
+    }
+
     public boolean isChildrenLookupTableFilled(boolean isAttribute) {
         return isAttribute ? isAttributeChildrenLookupTableFilled : isNonAttributeChildrenLookupTableFilled;
     }
@@ -349,6 +416,11 @@ public class XPathNode {
                     children.add(xPathNode);
                 }
                 childrenMap.put(anXPathFragment, xPathNode);
+                if (childrenMap == attributeChildrenMap) {
+                    attributeChildrenDispatchTable = null;
+                } else {
+                    nonAttributeChildrenDispatchTable = null;
+                }
             }
         }
 
@@ -366,6 +438,80 @@ public class XPathNode {
         return xPathNode;
     }
 
+    /**
+     * INTERNAL:
+     * Immutable open addressing table keyed on the local names of the children
+     * that can be matched by name and namespace alone.  Entries are inserted in
+     * the iteration order of the children map so that the child returned for
+     * an ambiguous (not namespace aware) lookup is the same one the map returns.
+     */
+    private static final class ChildrenDispatchTable {
+
+        private final String[] localNames;
+        private final XPathFragment[] fragments;
+        private final XPathNode[] nodes;
+        private final int mask;
+
+        ChildrenDispatchTable(Map<XPathFragment, XPathNode> childrenMap) {
+            int capacity = 2;
+            while (capacity < childrenMap.size() << 1) {
+                capacity <<= 1;
+            }
+            localNames = new String[capacity];
+            fragments = new XPathFragment[capacity];
+            nodes = new XPathNode[capacity];
+            mask = capacity - 1;
+            for (Map.Entry<XPathFragment, XPathNode> entry : childrenMap.entrySet()) {
+                XPathFragment fragment = entry.getKey();
+                if (null == fragment.getLocalName() || fragment.nameIsText() || fragment.getIndexValue() != -1 || null != fragment.getPredicate()) {
+                    // Only reachable through the children map (index, predicate or text())
+                    continue;
+                }
+                String localName = fragment.getLocalName();
+                int slot = localName.hashCode() & mask;
+                while (null != localNames[slot]) {
+                    slot = (slot + 1) & mask;
+                }
+                localNames[slot] = localName;
+                fragments[slot] = fragment;
+                nodes[slot] = entry.getValue();
+            }
+        }
+
+        /**
+         * Return true if the children matching the fragment can be found by
+         * local name and namespace URI alone.
+         */
+        static boolean isDispatchable(XPathFragment xPathFragment) {
+            return null != xPathFragment.getLocalName() && !xPathFragment.nameIsText() && !xPathFragment.isAttribute() && xPathFragment.getIndexValue() == -1 && null == xPathFragment.getPredicate();
+        }
+
+        XPathNode get(XPathFragment xPathFragment) {
+            String localName = xPathFragment.getLocalName();
+            int slot = localName.hashCode() & mask;
+            String nextLocalName;
+            while (null != (nextLocalName = localNames[slot])) {
+                if (nextLocalName.equals(localName) && namespaceMatches(fragments[slot], xPathFragment)) {
+                    return nodes[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+            return null;
+        }
+
+        private static boolean namespaceMatches(XPathFragment fragment, XPathFragment xPathFragment) {
+            if (!fragment.isNamespaceAware() || !xPathFragment.isNamespaceAware()) {
+                return true;
+            }
+            String namespaceURI = fragment.getNamespaceURI();
+            if (null == namespaceURI) {
+                return null == xPathFragment.getNamespaceURI();
+            }
+            return namespaceURI.equals(xPathFragment.getNamespaceURI());
+        }
+
+    }
+
     private void setHasPredicateSiblings(boolean b) {
         this.hasPredicateSiblings = b;
     }
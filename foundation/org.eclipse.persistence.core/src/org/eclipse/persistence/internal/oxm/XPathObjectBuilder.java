@@ -546,6 +546,7 @@ public class XPathObjectBuilder extends CoreObjectBuilder<CoreAbstractRecord, Co
                 }
             }
 
+            rootXPathNode.initializeChildrenDispatchTables();
             initialized = true;
         }
     }
@@ -48,6 +48,7 @@ import org.eclipse.persistence.internal.oxm.Unmarshaller;
 import org.eclipse.persistence.internal.oxm.UnmarshallerHandler;
 import org.eclipse.persistence.internal.oxm.mappings.Descriptor;
 import org.eclipse.persistence.internal.oxm.mappings.UnmarshalKeepAsElementPolicy;
+import org.eclipse.persistence.internal.oxm.record.json.CBORReader;
 import org.eclipse.persistence.internal.oxm.record.json.JSONReader;
 import org.eclipse.persistence.platform.xml.DefaultErrorHandler;
 import org.eclipse.persistence.platform.xml.SAXDocumentBuilder;
@@ -196,6 +197,9 @@ public class SAXUnmarshaller implements PlatformUnmarshaller {
     
     private XMLReader getNewXMLReader(Class clazz, MediaType mediaType) {
               	
+        	if(null != mediaType && mediaType.isApplicationCBOR()){
+        		return new CBORReader(xmlUnmarshaller, clazz);
+        	}
         	if(null != mediaType && mediaType.isApplicationJSON()){        	
         	 	return new JSONReader(xmlUnmarshaller.getAttributePrefix(), xmlUnmarshaller.getNamespaceResolver(), xmlUnmarshaller.getNamespaceResolver() != null, xmlUnmarshaller.isIncludeRoot(), xmlUnmarshaller.getNamespaceSeparator(), xmlUnmarshaller.getErrorHandler(), xmlUnmarshaller.getValueWrapper(), clazz);        	 	
         	}
@@ -1224,7 +1224,7 @@ public class UnmarshalRecordImpl<TRANSFORMATION_RECORD extends TransformationRec
             if (unmarshaller.isCaseInsensitive()){
                 resultNode = getNodeFromLookupTable(nonAttributeChildrenMap, false);
             } else {
-                resultNode = nonAttributeChildrenMap.get(xPathFragment);
+                resultNode = xPathNode.getNonAttributeChild(xPathFragment);
             }
 
             XPathNode nonPredicateNode = null;
@@ -1333,7 +1333,7 @@ public class UnmarshalRecordImpl<TRANSFORMATION_RECORD extends TransformationRec
             if (unmarshaller.isCaseInsensitive()){
                 resultNode = getNodeFromLookupTable(attributeChildrenMap, true);
             } else {
-                resultNode = attributeChildrenMap.get(xPathFragment);
+                resultNode = xPathNode.getAttributeChild(xPathFragment);
             }
 
             if (resultNode != null) {
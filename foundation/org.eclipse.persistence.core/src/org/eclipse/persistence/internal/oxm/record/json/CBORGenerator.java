@@ -0,0 +1,407 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 and Eclipse Distribution License v. 1.0
+ * which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * Contributors:
+ *     Oracle - 2.6 - initial implementation
+ ******************************************************************************/
+package org.eclipse.persistence.internal.oxm.record.json;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Map;
+
+import javax.json.JsonArray;
+import javax.json.JsonNumber;
+import javax.json.JsonObject;
+import javax.json.JsonString;
+import javax.json.JsonValue;
+import javax.json.stream.JsonGenerator;
+
+import org.eclipse.persistence.exceptions.XMLMarshalException;
+
+/**
+ * INTERNAL:
+ * <p><b>Purpose: </b>A JsonGenerator that writes CBOR (RFC 7049) instead of
+ * JSON text, so the JSON marshal records can produce CBOR unchanged.
+ * <p>Objects and arrays are written with indefinite lengths so the number of
+ * members never needs to be known up front.  Integral numbers are written as
+ * CBOR integers (bignums beyond 64 bits), other decimals as decimal fractions
+ * and doubles as single precision floats when no precision is lost.  Output
+ * is buffered, flush() or close() writes it to the OutputStream.
+ */
+public class CBORGenerator implements JsonGenerator {
+
+    static final int UNSIGNED_INTEGER = 0x00;
+    static final int NEGATIVE_INTEGER = 0x20;
+    static final int BYTE_STRING = 0x40;
+    static final int TEXT_STRING = 0x60;
+    static final int ARRAY = 0x80;
+    static final int MAP = 0xA0;
+    static final int TAG = 0xC0;
+    static final int SIMPLE = 0xE0;
+
+    static final int ONE_BYTE = 24;
+    static final int TWO_BYTES = 25;
+    static final int FOUR_BYTES = 26;
+    static final int EIGHT_BYTES = 27;
+    static final int INDEFINITE_LENGTH = 31;
+
+    static final int FALSE = 0xF4;
+    static final int TRUE = 0xF5;
+    static final int NULL = 0xF6;
+    static final int UNDEFINED = 0xF7;
+    static final int HALF_FLOAT = 0xF9;
+    static final int FLOAT = 0xFA;
+    static final int DOUBLE = 0xFB;
+    static final int BREAK = 0xFF;
+
+    static final int TAG_POSITIVE_BIGNUM = 2;
+    static final int TAG_NEGATIVE_BIGNUM = 3;
+    static final int TAG_DECIMAL_FRACTION = 4;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private OutputStream outputStream;
+    private byte[] buffer;
+    private int count;
+
+    public CBORGenerator(OutputStream outputStream) {
+        this.outputStream = outputStream;
+        this.buffer = new byte[BUFFER_SIZE];
+    }
+
+    public JsonGenerator writeStartObject() {
+        writeByte(MAP | INDEFINITE_LENGTH);
+        return this;
+    }
+
+    public JsonGenerator writeStartObject(String name) {
+        writeString(name);
+        return writeStartObject();
+    }
+
+    public JsonGenerator writeStartArray() {
+        writeByte(ARRAY | INDEFINITE_LENGTH);
+        return this;
+    }
+
+    public JsonGenerator writeStartArray(String name) {
+        writeString(name);
+        return writeStartArray();
+    }
+
+    public JsonGenerator writeEnd() {
+        writeByte(BREAK);
+        return this;
+    }
+
+    public JsonGenerator write(String name, JsonValue value) {
+        writeString(name);
+        return write(value);
+    }
+
+    public JsonGenerator write(String name, String value) {
+        writeString(name);
+        return write(value);
+    }
+
+    public JsonGenerator write(String name, BigInteger value) {
+        writeString(name);
+        return write(value);
+    }
+
+    public JsonGenerator write(String name, BigDecimal value) {
+        writeString(name);
+        return write(value);
+    }
+
+    public JsonGenerator write(String name, int value) {
+        writeString(name);
+        return write(value);
+    }
+
+    public JsonGenerator write(String name, long value) {
+        writeString(name);
+        return write(value);
+    }
+
+    public JsonGenerator write(String name, double value) {
+        writeString(name);
+        return write(value);
+    }
+
+    public JsonGenerator write(String name, boolean value) {
+        writeString(name);
+        return write(value);
+    }
+
+    public JsonGenerator writeNull(String name) {
+        writeString(name);
+        return writeNull();
+    }
+
+    public JsonGenerator write(JsonValue value) {
+        switch (value.getValueType()) {
+            case OBJECT: {
+                writeStartObject();
+                for (Map.Entry<String, JsonValue> entry : ((JsonObject) value).entrySet()) {
+                    write(entry.getKey(), entry.getValue());
+                }
+                return writeEnd();
+            }
+            case ARRAY: {
+                writeStartArray();
+                for (JsonValue next : (JsonArray) value) {
+                    write(next);
+                }
+                return writeEnd();
+            }
+            case STRING:
+                return write(((JsonString) value).getString());
+            case NUMBER: {
+                JsonNumber number = (JsonNumber) value;
+                if (number.isIntegral()) {
+                    return write(number.bigIntegerValue());
+                }
+                return write(number.bigDecimalValue());
+            }
+            case TRUE:
+                return write(true);
+            case FALSE:
+                return write(false);
+            default:
+                return writeNull();
+        }
+    }
+
+    public JsonGenerator write(String value) {
+        writeString(value);
+        return this;
+    }
+
+    public JsonGenerator write(BigDecimal value) {
+        if (value.scale() == 0) {
+            return write(value.unscaledValue());
+        }
+        writeTypeAndLength(TAG, TAG_DECIMAL_FRACTION);
+        writeTypeAndLength(ARRAY, 2);
+        write(-(long) value.scale());
+        return write(value.unscaledValue());
+    }
+
+    public JsonGenerator write(BigInteger value) {
+        if (value.signum() >= 0) {
+            if (value.bitLength() <= 64) {
+                writeTypeAndLength(UNSIGNED_INTEGER, value.longValue());
+            } else {
+                writeTypeAndLength(TAG, TAG_POSITIVE_BIGNUM);
+                writeBytes(value.toByteArray());
+            }
+        } else {
+            // CBOR stores a negative integer n as -1 - n
+            BigInteger encoded = value.not();
+            if (encoded.bitLength() <= 64) {
+                writeTypeAndLength(NEGATIVE_INTEGER, encoded.longValue());
+            } else {
+                writeTypeAndLength(TAG, TAG_NEGATIVE_BIGNUM);
+                writeBytes(encoded.toByteArray());
+            }
+        }
+        return this;
+    }
+
+    public JsonGenerator write(int value) {
+        return write((long) value);
+    }
+
+    public JsonGenerator write(long value) {
+        if (value >= 0) {
+            writeTypeAndLength(UNSIGNED_INTEGER, value);
+        } else {
+            writeTypeAndLength(NEGATIVE_INTEGER, -1 - value);
+        }
+        return this;
+    }
+
+    public JsonGenerator write(double value) {
+        float floatValue = (float) value;
+        if (floatValue == value || Double.isNaN(value)) {
+            ensureCapacity(5);
+            buffer[count++] = (byte) FLOAT;
+            writeInt(Float.floatToIntBits(floatValue));
+        } else {
+            ensureCapacity(9);
+            buffer[count++] = (byte) DOUBLE;
+            writeLong(Double.doubleToLongBits(value));
+        }
+        return this;
+    }
+
+    public JsonGenerator write(boolean value) {
+        writeByte(value ? TRUE : FALSE);
+        return this;
+    }
+
+    public JsonGenerator writeNull() {
+        writeByte(NULL);
+        return this;
+    }
+
+    public void flush() {
+        try {
+            flushBuffer();
+            outputStream.flush();
+        } catch (IOException e) {
+            throw XMLMarshalException.marshalException(e);
+        }
+    }
+
+    public void close() {
+        try {
+            flushBuffer();
+            outputStream.close();
+        } catch (IOException e) {
+            throw XMLMarshalException.marshalException(e);
+        }
+    }
+
+    /**
+     * Write a byte string, leading sign bytes of a two's complement array are
+     * dropped as bignums are unsigned magnitudes.
+     */
+    private void writeBytes(byte[] bytes) {
+        int offset = 0;
+        while (offset < bytes.length - 1 && bytes[offset] == 0) {
+            offset++;
+        }
+        int length = bytes.length - offset;
+        writeTypeAndLength(BYTE_STRING, length);
+        for (int x = offset; x < bytes.length; x++) {
+            writeByte(bytes[x]);
+        }
+    }
+
+    /**
+     * Write a text string, encoding the UTF-8 directly into the buffer.
+     */
+    private void writeString(String value) {
+        int length = value.length();
+        writeTypeAndLength(TEXT_STRING, utf8Length(value));
+        for (int x = 0; x < length; x++) {
+            ensureCapacity(4);
+            char c = value.charAt(x);
+            if (c < 0x80) {
+                buffer[count++] = (byte) c;
+            } else if (c < 0x800) {
+                buffer[count++] = (byte) (0xC0 | (c >> 6));
+                buffer[count++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && x + 1 < length && Character.isLowSurrogate(value.charAt(x + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++x));
+                buffer[count++] = (byte) (0xF0 | (codePoint >> 18));
+                buffer[count++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buffer[count++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buffer[count++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (isSurrogate(c)) {
+                // Unpaired surrogate, replaced the same way String.getBytes does
+                buffer[count++] = (byte) '?';
+            } else {
+                buffer[count++] = (byte) (0xE0 | (c >> 12));
+                buffer[count++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buffer[count++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    private static int utf8Length(String value) {
+        int length = value.length();
+        int utf8Length = 0;
+        for (int x = 0; x < length; x++) {
+            char c = value.charAt(x);
+            if (c < 0x80) {
+                utf8Length++;
+            } else if (c < 0x800) {
+                utf8Length += 2;
+            } else if (Character.isHighSurrogate(c) && x + 1 < length && Character.isLowSurrogate(value.charAt(x + 1))) {
+                utf8Length += 4;
+                x++;
+            } else if (isSurrogate(c)) {
+                utf8Length++;
+            } else {
+                utf8Length += 3;
+            }
+        }
+        return utf8Length;
+    }
+
+    private static boolean isSurrogate(char c) {
+        return c >= Character.MIN_SURROGATE && c <= Character.MAX_SURROGATE;
+    }
+
+    /**
+     * Write the initial byte of a data item followed by its argument (a
+     * length, value or tag number) using the shortest encoding.  The argument
+     * is treated as an unsigned 64 bit value.
+     */
+    private void writeTypeAndLength(int majorType, long length) {
+        ensureCapacity(9);
+        if (length >= 0 && length < ONE_BYTE) {
+            buffer[count++] = (byte) (majorType | (int) length);
+        } else if (length >= 0 && length <= 0xFFL) {
+            buffer[count++] = (byte) (majorType | ONE_BYTE);
+            buffer[count++] = (byte) length;
+        } else if (length >= 0 && length <= 0xFFFFL) {
+            buffer[count++] = (byte) (majorType | TWO_BYTES);
+            buffer[count++] = (byte) (length >> 8);
+            buffer[count++] = (byte) length;
+        } else if (length >= 0 && length <= 0xFFFFFFFFL) {
+            buffer[count++] = (byte) (majorType | FOUR_BYTES);
+            writeInt((int) length);
+        } else {
+            buffer[count++] = (byte) (majorType | EIGHT_BYTES);
+            writeLong(length);
+        }
+    }
+
+    private void writeInt(int value) {
+        buffer[count++] = (byte) (value >> 24);
+        buffer[count++] = (byte) (value >> 16);
+        buffer[count++] = (byte) (value >> 8);
+        buffer[count++] = (byte) value;
+    }
+
+    private void writeLong(long value) {
+        writeInt((int) (value >> 32));
+        writeInt((int) value);
+    }
+
+    private void writeByte(int value) {
+        ensureCapacity(1);
+        buffer[count++] = (byte) value;
+    }
+
+    private void ensureCapacity(int length) {
+        if (count + length > buffer.length) {
+            try {
+                flushBuffer();
+            } catch (IOException e) {
+                throw XMLMarshalException.marshalException(e);
+            }
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (count > 0) {
+            outputStream.write(buffer, 0, count);
+            count = 0;
+        }
+    }
+
+}
@@ -0,0 +1,1077 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 and Eclipse Distribution License v. 1.0
+ * which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * Contributors:
+ *     Oracle - 2.6 - initial implementation
+ ******************************************************************************/
+package org.eclipse.persistence.internal.oxm.record.json;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.namespace.QName;
+
+import org.eclipse.persistence.exceptions.XMLMarshalException;
+import org.eclipse.persistence.internal.oxm.CollectionGroupingElementNodeValue;
+import org.eclipse.persistence.internal.oxm.Constants;
+import org.eclipse.persistence.internal.oxm.ContainerValue;
+import org.eclipse.persistence.internal.oxm.ConversionManager;
+import org.eclipse.persistence.internal.oxm.MappingNodeValue;
+import org.eclipse.persistence.internal.oxm.MediaType;
+import org.eclipse.persistence.internal.oxm.NamespaceResolver;
+import org.eclipse.persistence.internal.oxm.NodeValue;
+import org.eclipse.persistence.internal.oxm.Root;
+import org.eclipse.persistence.internal.oxm.Unmarshaller;
+import org.eclipse.persistence.internal.oxm.XPathFragment;
+import org.eclipse.persistence.internal.oxm.XPathNode;
+import org.eclipse.persistence.internal.oxm.conversion.Base64;
+import org.eclipse.persistence.internal.oxm.mappings.Field;
+import org.eclipse.persistence.internal.oxm.record.AbstractUnmarshalRecord;
+import org.eclipse.persistence.internal.oxm.record.SAXUnmarshallerHandler;
+import org.eclipse.persistence.internal.oxm.record.UnmarshalRecord;
+import org.eclipse.persistence.internal.oxm.record.XMLReaderAdapter;
+import org.eclipse.persistence.internal.oxm.record.deferred.DeferredContentHandler;
+import org.eclipse.persistence.oxm.mappings.nullpolicy.AbstractNullPolicy;
+import org.eclipse.persistence.oxm.record.XMLRootRecord;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.AttributesImpl;
+
+/**
+ * INTERNAL:
+ * <p><b>Purpose: </b>Read a CBOR (RFC 7049) document using the JSON binding.
+ * <p>The data items are reported to the content handler as they are decoded,
+ * with the same events JsonStructureReader reports for the equivalent JSON,
+ * so the JSON naming, array and null handling applies unchanged.  Byte
+ * strings become base64 strings (the JSON representation of binary data),
+ * bignums and decimal fractions become numbers, and unknown tags are ignored.
+ * <p>The start of an element is reported once its attributes are known.  The
+ * leading entries of a map that can be attributes (keys starting with the
+ * attribute prefix, or simple values when there is no attribute prefix) are
+ * held until then, this is the order the JSON marshaller writes them in.
+ * Without an attribute prefix a later simple value for an attribute mapping
+ * is passed to that mapping directly.
+ */
+public class CBORReader extends XMLReaderAdapter {
+
+    private static final String TRUE = "true";
+    private static final String FALSE = "false";
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final Charset US_ASCII = Charset.forName("US-ASCII");
+    private static final int BUFFER_SIZE = 8192;
+
+    /** Returned by nextHeader() once all the entries or items have been read. */
+    private static final int END = -1;
+    /** Returned by readHeader() for a bignum or decimal fraction, the value is in taggedNumber. */
+    private static final int TAGGED_NUMBER = 0x100;
+    /** Passed to parsePair() and parseValue() for a value that has already been read. */
+    private static final int DECODED = 0x101;
+
+    private String attributePrefix = null;
+    private NamespaceResolver namespaces = null;
+    private boolean includeRoot;
+    private String textWrapper;
+    private Class unmarshalClass;
+    private boolean isInCollection;
+    private CBORAttributes attributes = new CBORAttributes();
+
+    private InputStream inputStream;
+    private byte[] buffer;
+    private int position;
+    private int limit;
+    /** The number of bytes read before the start of the buffer. */
+    private long offset;
+    private String taggedNumber;
+
+    public CBORReader(Unmarshaller u) {
+        this(u, null);
+    }
+
+    public CBORReader(Unmarshaller u, Class clazz) {
+        this.attributePrefix = u.getAttributePrefix();
+        if (attributePrefix == Constants.EMPTY_STRING) {
+            attributePrefix = null;
+        }
+        namespaces = u.getNamespaceResolver();
+        this.namespaceAware = namespaces != null;
+        this.namespaceSeparator = u.getNamespaceSeparator();
+        this.includeRoot = u.isIncludeRoot();
+        this.setErrorHandler(u.getErrorHandler());
+        this.textWrapper = u.getValueWrapper();
+        this.unmarshalClass = clazz;
+    }
+
+    @Override
+    public void parse(InputSource input) throws IOException, SAXException {
+        InputStream inputStream = input.getByteStream();
+        boolean closeStream = false;
+        if (null == inputStream) {
+            if (null != input.getCharacterStream()) {
+                throw XMLMarshalException.binaryMediaTypeRequiresByteStream(org.eclipse.persistence.oxm.MediaType.APPLICATION_CBOR.getMediaType());
+            }
+            try {
+                URL url = new URL(input.getSystemId());
+                inputStream = url.openStream();
+            } catch (MalformedURLException malformedURLException) {
+                try {
+                    inputStream = new FileInputStream(input.getSystemId());
+                } catch (FileNotFoundException fileNotFoundException) {
+                    throw malformedURLException;
+                }
+            }
+            closeStream = true;
+        }
+        try {
+            this.inputStream = inputStream;
+            this.buffer = new byte[BUFFER_SIZE];
+            int header = readHeader();
+            if (!isMap(header) && !isArray(header)) {
+                throw XMLMarshalException.cborRootNotMapOrArray();
+            }
+            parseRoot(header);
+        } finally {
+            this.inputStream = null;
+            this.buffer = null;
+            this.position = 0;
+            this.limit = 0;
+            this.offset = 0;
+            if (closeStream) {
+                inputStream.close();
+            }
+        }
+    }
+
+    @Override
+    public void parse(String systemId) {
+        try {
+            parse(new InputSource(systemId));
+        } catch (IOException e) {
+            throw XMLMarshalException.unmarshalException(e);
+        } catch (SAXException e) {
+            throw XMLMarshalException.unmarshalException(e);
+        }
+    }
+
+    private void parseRoot(int header) throws IOException, SAXException {
+        if (namespaces != null) {
+            Map<String, String> namespacePairs = namespaces.getPrefixesToNamespaces();
+            Iterator<String> keys = namespacePairs.keySet().iterator();
+            while (keys.hasNext()) {
+                String nextKey = keys.next();
+                contentHandler.startPrefixMapping(nextKey, namespacePairs.get(nextKey));
+            }
+        }
+
+        if (isMap(header)) {
+            contentHandler.startDocument();
+            long length = readLength(header);
+            int keyHeader = nextHeader(length, 0);
+            if (keyHeader == END && unmarshalClass == null) {
+                return;
+            }
+
+            if (includeRoot) {
+                if (keyHeader != END) {
+                    parsePair(readKey(keyHeader), readHeader(), null);
+                    // Only the first entry is the root
+                    for (long x = 1; (keyHeader = nextHeader(length, x)) != END; x++) {
+                        skipItem(keyHeader);
+                        skipItem(readHeader());
+                    }
+                }
+            } else {
+                parseElement(Constants.EMPTY_STRING, Constants.EMPTY_STRING, null, length, keyHeader);
+            }
+            contentHandler.endDocument();
+        } else if (isArray(header)) {
+
+            SAXUnmarshallerHandler rootContentHandler = null;
+            if (getContentHandler() instanceof SAXUnmarshallerHandler) {
+                rootContentHandler = (SAXUnmarshallerHandler) getContentHandler();
+            }
+            long length = readLength(header);
+
+            List list = new ArrayList();
+            int itemHeader;
+            for (long x = 0; (itemHeader = nextHeader(length, x)) != END; x++) {
+                parseRoot(itemHeader);
+                if (getContentHandler() instanceof SAXUnmarshallerHandler) {
+                    SAXUnmarshallerHandler saxUnmarshallerHandler = (SAXUnmarshallerHandler) contentHandler;
+                    list.add(saxUnmarshallerHandler.getObject());
+                    saxUnmarshallerHandler.setObject(null);
+                } else if (getContentHandler() instanceof UnmarshalRecord) {
+                    UnmarshalRecord unmarshalRecord = (UnmarshalRecord) contentHandler;
+                    Object unmarshalledObject = unmarshalRecord.getCurrentObject();
+                    if (includeRoot && unmarshalClass != null) {
+                        if (!(unmarshalledObject instanceof Root)) {
+                            Root xmlRoot = unmarshalRecord.createRoot();
+                            xmlRoot.setNamespaceURI(unmarshalRecord.getRootElementNamespaceUri());
+                            xmlRoot.setLocalName(unmarshalRecord.getLocalName());
+                            xmlRoot.setObject(unmarshalledObject);
+                            unmarshalledObject = xmlRoot;
+                        }
+                    }
+                    list.add(unmarshalledObject);
+                    unmarshalRecord.setCurrentObject(null);
+                    unmarshalRecord.setRootElementName(null);
+                    unmarshalRecord.setLocalName(null);
+                }
+            }
+            if (getContentHandler() instanceof SAXUnmarshallerHandler) {
+                ((SAXUnmarshallerHandler) getContentHandler()).setObject(list);
+            } else if (getContentHandler() instanceof UnmarshalRecord) {
+                ((UnmarshalRecord) getContentHandler()).setCurrentObject(list);
+                ((UnmarshalRecord) getContentHandler()).setRootElementName(Constants.EMPTY_STRING);
+                ((UnmarshalRecord) getContentHandler()).setLocalName(Constants.EMPTY_STRING);
+                if (rootContentHandler != null) {
+                    rootContentHandler.setObject(list);
+                }
+            }
+        } else {
+            skipItem(header);
+        }
+    }
+
+    /**
+     * Report a map as an element.  keyHeader is the header of the first key
+     * (or END), length the number of entries or -1 for an indefinite length
+     * map.
+     */
+    private void parseElement(String uri, String localName, String qName, long length, int keyHeader) throws IOException, SAXException {
+        List<Attribute> attributeList = new ArrayList<Attribute>();
+        // Entries read before the start of the element that are also elements
+        List<String> heldKeys = null;
+        List<Object> heldValues = null;
+        boolean isStarted = false;
+        for (long x = 0; keyHeader != END; keyHeader = nextHeader(length, ++x)) {
+            String key = readKey(keyHeader);
+            int valueHeader = readHeader();
+            if (!isStarted) {
+                boolean isAttribute = attributePrefix == null || key.startsWith(attributePrefix);
+                if (isAttribute && !isMap(valueHeader)) {
+                    if (!isArray(valueHeader)) {
+                        String value = readScalar(valueHeader);
+                        addAttribute(attributeList, key, value);
+                        if (attributePrefix == null) {
+                            if (heldKeys == null) {
+                                heldKeys = new ArrayList<String>();
+                                heldValues = new ArrayList<Object>();
+                            }
+                            heldKeys.add(key);
+                            heldValues.add(value);
+                        }
+                        continue;
+                    }
+                    long arrayLength = readLength(valueHeader);
+                    List<String> items = new ArrayList<String>();
+                    long index = 0;
+                    int itemHeader;
+                    while ((itemHeader = nextHeader(arrayLength, index)) != END && isScalar(itemHeader)) {
+                        items.add(readScalar(itemHeader));
+                        index++;
+                    }
+                    if (items.isEmpty() && itemHeader == END) {
+                        attributeList.add(createAttribute(key, Constants.EMPTY_STRING));
+                    } else {
+                        for (String item : items) {
+                            addAttribute(attributeList, key, item);
+                        }
+                    }
+                    if (attributePrefix != null) {
+                        // Only the simple values of an attribute are reported
+                        while (itemHeader != END) {
+                            skipItem(itemHeader);
+                            itemHeader = nextHeader(arrayLength, ++index);
+                        }
+                        continue;
+                    }
+                    if (itemHeader == END) {
+                        if (heldKeys == null) {
+                            heldKeys = new ArrayList<String>();
+                            heldValues = new ArrayList<Object>();
+                        }
+                        heldKeys.add(key);
+                        heldValues.add(items);
+                        continue;
+                    }
+                    startElement(uri, localName, qName, attributeList, heldKeys, heldValues);
+                    isStarted = true;
+                    parseArrayPair(key, items, arrayLength, index, itemHeader);
+                    continue;
+                }
+                startElement(uri, localName, qName, attributeList, heldKeys, heldValues);
+                isStarted = true;
+            }
+            parsePair(key, valueHeader, null);
+        }
+        if (!isStarted) {
+            startElement(uri, localName, qName, attributeList, heldKeys, heldValues);
+        }
+        contentHandler.endElement(uri, localName, qName);
+    }
+
+    private void startElement(String uri, String localName, String qName, List<Attribute> attributeList, List<String> heldKeys, List<Object> heldValues) throws IOException, SAXException {
+        contentHandler.startElement(uri, localName, qName, attributes.setAttributes(attributeList));
+        if (heldKeys != null) {
+            for (int x = 0, size = heldKeys.size(); x < size; x++) {
+                Object value = heldValues.get(x);
+                if (value instanceof List) {
+                    parseArrayPair(heldKeys.get(x), (List<String>) value, 0, 0, END);
+                } else {
+                    parsePair(heldKeys.get(x), DECODED, (String) value);
+                }
+            }
+        }
+    }
+
+    /**
+     * Report a value that is not an array.  header is the header of the
+     * value, or DECODED if the value has already been read.
+     */
+    private void parsePair(String name, int header, String value) throws IOException, SAXException {
+        if (isArray(header)) {
+            long length = readLength(header);
+            parseArrayPair(name, Collections.<String> emptyList(), length, 0, nextHeader(length, 0));
+            return;
+        }
+        String qualifiedName = name;
+        if (attributePrefix != null && qualifiedName.startsWith(attributePrefix)) {
+            skipItem(header);
+            return;
+        }
+        String localName = qualifiedName;
+        String uri = Constants.EMPTY_STRING;
+        if (namespaceAware && namespaces != null) {
+            if (localName.length() > 2) {
+                int nsIndex = localName.indexOf(namespaceSeparator, 1);
+                String prefix = Constants.EMPTY_STRING;
+                if (nsIndex > -1) {
+                    prefix = localName.substring(0, nsIndex);
+                }
+                uri = namespaces.resolveNamespacePrefix(prefix);
+                if (uri == null) {
+                    uri = namespaces.getDefaultNamespaceURI();
+                } else {
+                    localName = localName.substring(nsIndex + 1);
+                }
+
+                if (localName.equals(Constants.SCHEMA_TYPE_ATTRIBUTE) && uri != null && uri.equals(javax.xml.XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI)) {
+                    skipItem(header);
+                    return;
+                }
+            } else {
+                uri = namespaces.getDefaultNamespaceURI();
+            }
+        }
+        if (contentHandler instanceof XMLRootRecord || contentHandler instanceof DeferredContentHandler) {
+            // if its not namespaceAware don't report the "type" child as it
+            // is will be read by the xsi:type lookup
+            if (!namespaceAware && localName.equals(Constants.SCHEMA_TYPE_ATTRIBUTE)) {
+                skipItem(header);
+                return;
+            }
+            if (textWrapper != null && textWrapper.equals(localName)) {
+                parseValue(header, value);
+                return;
+            }
+        } else if (contentHandler instanceof UnmarshalRecord && ((UnmarshalRecord) contentHandler).getXPathNode() != null) {
+            if (!namespaceAware && localName.equals(Constants.SCHEMA_TYPE_ATTRIBUTE) && !((UnmarshalRecord) contentHandler).getXPathNode().hasTypeChild()) {
+                skipItem(header);
+                return;
+            }
+            boolean isTextValue = isTextValue(localName);
+            if (isTextValue) {
+                parseValue(header, value);
+                return;
+            }
+            NodeValue nv = ((UnmarshalRecord) contentHandler).getAttributeChildNodeValue(uri, localName);
+            if (attributePrefix == null && nv != null) {
+                if (isScalar(header) && header != DECODED) {
+                    // A simple value after the start of the element is still an attribute
+                    value = readScalar(header);
+                    if (value != null) {
+                        nv.attribute((UnmarshalRecord) contentHandler, uri, localName, value);
+                    }
+                } else {
+                    skipItem(header);
+                }
+                return;
+            }
+        }
+        if (isMap(header)) {
+            long length = readLength(header);
+            parseElement(uri, localName, localName, length, nextHeader(length, 0));
+            return;
+        }
+        if (header != DECODED) {
+            value = readScalar(header);
+        }
+        if (value == null) {
+            contentHandler.setNil(true);
+        }
+        contentHandler.startElement(uri, localName, localName, attributes.setAttributes(null));
+        if (value != null) {
+            contentHandler.characters(value);
+        }
+        contentHandler.endElement(uri, localName, localName);
+    }
+
+    /**
+     * Report an array.  items are the leading items that have already been
+     * read, itemHeader is the header of the next item (or END) at index in
+     * an array of length items (-1 for an indefinite length array).
+     */
+    private void parseArrayPair(String name, List<String> items, long length, long index, int itemHeader) throws IOException, SAXException {
+        String parentLocalName = name;
+
+        if (attributePrefix != null && parentLocalName.startsWith(attributePrefix)) {
+            skipItems(length, index, itemHeader);
+            return;
+        }
+        String uri = Constants.EMPTY_STRING;
+        if (namespaceAware && namespaces != null) {
+            if (parentLocalName.length() > 2) {
+                int nsIndex = parentLocalName.indexOf(namespaceSeparator, 1);
+                if (nsIndex > -1) {
+                    String prefix = parentLocalName.substring(0, nsIndex);
+                    uri = namespaces.resolveNamespacePrefix(prefix);
+                }
+                if (uri == null) {
+                    uri = namespaces.getDefaultNamespaceURI();
+                } else {
+                    parentLocalName = parentLocalName.substring(nsIndex + 1);
+                }
+            } else {
+                uri = namespaces.getDefaultNamespaceURI();
+            }
+        }
+
+        boolean isTextValue = false;
+        if (items.isEmpty() && itemHeader == END) {
+            if (contentHandler instanceof UnmarshalRecord) {
+                isTextValue = isTextValue(parentLocalName);
+                UnmarshalRecord ur = (UnmarshalRecord) contentHandler;
+                XPathNode node = ur.getNonAttributeXPathNode(uri, parentLocalName, parentLocalName, null);
+                if (node != null) {
+                    NodeValue nv = node.getNodeValue();
+                    if (nv == null && node.getTextNode() != null) {
+                        nv = node.getTextNode().getUnmarshalNodeValue();
+                    }
+                    if (nv != null && nv.isContainerValue()) {
+                        ur.getContainerInstance(((ContainerValue) nv));
+                    }
+                }
+            }
+        }
+        startCollection();
+
+        XPathFragment groupingXPathFragment = null;
+        XPathFragment itemXPathFragment = null;
+        if (contentHandler instanceof UnmarshalRecord) {
+            isTextValue = isTextValue(parentLocalName);
+            UnmarshalRecord unmarshalRecord = (UnmarshalRecord) contentHandler;
+            if (unmarshalRecord.getUnmarshaller().isWrapperAsCollectionName()) {
+                XPathNode unmarshalRecordXPathNode = unmarshalRecord.getXPathNode();
+                if (null != unmarshalRecordXPathNode) {
+                    XPathFragment currentFragment = new XPathFragment();
+                    currentFragment.setLocalName(parentLocalName);
+                    currentFragment.setNamespaceURI(uri);
+                    currentFragment.setNamespaceAware(namespaceAware);
+                    XPathNode groupingXPathNode = unmarshalRecordXPathNode.getNonAttributeChildrenMap().get(currentFragment);
+                    if (groupingXPathNode != null) {
+                        if (groupingXPathNode.getUnmarshalNodeValue() instanceof CollectionGroupingElementNodeValue) {
+                            groupingXPathFragment = groupingXPathNode.getXPathFragment();
+                            contentHandler.startElement(uri, parentLocalName, parentLocalName, new AttributesImpl());
+                            XPathNode itemXPathNode = groupingXPathNode.getNonAttributeChildren().get(0);
+                            itemXPathFragment = itemXPathNode.getXPathFragment();
+                        } else if (groupingXPathNode.getUnmarshalNodeValue() == null) {
+                            XPathNode itemXPathNode = groupingXPathNode.getNonAttributeChildren().get(0);
+                            if (itemXPathNode != null) {
+                                if (((MappingNodeValue) itemXPathNode.getUnmarshalNodeValue()).isContainerValue()) {
+                                    groupingXPathFragment = groupingXPathNode.getXPathFragment();
+                                    contentHandler.startElement(uri, parentLocalName, parentLocalName, new AttributesImpl());
+                                    itemXPathFragment = itemXPathNode.getXPathFragment();
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+
+            String itemUri = uri;
+            String itemLocalName = parentLocalName;
+            if (null != itemXPathFragment) {
+                itemUri = itemXPathFragment.getNamespaceURI();
+                itemLocalName = itemXPathFragment.getLocalName();
+            }
+            for (String item : items) {
+                parseArrayItem(itemUri, itemLocalName, isTextValue, DECODED, item);
+            }
+            for (; itemHeader != END; itemHeader = nextHeader(length, ++index)) {
+                parseArrayItem(itemUri, itemLocalName, isTextValue, itemHeader, null);
+            }
+        } else {
+            skipItems(length, index, itemHeader);
+        }
+        if (null != groupingXPathFragment) {
+            contentHandler.endElement(uri, groupingXPathFragment.getLocalName(), groupingXPathFragment.getLocalName());
+        }
+        endCollection();
+    }
+
+    private void parseArrayItem(String uri, String localName, boolean isTextValue, int header, String value) throws IOException, SAXException {
+        if (isTextValue) {
+            parseValue(header, value);
+            return;
+        }
+        if (isMap(header)) {
+            long length = readLength(header);
+            parseElement(uri, localName, localName, length, nextHeader(length, 0));
+            return;
+        }
+        if (isArray(header)) {
+            contentHandler.startElement(uri, localName, localName, attributes.setAttributes(null));
+            parseValue(header, null);
+            contentHandler.endElement(uri, localName, localName);
+            return;
+        }
+        if (header != DECODED) {
+            value = readScalar(header);
+        }
+        if (value == null) {
+            ((UnmarshalRecord) contentHandler).setNil(true);
+        }
+        contentHandler.startElement(uri, localName, localName, attributes.setAttributes(null));
+        if (value != null) {
+            contentHandler.characters(value);
+        }
+        contentHandler.endElement(uri, localName, localName);
+    }
+
+    /**
+     * Report a value as text, the entries of a map as elements and the
+     * items of an array in turn.
+     */
+    private void parseValue(int header, String value) throws IOException, SAXException {
+        if (isMap(header)) {
+            long length = readLength(header);
+            int keyHeader;
+            for (long x = 0; (keyHeader = nextHeader(length, x)) != END; x++) {
+                parsePair(readKey(keyHeader), readHeader(), null);
+            }
+        } else if (isArray(header)) {
+            long length = readLength(header);
+            int itemHeader;
+            for (long x = 0; (itemHeader = nextHeader(length, x)) != END; x++) {
+                parseValue(itemHeader, null);
+            }
+        } else {
+            if (header != DECODED) {
+                value = readScalar(header);
+            }
+            if (value != null) {
+                contentHandler.characters(value);
+            }
+        }
+    }
+
+    private void addAttribute(List<Attribute> attributeList, String key, String value) {
+        if (value != null) {
+            attributeList.add(createAttribute(key, value));
+        }
+    }
+
+    private Attribute createAttribute(String key, String value) {
+        String attributeLocalName = key;
+        if (attributePrefix != null) {
+            attributeLocalName = attributeLocalName.substring(attributePrefix.length());
+        }
+
+        String uri = Constants.EMPTY_STRING;
+
+        if (namespaceAware && namespaces != null) {
+            if (attributeLocalName.length() > 2) {
+                String prefix = Constants.EMPTY_STRING;
+                int nsIndex = attributeLocalName.indexOf(namespaceSeparator, 1);
+                if (nsIndex > -1) {
+                    prefix = attributeLocalName.substring(0, nsIndex);
+                }
+                uri = namespaces.resolveNamespacePrefix(prefix);
+                if (uri == null) {
+                    uri = namespaces.getDefaultNamespaceURI();
+                } else {
+                    attributeLocalName = attributeLocalName.substring(nsIndex + 1);
+                }
+            } else {
+                uri = namespaces.getDefaultNamespaceURI();
+            }
+        }
+        return new Attribute(uri, attributeLocalName, attributeLocalName, value);
+    }
+
+    public boolean isNullRepresentedByXsiNil(AbstractNullPolicy nullPolicy) {
+        return true;
+    }
+
+    private void startCollection() {
+        isInCollection = true;
+    }
+
+    private void endCollection() {
+        isInCollection = false;
+    }
+
+    public boolean isInCollection() {
+        return isInCollection;
+    }
+
+    private boolean isTextValue(String localName) {
+        XPathNode currentNode = ((UnmarshalRecord) contentHandler).getXPathNode();
+        if (currentNode == null) {
+            return textWrapper != null && textWrapper.equals(localName);
+        }
+
+        return ((currentNode.getNonAttributeChildrenMap() == null || currentNode.getNonAttributeChildrenMap().size() == 0 || (currentNode.getNonAttributeChildrenMap().size() == 1 && currentNode.getTextNode() != null))&& textWrapper != null && textWrapper.equals(localName));
+    }
+
+    @Override
+    public Object convertValueBasedOnSchemaType(Field xmlField, Object value, ConversionManager conversionManager, AbstractUnmarshalRecord record) {
+        if (xmlField.getSchemaType() != null) {
+            if (Constants.QNAME_QNAME.equals(xmlField.getSchemaType())) {
+                String stringValue = (String) value;
+                int indexOpen = stringValue.indexOf('{');
+                int indexClose = stringValue.indexOf('}');
+                String uri = null;
+                String localName = null;
+                if (indexOpen > -1 && indexClose > -1) {
+                    uri = stringValue.substring(indexOpen + 1, indexClose);
+                    localName = stringValue.substring(indexClose + 1);
+                } else {
+                    QName obj = (QName) xmlField.convertValueBasedOnSchemaType(stringValue, conversionManager, record);
+                    localName = obj.getLocalPart();
+                    uri = obj.getNamespaceURI();
+                }
+                if (uri != null) {
+                    return new QName(uri, localName);
+                } else {
+                    return new QName(localName);
+                }
+            } else {
+                Class fieldType = xmlField.getType();
+                if (fieldType == null) {
+                    fieldType = xmlField.getJavaClass(xmlField.getSchemaType(), conversionManager);
+                }
+                return conversionManager.convertObject(value, fieldType, xmlField.getSchemaType());
+            }
+        }
+        return value;
+    }
+
+    /**
+     * INTERNAL: The MediaType associated with this reader.  CBOR is reported
+     * with the same events as JSON.
+     *
+     * @return
+     */
+    @Override
+    public MediaType getMediaType() {
+        return Constants.APPLICATION_JSON;
+    }
+
+    private static boolean isMap(int header) {
+        return header != TAGGED_NUMBER && header != DECODED && (header & 0xE0) == CBORGenerator.MAP;
+    }
+
+    private static boolean isArray(int header) {
+        return header != TAGGED_NUMBER && header != DECODED && (header & 0xE0) == CBORGenerator.ARRAY;
+    }
+
+    private static boolean isScalar(int header) {
+        return !isMap(header) && !isArray(header);
+    }
+
+    /**
+     * Read the initial byte of the next data item.  Tags are read, a bignum
+     * or decimal fraction is read into taggedNumber and TAGGED_NUMBER is
+     * returned.
+     */
+    private int readHeader() throws IOException {
+        int initialByte = readByte();
+        while ((initialByte & 0xE0) == CBORGenerator.TAG) {
+            long tag = readArgument(initialByte & 0x1F);
+            if (tag >= CBORGenerator.TAG_POSITIVE_BIGNUM && tag <= CBORGenerator.TAG_DECIMAL_FRACTION + 1) {
+                taggedNumber = readTaggedNumber(tag);
+                return TAGGED_NUMBER;
+            }
+            // Tags with no JSON equivalent (dates, URIs, ...) are read as their content
+            initialByte = readByte();
+        }
+        return initialByte;
+    }
+
+    /**
+     * Read the header of the key or item at index of a map or array, END
+     * once all of them have been read.  length is -1 for an indefinite
+     * length map or array.
+     */
+    private int nextHeader(long length, long index) throws IOException {
+        if (length >= 0) {
+            return index < length ? readHeader() : END;
+        }
+        int header = readHeader();
+        return header == CBORGenerator.BREAK ? END : header;
+    }
+
+    /**
+     * The number of entries or items of a map or array, -1 for an
+     * indefinite length.
+     */
+    private long readLength(int header) throws IOException {
+        int additionalInfo = header & 0x1F;
+        if (additionalInfo == CBORGenerator.INDEFINITE_LENGTH) {
+            return -1;
+        }
+        long length = readArgument(additionalInfo);
+        if (length < 0) {
+            throw malformed();
+        }
+        return length;
+    }
+
+    private String readKey(int header) throws IOException {
+        if (!isScalar(header)) {
+            throw malformed();
+        }
+        return String.valueOf(readScalar(header));
+    }
+
+    /**
+     * Read a data item that is not a map or array as its JSON text, null for
+     * a null or undefined item.
+     */
+    private String readScalar(int header) throws IOException {
+        if (header == TAGGED_NUMBER) {
+            return taggedNumber;
+        }
+        int additionalInfo = header & 0x1F;
+        switch (header & 0xE0) {
+            case CBORGenerator.UNSIGNED_INTEGER: {
+                long value = readArgument(additionalInfo);
+                if (value < 0) {
+                    return unsigned(value).toString();
+                }
+                return Long.toString(value);
+            }
+            case CBORGenerator.NEGATIVE_INTEGER: {
+                long value = readArgument(additionalInfo);
+                if (value < 0) {
+                    return unsigned(value).not().toString();
+                }
+                return Long.toString(-1 - value);
+            }
+            case CBORGenerator.BYTE_STRING:
+                return new String(Base64.base64Encode(readByteString(additionalInfo)), US_ASCII);
+            case CBORGenerator.TEXT_STRING:
+                return readTextString(additionalInfo);
+            case CBORGenerator.SIMPLE:
+                return readSimpleValue(header, additionalInfo);
+            default:
+                throw malformed();
+        }
+    }
+
+    private String readSimpleValue(int initialByte, int additionalInfo) throws IOException {
+        switch (initialByte) {
+            case CBORGenerator.FALSE:
+                return FALSE;
+            case CBORGenerator.TRUE:
+                return TRUE;
+            case CBORGenerator.HALF_FLOAT:
+                return Float.toString(halfFloat((int) readUnsigned(2)));
+            case CBORGenerator.FLOAT:
+                return Float.toString(Float.intBitsToFloat((int) readUnsigned(4)));
+            case CBORGenerator.DOUBLE:
+                return Double.toString(Double.longBitsToDouble(readUnsigned(8)));
+            case CBORGenerator.BREAK:
+                throw malformed();
+            default:
+                if (additionalInfo == CBORGenerator.ONE_BYTE) {
+                    readByte();
+                }
+                // null, undefined and unassigned simple values
+                return null;
+        }
+    }
+
+    private String readTaggedNumber(long tag) throws IOException {
+        if (tag == CBORGenerator.TAG_POSITIVE_BIGNUM || tag == CBORGenerator.TAG_NEGATIVE_BIGNUM) {
+            int header = readByte();
+            if ((header & 0xE0) != CBORGenerator.BYTE_STRING) {
+                throw malformed();
+            }
+            BigInteger value = new BigInteger(1, readByteString(header & 0x1F));
+            if (tag == CBORGenerator.TAG_NEGATIVE_BIGNUM) {
+                value = value.not();
+            }
+            return value.toString();
+        }
+        if (readByte() != (CBORGenerator.ARRAY | 2)) {
+            throw malformed();
+        }
+        int exponent = readInteger().intValue();
+        BigInteger mantissa = readInteger();
+        if (tag == CBORGenerator.TAG_DECIMAL_FRACTION) {
+            return new BigDecimal(mantissa, -exponent).toString();
+        }
+        if (exponent >= 0) {
+            return new BigDecimal(mantissa.shiftLeft(exponent)).toString();
+        }
+        return new BigDecimal(mantissa).divide(new BigDecimal(BigInteger.ONE.shiftLeft(-exponent))).toString();
+    }
+
+    private BigInteger readInteger() throws IOException {
+        int header = readHeader();
+        int majorType = header & 0xE0;
+        if (header != TAGGED_NUMBER && majorType != CBORGenerator.UNSIGNED_INTEGER && majorType != CBORGenerator.NEGATIVE_INTEGER) {
+            throw malformed();
+        }
+        try {
+            return new BigInteger(readScalar(header));
+        } catch (NumberFormatException e) {
+            throw malformed();
+        }
+    }
+
+    private String readTextString(int additionalInfo) throws IOException {
+        if (additionalInfo == CBORGenerator.INDEFINITE_LENGTH) {
+            StringBuilder stringBuilder = new StringBuilder();
+            int chunkByte;
+            while ((chunkByte = readByte()) != CBORGenerator.BREAK) {
+                stringBuilder.append(readTextString(chunkByte & 0x1F));
+            }
+            return stringBuilder.toString();
+        }
+        int length = toLength(readArgument(additionalInfo));
+        if (length <= buffer.length) {
+            ensureAvailable(length);
+            String value = new String(buffer, position, length, UTF_8);
+            position += length;
+            return value;
+        }
+        return new String(readBytes(length), UTF_8);
+    }
+
+    private byte[] readByteString(int additionalInfo) throws IOException {
+        if (additionalInfo == CBORGenerator.INDEFINITE_LENGTH) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            int chunkByte;
+            while ((chunkByte = readByte()) != CBORGenerator.BREAK) {
+                byte[] chunk = readByteString(chunkByte & 0x1F);
+                bytes.write(chunk, 0, chunk.length);
+            }
+            return bytes.toByteArray();
+        }
+        return readBytes(toLength(readArgument(additionalInfo)));
+    }
+
+    /**
+     * Read and ignore a data item, nothing is read for DECODED.
+     */
+    private void skipItem(int header) throws IOException {
+        if (isMap(header)) {
+            long length = readLength(header);
+            int keyHeader;
+            for (long x = 0; (keyHeader = nextHeader(length, x)) != END; x++) {
+                skipItem(keyHeader);
+                skipItem(readHeader());
+            }
+        } else if (isArray(header)) {
+            long length = readLength(header);
+            skipItems(length, 0, nextHeader(length, 0));
+        } else if (header != DECODED) {
+            readScalar(header);
+        }
+    }
+
+    private void skipItems(long length, long index, int itemHeader) throws IOException {
+        for (; itemHeader != END; itemHeader = nextHeader(length, ++index)) {
+            skipItem(itemHeader);
+        }
+    }
+
+    private XMLMarshalException malformed() {
+        return XMLMarshalException.malformedCBORDocument(Math.max(0, offset + position - 1));
+    }
+
+    private static BigInteger unsigned(long value) {
+        return BigInteger.valueOf(value & Long.MAX_VALUE).setBit(63);
+    }
+
+    private int toLength(long length) {
+        if (length < 0 || length > Integer.MAX_VALUE) {
+            throw malformed();
+        }
+        return (int) length;
+    }
+
+    private static float halfFloat(int bits) {
+        int exponent = (bits >> 10) & 0x1F;
+        int mantissa = bits & 0x3FF;
+        float value;
+        if (exponent == 0) {
+            value = (float) (mantissa * Math.pow(2, -24));
+        } else if (exponent == 0x1F) {
+            value = mantissa == 0 ? Float.POSITIVE_INFINITY : Float.NaN;
+        } else {
+            value = (float) ((mantissa + 1024) * Math.pow(2, exponent - 25));
+        }
+        return (bits & 0x8000) == 0 ? value : -value;
+    }
+
+    /**
+     * Read the argument following the initial byte, for a length this is the
+     * number of bytes or items.  The result is an unsigned 64 bit value.
+     */
+    private long readArgument(int additionalInfo) throws IOException {
+        if (additionalInfo < CBORGenerator.ONE_BYTE) {
+            return additionalInfo;
+        }
+        switch (additionalInfo) {
+            case CBORGenerator.ONE_BYTE:
+                return readByte();
+            case CBORGenerator.TWO_BYTES:
+                return readUnsigned(2);
+            case CBORGenerator.FOUR_BYTES:
+                return readUnsigned(4);
+            case CBORGenerator.EIGHT_BYTES:
+                return readUnsigned(8);
+            default:
+                throw malformed();
+        }
+    }
+
+    private long readUnsigned(int length) throws IOException {
+        ensureAvailable(length);
+        long value = 0;
+        for (int x = 0; x < length; x++) {
+            value = (value << 8) | (buffer[position++] & 0xFF);
+        }
+        return value;
+    }
+
+    private int readByte() throws IOException {
+        ensureAvailable(1);
+        return buffer[position++] & 0xFF;
+    }
+
+    private byte[] readBytes(int length) throws IOException {
+        byte[] bytes = new byte[length];
+        int count = 0;
+        while (count < length) {
+            if (position == limit) {
+                fill();
+            }
+            int chunk = Math.min(length - count, limit - position);
+            System.arraycopy(buffer, position, bytes, count, chunk);
+            position += chunk;
+            count += chunk;
+        }
+        return bytes;
+    }
+
+    /**
+     * Make at least length bytes (no more than the buffer size) available
+     * from the buffer.
+     */
+    private void ensureAvailable(int length) throws IOException {
+        if (limit - position >= length) {
+            return;
+        }
+        System.arraycopy(buffer, position, buffer, 0, limit - position);
+        offset += position;
+        limit -= position;
+        position = 0;
+        while (limit < length) {
+            int read = inputStream.read(buffer, limit, buffer.length - limit);
+            if (read == -1) {
+                throw new EOFException();
+            }
+            limit += read;
+        }
+    }
+
+    private void fill() throws IOException {
+        offset += position;
+        position = 0;
+        limit = inputStream.read(buffer, 0, buffer.length);
+        if (limit == -1) {
+            limit = 0;
+            throw new EOFException();
+        }
+    }
+
+    private class CBORAttributes extends IndexedAttributeList {
+
+        private List<Attribute> attributeList;
+
+        public CBORAttributes setAttributes(List<Attribute> attributeList) {
+            reset();
+            this.attributeList = attributeList;
+            return this;
+        }
+
+        public int getIndex(String uri, String localName) {
+            if (null == localName) {
+                return -1;
+            }
+            int index = 0;
+            for (Attribute attribute : attributes()) {
+                if (namespaceAware) {
+                    if (localName.equals(attribute.getLocalName()) && uri.equals(attribute.getUri())) {
+                        return index;
+                    }
+                } else {
+                    if (attribute.getName().equals(localName)) {
+                        return index;
+                    }
+                }
+                index++;
+            }
+            return -1;
+        }
+
+        @Override
+        protected Attribute[] attributes() {
+            if (null == attributes) {
+                if (null == attributeList || attributeList.isEmpty()) {
+                    attributes = NO_ATTRIBUTES;
+                } else {
+                    attributes = attributeList.toArray(new Attribute[attributeList.size()]);
+                }
+            }
+            return attributes;
+        }
+
+    }
+
+}
@@ -239,7 +239,13 @@ public class DatasourceCallQueryMechanism extends DatabaseQueryMechanism {
         DatasourceCall clonedCall = (DatasourceCall)databaseCall.clone();
         clonedCall.setQuery(this.query);
         clonedCall.translate(this.query.getTranslationRow(), getModifyRow(), sessionToUse);
-        return sessionToUse.executeCall(clonedCall, this.query.getTranslationRow(), this.query);
+        Object result = sessionToUse.executeCall(clonedCall, this.query.getTranslationRow(), this.query);
+        // PERF: Keep the result set readers and adaptive fetch size built by the execution for the next execution of the call.
+        if (databaseCall instanceof DatabaseCall) {
+            ((DatabaseCall)databaseCall).setResultSetReaderPlan(((DatabaseCall)clonedCall).getResultSetReaderPlan());
+            ((DatabaseCall)databaseCall).setAdaptiveFetchSize(((DatabaseCall)clonedCall).getAdaptiveFetchSize());
+        }
+        return result;
     }
 
     /**
@@ -16,8 +16,10 @@
 package org.eclipse.persistence.internal.queries;
 
 import java.util.*;
+import org.eclipse.persistence.internal.databaseaccess.DatabasePlatform;
 import org.eclipse.persistence.internal.databaseaccess.DatasourceCall;
 import org.eclipse.persistence.internal.databaseaccess.DatasourcePlatform;
+import org.eclipse.persistence.internal.databaseaccess.Platform;
 import org.eclipse.persistence.internal.descriptors.OptimisticLockingPolicy;
 import org.eclipse.persistence.internal.helper.*;
 import org.eclipse.persistence.internal.identitymaps.CacheKey;
@@ -212,6 +214,11 @@ public class ExpressionQueryMechanism extends StatementQueryMechanism {
         //of table alias always be correct
         if (query.hasOrderByExpressions()) {
             selectStatement.setOrderByExpressions(cloneExpressions(query.getOrderByExpressions(), clonedExpressions));
+            if (!isSubSelect && query.isReadAllQuery() && ((ReadAllQuery)query).hasKeysetValues()) {
+                // Keyset pagination, only select the rows after the keyset values of the previous page.
+                Platform platform = getSession().getPlatform(query.getReferenceClass());
+                selectStatement.addKeysetCriteria((platform instanceof DatabasePlatform) && ((DatabasePlatform)platform).supportsRowValueComparison());
+            }
         }
         if (query.hasNonFetchJoinedAttributeExpressions()) {
             selectStatement.setNonSelectFields(cloneExpressions(query.getNonFetchJoinAttributeExpressions(), clonedExpressions));
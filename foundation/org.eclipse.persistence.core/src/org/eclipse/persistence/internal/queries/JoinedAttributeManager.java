@@ -18,6 +18,7 @@ import java.util.List;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Set;
 import java.util.Vector;
 
@@ -824,17 +825,7 @@ public class JoinedAttributeManager implements Cloneable, Serializable {
         if (!expression.isQueryKeyExpression()) {
             throw QueryException.mappingForExpressionDoesNotSupportJoining(expression);
         }
-        QueryKeyExpression objectExpression = (QueryKeyExpression)expression;
-
-        // Expression may not have been initialized.
-        if (objectExpression.getBuilder().getQueryClass() == null) {
-            objectExpression = (QueryKeyExpression)objectExpression.rebuildOn(this.baseExpressionBuilder);
-            
-            if (objectExpression.getBuilder().getQueryClass() == null) {
-                objectExpression.getBuilder().setQueryClass(this.descriptor.getJavaClass());
-            }
-        }
-        objectExpression.getBuilder().setSession(session.getRootSession(null));
+        QueryKeyExpression objectExpression = initializeJoinExpression((QueryKeyExpression)expression, session);
         
         // Can only join relationships.
         if ((objectExpression.getMapping() == null) || (!objectExpression.getMapping().isJoiningSupported())) {
@@ -859,6 +850,86 @@ public class JoinedAttributeManager implements Cloneable, Serializable {
         return objectExpression;
     }
 
+    /**
+     * Initialize the builder of the join expression.
+     */
+    protected QueryKeyExpression initializeJoinExpression(QueryKeyExpression objectExpression, AbstractSession session) {
+        // Expression may not have been initialized.
+        if (objectExpression.getBuilder().getQueryClass() == null) {
+            objectExpression = (QueryKeyExpression)objectExpression.rebuildOn(this.baseExpressionBuilder);
+            
+            if (objectExpression.getBuilder().getQueryClass() == null) {
+                objectExpression.getBuilder().setQueryClass(this.descriptor.getJavaClass());
+            }
+        }
+        objectExpression.getBuilder().setSession(session.getRootSession(null));
+        return objectExpression;
+    }
+
+    /**
+     * Return the join expressions that traverse a collection relationship, so they can be
+     * batch read instead, this avoids a row for each combination of the elements of the joined collections.
+     * The join expressions of the relationships they traverse are also returned, as these objects
+     * are read by the batch queries.
+     * The joined attribute expressions are not changed.
+     */
+    public List<Expression> getCollectionJoinExpressions(AbstractSession session) {
+        List<Expression> collectionExpressions = new ArrayList<Expression>();
+        if (!hasJoinedAttributeExpressions()) {
+            return collectionExpressions;
+        }
+        List<Expression> joinedExpressions = new ArrayList<Expression>(this.joinedAttributeExpressions.size());
+        Set<String> traversedPaths = new HashSet<String>();
+        for (Expression expression : this.joinedAttributeExpressions) {
+            // Invalid expressions are left for prepareJoinExpressions to report.
+            if (!expression.isQueryKeyExpression()) {
+                continue;
+            }
+            QueryKeyExpression objectExpression = initializeJoinExpression((QueryKeyExpression)expression, session);
+            boolean traversesCollection = false;
+            Expression baseExpression = objectExpression;
+            while (baseExpression.isQueryKeyExpression()) {
+                DatabaseMapping mapping = ((QueryKeyExpression)baseExpression).getMapping();
+                if ((mapping != null) && mapping.isCollectionMapping()) {
+                    traversesCollection = true;
+                }
+                baseExpression = ((QueryKeyExpression)baseExpression).getBaseExpression();
+            }
+            if (traversesCollection) {
+                collectionExpressions.add(expression);
+                baseExpression = objectExpression.getBaseExpression();
+                while (baseExpression.isQueryKeyExpression()) {
+                    traversedPaths.add(getPath((QueryKeyExpression)baseExpression));
+                    baseExpression = ((QueryKeyExpression)baseExpression).getBaseExpression();
+                }
+            } else {
+                joinedExpressions.add(expression);
+            }
+        }
+        if (collectionExpressions.isEmpty()) {
+            return collectionExpressions;
+        }
+        for (Expression expression : joinedExpressions) {
+            if (traversedPaths.contains(getPath((QueryKeyExpression)expression))) {
+                collectionExpressions.add(expression);
+            }
+        }
+        return collectionExpressions;
+    }
+
+    /**
+     * Return the attribute names of the expression from the builder, separated by dots.
+     */
+    protected String getPath(QueryKeyExpression expression) {
+        String path = expression.getName();
+        Expression baseExpression = expression.getBaseExpression();
+        while (baseExpression.isQueryKeyExpression()) {
+            path = ((QueryKeyExpression)baseExpression).getName() + "." + path;
+            baseExpression = ((QueryKeyExpression)baseExpression).getBaseExpression();
+        }
+        return path;
+    }
+
     /**
      * This method collects the Joined Mappings from the descriptor and initializes them.
      * Excludes the mapping that are not in the passed mappingsAllowedToJoin set (if it's not null). 
@@ -869,12 +940,17 @@ public class JoinedAttributeManager implements Cloneable, Serializable {
         if(fetchGroup != null) {
             fetchGroupAttributes = fetchGroup.getAttributeNames();
         }
+        // The joined collection mappings are batch read instead.
+        boolean shouldJoinCollections = !getBaseQuery().isObjectLevelReadQuery() || !((ObjectLevelReadQuery)getBaseQuery()).shouldBatchCollectionJoins();
         ObjectBuilder objectBuilder = getDescriptor().getObjectBuilder();
         if (objectBuilder.hasJoinedAttributes()) {
             List mappingJoinedAttributes = objectBuilder.getJoinedAttributes();
             if (!hasJoinedAttributeExpressions()) {
                 for (int i = 0; i < mappingJoinedAttributes.size(); i++) {
                     ForeignReferenceMapping mapping = (ForeignReferenceMapping) mappingJoinedAttributes.get(i);
+                    if (!shouldJoinCollections && mapping.isCollectionMapping()) {
+                        continue;
+                    }
                     if(fetchGroupAttributes == null || fetchGroupAttributes.contains(mapping.getAttributeName())) {
                         addAndPrepareJoinedMapping(mapping, session);
                     }
@@ -882,6 +958,9 @@ public class JoinedAttributeManager implements Cloneable, Serializable {
             } else {
                 for (int i = 0; i < mappingJoinedAttributes.size(); i++) {
                     ForeignReferenceMapping mapping = (ForeignReferenceMapping) mappingJoinedAttributes.get(i);
+                    if (!shouldJoinCollections && mapping.isCollectionMapping()) {
+                        continue;
+                    }
                     if (!isAttributeExpressionJoined(mapping)) {
                         if(fetchGroupAttributes == null || fetchGroupAttributes.contains(mapping.getAttributeName())) {
                             addAndPrepareJoinedMapping(mapping, session);
@@ -113,6 +113,12 @@ public class DatabaseSessionImpl extends AbstractSession implements org.eclipse.
 
     //Bug#3440544 Used to stop the attempt to login more than once. 
     protected volatile boolean isLoggedIn;
+
+    /**
+     * INTERNAL:
+     * The background preparation of the named queries, if started.
+     */
+    protected QueryWarmUp queryWarmUp;
     
     /**
      * INTERNAL:
@@ -1036,4 +1042,20 @@ public class DatabaseSessionImpl extends AbstractSession implements org.eclipse.
     public void setTuner(SessionTuner tuner) {
         this.tuner = tuner;
     }
+
+    /**
+     * INTERNAL:
+     * Return the background preparation of the named queries, null if none was started.
+     */
+    public QueryWarmUp getQueryWarmUp() {
+        return queryWarmUp;
+    }
+
+    /**
+     * INTERNAL:
+     * Set the background preparation of the named queries.
+     */
+    public void setQueryWarmUp(QueryWarmUp queryWarmUp) {
+        this.queryWarmUp = queryWarmUp;
+    }
 }
@@ -0,0 +1,197 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 and Eclipse Distribution License v. 1.0
+ * which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * Contributors:
+ *     Oracle - 2.6 - initial implementation
+ ******************************************************************************/
+package org.eclipse.persistence.internal.sessions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.persistence.descriptors.ClassDescriptor;
+import org.eclipse.persistence.logging.SessionLog;
+import org.eclipse.persistence.queries.DatabaseQuery;
+import org.eclipse.persistence.sessions.DatabaseRecord;
+
+/**
+ * INTERNAL:
+ * Prepares the named queries of a logged in session in the background, so that
+ * the SQL generation normally done on the first execution of each query is
+ * done before the query is first used.
+ * <p>
+ * The session queries, the descriptor named queries and the descriptor read
+ * object queries (used by find) are prepared.  A query that fails to prepare is
+ * left unprepared, so the failure is reported when the query is first used.
+ * The progress is available through RuntimeServices.
+ *
+ * @see org.eclipse.persistence.config.PersistenceUnitProperties#QUERY_WARM_UP
+ * @see org.eclipse.persistence.services.RuntimeServices#getNumberOfQueriesWarmedUp()
+ * @since EclipseLink 2.6
+ */
+public class QueryWarmUp implements Runnable {
+    protected AbstractSession session;
+    protected int threadCount;
+
+    /** The number of queries to prepare, set once they are collected. */
+    protected volatile int queryCount;
+    protected AtomicInteger preparedCount;
+    protected AtomicInteger failedCount;
+    protected volatile boolean isComplete;
+
+    public QueryWarmUp(AbstractSession session, int threadCount) {
+        this.session = session;
+        this.threadCount = threadCount;
+        this.preparedCount = new AtomicInteger();
+        this.failedCount = new AtomicInteger();
+    }
+
+    /**
+     * INTERNAL:
+     * Start the warm-up on a daemon thread.
+     */
+    public void start() {
+        Thread thread = new Thread(this, "EclipseLink query warm-up " + this.session.getName());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * INTERNAL:
+     * Prepare all the queries, in parallel if more than one thread is used.
+     */
+    public void run() {
+        long startTime = System.nanoTime();
+        try {
+            List<Preparation> preparations = buildPreparations();
+            this.queryCount = preparations.size();
+            this.session.log(SessionLog.FINER, SessionLog.QUERY, "query_warm_up_begin", new Object[] { this.session.getName(), this.queryCount, this.threadCount });
+            if ((this.threadCount > 1) && (preparations.size() > 1)) {
+                ExecutorService executor = Executors.newFixedThreadPool(this.threadCount, new ThreadFactory() {
+                    private int count;
+                    public synchronized Thread newThread(Runnable runnable) {
+                        Thread thread = new Thread(runnable, "EclipseLink query warm-up " + session.getName() + " " + (++count));
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+                for (Preparation preparation : preparations) {
+                    executor.execute(preparation);
+                }
+                executor.shutdown();
+                try {
+                    executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+                } catch (InterruptedException exception) {
+                    executor.shutdownNow();
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            } else {
+                for (Preparation preparation : preparations) {
+                    preparation.run();
+                }
+            }
+        } catch (RuntimeException exception) {
+            // The warm-up is only an optimization, the queries are still prepared on first use.
+            this.session.logThrowable(SessionLog.FINER, SessionLog.QUERY, exception);
+        } finally {
+            this.isComplete = true;
+        }
+        long elapsed = (System.nanoTime() - startTime) / 1000000;
+        this.session.log(SessionLog.FINER, SessionLog.QUERY, "query_warm_up_end", new Object[] { this.session.getName(), this.preparedCount.get(), this.failedCount.get(), elapsed });
+    }
+
+    /**
+     * Collect the queries to prepare with the row they are prepared for on
+     * first use.
+     */
+    protected List<Preparation> buildPreparations() {
+        List<Preparation> preparations = new ArrayList<Preparation>();
+        for (DatabaseQuery query : this.session.getAllQueries()) {
+            // Named queries are prepared for an empty row by JPA.
+            preparations.add(new Preparation(query, new DatabaseRecord()));
+        }
+        for (ClassDescriptor descriptor : this.session.getProject().getOrderedDescriptors()) {
+            if (descriptor.isAggregateDescriptor() || descriptor.isDescriptorForInterface() || descriptor.hasTablePerMultitenantPolicy()) {
+                continue;
+            }
+            for (Object query : descriptor.getQueryManager().getAllQueries()) {
+                preparations.add(new Preparation((DatabaseQuery) query, new DatabaseRecord()));
+            }
+            if (descriptor.getQueryManager().hasReadObjectQuery()) {
+                // find prepares the read object query for no row.
+                preparations.add(new Preparation(descriptor.getQueryManager().getReadObjectQuery(), null));
+            }
+        }
+        return preparations;
+    }
+
+    /**
+     * INTERNAL:
+     * Return the number of queries to prepare, 0 until they are collected.
+     */
+    public int getQueryCount() {
+        return this.queryCount;
+    }
+
+    /**
+     * INTERNAL:
+     * Return the number of queries prepared so far.
+     */
+    public int getPreparedCount() {
+        return this.preparedCount.get();
+    }
+
+    /**
+     * INTERNAL:
+     * Return the number of queries that failed to prepare.
+     */
+    public int getFailedCount() {
+        return this.failedCount.get();
+    }
+
+    /**
+     * INTERNAL:
+     * Return if all of the queries have been processed.
+     */
+    public boolean isComplete() {
+        return this.isComplete;
+    }
+
+    /**
+     * Prepares one query, a failure is logged and counted.
+     */
+    protected class Preparation implements Runnable {
+        protected DatabaseQuery query;
+        protected AbstractRecord translationRow;
+
+        protected Preparation(DatabaseQuery query, AbstractRecord translationRow) {
+            this.query = query;
+            this.translationRow = translationRow;
+        }
+
+        public void run() {
+            if (!session.isConnected()) {
+                return;
+            }
+            try {
+                this.query.checkPrepare(session, this.translationRow);
+                preparedCount.incrementAndGet();
+            } catch (RuntimeException exception) {
+                failedCount.incrementAndGet();
+                session.log(SessionLog.FINER, SessionLog.QUERY, "query_warm_up_failed", new Object[] { this.query.getName(), exception });
+            }
+        }
+    }
+}
@@ -855,6 +855,7 @@ public abstract class ForeignReferenceMapping extends DatabaseMapping {
             batchQuery.setShouldPrepare(query.shouldPrepare());
         }
         batchQuery.setShouldOuterJoinSubclasses(query.shouldOuterJoinSubclasses());
+        batchQuery.setShouldBatchCollectionJoins(query.shouldBatchCollectionJoins());
         //CR #4365
         batchQuery.setQueryId(query.getQueryId());
 
@@ -404,6 +404,12 @@ public abstract class AbstractDirectMapping extends AbstractColumnMapping implem
      */
     @Override
     public boolean compareObjects(Object firstObject, Object secondObject, AbstractSession session) {
+        // PERF: Compare weaved primitive attributes without boxing them, as normally no change.
+        if ((this.attributeAccessor instanceof PersistenceObjectAttributeAccessor) && (secondObject != null)
+                && ((PersistenceObjectAttributeAccessor)this.attributeAccessor).isPrimitiveIndexed(firstObject)
+                && ((PersistenceObjectAttributeAccessor)this.attributeAccessor).primitiveValuesEqual(firstObject, secondObject)) {
+            return true;
+        }
         Object firstValue = getAttributeValueFromObject(firstObject);
         Object secondValue = getAttributeValueFromObject(secondObject);
         return compareObjectValues(firstValue, secondValue, session);        
@@ -14,11 +14,14 @@ package org.eclipse.persistence.oxm;
 
 /**
  * This enum represents the different media types supported by EclipseLink MOXy.
+ * <p>APPLICATION_CBOR is the binary CBOR (RFC 7049) encoding of the JSON
+ * binding, all of the JSON properties apply to it.  CBOR is only written to
+ * and read from byte streams.
  * @since EclipseLink 2.4
  */
 public enum MediaType implements org.eclipse.persistence.internal.oxm.MediaType {
 
-    APPLICATION_XML("application/xml"), APPLICATION_JSON("application/json");
+    APPLICATION_XML("application/xml"), APPLICATION_JSON("application/json"), APPLICATION_CBOR("application/cbor");
 
     private final String mediaType;
 
@@ -31,6 +34,8 @@ public enum MediaType implements org.eclipse.persistence.internal.oxm.MediaType
             return APPLICATION_JSON;
         }else if(APPLICATION_XML.getMediaType().equals(mediaType)){
             return APPLICATION_XML;
+        }else if(APPLICATION_CBOR.getMediaType().equals(mediaType)){
+            return APPLICATION_CBOR;
         }else{
             return null;
         }
@@ -45,6 +50,11 @@ public enum MediaType implements org.eclipse.persistence.internal.oxm.MediaType
         return this == APPLICATION_JSON;
     }
 
+    @Override
+    public boolean isApplicationCBOR() {
+        return this == APPLICATION_CBOR;
+    }
+
     @Override
     public boolean isApplicationXML() {
         return this == APPLICATION_XML;
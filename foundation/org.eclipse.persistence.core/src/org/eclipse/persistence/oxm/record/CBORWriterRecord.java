@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 and Eclipse Distribution License v. 1.0
+ * which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * Contributors:
+ *     Oracle - 2.6 - initial implementation
+ ******************************************************************************/
+package org.eclipse.persistence.oxm.record;
+
+import java.io.OutputStream;
+
+import javax.xml.namespace.QName;
+
+import org.eclipse.persistence.internal.oxm.record.json.CBORGenerator;
+
+/**
+ * <p>Use this type of MarshalRecord when the marshal target is an OutputStream
+ * and the JSON binding should be encoded as CBOR (RFC 7049).  The JSON
+ * properties (attribute prefix, include root, value wrapper, ...) apply as
+ * they do for JSON text.</p>
+ * <p>If the marshal(OutputStream) and setMediaType(MediaType.APPLICATION_CBOR)
+ * methods are called on XMLMarshaller, then the OutputStream is automatically
+ * wrapped in a CBORWriterRecord.</p>
+ * @since EclipseLink 2.6
+ */
+public class CBORWriterRecord extends JsonGeneratorRecord {
+
+    private CBORGenerator cborGenerator;
+
+    public CBORWriterRecord(OutputStream outputStream) {
+        this(new CBORGenerator(outputStream));
+    }
+
+    private CBORWriterRecord(CBORGenerator cborGenerator) {
+        super(cborGenerator, null);
+        this.cborGenerator = cborGenerator;
+    }
+
+    /**
+     * Characters are written as one character strings, as they are in JSON
+     * text, rather than as their code point.
+     */
+    @Override
+    protected void addValueToObject(Level level, String keyName, Object value, QName schemaType) {
+        if (value instanceof Character) {
+            value = value.toString();
+        }
+        super.addValueToObject(level, keyName, value, schemaType);
+    }
+
+    @Override
+    protected void addValueToArray(Level level, Object value, QName schemaType) {
+        if (value instanceof Character) {
+            value = value.toString();
+        }
+        super.addValueToArray(level, value, schemaType);
+    }
+
+    @Override
+    public void flush() {
+        cborGenerator.flush();
+    }
+
+}
@@ -162,6 +162,11 @@ public class H2Platform extends DatabasePlatform {
         return true;
     }
 
+    @Override
+    public boolean supportsRowValueComparison() {
+        return true;
+    }
+
     @Override
     protected String getCreateTempTableSqlPrefix() {
         return "CREATE TEMPORARY TABLE IF NOT EXISTS ";
@@ -474,6 +474,15 @@ public class MySQLPlatform extends DatabasePlatform {
     public boolean supportsCountDistinctWithMultipleFields() {
         return true;
     }
+
+    /**
+     * INTERNAL:
+     * Indicates whether the platform supports row value comparisons such as "(A, B) > (?, ?)".
+     */
+    @Override
+    public boolean supportsRowValueComparison() {
+        return true;
+    }
     
     /**
      * INTERNAL:
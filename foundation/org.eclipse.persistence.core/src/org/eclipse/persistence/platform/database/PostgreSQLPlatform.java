@@ -382,6 +382,15 @@ public class PostgreSQLPlatform extends DatabasePlatform {
         return true;
     }
 
+    /**
+     * INTERNAL:
+     * Indicates whether the platform supports row value comparisons such as "(A, B) > (?, ?)".
+     */
+    @Override
+    public boolean supportsRowValueComparison() {
+        return true;
+    }
+
     /**
      * INTERNAL:
      */
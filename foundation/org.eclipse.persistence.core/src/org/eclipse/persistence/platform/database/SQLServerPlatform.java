@@ -232,6 +232,15 @@ public class SQLServerPlatform extends org.eclipse.persistence.platform.database
         return 22;
     }
 
+    /**
+     * INTERNAL:
+     * SQL Server allows at most 2100 parameters in a statement.
+     */
+    @Override
+    public int getMaxINListSize() {
+        return 2000;
+    }
+
     /**
      * Return the catalog information through using the native SQL catalog selects.
      * This is required because many JDBC driver do not support meta-data.
@@ -197,6 +197,8 @@ public class DeleteAllQuery extends ModifyAllQuery {
         } else {
             if (this.isInMemoryOnly) {
                 result = Integer.valueOf(0);
+            } else if (isChunked()) {
+                result = executeInChunks();
             } else {
                 result = this.queryMechanism.deleteAll();// fire the SQL to the database
             }
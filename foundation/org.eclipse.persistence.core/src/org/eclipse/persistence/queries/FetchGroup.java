@@ -20,10 +20,12 @@ import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.persistence.core.queries.CoreAttributeGroup;
+import org.eclipse.persistence.descriptors.ClassDescriptor;
 import org.eclipse.persistence.descriptors.FetchGroupManager;
 import org.eclipse.persistence.internal.localization.ExceptionLocalization;
 import org.eclipse.persistence.internal.queries.AttributeItem;
 import org.eclipse.persistence.internal.queries.EntityFetchGroup;
+import org.eclipse.persistence.internal.sessions.AbstractSession;
 import org.eclipse.persistence.sessions.Session;
 import org.eclipse.persistence.sessions.UnitOfWork;
 
@@ -157,6 +159,19 @@ public class FetchGroup extends AttributeGroup {
         } else {
             shouldLoadResultIntoSelectionObject = !session.getIdentityMapAccessor().containsObjectInIdentityMap(entity);
         }
+        // Only the attributes the entity is missing are selected,
+        // the cached object, the unit of work clone or the entity itself is built with these attributes
+        // and its fetch group is united with the query's.
+        FetchGroupManager fetchGroupManager = null;
+        FetchGroup unfetchedGroup = null;
+        ClassDescriptor descriptor = session.getDescriptor(entity);
+        if ((descriptor != null) && descriptor.hasFetchGroupManager()) {
+            fetchGroupManager = descriptor.getFetchGroupManager();
+            unfetchedGroup = fetchGroupManager.getUnfetchedAttributesFetchGroup(entity, attributeName);
+            if (unfetchedGroup != null) {
+                query.setFetchGroup(unfetchedGroup);
+            }
+        }
         if (shouldLoadResultIntoSelectionObject) {
             // entity is not in the cache.
             // instead of updating object in the cache update entity directly.
@@ -178,6 +193,10 @@ public class FetchGroup extends AttributeGroup {
             Object[] args = { query.getSelectionId() };
             return ExceptionLocalization.buildMessage("no_entities_retrieved_for_get_reference", args);
         }
+        if (shouldLoadResultIntoSelectionObject && (unfetchedGroup != null)) {
+            // The entity is still partial if attributes outside of the default fetch group have not been fetched.
+            fetchGroupManager.setObjectFetchGroup(entity, fetchGroupManager.flatUnionFetchGroups(unfetchedGroup, this, false), (AbstractSession)session);
+        }
         return null;
     }
 
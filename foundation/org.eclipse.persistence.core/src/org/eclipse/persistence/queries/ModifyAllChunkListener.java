@@ -0,0 +1,38 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ * This program and the accompanying materials are made available under the 
+ * terms of the Eclipse Public License v1.0 and Eclipse Distribution License v. 1.0 
+ * which accompanies this distribution. 
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at 
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * Contributors:
+ *     Oracle - 2.6 - initial implementation
+ ******************************************************************************/  
+package org.eclipse.persistence.queries;
+
+/**
+ * <p><b>Purpose</b>:
+ * Allows the progress of a ModifyAllQuery executed in chunks to be followed.
+ *
+ * <p><b>Description</b>:
+ * An implementor of this interface can be given to an UpdateAllQuery or DeleteAllQuery
+ * that has a chunk size, it is notified after the rows of each chunk have been modified,
+ * such as to report the progress of a data migration.
+ * @see ModifyAllQuery#setChunkSize(int)
+ * @see ModifyAllQuery#setChunkListener(ModifyAllChunkListener)
+ * @since EclipseLink 2.6
+ */
+public interface ModifyAllChunkListener {
+
+    /**
+     * PUBLIC:
+     * Called after the rows of a chunk have been modified, and committed if
+     * each chunk is executed in its own transaction.
+     * @param query the query being executed
+     * @param chunkRowCount the number of rows modified by the chunk
+     * @param totalRowCount the number of rows modified by all of the chunks executed so far
+     */
+    void chunkExecuted(ModifyAllQuery query, int chunkRowCount, int totalRowCount);
+}
@@ -14,13 +14,20 @@
  ******************************************************************************/  
 package org.eclipse.persistence.queries;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import org.eclipse.persistence.exceptions.*;
 import org.eclipse.persistence.expressions.*;
+import org.eclipse.persistence.internal.helper.DatabaseField;
 import org.eclipse.persistence.internal.queries.DatabaseQueryMechanism;
 import org.eclipse.persistence.internal.queries.ExpressionQueryMechanism;
 import org.eclipse.persistence.internal.sessions.AbstractRecord;
 import org.eclipse.persistence.internal.sessions.UnitOfWorkImpl;
 import org.eclipse.persistence.internal.sessions.AbstractSession;
+import org.eclipse.persistence.sessions.DatabaseRecord;
+import org.eclipse.persistence.sessions.server.ServerSession;
 
 /**
  * PUBLIC:
@@ -51,6 +58,15 @@ public abstract class ModifyAllQuery extends ModifyQuery {
     
     /** Indicates whether the query was prepared so that it will execute using temp storage */
     protected boolean isPreparedUsingTempStorage;
+
+    /** The number of rows modified by each statement when executed in chunks, 0 to modify all of the rows at once */
+    protected int chunkSize;
+
+    /** Notified after each chunk is executed */
+    protected transient ModifyAllChunkListener chunkListener;
+
+    /** The primary keys of the objects modified when executed in chunks, used to only invalidate those objects */
+    protected transient List<Object> modifiedPrimaryKeys;
     
     /**
      * PUBLIC:
@@ -201,6 +217,169 @@ public abstract class ModifyAllQuery extends ModifyQuery {
         return referenceClass;
     }
 
+    /**
+     * PUBLIC:
+     * Return the number of rows modified by each statement when the query is executed in chunks,
+     * 0 if all of the rows are modified by a single statement.
+     * @see #setChunkSize(int)
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * PUBLIC:
+     * Set the number of rows to modify by each statement.
+     * <p>
+     * By default all of the rows are modified by a single statement, which on a large table can hold
+     * locks on all of the rows, and fill the undo log, until the end of the transaction.
+     * When a chunk size is set, the primary keys of the rows matching the selection criteria are
+     * read in order, a chunk at a time, and each chunk is modified by a statement restricted to its keys.
+     * If the query is not executed in a transaction, each chunk is executed and committed in its own
+     * transaction, so the work done by the chunks already committed remains if a chunk fails.
+     * Only the objects of the modified rows are invalidated in the cache.
+     * <p>
+     * This is only used for expression queries on a descriptor with a primary key.
+     * @see #setChunkListener(ModifyAllChunkListener)
+     * @since EclipseLink 2.6
+     */
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * PUBLIC:
+     * Return the listener notified after each chunk is executed.
+     */
+    public ModifyAllChunkListener getChunkListener() {
+        return chunkListener;
+    }
+
+    /**
+     * PUBLIC:
+     * Set a listener notified after each chunk is executed, such as to report the progress
+     * of the query.
+     * @see #setChunkSize(int)
+     * @since EclipseLink 2.6
+     */
+    public void setChunkListener(ModifyAllChunkListener chunkListener) {
+        this.chunkListener = chunkListener;
+    }
+
+    /**
+     * INTERNAL:
+     * Return if the query should be executed in chunks.
+     */
+    public boolean isChunked() {
+        return (this.chunkSize > 0) && isExpressionQuery() && (this.descriptor != null)
+            && !this.descriptor.getPrimaryKeyFields().isEmpty();
+    }
+
+    /**
+     * INTERNAL:
+     * Execute the query a chunk of rows at a time.
+     * The primary keys of the next chunk are selected after the keys of the previous chunk,
+     * and a clone of the query restricted to these keys modifies the rows.
+     * If the session is not in a transaction, each chunk is executed in its own transaction
+     * and the modified objects are invalidated after the chunk is committed.
+     * Otherwise the modified keys are kept to be invalidated with the rest of the transaction.
+     * @return the total number of rows modified
+     */
+    protected Integer executeInChunks() throws DatabaseException {
+        AbstractSession executionSession = this.session;
+        if (executionSession.isServerSession()) {
+            // A ServerSession does not have a transaction, a client session is used for the chunks.
+            executionSession = ((ServerSession)executionSession).acquireClientSession();
+        }
+        try {
+            boolean isChunkTransaction = !executionSession.isUnitOfWork() && !executionSession.isInTransaction();
+            List<DatabaseField> primaryKeyFields = this.descriptor.getPrimaryKeyFields();
+            int primaryKeySize = primaryKeyFields.size();
+            ExpressionBuilder builder = getExpressionBuilder();
+
+            ReportQuery keyQuery = new ReportQuery(getReferenceClass(), builder);
+            keyQuery.setSelectionCriteria(getSelectionCriteria());
+            for (DatabaseField field : primaryKeyFields) {
+                keyQuery.addItem(field.getName(), builder.getField(field));
+                keyQuery.addOrdering(builder.getField(field).ascending());
+            }
+            keyQuery.setReturnType(ReportQuery.ShouldReturnArray);
+            keyQuery.setMaxRows(this.chunkSize);
+            keyQuery.dontMaintainCache();
+
+            this.modifiedPrimaryKeys = new ArrayList<Object>();
+            int totalCount = 0;
+            List<Object[]> keys;
+            do {
+                keys = (List<Object[]>)executionSession.executeQuery(keyQuery, this.translationRow);
+                if (keys.isEmpty()) {
+                    break;
+                }
+                // Restrict the query to the keys of the chunk.
+                Expression keyCriteria = null;
+                List<Object> primaryKeys = new ArrayList<Object>(keys.size());
+                if (primaryKeySize == 1) {
+                    List<Object> values = new ArrayList<Object>(keys.size());
+                    for (Object[] key : keys) {
+                        values.add(key[0]);
+                    }
+                    keyCriteria = builder.getField(primaryKeyFields.get(0)).in(values);
+                } else {
+                    for (Object[] key : keys) {
+                        Expression rowCriteria = null;
+                        for (int index = 0; index < primaryKeySize; index++) {
+                            rowCriteria = builder.getField(primaryKeyFields.get(index)).equal(key[index]).and(rowCriteria);
+                        }
+                        keyCriteria = (keyCriteria == null) ? rowCriteria : keyCriteria.or(rowCriteria);
+                    }
+                }
+                for (Object[] key : keys) {
+                    DatabaseRecord row = new DatabaseRecord(primaryKeySize);
+                    for (int index = 0; index < primaryKeySize; index++) {
+                        row.put(primaryKeyFields.get(index), key[index]);
+                    }
+                    primaryKeys.add(this.descriptor.getObjectBuilder().extractPrimaryKeyFromRow(row, executionSession));
+                }
+                ModifyAllQuery chunkQuery = (ModifyAllQuery)clone();
+                chunkQuery.setChunkSize(0);
+                chunkQuery.setCacheUsage(NO_CACHE);
+                chunkQuery.setShouldDeferExecutionInUOW(false);
+                chunkQuery.setSelectionCriteria((getSelectionCriteria() == null) ? keyCriteria : getSelectionCriteria().and(keyCriteria));
+
+                Integer chunkCount;
+                if (isChunkTransaction) {
+                    executionSession.beginTransaction();
+                    try {
+                        chunkCount = (Integer)executionSession.executeQuery(chunkQuery, this.translationRow);
+                        executionSession.commitTransaction();
+                    } catch (RuntimeException exception) {
+                        executionSession.rollbackTransaction();
+                        throw exception;
+                    }
+                    if (shouldInvalidateCache() && !shouldStoreBypassCache()) {
+                        for (Object primaryKey : primaryKeys) {
+                            this.session.getIdentityMapAccessor().invalidateObject(primaryKey, getReferenceClass(), true);
+                        }
+                    }
+                } else {
+                    chunkCount = (Integer)executionSession.executeQuery(chunkQuery, this.translationRow);
+                    this.modifiedPrimaryKeys.addAll(primaryKeys);
+                }
+                int count = (chunkCount == null) ? 0 : chunkCount.intValue();
+                totalCount = totalCount + count;
+                if (this.chunkListener != null) {
+                    this.chunkListener.chunkExecuted(this, count, totalCount);
+                }
+                keyQuery.setKeysetValues(Arrays.asList(keys.get(keys.size() - 1)));
+            } while (keys.size() == this.chunkSize);
+            return Integer.valueOf(totalCount);
+        } finally {
+            if (executionSession != this.session) {
+                executionSession.release();
+            }
+        }
+    }
+
     /**
      * INTERNAL:
      * Invalid the cache, that is, those objects in the cache that were affected
@@ -211,6 +390,13 @@ public abstract class ModifyAllQuery extends ModifyQuery {
             // no rows modified in the db - nothing to invalidate
             return;
         }
+        if (this.modifiedPrimaryKeys != null) {
+            // Executed in chunks, only the objects of the modified rows are invalidated.
+            for (Object primaryKey : this.modifiedPrimaryKeys) {
+                getSession().getIdentityMapAccessor().invalidateObject(primaryKey, getReferenceClass(), true);
+            }
+            return;
+        }
         getSession().getIdentityMapAccessor().invalidateObjects(getSelectionCriteria(), getReferenceClass(), getTranslationRow(), true);
     }
 
@@ -67,6 +67,7 @@ import org.eclipse.persistence.logging.SessionLog;
 import org.eclipse.persistence.mappings.CollectionMapping;
 import org.eclipse.persistence.mappings.DatabaseMapping;
 import org.eclipse.persistence.mappings.ForeignReferenceMapping;
+import org.eclipse.persistence.sessions.SessionProfiler;
 
 /**
  * <p><b>Purpose</b>:
@@ -189,6 +190,18 @@ public abstract class ObjectLevelReadQuery extends ObjectBuildingQuery {
     /** Define if an outer join should be used to read subclasses. */
     protected Boolean shouldOuterJoinSubclasses;
     
+    /** Define if the joined collection relationships should be batch read instead of joined. */
+    protected boolean shouldBatchCollectionJoins;
+    
+    /** The joined attributes before the joined collections were moved to the batch read attributes, restored when the query is prepared again. */
+    protected List<Expression> unbatchedJoinedAttributeExpressions;
+    
+    /** The batch read attributes added to batch read the joined collections, removed when the query is prepared again. */
+    protected List<Expression> collectionJoinBatchReadExpressions;
+    
+    /** The batch fetch type replaced by IN to batch read the joined collections, or null if the type was not changed. */
+    protected BatchFetchType collectionJoinBatchFetchType;
+    
     /** Allow concrete subclasses calls to be prepared and cached for inheritance queries. */
     protected Map<Class, DatabaseCall> concreteSubclassCalls;
     
@@ -1972,10 +1985,12 @@ public abstract class ObjectLevelReadQuery extends ObjectBuildingQuery {
             return false;
         }
         if ((cachedQuery != null) && cachedQuery.isPrepared()) {
+            this.session.incrementProfile(SessionProfiler.ExpressionQueryCacheHits, this);
             prepareFromQuery(cachedQuery);
             setIsPrepared(true);
             return true;
         }
+        this.session.incrementProfile(SessionProfiler.ExpressionQueryCacheMisses, this);
         this.descriptor.getQueryManager().putCachedExpressionQuery(this);
         this.isCachedExpressionQuery = true;
         this.isExecutionClone = false;
@@ -2033,6 +2048,10 @@ public abstract class ObjectLevelReadQuery extends ObjectBuildingQuery {
             this.fetchGroupName = objectQuery.fetchGroupName;
             this.isReferenceClassLocked = objectQuery.isReferenceClassLocked;
             this.shouldOuterJoinSubclasses = objectQuery.shouldOuterJoinSubclasses;
+            this.shouldBatchCollectionJoins = objectQuery.shouldBatchCollectionJoins;
+            this.unbatchedJoinedAttributeExpressions = objectQuery.unbatchedJoinedAttributeExpressions;
+            this.collectionJoinBatchReadExpressions = objectQuery.collectionJoinBatchReadExpressions;
+            this.collectionJoinBatchFetchType = objectQuery.collectionJoinBatchFetchType;
             this.shouldUseDefaultFetchGroup = objectQuery.shouldUseDefaultFetchGroup;
             this.concreteSubclassCalls = objectQuery.concreteSubclassCalls;
             this.concreteSubclassQueries = objectQuery.concreteSubclassQueries;
@@ -2090,13 +2109,19 @@ public abstract class ObjectLevelReadQuery extends ObjectBuildingQuery {
         buildSelectionCriteria(this.session);
         checkDescriptor(this.session);
 
+        // The fetch group is prepared first, as the joined collections it excludes are not batch read.
+        prepareFetchGroup();
+
+        restoreCollectionJoins();
+        if (this.shouldBatchCollectionJoins && !isReportQuery() && getQueryMechanism().isExpressionQueryMechanism()) {
+            prepareCollectionJoinsAsBatchReads();
+        }
+
         // Validate and prepare join expressions.           
         if (hasJoining()) {
             this.joinedAttributeManager.prepareJoinExpressions(this.session);
         }
 
-        prepareFetchGroup();
-
         // Add mapping joined attributes.
         if (getQueryMechanism().isExpressionQueryMechanism() && this.descriptor.getObjectBuilder().hasJoinedAttributes()) {
             getJoinedAttributeManager().processJoinedMappings(this.session);
@@ -2697,6 +2722,142 @@ public abstract class ObjectLevelReadQuery extends ObjectBuildingQuery {
         setIsPrepared(false);
     }
 
+    /**
+     * PUBLIC:
+     * Return if the joined collection relationships are batch read instead of joined.
+     */
+    public boolean shouldBatchCollectionJoins() {
+        return shouldBatchCollectionJoins;
+    }
+
+    /**
+     * PUBLIC:
+     * Set if the joined collection relationships should be batch read instead of joined.
+     * Joining a collection returns a row for each element of the collection, and joining several
+     * collections returns a row for each combination of their elements.
+     * Batch reading the collections using the IN batch type reads each collection with one query
+     * correlated by the keys of the source objects, so the number of rows is the sum of the elements.
+     * This applies to the joined attributes of the query, and to the joined collection mappings of the descriptor.
+     * The joined attributes that a batch read collection traverses are batch read with it,
+     * the other joined attributes are still joined.
+     * 
+     * @see #addJoinedAttribute(Expression)
+     * @see #addBatchReadAttribute(Expression)
+     */
+    public void setShouldBatchCollectionJoins(boolean shouldBatchCollectionJoins) {
+        this.shouldBatchCollectionJoins = shouldBatchCollectionJoins;
+        restoreCollectionJoins();
+        // The joins are computed in prePrepare.
+        setIsPrePrepared(false);
+    }
+
+    /**
+     * INTERNAL:
+     * Move the joined attributes that traverse a collection relationship and the joined collection mappings
+     * of the descriptor to the batch read attributes.
+     * The joined collection mappings excluded by the fetch group are not batch read.
+     * The IN batch type is used unless the query has its own batch read attributes.
+     * The changes are recorded so they are undone by restoreCollectionJoins() when the query is prepared again.
+     */
+    protected void prepareCollectionJoinsAsBatchReads() {
+        List<Expression> joinExpressions = null;
+        if (hasJoining()) {
+            joinExpressions = this.joinedAttributeManager.getCollectionJoinExpressions(this.session);
+        } else {
+            joinExpressions = new ArrayList<Expression>();
+        }
+        List<Expression> collectionExpressions = new ArrayList<Expression>(joinExpressions);
+        if (this.descriptor.getObjectBuilder().hasJoinedAttributes()) {
+            Set<String> fetchGroupAttributes = null;
+            FetchGroup fetchGroup = getExecutionFetchGroup();
+            if (fetchGroup != null) {
+                fetchGroupAttributes = fetchGroup.getAttributeNames();
+            }
+            for (DatabaseMapping mapping : (List<DatabaseMapping>)this.descriptor.getObjectBuilder().getJoinedAttributes()) {
+                if (mapping.isCollectionMapping() && ((fetchGroupAttributes == null) || fetchGroupAttributes.contains(mapping.getAttributeName()))) {
+                    collectionExpressions.add(getExpressionBuilder().get(mapping.getAttributeName()));
+                }
+            }
+        }
+        if (collectionExpressions.isEmpty()) {
+            return;
+        }
+        if (!joinExpressions.isEmpty()) {
+            this.unbatchedJoinedAttributeExpressions = this.joinedAttributeManager.getJoinedAttributeExpressions();
+            List<Expression> joinedAttributeExpressions = new ArrayList<Expression>(this.unbatchedJoinedAttributeExpressions);
+            removeIdentical(joinedAttributeExpressions, joinExpressions);
+            this.joinedAttributeManager.setJoinedAttributeExpressions_(joinedAttributeExpressions);
+        }
+        boolean hasBatchReadAttributes = hasBatchReadAttributes();
+        List<Expression> batchReadAttributeExpressions = new ArrayList<Expression>();
+        if (hasBatchReadAttributes) {
+            batchReadAttributeExpressions.addAll(getBatchReadAttributeExpressions());
+        }
+        BatchFetchPolicy batchReadAttributes = new BatchFetchPolicy();
+        batchReadAttributes.setAttributeExpressions(batchReadAttributeExpressions);
+        List<Expression> addedExpressions = new ArrayList<Expression>(collectionExpressions.size());
+        for (Expression expression : collectionExpressions) {
+            QueryKeyExpression baseExpression = (QueryKeyExpression)expression;
+            while (!baseExpression.getBaseExpression().isExpressionBuilder()) {
+                baseExpression = (QueryKeyExpression)baseExpression.getBaseExpression();
+            }
+            // The mapping joins are ignored if the attribute is already batch read.
+            if ((expression != baseExpression) || !batchReadAttributes.isAttributeBatchRead(baseExpression.getName())) {
+                batchReadAttributeExpressions.add(expression);
+                addedExpressions.add(expression);
+            }
+        }
+        setBatchReadAttributeExpressions(batchReadAttributeExpressions);
+        this.collectionJoinBatchReadExpressions = addedExpressions;
+        if (!hasBatchReadAttributes) {
+            this.collectionJoinBatchFetchType = getBatchFetchPolicy().getType();
+            getBatchFetchPolicy().setType(BatchFetchType.IN);
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Undo the changes of prepareCollectionJoinsAsBatchReads(), so the joined attributes
+     * and batch read attributes are the ones defined on the query.
+     * The attributes added to the query since it was prepared are kept.
+     */
+    protected void restoreCollectionJoins() {
+        if (this.unbatchedJoinedAttributeExpressions != null) {
+            // The order of the joins is kept, as a join must follow the joins it traverses.
+            List<Expression> joinedAttributeExpressions = new ArrayList<Expression>(this.unbatchedJoinedAttributeExpressions);
+            List<Expression> addedExpressions = new ArrayList<Expression>(getJoinedAttributeManager().getJoinedAttributeExpressions());
+            removeIdentical(addedExpressions, this.unbatchedJoinedAttributeExpressions);
+            joinedAttributeExpressions.addAll(addedExpressions);
+            this.joinedAttributeManager.setJoinedAttributeExpressions_(joinedAttributeExpressions);
+            this.unbatchedJoinedAttributeExpressions = null;
+        }
+        if (this.collectionJoinBatchReadExpressions != null) {
+            List<Expression> batchReadAttributeExpressions = new ArrayList<Expression>(getBatchReadAttributeExpressions());
+            removeIdentical(batchReadAttributeExpressions, this.collectionJoinBatchReadExpressions);
+            getBatchFetchPolicy().setAttributeExpressions(batchReadAttributeExpressions);
+            this.collectionJoinBatchReadExpressions = null;
+        }
+        if (this.collectionJoinBatchFetchType != null) {
+            getBatchFetchPolicy().setType(this.collectionJoinBatchFetchType);
+            this.collectionJoinBatchFetchType = null;
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Remove the expressions from the list, expressions are compared by identity.
+     */
+    protected void removeIdentical(List<Expression> expressions, List<Expression> expressionsToRemove) {
+        for (Expression expressionToRemove : expressionsToRemove) {
+            for (int index = 0; index < expressions.size(); index++) {
+                if (expressions.get(index) == expressionToRemove) {
+                    expressions.remove(index);
+                    break;
+                }
+            }
+        }
+    }
+
     /**
      * INTERNAL:
      * Return if this is a full object query, not partial nor fetch group.
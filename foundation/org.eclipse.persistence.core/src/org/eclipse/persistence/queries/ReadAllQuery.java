@@ -20,6 +20,7 @@ import java.util.*;
 import java.sql.*;
 
 import org.eclipse.persistence.internal.databaseaccess.*;
+import org.eclipse.persistence.internal.expressions.SQLSelectStatement;
 import org.eclipse.persistence.internal.helper.*;
 import org.eclipse.persistence.internal.descriptors.ObjectBuilder;
 import org.eclipse.persistence.internal.queries.*;
@@ -56,6 +57,12 @@ public class ReadAllQuery extends ObjectLevelReadQuery {
     protected Expression connectByExpression;
     protected List<Expression> orderSiblingsByExpressions;
 
+    /** Used for keyset pagination, the values of the order by expressions of the last row of the previous page. */
+    protected List<Object> keysetValues;
+
+    /** Used for parallel object building, the number of rows built by each thread at a time, 0 if not used. */
+    protected int parallelObjectBuildingChunkSize;
+
     /**
      * PUBLIC:
      * Return a new read all query.
@@ -663,6 +670,34 @@ public class ReadAllQuery extends ObjectLevelReadQuery {
         return orderSiblingsByExpressions;
     }
 
+    /**
+     * PUBLIC:
+     * Return the values of the order by expressions of the last row of the previous page,
+     * or null if keyset pagination is not used.
+     * @see #setKeysetValues(List)
+     */
+    public List<Object> getKeysetValues() {
+        return keysetValues;
+    }
+
+    /**
+     * INTERNAL:
+     * Return if keyset pagination is used.
+     */
+    public boolean hasKeysetValues() {
+        return this.keysetValues != null;
+    }
+
+    /**
+     * PUBLIC:
+     * Return the number of rows built by each thread at a time when building the objects in parallel,
+     * or 0 if the objects are built on the executing thread.
+     * @see #setParallelObjectBuildingChunkSize(int)
+     */
+    public int getParallelObjectBuildingChunkSize() {
+        return parallelObjectBuildingChunkSize;
+    }
+
     /**
      * INTERNAL:
      * Verify that we have hierarchical query expressions
@@ -683,6 +718,7 @@ public class ReadAllQuery extends ObjectLevelReadQuery {
         return super.isDefaultPropertiesQuery()
             && (!hasBatchReadAttributes())
             && (!hasHierarchicalExpressions())
+            && (!hasKeysetValues())
             && (!this.containerPolicy.isCursorPolicy());
     }
     
@@ -703,6 +739,10 @@ public class ReadAllQuery extends ObjectLevelReadQuery {
         if (!this.containerPolicy.equals(query.containerPolicy)) {
             return false;
         }
+        // The keyset values are parameters, only the number of keys affects the SQL.
+        if ((this.keysetValues == null) ? (query.keysetValues != null) : ((query.keysetValues == null) || (this.keysetValues.size() != query.keysetValues.size()))) {
+            return false;
+        }
         return true;
     }
     
@@ -740,6 +780,13 @@ public class ReadAllQuery extends ObjectLevelReadQuery {
             }
         }
 
+        if (hasKeysetValues() && isExpressionQuery()) {
+            int orderBySize = hasOrderByExpressions() ? getOrderByExpressions().size() : 0;
+            if (this.keysetValues.size() != orderBySize) {
+                throw QueryException.keysetValuesOrderByMismatch(this, this.keysetValues.size(), orderBySize);
+            }
+        }
+
         if (this.containerPolicy.overridesRead()) {
             return;
         }
@@ -810,6 +857,16 @@ public class ReadAllQuery extends ObjectLevelReadQuery {
             translationRow = translationRow.clone();
             descriptor.getMultitenantPolicy().addFieldsToRow(translationRow, getSession());
         }
+
+        // The keyset values are bound as parameters of the keyset criteria, which is
+        // only added to the SQL for expression queries.
+        if (hasKeysetValues() && isExpressionQuery()) {
+            AbstractRecord row = translationRow.isEmpty() ? new DatabaseRecord() : translationRow.clone();
+            for (int index = 0; index < this.keysetValues.size(); index++) {
+                row.put(SQLSelectStatement.getKeysetField(index), this.keysetValues.get(index));
+            }
+            translationRow = row;
+        }
     }
 
     /**
@@ -1036,6 +1093,57 @@ public class ReadAllQuery extends ObjectLevelReadQuery {
         return controller.replaceValueHoldersInAll(object, getContainerPolicy());
     }
 
+    /**
+     * PUBLIC:
+     * Set the values of the order by expressions of the last row of the previous page
+     * to use keyset (seek) pagination.
+     * Only the rows ordered after the given values are selected, so reading a page
+     * does not require the database to read and skip the rows of the previous pages
+     * as setFirstResult does.
+     * The query must have one order by expression for each value, ordering on a unique
+     * key (such as ending with the primary key), and the values cannot be null.
+     * The values are bound as parameters, so the SQL is the same for every page.
+     * If the platform supports row value comparisons and the order by expressions
+     * have the same direction, the criteria is printed as "(A, B) > (?, ?)",
+     * otherwise as "(A > ?) OR ((A = ?) AND (B > ?))".
+     * @see #setMaxRows(int)
+     * @see org.eclipse.persistence.config.QueryHints#KEYSET_VALUES
+     */
+    public void setKeysetValues(List<Object> keysetValues) {
+        if ((keysetValues == null) ? (this.keysetValues != null) : ((this.keysetValues == null) || (keysetValues.size() != this.keysetValues.size()))) {
+            // The keyset criteria depends on the number of values.
+            setIsPrepared(false);
+        }
+        this.keysetValues = keysetValues;
+    }
+
+    /**
+     * PUBLIC:
+     * Set the number of rows built by each thread at a time to build the objects of the result in parallel,
+     * 0 (the default) builds the objects on the executing thread.
+     * The rows are still fetched on the executing thread, then the objects of the chunks of rows are built
+     * by the executing thread and the server platform's thread pool, and collected in the order of the rows,
+     * so the result is the same as when building on a single thread.
+     * This can improve the performance of large results with expensive object building, such as converters
+     * or aggregates, for read-only queries on a ServerSession or ClientSession.
+     * The objects are built on the executing thread if the result has fewer rows than the chunk size,
+     * in a unit of work, for a session reading through an exclusive or transactional connection,
+     * if the server platform has no thread pool, for isolated classes, or if the query uses batch fetching
+     * or caches its results.
+     * @see org.eclipse.persistence.config.QueryHints#PARALLEL_OBJECT_BUILDING
+     */
+    public void setParallelObjectBuildingChunkSize(int parallelObjectBuildingChunkSize) {
+        this.parallelObjectBuildingChunkSize = parallelObjectBuildingChunkSize;
+    }
+
+    /**
+     * INTERNAL:
+     * Return if the objects should be built in parallel.
+     */
+    public boolean shouldBuildObjectsInParallel() {
+        return this.parallelObjectBuildingChunkSize > 0;
+    }
+
     /**
      * PUBLIC:
      * Set the container policy. Used to support different containers
@@ -1202,6 +1310,7 @@ public class ReadAllQuery extends ObjectLevelReadQuery {
         if (!super.supportsResultSetAccessOptimizationOnExecute()) {
             return false;
         }
-        return !shouldConformResultsInUnitOfWork(); // could be supported if conformResult method is adapted to use ResultSetAccessOptimization
+        return !shouldConformResultsInUnitOfWork() // could be supported if conformResult method is adapted to use ResultSetAccessOptimization
+                && !shouldBuildObjectsInParallel(); // requires all rows to be fetched before the objects are built
     }
 }
@@ -25,6 +25,8 @@ import org.eclipse.persistence.internal.sessions.remote.*;
 import org.eclipse.persistence.internal.sessions.AbstractRecord;
 import org.eclipse.persistence.internal.sessions.AbstractSession;
 import org.eclipse.persistence.internal.sessions.UnitOfWorkImpl;
+import org.eclipse.persistence.mappings.DatabaseMapping;
+import org.eclipse.persistence.mappings.foundation.AbstractDirectMapping;
 
 /**
  * <b>Purpose</b>: Query for information about a set of objects instead of the objects themselves.
@@ -70,6 +72,9 @@ public class ReportQuery extends ReadAllQuery {
     /** For example, ... EXISTS( SELECT 1 FROM ... */
     public static final int ShouldSelectValue1 = 6;
 
+    /** Returns the results by columns of primitive arrays in a ReportQueryColumns. */
+    public static final int ShouldReturnColumns = 7;
+
     /** Specifies whether to retrieve primary keys, first primary key, or no primary key.*/
     public static final int FULL_PRIMARY_KEY = 2;
     public static final int FIRST_PRIMARY_KEY = 1;
@@ -632,6 +637,15 @@ public class ReportQuery extends ReadAllQuery {
         }
 
         ContainerPolicy containerPolicy = getContainerPolicy();
+        if (shouldReturnColumns()) {
+            // The columns are returned as the single result so the container type is kept.
+            Object reportResults = containerPolicy.containerInstance(1);
+            containerPolicy.addInto(buildColumns(rows), reportResults, this.session);
+            if (shouldCacheQueryResults()) {
+                setTemporaryCachedQueryResults(reportResults);
+            }
+            return reportResults;
+        }
         int size = rows.size();
         Object reportResults = containerPolicy.containerInstance(size);
         // GF_ISSUE_395
@@ -654,6 +668,86 @@ public class ReportQuery extends ReadAllQuery {
         return reportResults;
     }
 
+    /**
+     * INTERNAL:
+     * Build the columns of the result from the rows.
+     * The value of each item is read from the row as for a ReportQueryResult,
+     * but is stored directly in the array of its column, no object is built for the row.
+     * If the distinct is done in memory, the duplicate rows are filtered as for a ReportQueryResult.
+     */
+    protected ReportQueryColumns buildColumns(Vector rows) {
+        int size = rows.size();
+        List<ReportItem> items = getItems();
+        int itemSize = items.size();
+        Class[] types = new Class[itemSize];
+        boolean[] isComplex = new boolean[itemSize];
+        for (int index = 0; index < itemSize; index++) {
+            ReportItem item = items.get(index);
+            if (item.isConstructorItem() || ((item.getAttributeExpression() != null) && item.getAttributeExpression().isClassTypeExpression())) {
+                isComplex[index] = true;
+            } else {
+                types[index] = getColumnType(item);
+            }
+        }
+        ReportQueryColumns columns = new ReportQueryColumns(getNames(), types, size);
+        // GF_ISSUE_395
+        Set<String> keys = null;
+        if (shouldDistinctBeUsed() && shouldFilterDuplicates()) {
+            keys = new HashSet<String>(size);
+        }
+        // A single result is used to read the values of every row.
+        ReportQueryResult reader = new ReportQueryResult(null, null);
+        int resultIndex = 0;
+        for (int rowIndex = 0; rowIndex < size; rowIndex++) {
+            AbstractRecord row = (AbstractRecord)rows.get(rowIndex);
+            if (keys != null) {
+                reader.key = new StringBuffer();
+            }
+            ReportQueryResult complexResult = null;
+            for (int index = 0; index < itemSize; index++) {
+                Object value;
+                if (isComplex[index]) {
+                    // Constructor and type items are built by a result for the row.
+                    if (complexResult == null) {
+                        complexResult = new ReportQueryResult(this, row, rows);
+                    }
+                    value = complexResult.getResults().get(index);
+                } else {
+                    value = reader.processItem(this, row, rows, items.get(index));
+                }
+                columns.setValue(index, resultIndex, value);
+            }
+            // GF_ISSUE_395
+            if (keys != null) {
+                // The values of a duplicate row are overwritten by the next row.
+                String key = (complexResult == null) ? reader.getResultKey() : complexResult.getResultKey();
+                if (!keys.add(key)) {
+                    continue;
+                }
+            }
+            resultIndex++;
+        }
+        if (resultIndex < size) {
+            columns.setSize(resultIndex);
+        }
+        return columns;
+    }
+
+    /**
+     * INTERNAL:
+     * Return the type of the values of the item, used to choose the array of its column.
+     */
+    protected Class getColumnType(ReportItem item) {
+        if (item.getResultType() != null) {
+            return item.getResultType();
+        }
+        DatabaseMapping mapping = item.getMapping();
+        if ((mapping != null) && mapping.isAbstractDirectMapping()) {
+            return ((AbstractDirectMapping)mapping).getAttributeClassification();
+        }
+        return null;
+    }
+
     /**
      * INTERNAL:
      * The cache check is done before the prepare as a hit will not require the work to be done.
@@ -1281,12 +1375,26 @@ public class ReportQuery extends ReadAllQuery {
      * <li>ShouldReturnSingleAttribute - return List<Object> : Only first column of (all) rows are returned.
      * <li>ShouldReturnSingleValue - return Object : Only first value of first row is returned.
      * <li>ShouldReturnWithoutReportQueryResult - return List<Object[]> : Array of each row is returned.
+     * <li>ShouldReturnColumns - return List<ReportQueryColumns> : A single ReportQueryColumns holding the values of all rows is returned.
      * </ul>
      */
     public void setReturnType(int returnChoice) {
         this.returnChoice = returnChoice;
     }
 
+    /**
+     * PUBLIC:
+     * Return the result by columns instead of by rows.
+     * The query returns a single ReportQueryColumns holding an array of the values of each item,
+     * the values of numeric and boolean items are stored in primitive arrays.
+     * This avoids building an object for each row, which matters when reading a large number of rows.
+     * @see ReportQueryColumns
+     * @since EclipseLink 2.6
+     */
+    public void returnColumns() {
+        this.returnChoice = ShouldReturnColumns;
+    }
+
     /**
      * PUBLIC:
      * Simplify the result by returning a single attribute. Don't wrap in a ReportQueryResult.
@@ -1473,6 +1581,14 @@ public class ReportQuery extends ReadAllQuery {
         return this.returnChoice == ShouldReturnArray;
     }
 
+    /**
+     * PUBLIC:
+     * Returns true if results should be returned by columns in a ReportQueryColumns.
+     */
+    public boolean shouldReturnColumns() {
+        return this.returnChoice == ShouldReturnColumns;
+    }
+
     /**
      * PUBLIC:
      * Returns true if results should be returned as an Object array.
@@ -0,0 +1,285 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ * This program and the accompanying materials are made available under the 
+ * terms of the Eclipse Public License v1.0 and Eclipse Distribution License v. 1.0 
+ * which accompanies this distribution. 
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at 
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * Contributors:
+ *     Oracle - 2.6 - initial implementation
+ ******************************************************************************/  
+package org.eclipse.persistence.queries;
+
+import java.io.Serializable;
+import java.lang.reflect.Array;
+import java.util.BitSet;
+import java.util.List;
+
+import org.eclipse.persistence.internal.helper.ClassConstants;
+
+/**
+ * <p><b>Purpose</b>:
+ * The result of a ReportQuery returned by columns instead of by rows.
+ *
+ * <p><b>Description</b>:
+ * Each report item is returned as a single array holding its value for every row.
+ * Integral numbers are returned as a <code>long[]</code>, floating point numbers as a
+ * <code>double[]</code>, booleans as a <code>boolean[]</code>, and any other value as
+ * an array of the item's type, such as a <code>String[]</code>.
+ * The rows with a null value in a primitive column are recorded in a BitSet,
+ * their value in the array is 0 or false.
+ * This avoids building a ReportQueryResult and boxing the values of each row,
+ * which matters when reading a large number of rows, such as for an export.
+ * <p>
+ * If a value of a primitive column cannot be stored in the array, the column is
+ * returned as an <code>Object[]</code> instead.
+ *
+ * @see ReportQuery#returnColumns()
+ * @see org.eclipse.persistence.config.ResultType#Columns
+ * @since EclipseLink 2.6
+ */
+public class ReportQueryColumns implements Serializable {
+
+    /** The names of the report items. */
+    protected List<String> names;
+
+    /** The values of each item, a long[], double[], boolean[] or Object[] the size of the result. */
+    protected Object[] columns;
+
+    /** The rows with a null value in each column, null if the column has no null value. */
+    protected BitSet[] nulls;
+
+    /** The number of rows. */
+    protected int size;
+
+    /**
+     * INTERNAL:
+     * Create the columns for the number of rows, the array of each column is
+     * chosen from the type of its item.
+     */
+    public ReportQueryColumns(List<String> names, Class[] types, int size) {
+        this.names = names;
+        this.size = size;
+        this.columns = new Object[types.length];
+        this.nulls = new BitSet[types.length];
+        for (int index = 0; index < types.length; index++) {
+            this.columns[index] = buildColumn(types[index], size);
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Return an array of the size for the values of the type.
+     */
+    protected Object buildColumn(Class type, int size) {
+        if ((type == ClassConstants.PLONG) || (type == ClassConstants.LONG)
+                || (type == ClassConstants.PINT) || (type == ClassConstants.INTEGER)
+                || (type == ClassConstants.PSHORT) || (type == ClassConstants.SHORT)
+                || (type == ClassConstants.PBYTE) || (type == ClassConstants.BYTE)) {
+            return new long[size];
+        } else if ((type == ClassConstants.PDOUBLE) || (type == ClassConstants.DOUBLE)
+                || (type == ClassConstants.PFLOAT) || (type == ClassConstants.FLOAT)) {
+            return new double[size];
+        } else if ((type == ClassConstants.PBOOLEAN) || (type == ClassConstants.BOOLEAN)) {
+            return new boolean[size];
+        } else if ((type == null) || type.isPrimitive()) {
+            return new Object[size];
+        }
+        return Array.newInstance(type, size);
+    }
+
+    /**
+     * INTERNAL:
+     * Set the value of the column for the row.
+     */
+    public void setValue(int columnIndex, int rowIndex, Object value) {
+        Object column = this.columns[columnIndex];
+        if (value == null) {
+            if (this.nulls[columnIndex] == null) {
+                this.nulls[columnIndex] = new BitSet(this.size);
+            }
+            this.nulls[columnIndex].set(rowIndex);
+            return;
+        } else if (this.nulls[columnIndex] != null) {
+            // The row may be set again, such as when a duplicate row is filtered.
+            this.nulls[columnIndex].clear(rowIndex);
+        }
+        if (column instanceof long[]) {
+            if ((value instanceof Long) || (value instanceof Integer) || (value instanceof Short) || (value instanceof Byte)) {
+                ((long[])column)[rowIndex] = ((Number)value).longValue();
+                return;
+            }
+        } else if (column instanceof double[]) {
+            if ((value instanceof Double) || (value instanceof Float)) {
+                ((double[])column)[rowIndex] = ((Number)value).doubleValue();
+                return;
+            }
+        } else if (column instanceof boolean[]) {
+            if (value instanceof Boolean) {
+                ((boolean[])column)[rowIndex] = ((Boolean)value).booleanValue();
+                return;
+            }
+        } else if (column.getClass().getComponentType().isInstance(value)) {
+            ((Object[])column)[rowIndex] = value;
+            return;
+        }
+        toObjectColumn(columnIndex)[rowIndex] = value;
+    }
+
+    /**
+     * INTERNAL:
+     * Reduce the number of rows, such as when duplicate rows were filtered.
+     */
+    public void setSize(int size) {
+        for (int index = 0; index < this.columns.length; index++) {
+            Object column = this.columns[index];
+            Object trimmed = Array.newInstance(column.getClass().getComponentType(), size);
+            System.arraycopy(column, 0, trimmed, 0, size);
+            this.columns[index] = trimmed;
+            if (this.nulls[index] != null) {
+                this.nulls[index] = this.nulls[index].get(0, size);
+            }
+        }
+        this.size = size;
+    }
+
+    /**
+     * INTERNAL:
+     * Replace the column by an Object[] holding the values set so far.
+     */
+    protected Object[] toObjectColumn(int columnIndex) {
+        Object column = this.columns[columnIndex];
+        if (column.getClass() == Object[].class) {
+            return (Object[])column;
+        }
+        Object[] objects = new Object[this.size];
+        if (column instanceof Object[]) {
+            System.arraycopy(column, 0, objects, 0, this.size);
+        } else {
+            BitSet nulls = this.nulls[columnIndex];
+            for (int index = 0; index < this.size; index++) {
+                if ((nulls == null) || !nulls.get(index)) {
+                    objects[index] = Array.get(column, index);
+                }
+            }
+        }
+        this.columns[columnIndex] = objects;
+        return objects;
+    }
+
+    /**
+     * PUBLIC:
+     * Return the value of the column for the row, null if the value is null.
+     * This boxes primitive values, the column arrays should be used to avoid this.
+     */
+    public Object get(int columnIndex, int rowIndex) {
+        if (isNull(columnIndex, rowIndex)) {
+            return null;
+        }
+        return Array.get(this.columns[columnIndex], rowIndex);
+    }
+
+    /**
+     * PUBLIC:
+     * Return the array of values of the column,
+     * a long[], double[], boolean[] or Object[].
+     */
+    public Object getColumn(int columnIndex) {
+        return this.columns[columnIndex];
+    }
+
+    /**
+     * PUBLIC:
+     * Return the array of values of the column of the item with the name.
+     */
+    public Object getColumn(String name) {
+        int index = this.names.indexOf(name);
+        if (index == -1) {
+            throw new IllegalArgumentException(name);
+        }
+        return this.columns[index];
+    }
+
+    /**
+     * PUBLIC:
+     * Return the number of columns, one per report item.
+     */
+    public int getColumnCount() {
+        return this.columns.length;
+    }
+
+    /**
+     * PUBLIC:
+     * Return the values of an integral number column.
+     */
+    public long[] getLongColumn(int columnIndex) {
+        return (long[])this.columns[columnIndex];
+    }
+
+    /**
+     * PUBLIC:
+     * Return the values of a floating point number column.
+     */
+    public double[] getDoubleColumn(int columnIndex) {
+        return (double[])this.columns[columnIndex];
+    }
+
+    /**
+     * PUBLIC:
+     * Return the values of a boolean column.
+     */
+    public boolean[] getBooleanColumn(int columnIndex) {
+        return (boolean[])this.columns[columnIndex];
+    }
+
+    /**
+     * PUBLIC:
+     * Return the values of a column that is not primitive, such as a String[].
+     */
+    public Object[] getObjectColumn(int columnIndex) {
+        return (Object[])this.columns[columnIndex];
+    }
+
+    /**
+     * PUBLIC:
+     * Return the names of the report items, in the order of the columns.
+     */
+    public List<String> getNames() {
+        return this.names;
+    }
+
+    /**
+     * PUBLIC:
+     * Return the rows with a null value in the column.
+     */
+    public BitSet getNulls(int columnIndex) {
+        BitSet nulls = this.nulls[columnIndex];
+        if (nulls == null) {
+            return new BitSet(0);
+        }
+        return nulls;
+    }
+
+    /**
+     * PUBLIC:
+     * Return if the value of the column for the row is null.
+     */
+    public boolean isNull(int columnIndex, int rowIndex) {
+        BitSet nulls = this.nulls[columnIndex];
+        return (nulls != null) && nulls.get(rowIndex);
+    }
+
+    /**
+     * PUBLIC:
+     * Return the number of rows.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    public String toString() {
+        return "ReportQueryColumns(" + this.names + ", " + this.size + " rows)";
+    }
+}
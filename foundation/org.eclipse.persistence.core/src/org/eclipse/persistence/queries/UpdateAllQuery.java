@@ -151,7 +151,11 @@ public class UpdateAllQuery extends ModifyAllQuery {
      */
     @Override
     public Object executeDatabaseQuery() throws DatabaseException {
-        result = getQueryMechanism().updateAll();// fire the SQL to the database
+        if (isChunked()) {
+            result = executeInChunks();
+        } else {
+            result = getQueryMechanism().updateAll();// fire the SQL to the database
+        }
         mergeChangesIntoSharedCache();
         return result;
     }
@@ -52,6 +52,7 @@ import org.eclipse.persistence.internal.identitymaps.SoftIdentityMap;
 import org.eclipse.persistence.internal.identitymaps.WeakIdentityMap;
 import org.eclipse.persistence.internal.sessions.AbstractSession;
 import org.eclipse.persistence.internal.sessions.DatabaseSessionImpl;
+import org.eclipse.persistence.internal.sessions.QueryWarmUp;
 import org.eclipse.persistence.logging.AbstractSessionLog;
 import org.eclipse.persistence.logging.DefaultSessionLog;
 import org.eclipse.persistence.logging.JavaLog;
@@ -63,6 +64,8 @@ import org.eclipse.persistence.sessions.Session;
 import org.eclipse.persistence.sessions.server.ConnectionPool;
 import org.eclipse.persistence.sessions.server.ServerSession;
 import org.eclipse.persistence.tools.profiler.PerformanceProfiler;
+import org.eclipse.persistence.tools.profiler.QueryStatistics;
+import org.eclipse.persistence.tools.profiler.QueryStatisticsMonitor;
 
 
 /**
@@ -1194,6 +1197,88 @@ public abstract class RuntimeServices {
          return Integer.valueOf(classesTable.size());
      }
 
+     /**
+      * Return the number of named queries the query warm-up prepares, 0 if no warm-up was started.
+      * @see org.eclipse.persistence.config.PersistenceUnitProperties#QUERY_WARM_UP
+      */
+     public Integer getNumberOfQueriesToWarmUp() {
+         QueryWarmUp warmUp = getQueryWarmUp();
+         return Integer.valueOf((warmUp == null) ? 0 : warmUp.getQueryCount());
+     }
+
+     /**
+      * Return the number of named queries the query warm-up has prepared so far.
+      */
+     public Integer getNumberOfQueriesWarmedUp() {
+         QueryWarmUp warmUp = getQueryWarmUp();
+         return Integer.valueOf((warmUp == null) ? 0 : warmUp.getPreparedCount());
+     }
+
+     /**
+      * Return the number of named queries the query warm-up failed to prepare.
+      * These queries are prepared, and report their error, on first use.
+      */
+     public Integer getNumberOfQueryWarmUpFailures() {
+         QueryWarmUp warmUp = getQueryWarmUp();
+         return Integer.valueOf((warmUp == null) ? 0 : warmUp.getFailedCount());
+     }
+
+     /**
+      * Return if the query warm-up has finished, false if no warm-up was started.
+      */
+     public Boolean getQueryWarmUpComplete() {
+         QueryWarmUp warmUp = getQueryWarmUp();
+         return Boolean.valueOf((warmUp != null) && warmUp.isComplete());
+     }
+
+     /**
+      * INTERNAL:
+      * Return the query warm-up of the session, or null.
+      */
+     protected QueryWarmUp getQueryWarmUp() {
+         if (getSession() instanceof DatabaseSessionImpl) {
+             return ((DatabaseSessionImpl)getSession()).getQueryWarmUp();
+         }
+         return null;
+     }
+
+     /**
+      * Return the execution statistics of each statement, sorted by total execution time descending,
+      * empty if the session's profiler is not a QueryStatisticsMonitor.
+      * Each statistic is of the form "calls, total (ns), min (ns), max (ns), p99 (ns), rows, objects, cache hits, batches, batched statements, SQL".
+      * @see org.eclipse.persistence.config.ProfilerType#QueryStatisticsMonitor
+      */
+     public List<String> getQueryStatistics() {
+         List<String> results = new ArrayList<String>();
+         if (getSession().getProfiler() instanceof QueryStatisticsMonitor) {
+             for (QueryStatistics statistics : ((QueryStatisticsMonitor)getSession().getProfiler()).getQueryStatistics()) {
+                 results.add(statistics.getCalls() + ", " + statistics.getTotalTime() + ", " + statistics.getMinTime()
+                     + ", " + statistics.getMaxTime() + ", " + statistics.get99thPercentileTime() + ", " + statistics.getRowsFetched()
+                     + ", " + statistics.getObjectsBuilt() + ", " + statistics.getCacheHits() + ", " + statistics.getBatches()
+                     + ", " + statistics.getBatchedStatements() + ", " + statistics.getStatement());
+             }
+         }
+         return results;
+     }
+
+     /**
+      * Log the execution statistics of each statement, if the session's profiler is a QueryStatisticsMonitor.
+      */
+     public void printQueryStatistics() {
+         if (getSession().getProfiler() instanceof QueryStatisticsMonitor) {
+             ((QueryStatisticsMonitor)getSession().getProfiler()).dumpResults();
+         }
+     }
+
+     /**
+      * Clear the execution statistics of the statements, if the session's profiler is a QueryStatisticsMonitor.
+      */
+     public void resetQueryStatistics() {
+         if (getSession().getProfiler() instanceof QueryStatisticsMonitor) {
+             ((QueryStatisticsMonitor)getSession().getProfiler()).resetQueryStatistics();
+         }
+     }
+
      /**
      * Return the log type, either "EclipseLink",  "Java" or the simple name of the logging class used.  
      *
@@ -406,6 +406,42 @@ public interface MBeanRuntimeServicesMBean {
     */
     public Integer getNumberOfPersistentClasses();
 
+    /**
+    *        Return the number of named queries the query warm-up prepares, 0 if no warm-up was started.
+    */
+    public Integer getNumberOfQueriesToWarmUp();
+
+    /**
+    *        Return the number of named queries the query warm-up has prepared so far.
+    */
+    public Integer getNumberOfQueriesWarmedUp();
+
+    /**
+    *        Return the number of named queries the query warm-up failed to prepare.
+    */
+    public Integer getNumberOfQueryWarmUpFailures();
+
+    /**
+    *        Return if the query warm-up has finished.
+    */
+    public Boolean getQueryWarmUpComplete();
+
+    /**
+    *        Return the execution statistics of each statement, sorted by total execution time,
+    *   if the session's profiler is a QueryStatisticsMonitor.
+    */
+    public List<String> getQueryStatistics();
+
+    /**
+    *        Log the execution statistics of each statement, if the session's profiler is a QueryStatisticsMonitor.
+    */
+    public void printQueryStatistics();
+
+    /**
+    *        Clear the execution statistics of the statements, if the session's profiler is a QueryStatisticsMonitor.
+    */
+    public void resetQueryStatistics();
+
     /**
     *        This method will log the instance level locks in all Identity Maps in the session.
     */
@@ -97,6 +97,9 @@ public class Project extends CoreProject<ClassDescriptor, Login, DatabaseSession
     /** PERF: Provide an JPQL parse cache to optimize dynamic JPQL. */
     protected transient ConcurrentFixedCache jpqlParseCache;
 
+    /** PERF: Provide a cache of prepared queries keyed by criteria query structure to optimize dynamic criteria queries. */
+    protected transient ConcurrentFixedCache criteriaQueryCache;
+
     /** Define the default setting for configuring if dates and calendars are mutable. */
     protected boolean defaultTemporalMutable = false;
     
@@ -183,6 +186,7 @@ public class Project extends CoreProject<ClassDescriptor, Login, DatabaseSession
         this.hasGenericHistorySupport = false;
         this.hasProxyIndirection = false;
         this.jpqlParseCache = new ConcurrentFixedCache(200);
+        this.criteriaQueryCache = new ConcurrentFixedCache(200);
         this.queries = new ArrayList<DatabaseQuery>();
         this.mappedSuperclassDescriptors = new HashMap<String, ClassDescriptor>(2);
         this.metamodelIdClassMap = new HashMap<String, List<String>>();
@@ -312,6 +316,46 @@ public class Project extends CoreProject<ClassDescriptor, Login, DatabaseSession
         this.jpqlParseCache = jpqlParseCache;
     }
 
+    /**
+     * INTERNAL:
+     * Return the criteria query cache.
+     * This maps the structure of a criteria query to its prepared query,
+     * and is used to optimize dynamic criteria queries.
+     */
+    public ConcurrentFixedCache getCriteriaQueryCache() {
+        if (criteriaQueryCache == null) {
+            criteriaQueryCache = new ConcurrentFixedCache(200);
+        }
+        return criteriaQueryCache;
+    }
+
+    /**
+     * ADVANCED:
+     * Set the criteria query cache max size.
+     * This is used to optimize dynamic criteria queries.
+     */
+    public void setCriteriaQueryCacheMaxSize(int maxSize) {
+        setCriteriaQueryCache(new ConcurrentFixedCache(maxSize));
+    }
+
+    /**
+     * ADVANCED:
+     * Return the criteria query cache max size.
+     * This is used to optimize dynamic criteria queries.
+     */
+    public int getCriteriaQueryCacheMaxSize() {
+        return getCriteriaQueryCache().getMaxSize();
+    }
+
+    /**
+     * INTERNAL:
+     * Set the criteria query cache.
+     * This is used to optimize dynamic criteria queries.
+     */
+    protected void setCriteriaQueryCache(ConcurrentFixedCache criteriaQueryCache) {
+        this.criteriaQueryCache = criteriaQueryCache;
+    }
+
     /**
      * INTERNAL:
      * List of queries that upon initialization are copied over to the session
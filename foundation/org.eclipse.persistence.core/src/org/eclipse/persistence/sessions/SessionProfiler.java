@@ -33,6 +33,8 @@ public interface SessionProfiler {
     public static final String LoginTime = "Info:LoginTime";
     public static final String RcmStatus = "Info:CacheCoordinationStatus";
     public static final String CacheSize = "Info:CacheSize";//TODO
+    public static final String RowsFetched = "Info:RowsFetched";
+    public static final String StatementsBatched = "Info:StatementsBatched";
     
     public static final String ClientSessionCreated = "Counter:ClientSessionCreates";
     public static final String ClientSessionReleased = "Counter:ClientSessionReleases";
@@ -48,6 +50,8 @@ public interface SessionProfiler {
     public static final String Disconnects = "Counter:DisconnectCalls";
     public static final String CacheHits = "Counter:CacheHits";
     public static final String CacheMisses = "Counter:CacheMisses";
+    public static final String ExpressionQueryCacheHits = "Counter:ExpressionQueryCacheHits";
+    public static final String ExpressionQueryCacheMisses = "Counter:ExpressionQueryCacheMisses";
     public static final String ChangeSetsProcessed = "Counter:ChangesProcessed";
     public static final String ChangeSetsNotProcessed = "Counter:ChangesNotProcessed";
     
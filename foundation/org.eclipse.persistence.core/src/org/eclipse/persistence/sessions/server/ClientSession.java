@@ -76,6 +76,7 @@ public class ClientSession extends AbstractSession {
         if (parent.hasTablePerTenantDescriptors()) {
             this.project = parent.getProject().clone();
             this.project.setJPQLParseCacheMaxSize(parent.getProject().getJPQLParseCache().getMaxSize());
+            this.project.setCriteriaQueryCacheMaxSize(parent.getProject().getCriteriaQueryCache().getMaxSize());
         } else {
             this.project = parent.getProject();
         }
@@ -0,0 +1,303 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 and Eclipse Distribution License v. 1.0
+ * which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * Contributors:
+ *     Oracle - 2.6 - initial implementation
+ ******************************************************************************/
+package org.eclipse.persistence.tools.profiler;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <p><b>Purpose</b>: The execution statistics of a statement recorded by the QueryStatisticsMonitor.
+ * <p>The statistics are updated concurrently without locking.
+ * The execution times are recorded in a histogram with buckets growing
+ * exponentially with 8 linear sub-buckets, so percentiles are accurate to within 12.5%.
+ * A snapshot of the statistics can be obtained through snapshot().
+ *
+ * @see QueryStatisticsMonitor
+ * @since EclipseLink 2.6
+ */
+public class QueryStatistics implements Serializable {
+    /** The values below this are recorded in their own bucket. */
+    protected static final int LINEAR_BUCKETS = 16;
+    /** The number of sub-buckets of each power of two, as a shift. */
+    protected static final int SUB_BUCKET_BITS = 3;
+    /** The highest power of two recorded, about 19 hours in microseconds. */
+    protected static final int MAX_EXPONENT = 36;
+    protected static final int BUCKETS = LINEAR_BUCKETS + ((MAX_EXPONENT - 3) << SUB_BUCKET_BITS);
+
+    protected String statement;
+    protected AtomicLong calls;
+    protected AtomicLong totalTime;
+    protected AtomicLong minTime;
+    protected AtomicLong maxTime;
+    protected AtomicLong rowsFetched;
+    protected AtomicLong objectsBuilt;
+    protected AtomicLong cacheHits;
+    protected AtomicLong batches;
+    protected AtomicLong batchedStatements;
+    /** The number of executions by execution time in microseconds. */
+    protected AtomicLongArray histogram;
+
+    public QueryStatistics(String statement) {
+        this.statement = statement;
+        this.calls = new AtomicLong();
+        this.totalTime = new AtomicLong();
+        this.minTime = new AtomicLong(Long.MAX_VALUE);
+        this.maxTime = new AtomicLong();
+        this.rowsFetched = new AtomicLong();
+        this.objectsBuilt = new AtomicLong();
+        this.cacheHits = new AtomicLong();
+        this.batches = new AtomicLong();
+        this.batchedStatements = new AtomicLong();
+        this.histogram = new AtomicLongArray(BUCKETS);
+    }
+
+    /**
+     * INTERNAL:
+     * Record an execution of the statement that took the time in nanoseconds.
+     */
+    public void recordExecution(long time) {
+        this.calls.incrementAndGet();
+        this.totalTime.addAndGet(time);
+        long min = this.minTime.get();
+        while ((time < min) && !this.minTime.compareAndSet(min, time)) {
+            min = this.minTime.get();
+        }
+        long max = this.maxTime.get();
+        while ((time > max) && !this.maxTime.compareAndSet(max, time)) {
+            max = this.maxTime.get();
+        }
+        this.histogram.incrementAndGet(getBucket(time / 1000));
+    }
+
+    /**
+     * INTERNAL:
+     * Record the number of rows fetched from the database by an execution.
+     */
+    public void recordRowsFetched(int rows) {
+        this.rowsFetched.addAndGet(rows);
+    }
+
+    /**
+     * INTERNAL:
+     * Record the number of objects returned by an execution.
+     */
+    public void recordObjectsBuilt(int objects) {
+        this.objectsBuilt.addAndGet(objects);
+    }
+
+    /**
+     * INTERNAL:
+     * Record an execution answered from the cache.
+     */
+    public void recordCacheHit() {
+        this.cacheHits.incrementAndGet();
+    }
+
+    /**
+     * INTERNAL:
+     * Record a JDBC batch of the statement.
+     */
+    public void recordBatch(int size) {
+        this.batches.incrementAndGet();
+        this.batchedStatements.addAndGet(size);
+    }
+
+    /**
+     * Return the bucket of the value in microseconds.
+     */
+    protected static int getBucket(long value) {
+        if (value < LINEAR_BUCKETS) {
+            return (int)Math.max(value, 0);
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+        int subBucket = (int)(value >>> (exponent - SUB_BUCKET_BITS)) & ((1 << SUB_BUCKET_BITS) - 1);
+        return LINEAR_BUCKETS + ((exponent - 4) << SUB_BUCKET_BITS) + subBucket;
+    }
+
+    /**
+     * Return the highest value in microseconds recorded in the bucket.
+     */
+    protected static long getBucketLimit(int bucket) {
+        if (bucket < LINEAR_BUCKETS) {
+            return bucket;
+        }
+        int exponent = ((bucket - LINEAR_BUCKETS) >> SUB_BUCKET_BITS) + 4;
+        long subBucket = (bucket - LINEAR_BUCKETS) & ((1 << SUB_BUCKET_BITS) - 1);
+        return ((((1L << SUB_BUCKET_BITS) + subBucket + 1) << (exponent - SUB_BUCKET_BITS))) - 1;
+    }
+
+    /**
+     * PUBLIC:
+     * Return a copy of the current statistics.
+     */
+    public QueryStatistics snapshot() {
+        QueryStatistics snapshot = new QueryStatistics(this.statement);
+        for (int index = 0; index < BUCKETS; index++) {
+            snapshot.histogram.set(index, this.histogram.get(index));
+        }
+        snapshot.calls.set(this.calls.get());
+        snapshot.totalTime.set(this.totalTime.get());
+        snapshot.minTime.set(this.minTime.get());
+        snapshot.maxTime.set(this.maxTime.get());
+        snapshot.rowsFetched.set(this.rowsFetched.get());
+        snapshot.objectsBuilt.set(this.objectsBuilt.get());
+        snapshot.cacheHits.set(this.cacheHits.get());
+        snapshot.batches.set(this.batches.get());
+        snapshot.batchedStatements.set(this.batchedStatements.get());
+        return snapshot;
+    }
+
+    /**
+     * PUBLIC:
+     * Return the SQL of the statement, with parameters as '?',
+     * or the name of the query if it has no SQL.
+     */
+    public String getStatement() {
+        return statement;
+    }
+
+    /**
+     * PUBLIC:
+     * Return the number of executions.
+     */
+    public long getCalls() {
+        return this.calls.get();
+    }
+
+    /**
+     * PUBLIC:
+     * Return the total execution time in nanoseconds.
+     */
+    public long getTotalTime() {
+        return this.totalTime.get();
+    }
+
+    /**
+     * PUBLIC:
+     * Return the shortest execution time in nanoseconds, 0 if never executed.
+     */
+    public long getMinTime() {
+        long min = this.minTime.get();
+        return (min == Long.MAX_VALUE) ? 0 : min;
+    }
+
+    /**
+     * PUBLIC:
+     * Return the longest execution time in nanoseconds.
+     */
+    public long getMaxTime() {
+        return this.maxTime.get();
+    }
+
+    /**
+     * PUBLIC:
+     * Return the mean execution time in nanoseconds.
+     */
+    public long getMeanTime() {
+        long calls = getCalls();
+        return (calls == 0) ? 0 : getTotalTime() / calls;
+    }
+
+    /**
+     * PUBLIC:
+     * Return the execution time in nanoseconds below which the percentage of executions completed,
+     * i.e. 99 for the 99th percentile.
+     * The value is the upper limit of the histogram bucket, bounded by the longest execution time.
+     */
+    public long getPercentileTime(double percentile) {
+        long total = 0;
+        for (int index = 0; index < BUCKETS; index++) {
+            total = total + this.histogram.get(index);
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long)Math.ceil(total * percentile / 100);
+        long count = 0;
+        for (int index = 0; index < BUCKETS; index++) {
+            count = count + this.histogram.get(index);
+            if (count >= rank) {
+                return Math.min((getBucketLimit(index) + 1) * 1000, getMaxTime());
+            }
+        }
+        return getMaxTime();
+    }
+
+    /**
+     * PUBLIC:
+     * Return the 99th percentile execution time in nanoseconds.
+     */
+    public long get99thPercentileTime() {
+        return getPercentileTime(99);
+    }
+
+    /**
+     * PUBLIC:
+     * Return the number of rows fetched from the database.
+     */
+    public long getRowsFetched() {
+        return this.rowsFetched.get();
+    }
+
+    /**
+     * PUBLIC:
+     * Return the number of objects returned by object queries.
+     */
+    public long getObjectsBuilt() {
+        return this.objectsBuilt.get();
+    }
+
+    /**
+     * PUBLIC:
+     * Return the number of executions answered from the cache.
+     */
+    public long getCacheHits() {
+        return this.cacheHits.get();
+    }
+
+    /**
+     * PUBLIC:
+     * Return the number of JDBC batches of the statement.
+     */
+    public long getBatches() {
+        return this.batches.get();
+    }
+
+    /**
+     * PUBLIC:
+     * Return the number of statements executed in JDBC batches.
+     */
+    public long getBatchedStatements() {
+        return this.batchedStatements.get();
+    }
+
+    /**
+     * PUBLIC:
+     * Return the average number of statements in a JDBC batch.
+     */
+    public double getAverageBatchSize() {
+        long batches = getBatches();
+        return (batches == 0) ? 0 : ((double)getBatchedStatements()) / batches;
+    }
+
+    public String toString() {
+        return "QueryStatistics(" + this.statement + ", calls=" + getCalls() + ", total(ns)=" + getTotalTime()
+            + ", min(ns)=" + getMinTime() + ", max(ns)=" + getMaxTime() + ", p99(ns)=" + get99thPercentileTime()
+            + ", rows=" + getRowsFetched() + ", objects=" + getObjectsBuilt() + ", cacheHits=" + getCacheHits()
+            + ", batches=" + getBatches() + ", batchedStatements=" + getBatchedStatements() + ")";
+    }
+}
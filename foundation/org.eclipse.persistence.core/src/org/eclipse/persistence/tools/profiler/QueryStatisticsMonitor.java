@@ -0,0 +1,495 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 and Eclipse Distribution License v. 1.0
+ * which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * Contributors:
+ *     Oracle - 2.6 - initial implementation
+ ******************************************************************************/
+package org.eclipse.persistence.tools.profiler;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.eclipse.persistence.internal.sessions.AbstractRecord;
+import org.eclipse.persistence.internal.sessions.AbstractSession;
+import org.eclipse.persistence.queries.DatabaseQuery;
+import org.eclipse.persistence.sessions.Record;
+import org.eclipse.persistence.sessions.SessionProfiler;
+
+/**
+ * <p><b>Purpose</b>: A low overhead profiler that records the execution statistics of each statement,
+ * to find the most expensive queries in a production system without SQL logging.
+ * <p>The statistics are keyed by the SQL of the query with parameters as '?', and string and numeric
+ * literals replaced by '?', so executions with different arguments are aggregated even if they are not bound.
+ * Queries without SQL are keyed by their monitor name.
+ * Once statistics are kept for the maximum number of statements, the least executed statements are evicted.
+ * For each statement the number of executions, the total, minimum, maximum and 99th percentile
+ * execution time, the rows fetched, the objects built, the cache hits and the JDBC batch sizes are recorded.
+ * The execution time of a query includes the queries it executes, such as batch reading.
+ * <p>The monitor is enabled through the persistence.xml property eclipselink.profiler=QueryStatisticsMonitor,
+ * or by setting it as the session's profiler.
+ * To keep another profiler, such as a PerformanceMonitor, the monitor is given the profiler to forward to,
+ * or the persistence.xml property eclipselink.profiler.query-statistics=true is used with eclipselink.profiler.
+ * Setting the profile weight to NONE stops the monitor recording.
+ * The statistics are available through getQueryStatistics(), and through RuntimeServices.
+ *
+ * @see QueryStatistics
+ * @see org.eclipse.persistence.services.RuntimeServices#getQueryStatistics()
+ * @since EclipseLink 2.6
+ */
+public class QueryStatisticsMonitor implements Serializable, Cloneable, SessionProfiler {
+    /** The number of statements for which statistics are kept, by default 1000. */
+    protected int maxStatements;
+    protected transient AbstractSession session;
+    protected ConcurrentMap<String, QueryStatistics> statistics;
+    protected int profileWeight;
+    /** The profiler every operation is forwarded to, or null. */
+    protected SessionProfiler profiler;
+    /** The query of the statement being executed by each thread, to record its rows fetched and batches. */
+    protected transient ThreadLocal<DatabaseQuery> statementQuery;
+
+    /**
+     * PUBLIC:
+     * Create a new monitor.
+     */
+    public QueryStatisticsMonitor() {
+        this(null);
+    }
+
+    /**
+     * PUBLIC:
+     * Create a new monitor that forwards every operation to the profiler,
+     * so that the profiler can be used with the monitor.
+     */
+    public QueryStatisticsMonitor(SessionProfiler profiler) {
+        this.maxStatements = 1000;
+        this.statistics = new ConcurrentHashMap<String, QueryStatistics>();
+        this.profileWeight = SessionProfiler.ALL;
+        this.profiler = profiler;
+        this.statementQuery = new ThreadLocal<DatabaseQuery>();
+    }
+
+    public QueryStatisticsMonitor clone() {
+        try {
+            return (QueryStatisticsMonitor)super.clone();
+        } catch (CloneNotSupportedException exception) {
+            throw new InternalError();
+        }
+    }
+
+    /**
+     * PUBLIC:
+     * Return the profiler every operation is forwarded to, or null.
+     */
+    public SessionProfiler getProfiler() {
+        return profiler;
+    }
+
+    /**
+     * PUBLIC:
+     * Set the profiler every operation is forwarded to.
+     */
+    public void setProfiler(SessionProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    /**
+     * PUBLIC:
+     * Return the number of statements for which statistics are kept.
+     * Once the limit is reached, the statistics of the least executed statements are evicted.
+     */
+    public int getMaxStatements() {
+        return maxStatements;
+    }
+
+    /**
+     * PUBLIC:
+     * Set the number of statements for which statistics are kept.
+     */
+    public void setMaxStatements(int maxStatements) {
+        this.maxStatements = maxStatements;
+    }
+
+    /**
+     * PUBLIC:
+     * Return a snapshot of the statistics of each statement, sorted by total execution time descending.
+     */
+    public List<QueryStatistics> getQueryStatistics() {
+        List<QueryStatistics> snapshots = new ArrayList<QueryStatistics>(this.statistics.size());
+        for (QueryStatistics statistics : this.statistics.values()) {
+            snapshots.add(statistics.snapshot());
+        }
+        Collections.sort(snapshots, new Comparator<QueryStatistics>() {
+            public int compare(QueryStatistics first, QueryStatistics second) {
+                long firstTime = first.getTotalTime();
+                long secondTime = second.getTotalTime();
+                return (firstTime < secondTime) ? 1 : ((firstTime == secondTime) ? 0 : -1);
+            }
+        });
+        return snapshots;
+    }
+
+    /**
+     * PUBLIC:
+     * Return a snapshot of the statistics of the statement, or null if it has not been executed.
+     */
+    public QueryStatistics getQueryStatistics(String statement) {
+        QueryStatistics statistics = this.statistics.get(statement);
+        if (statistics == null) {
+            return null;
+        }
+        return statistics.snapshot();
+    }
+
+    /**
+     * PUBLIC:
+     * Clear the statistics.
+     */
+    public void resetQueryStatistics() {
+        this.statistics.clear();
+    }
+
+    /**
+     * INTERNAL:
+     * Return the statistics of the statement, evicting the least executed statements if the limit has been reached.
+     */
+    protected QueryStatistics getStatistics(String statement) {
+        if (statement == null) {
+            return null;
+        }
+        QueryStatistics statistics = this.statistics.get(statement);
+        if (statistics == null) {
+            if (this.statistics.size() >= this.maxStatements) {
+                evictStatistics();
+            }
+            statistics = new QueryStatistics(statement);
+            QueryStatistics existing = this.statistics.putIfAbsent(statement, statistics);
+            if (existing != null) {
+                statistics = existing;
+            }
+        }
+        return statistics;
+    }
+
+    /**
+     * INTERNAL:
+     * Remove the statistics of the least executed statements.
+     * A tenth of the statements are evicted at once, so that statements executed
+     * once do not evict each other on every execution.
+     */
+    protected synchronized void evictStatistics() {
+        int size = this.statistics.size();
+        if (size < this.maxStatements) {
+            return;
+        }
+        // The calls are read once, as they change while the statements are executed.
+        List<QueryStatistics> candidates = new ArrayList<QueryStatistics>(this.statistics.values());
+        long[] calls = new long[candidates.size()];
+        for (int index = 0; index < calls.length; index++) {
+            calls[index] = candidates.get(index).getCalls();
+        }
+        int evictions = Math.min(Math.max(size - this.maxStatements + 1, this.maxStatements / 10), calls.length);
+        if (evictions == 0) {
+            return;
+        }
+        long[] sortedCalls = calls.clone();
+        Arrays.sort(sortedCalls);
+        long maxCalls = sortedCalls[evictions - 1];
+        for (int index = 0; (index < calls.length) && (evictions > 0); index++) {
+            if (calls[index] <= maxCalls) {
+                QueryStatistics statistics = candidates.get(index);
+                if (this.statistics.remove(statistics.getStatement(), statistics)) {
+                    evictions--;
+                }
+            }
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Return the statistics key of the query, its SQL with the literals replaced by '?', or its monitor name.
+     */
+    protected String getStatement(DatabaseQuery query) {
+        if (query == null) {
+            return null;
+        }
+        String sql = query.getSQLString();
+        if (sql != null) {
+            return normalizeSQL(sql);
+        }
+        return query.getMonitorName();
+    }
+
+    /**
+     * INTERNAL:
+     * Return the SQL with its string and numeric literals replaced by '?',
+     * so that the executions of a statement that does not bind its arguments are aggregated.
+     * The SQL is returned as is if it does not have any literal, such as when its arguments are bound.
+     */
+    public static String normalizeSQL(String sql) {
+        StringBuilder normalized = null;
+        int length = sql.length();
+        int copied = 0;
+        int index = 0;
+        while (index < length) {
+            char character = sql.charAt(index);
+            int end = index;
+            if (character == '\'') {
+                end++;
+                while (end < length) {
+                    if (sql.charAt(end) == '\'') {
+                        // A quote is escaped by doubling it.
+                        if (((end + 1) < length) && (sql.charAt(end + 1) == '\'')) {
+                            end = end + 2;
+                            continue;
+                        }
+                        end++;
+                        break;
+                    }
+                    end++;
+                }
+            } else if (Character.isDigit(character) && ((index == 0) || !isIdentifierPart(sql.charAt(index - 1)))) {
+                end++;
+                while ((end < length) && (Character.isDigit(sql.charAt(end)) || (sql.charAt(end) == '.'))) {
+                    end++;
+                }
+            } else {
+                index++;
+                continue;
+            }
+            if (normalized == null) {
+                normalized = new StringBuilder(length);
+            }
+            normalized.append(sql, copied, index).append('?');
+            copied = end;
+            index = end;
+        }
+        if (normalized == null) {
+            return sql;
+        }
+        normalized.append(sql, copied, length);
+        return normalized.toString();
+    }
+
+    /**
+     * INTERNAL:
+     * Return if the character can be part of an identifier, such as the digits of the alias t1.
+     */
+    protected static boolean isIdentifierPart(char character) {
+        return Character.isLetterOrDigit(character) || (character == '_') || (character == '$') || (character == '"') || (character == '.');
+    }
+
+    /**
+     * INTERNAL:
+     * Record the execution time of the query, and the objects it returned.
+     */
+    public Object profileExecutionOfQuery(DatabaseQuery query, Record row, AbstractSession session) {
+        if (this.profileWeight == SessionProfiler.NONE) {
+            return executeQuery(query, row, session);
+        }
+        long startTime = System.nanoTime();
+        Object result = null;
+        try {
+            result = executeQuery(query, row, session);
+            return result;
+        } finally {
+            if (this.statementQuery != null) {
+                this.statementQuery.remove();
+            }
+            long time = System.nanoTime() - startTime;
+            // The SQL is only known once the query is prepared.
+            QueryStatistics statistics = getStatistics(getStatement(query));
+            if (statistics != null) {
+                statistics.recordExecution(time);
+                if (query.isObjectLevelReadQuery() && (result != null)) {
+                    statistics.recordObjectsBuilt((result instanceof Collection) ? ((Collection)result).size() : 1);
+                }
+            }
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Execute the query through the profiler the operations are forwarded to.
+     */
+    protected Object executeQuery(DatabaseQuery query, Record row, AbstractSession session) {
+        if (this.profiler != null) {
+            return this.profiler.profileExecutionOfQuery(query, row, session);
+        }
+        return session.internalExecuteQuery(query, (AbstractRecord)row);
+    }
+
+    /**
+     * INTERNAL:
+     * Record the cache hits of queries.
+     */
+    public void occurred(String operationName, DatabaseQuery query, AbstractSession session) {
+        if (this.profiler != null) {
+            this.profiler.occurred(operationName, query, session);
+        }
+        if ((this.profileWeight == SessionProfiler.NONE) || !SessionProfiler.CacheHits.equals(operationName)) {
+            return;
+        }
+        QueryStatistics statistics = getStatistics(getStatement(query));
+        if (statistics != null) {
+            statistics.recordCacheHit();
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Keep the query of the statement being executed, to record its rows fetched and batches.
+     */
+    public void startOperationProfile(String operationName, DatabaseQuery query, int weight) {
+        if (this.profiler != null) {
+            this.profiler.startOperationProfile(operationName, query, weight);
+        }
+        if ((this.profileWeight != SessionProfiler.NONE) && (query != null) && (this.statementQuery != null)
+                && (SessionProfiler.StatementExecute.equals(operationName) || SessionProfiler.RowFetch.equals(operationName))) {
+            this.statementQuery.set(query);
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Record the rows fetched and the batches of the statement being executed.
+     */
+    public void update(String operationName, Object value) {
+        if (this.profiler != null) {
+            this.profiler.update(operationName, value);
+        }
+        if ((this.profileWeight == SessionProfiler.NONE) || (this.statementQuery == null)) {
+            return;
+        }
+        boolean isRowsFetched = SessionProfiler.RowsFetched.equals(operationName);
+        if (isRowsFetched || SessionProfiler.StatementsBatched.equals(operationName)) {
+            DatabaseQuery query = this.statementQuery.get();
+            this.statementQuery.remove();
+            QueryStatistics statistics = getStatistics(getStatement(query));
+            if (statistics != null) {
+                if (isRowsFetched) {
+                    statistics.recordRowsFetched(((Number)value).intValue());
+                } else {
+                    statistics.recordBatch(((Number)value).intValue());
+                }
+            }
+        }
+    }
+
+    /**
+     * Log the statistics to the session's log.
+     */
+    public void dumpResults() {
+        StringWriter writer = new StringWriter();
+        writer.write("\nQuery Statistics Monitor:");
+        writer.write(String.valueOf(System.currentTimeMillis()));
+        writer.write("\nCalls\tTotal (ns)\tMin (ns)\tMax (ns)\tP99 (ns)\tRows\tObjects\tCache hits\tBatches\tBatched\tStatement\n");
+        for (QueryStatistics statistics : getQueryStatistics()) {
+            writer.write(String.valueOf(statistics.getCalls()));
+            writer.write("\t");
+            writer.write(String.valueOf(statistics.getTotalTime()));
+            writer.write("\t");
+            writer.write(String.valueOf(statistics.getMinTime()));
+            writer.write("\t");
+            writer.write(String.valueOf(statistics.getMaxTime()));
+            writer.write("\t");
+            writer.write(String.valueOf(statistics.get99thPercentileTime()));
+            writer.write("\t");
+            writer.write(String.valueOf(statistics.getRowsFetched()));
+            writer.write("\t");
+            writer.write(String.valueOf(statistics.getObjectsBuilt()));
+            writer.write("\t");
+            writer.write(String.valueOf(statistics.getCacheHits()));
+            writer.write("\t");
+            writer.write(String.valueOf(statistics.getBatches()));
+            writer.write("\t");
+            writer.write(String.valueOf(statistics.getBatchedStatements()));
+            writer.write("\t");
+            writer.write(statistics.getStatement());
+            writer.write("\n");
+        }
+        try {
+            this.session.getLog().write(writer.toString());
+            this.session.getLog().flush();
+        } catch (IOException error) {
+            // ignore
+        }
+    }
+
+    public AbstractSession getSession() {
+        return session;
+    }
+
+    public void setSession(org.eclipse.persistence.sessions.Session session) {
+        this.session = (AbstractSession)session;
+        if (this.profiler != null) {
+            this.profiler.setSession(session);
+        }
+    }
+
+    /**
+     * Set the level of profiling.
+     * NONE stops the monitor recording, any other level records the statistics.
+     * The session only stops profiling if the profiler the operations are forwarded to is also disabled.
+     */
+    public void setProfileWeight(int profileWeight) {
+        this.profileWeight = profileWeight;
+        if (this.session != null) {
+            this.session.setIsInProfile(getProfileWeight() != SessionProfiler.NONE);
+        }
+    }
+
+    /**
+     * Return the level of profiling, the highest of the monitor and of the profiler the operations are forwarded to.
+     */
+    public int getProfileWeight() {
+        if (this.profiler != null) {
+            return Math.max(this.profileWeight, this.profiler.getProfileWeight());
+        }
+        return profileWeight;
+    }
+
+    public void endOperationProfile(String operationName) {
+        if (this.profiler != null) {
+            this.profiler.endOperationProfile(operationName);
+        }
+    }
+
+    public void endOperationProfile(String operationName, DatabaseQuery query, int weight) {
+        if (this.profiler != null) {
+            this.profiler.endOperationProfile(operationName, query, weight);
+        }
+    }
+
+    public void startOperationProfile(String operationName) {
+        if (this.profiler != null) {
+            this.profiler.startOperationProfile(operationName);
+        }
+    }
+
+    public void occurred(String operationName, AbstractSession session) {
+        if (this.profiler != null) {
+            this.profiler.occurred(operationName, session);
+        }
+    }
+
+    public void initialize() {
+        if (this.profiler != null) {
+            this.profiler.initialize();
+        }
+    }
+}
@@ -273,6 +273,11 @@ public class FullRegressionTestSuite extends TestSuite {
         // JPA 2.0 Metamodel model
         fullSuite.addTest(org.eclipse.persistence.testing.tests.jpa.metamodel.MetamodelTestSuite.suite());
 
+        // Deployment
+        fullSuite.addTest(org.eclipse.persistence.testing.tests.jpa.deployment.MetadataProcessingTestSuite.suite());
+        fullSuite.addTest(org.eclipse.persistence.testing.tests.jpa.deployment.ClassIndexTestSuite.suite());
+        fullSuite.addTest(org.eclipse.persistence.testing.tests.weaving.StaticWeaveProcessorTest.suite());
+
         // JPA 2.0 Criteria JPQL model
         suite = new TestSuite();
         suite.setName("Criteria");
@@ -26,6 +26,7 @@ import java.io.ObjectOutputStream;
 import java.io.StringWriter;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collections;
 import java.util.GregorianCalendar;
@@ -152,6 +153,7 @@ import org.eclipse.persistence.internal.jpa.EntityManagerImpl;
 import org.eclipse.persistence.internal.jpa.jdbc.DataSourceImpl;
 import org.eclipse.persistence.internal.sessions.AbstractSession;
 import org.eclipse.persistence.internal.sessions.RepeatableWriteUnitOfWork;
+import org.eclipse.persistence.internal.sessions.QueryWarmUp;
 import org.eclipse.persistence.internal.sessions.UnitOfWorkImpl;
 import org.eclipse.persistence.internal.weaving.PersistenceWeaved;
 import org.eclipse.persistence.internal.weaving.PersistenceWeavedLazy;
@@ -294,6 +296,8 @@ public class EntityManagerJUnitTestSuite extends JUnitTestCase {
         tests.add("testEMFClose");
         tests.add("testCheckVersionOnMerge");
         tests.add("testFindWithNullPk");
+        tests.add("testFindAll");
+        tests.add("testQueryWarmUp");
         tests.add("testFindWithWrongTypePk");
         tests.add("testPersistManagedNoException");
         tests.add("testPersistManagedException");
@@ -3135,6 +3139,78 @@ public class EntityManagerJUnitTestSuite extends JUnitTestCase {
         fail("No exception thrown when null PK used in find operation.");
     }
 
+    // Test findAll returns the entities in the order given, reading only the cache misses.
+    public void testFindAll() {
+        EntityManager em = createEntityManager();
+        List<Employee> employees = new ArrayList<Employee>();
+        try {
+            beginTransaction(em);
+            for (int index = 0; index < 3; index++) {
+                Employee employee = new Employee();
+                employee.setFirstName("FindAll");
+                employee.setLastName(String.valueOf(index));
+                em.persist(employee);
+                employees.add(employee);
+            }
+            commitTransaction(em);
+        } finally {
+            closeEntityManagerAndTransaction(em);
+        }
+        clearCache();
+        QuerySQLTracker counter = new QuerySQLTracker(getServerSession());
+        em = createEntityManager();
+        try {
+            Employee first = em.find(Employee.class, employees.get(0).getId());
+            counter.getSqlStatements().clear();
+            List<Integer> ids = Arrays.asList(employees.get(2).getId(), -1, employees.get(0).getId(), employees.get(1).getId());
+            List<Employee> found = ((JpaEntityManager)em).findAll(Employee.class, ids);
+            assertEquals("Only the misses should be read in one query", 1, counter.getSqlStatements().size());
+            assertEquals(4, found.size());
+            assertEquals(employees.get(2).getId(), found.get(0).getId());
+            assertNull("Missing entity should be null", found.get(1));
+            assertSame("Entity should come from the persistence context", first, found.get(2));
+            assertEquals(employees.get(1).getId(), found.get(3).getId());
+            assertSame(found.get(3), em.find(Employee.class, employees.get(1).getId()));
+        } finally {
+            closeEntityManager(em);
+        }
+        em = createEntityManager();
+        try {
+            counter.getSqlStatements().clear();
+            List<Integer> ids = Arrays.asList(employees.get(0).getId(), employees.get(1).getId(), employees.get(2).getId());
+            List<Employee> found = ((JpaEntityManager)em).findAll(Employee.class, ids);
+            assertEquals("All entities should come from the shared cache", 0, counter.getSqlStatements().size());
+            for (int index = 0; index < 3; index++) {
+                assertEquals(employees.get(index).getId(), found.get(index).getId());
+            }
+        } finally {
+            counter.remove();
+            closeEntityManager(em);
+        }
+        em = createEntityManager();
+        try {
+            beginTransaction(em);
+            for (Employee employee : employees) {
+                em.remove(em.find(Employee.class, employee.getId()));
+            }
+            commitTransaction(em);
+        } finally {
+            closeEntityManagerAndTransaction(em);
+        }
+    }
+
+    // Test the query warm-up prepares the named queries, or counts them as failed.
+    public void testQueryWarmUp() {
+        ServerSession session = getServerSession();
+        QueryWarmUp warmUp = new QueryWarmUp(session, 2);
+        warmUp.run();
+        assertTrue("Warm-up should be complete", warmUp.isComplete());
+        assertTrue("Named queries should be found", warmUp.getQueryCount() > 0);
+        assertEquals(warmUp.getQueryCount(), warmUp.getPreparedCount() + warmUp.getFailedCount());
+        DatabaseQuery query = session.getQuery("findAllEmployeesByFirstName");
+        assertTrue("Named query should be prepared", query.isPrepared());
+    }
+
     public void testFindWithProperties(){
         Employee employee = new Employee();
         employee.setFirstName("Marc");
@@ -16,6 +16,8 @@ package org.eclipse.persistence.testing.tests.jpa.advanced;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.ObjectOutputStream;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -23,8 +25,12 @@ import java.util.Map;
 import javax.persistence.EntityManager;
 
 import org.eclipse.persistence.config.PersistenceUnitProperties;
+import org.eclipse.persistence.internal.jpa.deployment.PersistenceUnitDigest;
+import org.eclipse.persistence.internal.jpa.deployment.SEPersistenceUnitInfo;
 import org.eclipse.persistence.jpa.JpaHelper;
 import org.eclipse.persistence.jpa.metadata.FileBasedProjectCache;
+import org.eclipse.persistence.jpa.metadata.ProjectCache;
+import org.eclipse.persistence.logging.AbstractSessionLog;
 import org.eclipse.persistence.logging.SessionLog;
 import org.eclipse.persistence.sessions.Project;
 import org.eclipse.persistence.sessions.Session;
@@ -54,6 +60,8 @@ public class MetadataCachingTestSuite extends JUnitTestCase {
         TestSuite suite = new TestSuite();
         suite.setName("MetadataCachingTestSuite");
         suite.addTest(new MetadataCachingTestSuite("testProjectCacheALLWithDefaultPU"));
+        suite.addTest(new MetadataCachingTestSuite("testFileBasedProjectCacheDigest"));
+        suite.addTest(new MetadataCachingTestSuite("testPersistenceUnitDigest"));
         return suite;
     }
     
@@ -136,4 +144,61 @@ public class MetadataCachingTestSuite extends JUnitTestCase {
         testFileBasedProjectCacheLoading("default"); 
     }
 
+    /* Test a cached project is only retrieved for the persistence unit digest it was stored with */
+    public void testFileBasedProjectCacheDigest() {
+        String digestFileName = "MetadataCachingDigestTestProject.file";
+        Map properties = new HashMap();
+        properties.put(PersistenceUnitProperties.PROJECT_CACHE_FILE, digestFileName);
+        properties.put(ProjectCache.PROJECT_CACHE_DIGEST, "digest-1");
+        FileBasedProjectCache projectCache = new FileBasedProjectCache();
+        SessionLog log = AbstractSessionLog.getLog();
+        try {
+            projectCache.storeProject(new Project(), properties, log);
+            assertNotNull("Project with the same digest was not retrieved", projectCache.retrieveProject(properties, getClass().getClassLoader(), log));
+
+            properties.put(ProjectCache.PROJECT_CACHE_DIGEST, "digest-2");
+            assertTrue("Project with a different digest was retrieved", projectCache.retrieveProject(properties, getClass().getClassLoader(), log) == null);
+
+            properties.remove(ProjectCache.PROJECT_CACHE_DIGEST);
+            assertNotNull("Project was not retrieved without a digest", projectCache.retrieveProject(properties, getClass().getClassLoader(), log));
+        } finally {
+            new File(digestFileName).delete();
+        }
+    }
+
+    /* Test the persistence unit digest changes with the time stamp of a class in a directory or a jar */
+    public void testPersistenceUnitDigest() throws Exception {
+        File directory = new File("MetadataCachingDigestTest");
+        File classFile = new File(directory, "model/Entity.class");
+        File jarFile = new File("MetadataCachingDigestTest.jar");
+        try {
+            classFile.getParentFile().mkdirs();
+            FileOutputStream out = new FileOutputStream(classFile);
+            out.write(new byte[] {1, 2, 3});
+            out.close();
+            JarOutputStream jarOut = new JarOutputStream(new FileOutputStream(jarFile));
+            jarOut.putNextEntry(new JarEntry("model/Entity.class"));
+            jarOut.write(new byte[] {1, 2, 3});
+            jarOut.close();
+
+            // The persistence unit root and the file that is changed
+            File[][] roots = {{directory, classFile}, {jarFile, jarFile}};
+            for (File[] root : roots) {
+                SEPersistenceUnitInfo info = new SEPersistenceUnitInfo();
+                info.setPersistenceUnitName("digest-test");
+                info.setPersistenceUnitRootUrl(root[0].toURI().toURL());
+                root[1].setLastModified(1000000L);
+                String digest = PersistenceUnitDigest.buildDigest(info, new HashMap(), getClass().getClassLoader());
+                assertEquals("Digest of an unchanged persistence unit changed", digest, PersistenceUnitDigest.buildDigest(info, new HashMap(), getClass().getClassLoader()));
+                root[1].setLastModified(2000000L);
+                assertFalse("Digest did not change with the time stamp of " + root[1], digest.equals(PersistenceUnitDigest.buildDigest(info, new HashMap(), getClass().getClassLoader())));
+            }
+        } finally {
+            classFile.delete();
+            classFile.getParentFile().delete();
+            directory.delete();
+            jarFile.delete();
+        }
+    }
+
 }
@@ -63,6 +63,7 @@ import org.eclipse.persistence.config.QueryHints;
 import org.eclipse.persistence.expressions.Expression;
 import org.eclipse.persistence.expressions.ExpressionBuilder;
 import org.eclipse.persistence.expressions.ExpressionMath;
+import org.eclipse.persistence.internal.helper.ConcurrentFixedCache;
 import org.eclipse.persistence.internal.sessions.AbstractSession;
 import org.eclipse.persistence.jpa.JpaEntityManager;
 import org.eclipse.persistence.platform.database.DatabasePlatform;
@@ -211,6 +212,7 @@ public class JUnitCriteriaSimpleTestSuite extends JUnitTestCase {
         suite.addTest(new JUnitCriteriaSimpleTestSuite("testLiteralValidation"));
         suite.addTest(new JUnitCriteriaSimpleTestSuite("testCompoundSelectionAliasValidation"));
         suite.addTest(new JUnitCriteriaSimpleTestSuite("testEmptyLeftJoinInCriteriaQuery"));
+        suite.addTest(new JUnitCriteriaSimpleTestSuite("testCriteriaQueryCache"));
 
         return suite;
     }
@@ -3202,6 +3204,51 @@ public class JUnitCriteriaSimpleTestSuite extends JUnitTestCase {
         closeEntityManager(em);
     }
 
+    /**
+     * Criteria queries with the same structure share one prepared query, the
+     * parameter values are not part of the structure but literal values are.
+     */
+    public void testCriteriaQueryCache() {
+        ConcurrentFixedCache cache = getServerSession().getProject().getCriteriaQueryCache();
+        cache.clear();
+        EntityManager em = createEntityManager();
+        try {
+            List<Employee> employees = getServerSession().readAllObjects(Employee.class);
+            CriteriaBuilder qb = em.getCriteriaBuilder();
+            for (int index = 0; index < 2; index++) {
+                String firstName = employees.get(index).getFirstName();
+                CriteriaQuery<Employee> cq = qb.createQuery(Employee.class);
+                Root<Employee> root = cq.from(Employee.class);
+                cq.where(qb.equal(root.get("firstName"), qb.parameter(String.class, "firstName")));
+                List<Employee> result = em.createQuery(cq).setParameter("firstName", firstName).getResultList();
+                assertFalse("No employees found for " + firstName, result.isEmpty());
+                for (Employee employee : result) {
+                    assertEquals(firstName, employee.getFirstName());
+                }
+            }
+            assertEquals("Same structure should be cached once", 1, cache.getCache().size());
+
+            for (String firstName : new String[] {employees.get(0).getFirstName(), "No such name"}) {
+                CriteriaQuery<Employee> cq = qb.createQuery(Employee.class);
+                Root<Employee> root = cq.from(Employee.class);
+                cq.where(qb.equal(root.get("firstName"), firstName));
+                List<Employee> result = em.createQuery(cq).getResultList();
+                for (Employee employee : result) {
+                    assertEquals(firstName, employee.getFirstName());
+                }
+            }
+            assertEquals("Different literals should be cached separately", 3, cache.getCache().size());
+
+            CriteriaQuery<Employee> cq = qb.createQuery(Employee.class);
+            Root<Employee> root = cq.from(Employee.class);
+            cq.where(qb.equal(root.get("firstName"), qb.parameter(String.class)));
+            em.createQuery(cq);
+            assertEquals("Unnamed parameters should not be cached", 3, cache.getCache().size());
+        } finally {
+            closeEntityManager(em);
+        }
+    }
+
 }
 
 
@@ -0,0 +1,191 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 and Eclipse Distribution License v. 1.0
+ * which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * Contributors:
+ *     Oracle - 2.6 - initial implementation
+ ******************************************************************************/
+package org.eclipse.persistence.testing.tests.jpa.deployment;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+import org.eclipse.persistence.config.PersistenceUnitProperties;
+import org.eclipse.persistence.internal.jpa.deployment.PersistenceUnitProcessor;
+import org.eclipse.persistence.testing.models.jpa.ddlgeneration.Bar;
+import org.eclipse.persistence.testing.models.jpa.ddlgeneration.BarId;
+import org.eclipse.persistence.testing.models.jpa.ddlgeneration.FooId;
+import org.eclipse.persistence.tools.weaving.jpa.StaticIndex;
+
+/**
+ * Tests the class index written by StaticIndex, and its use by predeploy to find the persistent classes.
+ */
+public class ClassIndexTestSuite extends MetadataProcessingTestSuite {
+
+    public ClassIndexTestSuite(String name) {
+        super(name);
+    }
+
+    public static Test suite() {
+        TestSuite suite = new TestSuite("ClassIndexTestSuite");
+        suite.addTest(new ClassIndexTestSuite("testStaticIndex"));
+        suite.addTest(new ClassIndexTestSuite("testStaticIndexJar"));
+        suite.addTest(new ClassIndexTestSuite("testPredeployUsesIndex"));
+        suite.addTest(new ClassIndexTestSuite("testPredeployWithoutIndex"));
+        suite.addTest(new ClassIndexTestSuite("testPredeployIndexDisabled"));
+        suite.addTest(new ClassIndexTestSuite("testPredeployIndexMissingClass"));
+        return suite;
+    }
+
+    public void setUp() throws Exception {
+        super.setUp();
+        // A class that is not persistent, so must not be indexed.
+        copyClass(MetadataProcessingTestSuite.class, root);
+    }
+
+    public void testStaticIndex() throws Exception {
+        StaticIndex.main(new String[] { root.getPath() });
+
+        File index = new File(root, PersistenceUnitProcessor.CLASS_INDEX);
+        assertTrue("Index not written", index.exists());
+        assertEquals(getRootClassNames(), readIndex(new FileInputStream(index)));
+    }
+
+    public void testStaticIndexJar() throws Exception {
+        File jar = File.createTempFile("class-index", ".jar");
+        try {
+            ZipOutputStream out = new ZipOutputStream(new FileOutputStream(jar));
+            try {
+                // A stale index, which must be replaced.
+                out.putNextEntry(new ZipEntry(PersistenceUnitProcessor.CLASS_INDEX));
+                out.write("stale.Entity\n".getBytes("UTF-8"));
+                out.closeEntry();
+                addEntries(out, root, "");
+            } finally {
+                out.close();
+            }
+
+            StaticIndex.main(new String[] { jar.getPath() });
+
+            ZipFile zip = new ZipFile(jar);
+            try {
+                ZipEntry index = zip.getEntry(PersistenceUnitProcessor.CLASS_INDEX);
+                assertTrue("Index not added to the jar", index != null);
+                assertEquals(getRootClassNames(), readIndex(zip.getInputStream(index)));
+                Class nonPersistentClass = MetadataProcessingTestSuite.class;
+                assertTrue("Jar entries not kept", zip.getEntry(nonPersistentClass.getName().replace('.', '/') + ".class") != null);
+            } finally {
+                zip.close();
+            }
+        } finally {
+            jar.delete();
+        }
+    }
+
+    public void testPredeployUsesIndex() throws Exception {
+        writeIndex("# persistent classes\n\n" + Bar.class.getName() + "\n  " + BarId.class.getName() + "  \n\n# embedded id\n" + FooId.class.getName() + "\n");
+        Set<String> expected = new TreeSet<String>();
+        expected.add(Bar.class.getName());
+        assertEquals(expected, predeploy(new HashMap()));
+    }
+
+    public void testPredeployWithoutIndex() throws Exception {
+        assertEquals(getRootEntityNames(), predeploy(new HashMap()));
+    }
+
+    public void testPredeployIndexDisabled() throws Exception {
+        writeIndex(Bar.class.getName() + "\n" + BarId.class.getName() + "\n" + FooId.class.getName() + "\n");
+        Map properties = new HashMap();
+        properties.put(PersistenceUnitProperties.METADATA_PROCESSING_CLASS_INDEX, "false");
+        assertEquals(getRootEntityNames(), predeploy(properties));
+    }
+
+    public void testPredeployIndexMissingClass() throws Exception {
+        writeIndex(Bar.class.getName() + "\n" + Bar.class.getName() + "Removed\n");
+        Set<String> expected = new TreeSet<String>();
+        expected.add(Bar.class.getName());
+        assertEquals(expected, predeploy(new HashMap()));
+    }
+
+    /**
+     * Return the names of the root classes, which are all persistent.
+     */
+    protected Set<String> getRootClassNames() {
+        Set<String> classNames = new TreeSet<String>();
+        for (Class javaClass : ROOT_CLASSES) {
+            classNames.add(javaClass.getName());
+        }
+        return classNames;
+    }
+
+    protected Set<String> readIndex(InputStream index) throws Exception {
+        Set<String> classNames = new TreeSet<String>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(index, "UTF-8"));
+        try {
+            String line = reader.readLine();
+            while (line != null) {
+                if (!line.startsWith("#")) {
+                    classNames.add(line);
+                }
+                line = reader.readLine();
+            }
+        } finally {
+            reader.close();
+        }
+        return classNames;
+    }
+
+    protected void addEntries(ZipOutputStream out, File directory, String path) throws Exception {
+        for (File file : directory.listFiles()) {
+            if (file.isDirectory()) {
+                addEntries(out, file, path + file.getName() + "/");
+            } else {
+                out.putNextEntry(new ZipEntry(path + file.getName()));
+                InputStream in = new FileInputStream(file);
+                try {
+                    byte[] buffer = new byte[8192];
+                    int count = in.read(buffer);
+                    while (count != -1) {
+                        out.write(buffer, 0, count);
+                        count = in.read(buffer);
+                    }
+                } finally {
+                    in.close();
+                }
+                out.closeEntry();
+            }
+        }
+    }
+
+    protected void writeIndex(String content) throws Exception {
+        File index = new File(root, PersistenceUnitProcessor.CLASS_INDEX);
+        index.getParentFile().mkdirs();
+        Writer writer = new OutputStreamWriter(new FileOutputStream(index), "UTF-8");
+        try {
+            writer.write(content);
+        } finally {
+            writer.close();
+        }
+    }
+}
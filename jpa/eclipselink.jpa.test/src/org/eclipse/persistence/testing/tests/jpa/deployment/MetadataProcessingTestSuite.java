@@ -0,0 +1,317 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 and Eclipse Distribution License v. 1.0
+ * which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * Contributors:
+ *     Oracle - 2.6 - initial implementation
+ ******************************************************************************/
+package org.eclipse.persistence.testing.tests.jpa.deployment;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.persistence.spi.PersistenceUnitTransactionType;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+import org.eclipse.persistence.config.PersistenceUnitProperties;
+import org.eclipse.persistence.descriptors.ClassDescriptor;
+import org.eclipse.persistence.exceptions.ValidationException;
+import org.eclipse.persistence.internal.jpa.EntityManagerSetupImpl;
+import org.eclipse.persistence.internal.jpa.deployment.SEPersistenceUnitInfo;
+import org.eclipse.persistence.logging.SessionLog;
+import org.eclipse.persistence.platform.database.DatabasePlatform;
+import org.eclipse.persistence.testing.models.jpa.ddlgeneration.Bar;
+import org.eclipse.persistence.testing.models.jpa.ddlgeneration.BarId;
+import org.eclipse.persistence.testing.models.jpa.ddlgeneration.FooId;
+import org.eclipse.persistence.testing.models.jpa.ddlgeneration.PostAddress;
+import org.eclipse.persistence.testing.models.jpa.ddlgeneration.PostAddressId;
+
+/**
+ * Tests the persistence unit metadata processing of predeploy, and the descriptor settings of deploy.
+ * The persistence unit root is a directory of copied model classes, so no database is required.
+ */
+public class MetadataProcessingTestSuite extends TestCase {
+    /** The classes of the persistence unit root. */
+    protected static final Class[] ROOT_CLASSES = { Bar.class, BarId.class, FooId.class, PostAddress.class, PostAddressId.class };
+
+    protected File root;
+
+    public MetadataProcessingTestSuite(String name) {
+        super(name);
+    }
+
+    public static Test suite() {
+        TestSuite suite = new TestSuite("MetadataProcessingTestSuite");
+        suite.addTest(new MetadataProcessingTestSuite("testDefaultProcessing"));
+        suite.addTest(new MetadataProcessingTestSuite("testParallelProcessing"));
+        suite.addTest(new MetadataProcessingTestSuite("testInvalidThreadCount"));
+        suite.addTest(new MetadataProcessingTestSuite("testNonPositiveThreadCount"));
+        suite.addTest(new MetadataProcessingTestSuite("testExpressionQueryCacheSize"));
+        suite.addTest(new MetadataProcessingTestSuite("testNegativeExpressionQueryCacheSize"));
+        suite.addTest(new MetadataProcessingTestSuite("testAdaptiveFetchSizeBounds"));
+        suite.addTest(new MetadataProcessingTestSuite("testInvalidAdaptiveFetchSizeBounds"));
+        return suite;
+    }
+
+    public void setUp() throws Exception {
+        root = File.createTempFile("metadata-processing", "");
+        root.delete();
+        root.mkdirs();
+        for (Class javaClass : ROOT_CLASSES) {
+            copyClass(javaClass, root);
+        }
+    }
+
+    public void tearDown() {
+        delete(root);
+    }
+
+    public void testDefaultProcessing() throws Exception {
+        Set<String> classNames = predeploy(new HashMap());
+        assertEquals(getRootEntityNames(), classNames);
+    }
+
+    public void testParallelProcessing() throws Exception {
+        Map properties = new HashMap();
+        properties.put(PersistenceUnitProperties.METADATA_PROCESSING_THREADS, "4");
+        Set<String> classNames = predeploy(properties);
+        assertEquals(getRootEntityNames(), classNames);
+
+        properties.put(PersistenceUnitProperties.METADATA_PROCESSING_THREADS, "1");
+        assertEquals(classNames, predeploy(properties));
+    }
+
+    public void testInvalidThreadCount() throws Exception {
+        assertInvalidThreadCount("many");
+    }
+
+    public void testNonPositiveThreadCount() throws Exception {
+        assertInvalidThreadCount("0");
+        assertInvalidThreadCount("-2");
+    }
+
+    public void testExpressionQueryCacheSize() throws Exception {
+        DeploySettingsSetup setup = predeployForDeploySettings();
+        Map properties = new HashMap();
+        properties.put(PersistenceUnitProperties.EXPRESSION_QUERY_CACHE_SIZE, "5");
+        setup.updateExpressionQueryCacheSize(properties);
+        assertExpressionQueryCacheSize(setup, 5);
+
+        properties.put(PersistenceUnitProperties.EXPRESSION_QUERY_CACHE_SIZE, "0");
+        setup.updateExpressionQueryCacheSize(properties);
+        assertExpressionQueryCacheSize(setup, 0);
+    }
+
+    public void testNegativeExpressionQueryCacheSize() throws Exception {
+        DeploySettingsSetup setup = predeployForDeploySettings();
+        Map properties = new HashMap();
+        properties.put(PersistenceUnitProperties.EXPRESSION_QUERY_CACHE_SIZE, "-1");
+        try {
+            setup.updateExpressionQueryCacheSize(properties);
+            fail("A negative expression query cache size should be rejected.");
+        } catch (ValidationException exception) {
+            assertEquals(ValidationException.INVALID_VALUE_FOR_PROPERTY, exception.getErrorCode());
+        }
+        // the default size is kept
+        assertExpressionQueryCacheSize(setup, 20);
+    }
+
+    public void testAdaptiveFetchSizeBounds() throws Exception {
+        DeploySettingsSetup setup = predeployForDeploySettings();
+        Map properties = new HashMap();
+        properties.put(PersistenceUnitProperties.ADAPTIVE_FETCH_SIZE_MIN, "0");
+        properties.put(PersistenceUnitProperties.ADAPTIVE_FETCH_SIZE_MAX, " 50 ");
+        properties.put(PersistenceUnitProperties.ADAPTIVE_FETCH_SIZE_MAX_MEMORY, "4096");
+        setup.updateAdaptiveFetchSize(properties);
+        assertAdaptiveFetchSizeBounds(setup, 0, 50, 4096);
+
+        // the minimum can equal the maximum
+        properties.put(PersistenceUnitProperties.ADAPTIVE_FETCH_SIZE_MIN, "50");
+        setup.updateAdaptiveFetchSize(properties);
+        assertAdaptiveFetchSizeBounds(setup, 50, 50, 4096);
+    }
+
+    public void testInvalidAdaptiveFetchSizeBounds() throws Exception {
+        DeploySettingsSetup setup = predeployForDeploySettings();
+        DatabasePlatform platform = setup.getSession().getPlatform();
+        int minimum = platform.getAdaptiveFetchSizeMinimum();
+        int maximum = platform.getAdaptiveFetchSizeMaximum();
+        int maxMemory = platform.getAdaptiveFetchSizeMaxMemory();
+        assertInvalidAdaptiveFetchSize(setup, PersistenceUnitProperties.ADAPTIVE_FETCH_SIZE_MIN, "-1");
+        assertInvalidAdaptiveFetchSize(setup, PersistenceUnitProperties.ADAPTIVE_FETCH_SIZE_MAX, "-1");
+        assertInvalidAdaptiveFetchSize(setup, PersistenceUnitProperties.ADAPTIVE_FETCH_SIZE_MAX_MEMORY, "-1");
+        assertInvalidAdaptiveFetchSize(setup, PersistenceUnitProperties.ADAPTIVE_FETCH_SIZE_MIN, "many");
+        // a minimum above the default maximum
+        assertInvalidAdaptiveFetchSize(setup, PersistenceUnitProperties.ADAPTIVE_FETCH_SIZE_MIN, String.valueOf(maximum + 1));
+        // the bounds are kept
+        assertAdaptiveFetchSizeBounds(setup, minimum, maximum, maxMemory);
+
+        Map properties = new HashMap();
+        properties.put(PersistenceUnitProperties.ADAPTIVE_FETCH_SIZE_MIN, "100");
+        properties.put(PersistenceUnitProperties.ADAPTIVE_FETCH_SIZE_MAX, "10");
+        try {
+            setup.updateAdaptiveFetchSize(properties);
+            fail("A minimum adaptive fetch size above the maximum should be rejected.");
+        } catch (ValidationException exception) {
+            assertEquals(ValidationException.INVALID_VALUE_FOR_PROPERTY, exception.getErrorCode());
+        }
+        assertAdaptiveFetchSizeBounds(setup, minimum, maximum, maxMemory);
+    }
+
+    protected void assertInvalidAdaptiveFetchSize(DeploySettingsSetup setup, String property, String value) {
+        Map properties = new HashMap();
+        properties.put(property, value);
+        try {
+            setup.updateAdaptiveFetchSize(properties);
+            fail("Invalid value for " + property + " should be rejected: " + value);
+        } catch (ValidationException exception) {
+            assertEquals(ValidationException.INVALID_VALUE_FOR_PROPERTY, exception.getErrorCode());
+        }
+    }
+
+    protected void assertAdaptiveFetchSizeBounds(EntityManagerSetupImpl setup, int minimum, int maximum, int maxMemory) {
+        DatabasePlatform platform = setup.getSession().getPlatform();
+        assertEquals(minimum, platform.getAdaptiveFetchSizeMinimum());
+        assertEquals(maximum, platform.getAdaptiveFetchSizeMaximum());
+        assertEquals(maxMemory, platform.getAdaptiveFetchSizeMaxMemory());
+    }
+
+    /**
+     * Predeploy the persistence unit, and convert its class names as deploy does before its settings are applied.
+     */
+    protected DeploySettingsSetup predeployForDeploySettings() throws Exception {
+        DeploySettingsSetup setup = new DeploySettingsSetup(getName());
+        predeploy(setup, new HashMap());
+        setup.getSession().getProject().convertClassNamesToClasses(getClass().getClassLoader());
+        return setup;
+    }
+
+    protected void assertExpressionQueryCacheSize(EntityManagerSetupImpl setup, int size) {
+        for (ClassDescriptor descriptor : setup.getSession().getProject().getDescriptors().values()) {
+            assertEquals(descriptor.getJavaClassName(), size, descriptor.getQueryManager().getExpressionQueryCacheMaxSize());
+        }
+    }
+
+    protected void assertInvalidThreadCount(String threads) throws Exception {
+        Map properties = new HashMap();
+        properties.put(PersistenceUnitProperties.METADATA_PROCESSING_THREADS, threads);
+        try {
+            predeploy(properties);
+        } catch (RuntimeException exception) {
+            Throwable cause = exception;
+            while ((cause != null) && !(cause instanceof ValidationException)) {
+                cause = cause.getCause();
+            }
+            assertNotNull("Expected a ValidationException, but was: " + exception, cause);
+            assertEquals(ValidationException.INVALID_VALUE_FOR_PROPERTY, ((ValidationException)cause).getErrorCode());
+            return;
+        }
+        fail("Predeploy should fail for thread count: " + threads);
+    }
+
+    /**
+     * Return the names of the entities of the root classes.
+     */
+    protected Set<String> getRootEntityNames() {
+        Set<String> classNames = new TreeSet<String>();
+        classNames.add(Bar.class.getName());
+        classNames.add(PostAddress.class.getName());
+        return classNames;
+    }
+
+    /**
+     * Predeploy the persistence unit of the root directory, and return the names of its entity classes.
+     */
+    protected Set<String> predeploy(Map properties) throws Exception {
+        EntityManagerSetupImpl setup = new EntityManagerSetupImpl("metadata-processing" + getName(), "metadata-processing");
+        predeploy(setup, properties);
+        Set<String> classNames = new TreeSet<String>();
+        for (ClassDescriptor descriptor : setup.getSession().getProject().getOrderedDescriptors()) {
+            if (!descriptor.isAggregateDescriptor()) {
+                classNames.add(descriptor.getJavaClassName());
+            }
+        }
+        return classNames;
+    }
+
+    /**
+     * Predeploy the persistence unit of the root directory with the setup.
+     */
+    protected void predeploy(EntityManagerSetupImpl setup, Map properties) throws Exception {
+        SEPersistenceUnitInfo info = new SEPersistenceUnitInfo();
+        info.setPersistenceUnitName("metadata-processing");
+        info.setPersistenceUnitRootUrl(root.toURI().toURL());
+        info.setTransactionType(PersistenceUnitTransactionType.RESOURCE_LOCAL);
+        info.setExcludeUnlistedClasses(false);
+        info.setClassLoader(getClass().getClassLoader());
+        info.setNewTempClassLoader(getClass().getClassLoader());
+        properties.put(PersistenceUnitProperties.WEAVING, "false");
+        properties.put(PersistenceUnitProperties.EXCLUDE_ECLIPSELINK_ORM_FILE, "true");
+        properties.put(PersistenceUnitProperties.LOGGING_LEVEL, SessionLog.OFF_LABEL);
+        setup.predeploy(info, properties);
+    }
+
+    /**
+     * Copy the class file of the class into the directory.
+     */
+    protected static void copyClass(Class javaClass, File directory) throws IOException {
+        String resourceName = javaClass.getName().replace('.', '/') + ".class";
+        File file = new File(directory, resourceName);
+        file.getParentFile().mkdirs();
+        InputStream input = javaClass.getClassLoader().getResourceAsStream(resourceName);
+        OutputStream output = new FileOutputStream(file);
+        try {
+            byte[] buffer = new byte[4096];
+            int count = input.read(buffer);
+            while (count != -1) {
+                output.write(buffer, 0, count);
+                count = input.read(buffer);
+            }
+        } finally {
+            input.close();
+            output.close();
+        }
+    }
+
+    /**
+     * Gives access to the deploy settings, so they can be applied without logging in.
+     */
+    protected static class DeploySettingsSetup extends EntityManagerSetupImpl {
+        public DeploySettingsSetup(String name) {
+            super("metadata-processing" + name, "metadata-processing");
+        }
+
+        public void updateExpressionQueryCacheSize(Map properties) {
+            super.updateExpressionQueryCacheSize(properties);
+        }
+
+        public void updateAdaptiveFetchSize(Map properties) {
+            super.updateAdaptiveFetchSize(properties);
+        }
+    }
+
+    protected static void delete(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+}
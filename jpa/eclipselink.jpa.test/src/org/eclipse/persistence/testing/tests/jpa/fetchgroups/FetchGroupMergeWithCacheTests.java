@@ -20,7 +20,11 @@ import javax.persistence.Query;
 
 import org.eclipse.persistence.config.QueryHints;
 import org.eclipse.persistence.queries.FetchGroup;
+import org.eclipse.persistence.queries.ReadObjectQuery;
+import org.eclipse.persistence.sessions.UnitOfWork;
+import org.eclipse.persistence.sessions.server.ServerSession;
 import org.eclipse.persistence.testing.models.jpa.advanced.Employee;
+import org.eclipse.persistence.testing.tests.jpa.dynamic.QuerySQLTracker;
 
 import org.junit.Test;
 
@@ -44,6 +48,9 @@ public class FetchGroupMergeWithCacheTests extends BaseFetchGroupTests {
         if (!isJPA10()) {
             suite.addTest(new FetchGroupMergeWithCacheTests("cacheFull_FindWithFetchGroup_Simple"));
         }
+        suite.addTest(new FetchGroupMergeWithCacheTests("cachePartial_UnfetchedAttributeLoadsMissingAttributes"));
+        suite.addTest(new FetchGroupMergeWithCacheTests("clonePartial_UnfetchedAttributeLoadsMissingAttributes"));
+        suite.addTest(new FetchGroupMergeWithCacheTests("clonePartial_UnfetchedAttributeLoadsMissingAttributesEarlyTransaction"));
         return suite;
     }
 
@@ -114,4 +121,98 @@ public class FetchGroupMergeWithCacheTests extends BaseFetchGroupTests {
             closeEntityManager(em2);
         }
     }    
+
+    @Test
+    // The partial object is in shared cache, accessing an unfetched attribute only selects the missing attributes
+    public void cachePartial_UnfetchedAttributeLoadsMissingAttributes() throws Exception {
+        EntityManager em = createEntityManager();
+        int id;
+        try {
+            id = findMinimumEmployee(em).getId();
+        } finally {
+            closeEntityManager(em);
+        }
+        ServerSession session = getServerSession();
+        session.getIdentityMapAccessor().initializeAllIdentityMaps();
+
+        // Place the partial object into the shared cache
+        ReadObjectQuery query = new ReadObjectQuery(Employee.class);
+        query.setSelectionId(id);
+        FetchGroup fg = new FetchGroup();
+        fg.addAttribute("firstName");
+        query.setFetchGroup(fg);
+        Employee emp = (Employee)session.executeQuery(query);
+        assertFetchedAttribute(emp, "firstName");
+        assertNotFetchedAttribute(emp, "lastName");
+
+        QuerySQLTracker tracker = QuerySQLTracker.getTracker(session);
+        tracker.reset();
+        emp.getLastName();
+
+        assertEquals(1, tracker.getTotalSQLSELECTCalls());
+        for (QuerySQLTracker.QueryResult result : tracker.getQueries()) {
+            for (String sql : result.sqlStatements) {
+                assertFalse("Fetched attribute selected again: " + sql, sql.contains("F_NAME"));
+            }
+        }
+        assertFetchedAttribute(emp, "firstName");
+        assertFetchedAttribute(emp, "lastName");
+        assertFetchedAttribute(emp, "salary");
+    }
+
+    @Test
+    // The partial object is registered in a transaction, accessing an unfetched attribute only selects the missing attributes
+    public void clonePartial_UnfetchedAttributeLoadsMissingAttributes() throws Exception {
+        unfetchedAttributeInTransaction(false);
+    }
+
+    @Test
+    // The partial object is built from the row in an early transaction, accessing an unfetched attribute only selects the missing attributes
+    public void clonePartial_UnfetchedAttributeLoadsMissingAttributesEarlyTransaction() throws Exception {
+        unfetchedAttributeInTransaction(true);
+    }
+
+    void unfetchedAttributeInTransaction(boolean isEarlyTransaction) throws Exception {
+        EntityManager em = createEntityManager();
+        try {
+            int id = findMinimumEmployee(em).getId();
+            em.clear();
+            getServerSession().getIdentityMapAccessor().initializeAllIdentityMaps();
+
+            beginTransaction(em);
+            if (isEarlyTransaction) {
+                em.unwrap(UnitOfWork.class).beginEarlyTransaction();
+            }
+            Query query = em.createQuery("SELECT e FROM Employee e WHERE e.id = " + id);
+            FetchGroup fg = new FetchGroup();
+            fg.addAttribute("firstName");
+            query.setHint(QueryHints.FETCH_GROUP, fg);
+            Employee emp = (Employee)query.getSingleResult();
+            assertFetchedAttribute(emp, "firstName");
+            assertNotFetchedAttribute(emp, "lastName");
+            emp.setFirstName(emp.getFirstName() + "_changed");
+            String firstName = emp.getFirstName();
+
+            QuerySQLTracker tracker = getQuerySQLTracker(em);
+            tracker.reset();
+            emp.getLastName();
+
+            assertEquals(1, tracker.getTotalSQLSELECTCalls());
+            for (QuerySQLTracker.QueryResult result : tracker.getQueries()) {
+                for (String sql : result.sqlStatements) {
+                    assertFalse("Fetched attribute selected again: " + sql, sql.contains("F_NAME"));
+                    assertTrue("Missing attribute not selected: " + sql, sql.contains("L_NAME"));
+                }
+            }
+            assertFetchedAttribute(emp, "firstName");
+            assertFetchedAttribute(emp, "lastName");
+            assertEquals("The change of a fetched attribute was lost.", firstName, emp.getFirstName());
+            assertTrue("The change of a fetched attribute is no longer tracked.", em.unwrap(UnitOfWork.class).hasChanges());
+        } finally {
+            if (isTransactionActive(em)) {
+                rollbackTransaction(em);
+            }
+            closeEntityManager(em);
+        }
+    }
 }
@@ -52,10 +52,14 @@ import javax.persistence.Query;
 
 import junit.framework.*;
 
+import org.eclipse.persistence.descriptors.ClassDescriptor;
 import org.eclipse.persistence.exceptions.QueryException;
+import org.eclipse.persistence.internal.descriptors.IndexedPersistenceObject;
+import org.eclipse.persistence.internal.descriptors.PersistenceObjectAttributeAccessor;
 import org.eclipse.persistence.internal.helper.Helper;
 import org.eclipse.persistence.internal.weaving.PersistenceWeaved;
 import org.eclipse.persistence.jpa.JpaHelper;
+import org.eclipse.persistence.mappings.DirectToFieldMapping;
 import org.eclipse.persistence.sessions.CopyGroup;
 import org.eclipse.persistence.testing.framework.junit.JUnitTestCase;
 import org.eclipse.persistence.testing.models.jpa.inherited.Accredidation;
@@ -159,6 +163,9 @@ public class InheritedModelJunitTest extends JUnitTestCase {
         suite.addTest(new InheritedModelJunitTest("testInterfaceBylawWrite"));
         suite.addTest(new InheritedModelJunitTest("testEmbeddableAggregateCollectionAndAggregate"));
         suite.addTest(new InheritedModelJunitTest("testNodeImplWeaving"));
+        suite.addTest(new InheritedModelJunitTest("testIndexedWeaving"));
+        suite.addTest(new InheritedModelJunitTest("testIndexedWeavingSuperclass"));
+        suite.addTest(new InheritedModelJunitTest("testIndexedWeavingCompareObjects"));
         suite.addTest(new InheritedModelJunitTest("testEmbeddaleCollectionMapEmbeddableRead"));
         suite.addTest(new InheritedModelJunitTest("testCopyMapKeyMap"));
         if (!isJPA10()) {
@@ -1850,6 +1857,76 @@ public class InheritedModelJunitTest extends JUnitTestCase {
         }
     }
 
+    public void testIndexedWeaving(){
+        if (isWeavingEnabled()) {
+            // ensure weaving has occured
+            createEntityManager().close();
+            Witness witness = new Witness();
+            witness.setId(5);
+            witness.setName("Bob");
+            assertTrue("Witness was not weaved with indexed accessors.", witness instanceof IndexedPersistenceObject);
+            IndexedPersistenceObject object = (IndexedPersistenceObject)witness;
+            int idIndex = object._persistence_index("id");
+            int nameIndex = object._persistence_index("name");
+            assertEquals(IndexedPersistenceObject.NOT_INDEXED, object._persistence_index("noSuchAttribute"));
+            assertEquals(Integer.valueOf(5), object._persistence_get(idIndex));
+            assertEquals("Bob", object._persistence_get(nameIndex));
+            object._persistence_set(idIndex, 6);
+            object._persistence_set(nameIndex, "Ann");
+            assertEquals(6, witness.getId());
+            assertEquals("Ann", witness.getName());
+        }
+    }
+
+    // The indexes of a superclass attribute are passed up to the weaved superclass.
+    public void testIndexedWeavingSuperclass(){
+        if (isWeavingEnabled()) {
+            createEntityManager().close();
+            BlueLight blueLight = new BlueLight();
+            blueLight.setDiscount(10);
+            blueLight.setUniqueKey(BigInteger.ONE);
+            IndexedPersistenceObject object = (IndexedPersistenceObject)blueLight;
+            int discountIndex = object._persistence_index("discount");
+            int uniqueKeyIndex = object._persistence_index("uniqueKey");
+            assertTrue("The subclass attribute index should have a greater depth.", (discountIndex >>> 16) > (uniqueKeyIndex >>> 16));
+            assertEquals(uniqueKeyIndex, ((IndexedPersistenceObject)new Blue())._persistence_index("uniqueKey"));
+            assertEquals(Integer.valueOf(10), object._persistence_get(discountIndex));
+            assertEquals(BigInteger.ONE, object._persistence_get(uniqueKeyIndex));
+            object._persistence_set(discountIndex, 20);
+            object._persistence_set(uniqueKeyIndex, BigInteger.TEN);
+            assertEquals(20, blueLight.getDiscount());
+            assertEquals(BigInteger.TEN, blueLight.getUniqueKey());
+            BlueLight other = new BlueLight();
+            other.setDiscount(20);
+            assertTrue(object._persistence_primitiveEquals(discountIndex, other));
+            assertFalse("A non primitive attribute is never primitive equal.", object._persistence_primitiveEquals(uniqueKeyIndex, other));
+            other.setDiscount(21);
+            assertFalse(object._persistence_primitiveEquals(discountIndex, other));
+        }
+    }
+
+    // A weaved primitive attribute is compared without reading its boxed value.
+    public void testIndexedWeavingCompareObjects(){
+        if (isWeavingEnabled()) {
+            createEntityManager().close();
+            ClassDescriptor descriptor = getServerSession().getDescriptor(BlueLight.class);
+            DirectToFieldMapping mapping = (DirectToFieldMapping)descriptor.getMappingForAttributeName("discount").clone();
+            PersistenceObjectAttributeAccessor accessor = new PersistenceObjectAttributeAccessor("discount");
+            accessor.initializeAttributes(BlueLight.class);
+            mapping.setAttributeAccessor(accessor);
+            BlueLight first = new BlueLight();
+            first.setDiscount(10);
+            BlueLight second = new BlueLight();
+            second.setDiscount(10);
+            assertTrue("The weaved primitive attribute should be indexed.", accessor.isPrimitiveIndexed(first));
+            assertTrue(accessor.primitiveValuesEqual(first, second));
+            assertTrue(mapping.compareObjects(first, second, getServerSession()));
+            second.setDiscount(11);
+            assertFalse(accessor.primitiveValuesEqual(first, second));
+            assertFalse(mapping.compareObjects(first, second, getServerSession()));
+        }
+    }
+
     // Bug 384527
     public void testEmbeddaleCollectionMapEmbeddableRead(){
         EntityManager em = createEntityManager();
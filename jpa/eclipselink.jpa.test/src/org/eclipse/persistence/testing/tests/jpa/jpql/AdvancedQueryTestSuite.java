@@ -19,6 +19,12 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.persistence.FlushModeType;
 import javax.persistence.LockModeType;
@@ -35,20 +41,38 @@ import junit.framework.TestSuite;
 
 import org.eclipse.persistence.annotations.BatchFetchType;
 import org.eclipse.persistence.config.CacheUsage;
+import org.eclipse.persistence.config.HintValues;
 import org.eclipse.persistence.config.PessimisticLock;
 import org.eclipse.persistence.config.QueryHints;
 import org.eclipse.persistence.config.QueryType;
 import org.eclipse.persistence.config.ResultSetConcurrency;
 import org.eclipse.persistence.config.ResultSetType;
 import org.eclipse.persistence.config.ResultType;
+import org.eclipse.persistence.descriptors.ClassDescriptor;
+import org.eclipse.persistence.descriptors.DescriptorEvent;
+import org.eclipse.persistence.descriptors.DescriptorEventAdapter;
 import org.eclipse.persistence.descriptors.invalidation.DailyCacheInvalidationPolicy;
 import org.eclipse.persistence.descriptors.invalidation.TimeToLiveCacheInvalidationPolicy;
+import org.eclipse.persistence.expressions.ExpressionBuilder;
 import org.eclipse.persistence.internal.sessions.AbstractSession;
 import org.eclipse.persistence.jpa.JpaQuery;
+import org.eclipse.persistence.mappings.DatabaseMapping;
 import org.eclipse.persistence.queries.Cursor;
+import org.eclipse.persistence.queries.DatabaseQuery;
+import org.eclipse.persistence.queries.FetchGroup;
+import org.eclipse.persistence.queries.ReadAllQuery;
 import org.eclipse.persistence.queries.ReadQuery;
+import org.eclipse.persistence.queries.ReportQueryColumns;
 import org.eclipse.persistence.queries.ScrollableCursor;
+import org.eclipse.persistence.sessions.DatabaseRecord;
 import org.eclipse.persistence.sessions.DatabaseSession;
+import org.eclipse.persistence.sessions.Record;
+import org.eclipse.persistence.sessions.Session;
+import org.eclipse.persistence.sessions.SessionProfiler;
+import org.eclipse.persistence.sessions.SessionProfilerAdapter;
+import org.eclipse.persistence.tools.profiler.QueryStatistics;
+import org.eclipse.persistence.tools.profiler.QueryStatisticsMonitor;
+import org.eclipse.persistence.platform.server.ServerPlatformBase;
 import org.eclipse.persistence.sessions.server.ServerSession;
 import org.eclipse.persistence.testing.framework.junit.JUnitTestCase;
 import org.eclipse.persistence.testing.framework.QuerySQLTracker;
@@ -148,6 +172,8 @@ public class AdvancedQueryTestSuite extends JUnitTestCase {
         suite.addTest(new AdvancedQueryTestSuite("testBasicMapLeftJoinFetching"));
         suite.addTest(new AdvancedQueryTestSuite("testBatchFetchOuterJoin"));
         suite.addTest(new AdvancedQueryTestSuite("testJoinFetching"));
+        suite.addTest(new AdvancedQueryTestSuite("testBatchCollectionJoins"));
+        suite.addTest(new AdvancedQueryTestSuite("testBatchCollectionJoinsPrepare"));
         suite.addTest(new AdvancedQueryTestSuite("testMapJoinFetching"));
         suite.addTest(new AdvancedQueryTestSuite("testJoinFetchingCursor"));
         suite.addTest(new AdvancedQueryTestSuite("testJoinFetchingPagination"));
@@ -156,6 +182,11 @@ public class AdvancedQueryTestSuite extends JUnitTestCase {
         suite.addTest(new AdvancedQueryTestSuite("testJPQLCacheHits"));
         suite.addTest(new AdvancedQueryTestSuite("testCacheIndexes"));
         suite.addTest(new AdvancedQueryTestSuite("testSQLHint"));
+        suite.addTest(new AdvancedQueryTestSuite("testKeysetPagination"));
+        suite.addTest(new AdvancedQueryTestSuite("testParallelObjectBuilding"));
+        suite.addTest(new AdvancedQueryTestSuite("testExpressionQueryCache"));
+        suite.addTest(new AdvancedQueryTestSuite("testColumnsResultType"));
+        suite.addTest(new AdvancedQueryTestSuite("testQueryStatisticsMonitor"));
         suite.addTest(new AdvancedQueryTestSuite("testLoadGroup"));
         suite.addTest(new AdvancedQueryTestSuite("testConcurrentLoadGroup"));
         if (!isJPA10()) {
@@ -233,6 +264,233 @@ public class AdvancedQueryTestSuite extends JUnitTestCase {
     }
 
     
+    /**
+     * Test that reading the pages after the order by values of the previous page returns all of the rows in order.
+     */
+    public void testKeysetPagination() {
+        EntityManager em = createEntityManager();
+        try {
+            List<Employee> expected = em.createQuery("Select e from Employee e order by e.lastName, e.id").getResultList();
+            List<Employee> pages = new ArrayList<Employee>();
+            List<Employee> page = em.createQuery("Select e from Employee e order by e.lastName, e.id").setMaxResults(3).getResultList();
+            while (!page.isEmpty()) {
+                pages.addAll(page);
+                Employee last = page.get(page.size() - 1);
+                Query query = em.createQuery("Select e from Employee e order by e.lastName, e.id");
+                query.setHint(QueryHints.KEYSET_VALUES, new Object[] { last.getLastName(), last.getId() });
+                query.setMaxResults(3);
+                page = query.getResultList();
+                if (pages.size() > expected.size()) {
+                    fail("Keyset pages did not end: " + pages);
+                }
+            }
+            assertEquals("Keyset pages do not match the query result", expected, pages);
+        } finally {
+            closeEntityManager(em);
+        }
+    }
+
+    /**
+     * Test that building the objects in parallel on the platform's thread pool returns the same objects
+     * in the same order with their joined attributes, and refreshes them if required.
+     */
+    public void testParallelObjectBuilding() {
+        ServerSession session = getServerSession();
+        ServerPlatformBase platform = (ServerPlatformBase)session.getServerPlatform();
+        ExecutorService originalPool = platform.getThreadPool();
+        final AtomicInteger poolTasks = new AtomicInteger();
+        platform.setThreadPool(new ThreadPoolExecutor(2, 2, 0, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>()) {
+            protected void beforeExecute(Thread thread, Runnable task) {
+                poolTasks.incrementAndGet();
+            }
+        });
+        final Thread testThread = Thread.currentThread();
+        final CountDownLatch workerBuilt = new CountDownLatch(1);
+        DescriptorEventAdapter listener = new DescriptorEventAdapter() {
+            public void postBuild(DescriptorEvent event) {
+                if (Thread.currentThread() != testThread) {
+                    workerBuilt.countDown();
+                } else {
+                    // Let a worker build an object before the executing thread claims all the chunks.
+                    try {
+                        workerBuilt.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException exception) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+        };
+        ClassDescriptor descriptor = session.getDescriptor(Employee.class);
+        String jpql = "Select distinct e from Employee e join fetch e.address left join fetch e.phoneNumbers order by e.id";
+        EntityManager em = createEntityManager();
+        try {
+            List<Employee> expected = em.createQuery(jpql).getResultList();
+            em.clear();
+            session.getIdentityMapAccessor().initializeAllIdentityMaps();
+            descriptor.getEventManager().addListener(listener);
+            Query query = em.createQuery(jpql);
+            query.setHint(QueryHints.READ_ONLY, HintValues.TRUE);
+            query.setHint(QueryHints.PARALLEL_OBJECT_BUILDING, 2);
+            List<Employee> result = query.getResultList();
+            descriptor.getEventManager().removeListener(listener);
+            assertTrue("The objects were not built by the thread pool", (poolTasks.get() > 0) && (workerBuilt.getCount() == 0));
+            verifyParallelObjects(expected, result);
+            // Make the cached objects stale, the refresh must build them again from the rows.
+            for (Employee employee : result) {
+                employee.setFirstName("stale");
+            }
+            query = em.createQuery(jpql);
+            query.setHint(QueryHints.READ_ONLY, HintValues.TRUE);
+            query.setHint(QueryHints.REFRESH, HintValues.TRUE);
+            query.setHint(QueryHints.PARALLEL_OBJECT_BUILDING, 2);
+            List<Employee> refreshed = query.getResultList();
+            verifyParallelObjects(expected, refreshed);
+            for (int index = 0; index < expected.size(); index++) {
+                assertTrue("Refresh did not use the cached object", result.get(index) == refreshed.get(index));
+                assertEquals("Object built in parallel was not refreshed", expected.get(index).getFirstName(), refreshed.get(index).getFirstName());
+            }
+        } finally {
+            descriptor.getEventManager().removeListener(listener);
+            platform.getThreadPool().shutdown();
+            platform.setThreadPool(originalPool);
+            closeEntityManager(em);
+            session.getIdentityMapAccessor().initializeAllIdentityMaps();
+        }
+    }
+
+    protected void verifyParallelObjects(List<Employee> expected, List<Employee> result) {
+        assertEquals("Wrong number of objects built in parallel", expected.size(), result.size());
+        for (int index = 0; index < expected.size(); index++) {
+            Employee employee = result.get(index);
+            Employee expectedEmployee = expected.get(index);
+            assertEquals("Objects built in parallel are not in order", expectedEmployee.getId(), employee.getId());
+            assertTrue("Object built in parallel is not cached", employee == getServerSession().getIdentityMapAccessor().getFromIdentityMap(employee));
+            assertEquals("Joined address built in parallel is wrong", expectedEmployee.getAddress().getID(), employee.getAddress().getID());
+            assertEquals("Joined phones built in parallel are wrong", expectedEmployee.getPhoneNumbers().size(), employee.getPhoneNumbers().size());
+        }
+    }
+
+    /**
+     * Test that the columns result type returns the values of the select items by columns.
+     */
+    public void testColumnsResultType() {
+        EntityManager em = createEntityManager();
+        try {
+            String jpql = "Select e.id, e.firstName, e.salary from Employee e order by e.id";
+            List<Object[]> rows = em.createQuery(jpql).getResultList();
+            Query query = em.createQuery(jpql);
+            query.setHint(QueryHints.RESULT_TYPE, ResultType.Columns);
+            List result = query.getResultList();
+            assertEquals("A single ReportQueryColumns should be returned.", 1, result.size());
+            ReportQueryColumns columns = (ReportQueryColumns)result.get(0);
+            assertEquals("The columns should have a value for each row.", rows.size(), columns.size());
+            assertEquals(3, columns.getColumnCount());
+            assertTrue("The salary column should be a long[]: " + columns.getColumn(2), columns.getColumn(2) instanceof long[]);
+            Object[] firstNames = columns.getObjectColumn(1);
+            long[] salaries = columns.getLongColumn(2);
+            for (int index = 0; index < rows.size(); index++) {
+                Object[] row = rows.get(index);
+                assertEquals(row[1], firstNames[index]);
+                assertEquals(((Number)row[2]).longValue(), salaries[index]);
+                assertFalse(columns.isNull(2, index));
+            }
+        } finally {
+            closeEntityManager(em);
+        }
+    }
+
+    /**
+     * Test that an expression query equal to one already executed reuses its SQL.
+     */
+    public void testExpressionQueryCache() {
+        final int[] hits = new int[1];
+        final int[] misses = new int[1];
+        SessionProfilerAdapter profiler = new SessionProfilerAdapter() {
+            public void occurred(String operationName, DatabaseQuery query, AbstractSession session) {
+                if (operationName.equals(SessionProfiler.ExpressionQueryCacheHits)) {
+                    hits[0]++;
+                } else if (operationName.equals(SessionProfiler.ExpressionQueryCacheMisses)) {
+                    misses[0]++;
+                }
+            }
+        };
+        ServerSession session = getServerSession();
+        SessionProfiler originalProfiler = session.getProfiler();
+        session.setProfiler(profiler);
+        try {
+            for (int index = 0; index < 2; index++) {
+                ExpressionBuilder employee = new ExpressionBuilder();
+                ReadAllQuery query = new ReadAllQuery(Employee.class, employee);
+                query.setSelectionCriteria(employee.get("firstName").equal("Bob").and(employee.get("salary").greaterThan(employee.getParameter("salary"))));
+                query.addArgument("salary", Integer.class);
+                query.addAscendingOrdering("lastName");
+                List arguments = new ArrayList();
+                arguments.add(index);
+                Session clientSession = session.acquireClientSession();
+                try {
+                    clientSession.executeQuery(query, arguments);
+                } finally {
+                    clientSession.release();
+                }
+            }
+            assertTrue("The expression query cache was not used: " + hits[0] + " hits, " + misses[0] + " misses", hits[0] >= 1);
+        } finally {
+            session.setProfiler(originalProfiler);
+        }
+    }
+
+    /**
+     * Test that the query statistics monitor aggregates the executions of a query by SQL.
+     */
+    public void testQueryStatisticsMonitor() {
+        ServerSession session = getServerSession();
+        SessionProfiler originalProfiler = session.getProfiler();
+        final int[] profiled = new int[1];
+        // The monitor forwards to another profiler, so both can be used.
+        QueryStatisticsMonitor monitor = new QueryStatisticsMonitor(new SessionProfilerAdapter() {
+            public Object profileExecutionOfQuery(DatabaseQuery query, Record row, AbstractSession session) {
+                profiled[0]++;
+                return super.profileExecutionOfQuery(query, row, session);
+            }
+        });
+        session.setProfiler(monitor);
+        EntityManager em = createEntityManager();
+        try {
+            int size = 0;
+            for (int index = 0; index < 2; index++) {
+                Query query = em.createQuery("Select e from Employee e where e.salary > :salary");
+                query.setParameter("salary", index);
+                // The executions are aggregated even if the arguments are printed as literals.
+                query.setHint(QueryHints.BIND_PARAMETERS, HintValues.FALSE);
+                size = size + query.getResultList().size();
+            }
+            QueryStatistics statistics = null;
+            for (QueryStatistics each : monitor.getQueryStatistics()) {
+                if (each.getStatement().indexOf("SALARY >") != -1) {
+                    statistics = each;
+                }
+            }
+            assertNotNull("No statistics were recorded: " + monitor.getQueryStatistics(), statistics);
+            assertEquals("Wrong number of calls: " + statistics, 2, statistics.getCalls());
+            assertEquals("Wrong number of objects: " + statistics, size, statistics.getObjectsBuilt());
+            assertTrue("Wrong number of rows: " + statistics, statistics.getRowsFetched() >= size);
+            assertTrue("Wrong execution times: " + statistics, (statistics.getMinTime() <= statistics.get99thPercentileTime()) && (statistics.get99thPercentileTime() <= statistics.getMaxTime()));
+            assertTrue("The queries were not forwarded to the profiler", profiled[0] >= 2);
+            assertEquals("Select ID from EMPLOYEE t1 where SALARY > ? and L_NAME = ?",
+                QueryStatisticsMonitor.normalizeSQL("Select ID from EMPLOYEE t1 where SALARY > 10.5 and L_NAME = 'O''Brien'"));
+
+            // The least executed statements are evicted once the limit is reached.
+            monitor.setMaxStatements(2);
+            em.createQuery("Select p from PhoneNumber p").getResultList();
+            em.createQuery("Select a from Address a").getResultList();
+            assertTrue("Too many statements: " + monitor.getQueryStatistics(), monitor.getQueryStatistics().size() <= 2);
+            assertNotNull("The most executed statement was evicted: " + monitor.getQueryStatistics(), monitor.getQueryStatistics(statistics.getStatement()));
+        } finally {
+            closeEntityManager(em);
+            session.setProfiler(originalProfiler);
+        }
+    }
+
     /**
      * Test using the hint hint.
      */
@@ -1856,6 +2114,98 @@ public class AdvancedQueryTestSuite extends JUnitTestCase {
         }
     }
 
+    /**
+     * Test that join fetched collections are batch read when the query batches collection joins.
+     */
+    public void testBatchCollectionJoins() {
+        clearCache();
+        EntityManager em = createEntityManager();
+        beginTransaction(em);
+        // Count SQL.
+        QuerySQLTracker counter = new QuerySQLTracker(getServerSession());
+        try {
+            Query query = em.createQuery("Select e from Employee e left join fetch e.phoneNumbers where e.gender = :g1 or e.gender = :g2");
+            query.setHint(QueryHints.LEFT_FETCH, "e.address");
+            query.setHint(QueryHints.LEFT_FETCH, "e.responsibilities");
+            query.setHint(QueryHints.LEFT_FETCH, "e.dealers");
+            query.setHint(QueryHints.LEFT_FETCH, "e.workWeek");
+            query.setHint(QueryHints.BATCH_COLLECTION_JOINS, HintValues.TRUE);
+            query.setParameter("g1", Gender.Male);
+            query.setParameter("g2", Gender.Female);
+            List<Employee> results = query.getResultList();
+            if (isWeavingEnabled() && counter.getSqlStatements().size() != 1) {
+                fail("Should have been 1 query but was: " + counter.getSqlStatements().size());
+            }
+            if (isWeavingEnabled() && (counter.getSqlStatements().get(0).toUpperCase().indexOf("PHONE") != -1)) {
+                fail("The phone numbers should not have been joined: " + counter.getSqlStatements().get(0));
+            }
+            for (Employee employee : results) {
+                employee.getAddress();
+                employee.getResponsibilities().size();
+                employee.getDealers().size();
+                employee.getPhoneNumbers().size();
+                employee.getWorkWeek().size();
+            }
+            // The address is still joined, each collection is read by one batch query.
+            int queries = 5;
+            if (isWeavingEnabled() && counter.getSqlStatements().size() > queries) {
+                fail("Should have been " + queries + " queries but was: " + counter.getSqlStatements().size());
+            }
+            clearCache();
+            for (Employee employee : results) {
+                verifyObject(employee);
+            }
+        } finally {
+            rollbackTransaction(em);
+            closeEntityManager(em);
+            if (counter != null) {
+                counter.remove();
+            }
+        }
+    }
+
+    /**
+     * Test that the joins are restored when the query no longer batches collection joins,
+     * and that the joined collection mappings excluded by the fetch group are not batch read.
+     */
+    public void testBatchCollectionJoinsPrepare() {
+        AbstractSession session = getServerSession();
+        ClassDescriptor descriptor = session.getDescriptor(Employee.class);
+        ReadAllQuery query = new ReadAllQuery(Employee.class);
+        query.addJoinedAttribute(query.getExpressionBuilder().anyOfAllowingNone("phoneNumbers"));
+        query.setShouldBatchCollectionJoins(true);
+        query.checkPrepare(session, new DatabaseRecord());
+        assertTrue("The phone numbers should be batch read.", query.isAttributeBatchRead(descriptor, "phoneNumbers"));
+        assertTrue("The phone numbers should not be joined: " + query.getSQLString(), query.getSQLString().toUpperCase().indexOf("PHONE") == -1);
+        query.setShouldBatchCollectionJoins(false);
+        assertEquals("The join should be restored.", 1, query.getJoinedAttributeManager().getJoinedAttributeExpressions().size());
+        query.checkPrepare(session, new DatabaseRecord());
+        assertFalse("The phone numbers should not be batch read.", query.hasBatchReadAttributes());
+        assertTrue("The phone numbers should be joined: " + query.getSQLString(), query.getSQLString().toUpperCase().indexOf("PHONE") != -1);
+
+        // Join fetch the projects in the descriptor.
+        DatabaseMapping mapping = descriptor.getMappingForAttributeName("projects");
+        descriptor.getObjectBuilder().getJoinedAttributes().add(mapping);
+        try {
+            query = new ReadAllQuery(Employee.class);
+            query.setShouldBatchCollectionJoins(true);
+            query.checkPrepare(session, new DatabaseRecord());
+            assertTrue("The projects should be batch read.", query.isAttributeBatchRead(descriptor, "projects"));
+            // Fetch groups require weaving.
+            if (descriptor.hasFetchGroupManager()) {
+                query = new ReadAllQuery(Employee.class);
+                query.setShouldBatchCollectionJoins(true);
+                FetchGroup fetchGroup = new FetchGroup();
+                fetchGroup.addAttribute("firstName");
+                query.setFetchGroup(fetchGroup);
+                query.checkPrepare(session, new DatabaseRecord());
+                assertFalse("The projects are not in the fetch group and should not be batch read.", query.isAttributeBatchRead(descriptor, "projects"));
+            }
+        } finally {
+            descriptor.getObjectBuilder().getJoinedAttributes().remove(mapping);
+        }
+    }
+
     /**
      * Test batch fetching of maps.
      */
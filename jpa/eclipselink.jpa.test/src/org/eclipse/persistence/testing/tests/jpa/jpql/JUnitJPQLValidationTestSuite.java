@@ -32,7 +32,9 @@ import org.eclipse.persistence.config.QueryHints;
 import org.eclipse.persistence.exceptions.*;
 import org.eclipse.persistence.internal.databaseaccess.DatabasePlatform;
 import org.eclipse.persistence.internal.jpa.EntityManagerImpl;
+import org.eclipse.persistence.internal.jpa.jpql.HermesParser;
 import org.eclipse.persistence.mappings.DirectToFieldMapping;
+import org.eclipse.persistence.queries.DatabaseQuery;
 import org.eclipse.persistence.testing.models.jpa.advanced.Employee;
 import org.eclipse.persistence.testing.models.jpa.advanced.EmployeePopulator;
 import org.eclipse.persistence.testing.framework.junit.JUnitTestCase;
@@ -134,6 +136,8 @@ public class JUnitJPQLValidationTestSuite extends JUnitTestCase
         suite.addTest(new JUnitJPQLValidationTestSuite("invalidColumnExpressionTest"));
         suite.addTest(new JUnitJPQLValidationTestSuite("invalidFunctionExpressionTest"));
         suite.addTest(new JUnitJPQLValidationTestSuite("invalidOperatorExpressionTest"));
+        suite.addTest(new JUnitJPQLValidationTestSuite("testLazyValidation"));
+        suite.addTest(new JUnitJPQLValidationTestSuite("testValidationLevelCaseInsensitive"));
         
         return suite;
     }
@@ -1246,6 +1250,58 @@ public class JUnitJPQLValidationTestSuite extends JUnitTestCase
         }   
     }
     
+    /**
+     * The lazy validation only validates semantically when the translation fails.
+     */
+    public void testLazyValidation() {
+        if (!isHermesParser()) {
+            warning("testLazyValidation only works with Hermes");
+            return;
+        }
+        AbstractSession session = (AbstractSession)getDatabaseSession();
+        HermesParser parser = new HermesParser();
+        // Property values are case insensitive.
+        parser.setValidationLevel("lazy");
+        DatabaseQuery query = parser.buildQuery("Select e from Employee e where e.firstName = 'Bob'", session);
+        assertTrue("Expected a ReadAllQuery", query.isReadAllQuery());
+        String[] invalidQueries = {
+            "Select e from Employee e where",
+            "Select e from Employee e on e.id = 5",
+            "Select e from Employee e where e.firstName = 'Bob' and",
+            "Select e from Employee2 e" };
+        for (String jpql : invalidQueries) {
+            try {
+                parser.buildQuery(jpql, session);
+                fail("JPQLException must be thrown: " + jpql);
+            } catch (JPQLException expected) {
+                // Expected.
+            }
+        }
+    }
+
+    /**
+     * The validation level is case insensitive, so a JPA 1.0 level read from a persistence unit
+     * property rejects a function added in JPA 2.0.
+     */
+    public void testValidationLevelCaseInsensitive() {
+        if (!isHermesParser()) {
+            warning("testValidationLevelCaseInsensitive only works with Hermes");
+            return;
+        }
+        AbstractSession session = (AbstractSession)getDatabaseSession();
+        String jpql = "Select COALESCE(e.firstName, 'Bob') from Employee e";
+        HermesParser parser = new HermesParser();
+        parser.setValidationLevel("jpa 2.0");
+        parser.buildQuery(jpql, session);
+        parser.setValidationLevel("jpa 1.0");
+        try {
+            parser.buildQuery(jpql, session);
+            fail("JPQLException must be thrown with the JPA 1.0 validation level: " + jpql);
+        } catch (JPQLException expected) {
+            // Expected.
+        }
+    }
+
     public static EntityManager createAlternateEntityManager() {
         return Persistence.createEntityManagerFactory("default1", JUnitTestCaseHelper.getDatabaseProperties()).createEntityManager();
     }
@@ -0,0 +1,376 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 and Eclipse Distribution License v. 1.0
+ * which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * Contributors:
+ *     Oracle - 2.6 - initial implementation
+ ******************************************************************************/
+package org.eclipse.persistence.testing.tests.weaving;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.jar.JarEntry;
+import java.util.jar.JarInputStream;
+import java.util.jar.JarOutputStream;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+import org.eclipse.persistence.internal.libraries.asm.ClassReader;
+import org.eclipse.persistence.internal.libraries.asm.ClassVisitor;
+import org.eclipse.persistence.internal.libraries.asm.ClassWriter;
+import org.eclipse.persistence.internal.libraries.asm.Opcodes;
+import org.eclipse.persistence.testing.models.jpa.ddlgeneration.Bar;
+import org.eclipse.persistence.testing.models.jpa.ddlgeneration.BarId;
+import org.eclipse.persistence.testing.models.jpa.ddlgeneration.FooId;
+import org.eclipse.persistence.testing.models.jpa.ddlgeneration.PostAddress;
+import org.eclipse.persistence.testing.models.jpa.ddlgeneration.PostAddressId;
+import org.eclipse.persistence.tools.weaving.jpa.StaticWeaveProcessor;
+
+/**
+ * Tests the parallel and incremental weaving of StaticWeaveProcessor.
+ * The source is a persistence unit of copied model classes, loaded without the test classpath
+ * so that the classes of the source are the ones woven.
+ */
+public class StaticWeaveProcessorTest extends TestCase {
+    protected static final Class[] SOURCE_CLASSES = { Bar.class, BarId.class, FooId.class, PostAddress.class, PostAddressId.class };
+    protected static final String PERSISTENCE_XML = "META-INF/persistence.xml";
+    protected static final byte[] STALE = { 's', 't', 'a', 'l', 'e' };
+
+    protected File directory;
+    protected File source;
+    protected File target;
+
+    public StaticWeaveProcessorTest(String name) {
+        super(name);
+    }
+
+    public static Test suite() {
+        TestSuite suite = new TestSuite("StaticWeaveProcessorTest");
+        suite.addTest(new StaticWeaveProcessorTest("testParallelJarWeave"));
+        suite.addTest(new StaticWeaveProcessorTest("testIncrementalSkipsUnchangedClasses"));
+        suite.addTest(new StaticWeaveProcessorTest("testIncrementalClassChange"));
+        suite.addTest(new StaticWeaveProcessorTest("testIncrementalPersistenceXMLChange"));
+        suite.addTest(new StaticWeaveProcessorTest("testIncrementalManifestChange"));
+        suite.addTest(new StaticWeaveProcessorTest("testIncrementalInPlace"));
+        return suite;
+    }
+
+    public void setUp() throws Exception {
+        directory = File.createTempFile("static-weave", "");
+        directory.delete();
+        directory.mkdirs();
+        source = new File(directory, "source");
+        target = new File(directory, "target");
+        for (Class javaClass : SOURCE_CLASSES) {
+            writeFile(new File(source, getEntryName(javaClass)), readClass(javaClass));
+        }
+        writePersistenceXML("");
+    }
+
+    public void tearDown() {
+        delete(directory);
+    }
+
+    public void testParallelJarWeave() throws Exception {
+        File sourceJar = new File(directory, "source.jar");
+        JarOutputStream output = new JarOutputStream(new FileOutputStream(sourceJar));
+        try {
+            addJarEntry(output, PERSISTENCE_XML, readFile(new File(source, PERSISTENCE_XML)));
+            for (Class javaClass : SOURCE_CLASSES) {
+                addJarEntry(output, getEntryName(javaClass), readClass(javaClass));
+            }
+        } finally {
+            output.close();
+        }
+        File serialJar = new File(directory, "serial.jar");
+        File parallelJar = new File(directory, "parallel.jar");
+        weave(sourceJar, serialJar, 1, false);
+        weave(sourceJar, parallelJar, 4, false);
+
+        List<String> serialNames = new ArrayList<String>();
+        List<byte[]> serialBytes = new ArrayList<byte[]>();
+        readJar(serialJar, serialNames, serialBytes);
+        List<String> parallelNames = new ArrayList<String>();
+        List<byte[]> parallelBytes = new ArrayList<byte[]>();
+        readJar(parallelJar, parallelNames, parallelBytes);
+
+        assertTrue("No class woven", !Arrays.equals(readClass(Bar.class), serialBytes.get(serialNames.indexOf(getEntryName(Bar.class)))));
+        assertEquals(serialNames, parallelNames);
+        for (int index = 0; index < serialNames.size(); index++) {
+            assertTrue("Different bytes for: " + serialNames.get(index), Arrays.equals(serialBytes.get(index), parallelBytes.get(index)));
+        }
+    }
+
+    public void testIncrementalSkipsUnchangedClasses() throws Exception {
+        weave(source, target, 1, true);
+        assertTrue("Manifest not written", new File(target.getPath() + StaticWeaveProcessor.MANIFEST_SUFFIX).isFile());
+        byte[] woven = readFile(new File(target, getEntryName(Bar.class)));
+        markStale();
+
+        weave(source, target, 1, true);
+        for (Class javaClass : SOURCE_CLASSES) {
+            assertStale(javaClass, true);
+        }
+
+        // A full weave rewrites every class.
+        weave(source, target, 1, false);
+        for (Class javaClass : SOURCE_CLASSES) {
+            assertStale(javaClass, false);
+        }
+        assertTrue(Arrays.equals(woven, readFile(new File(target, getEntryName(Bar.class)))));
+    }
+
+    public void testIncrementalClassChange() throws Exception {
+        weave(source, target, 2, true);
+        markStale();
+
+        // Change a class, a persistent class can change the weaving of the others so all are woven.
+        File barFile = new File(source, getEntryName(Bar.class));
+        writeFile(barFile, changeSourceFile(readFile(barFile)));
+        weave(source, target, 2, true);
+        for (Class javaClass : SOURCE_CLASSES) {
+            assertStale(javaClass, false);
+        }
+
+        markStale();
+        weave(source, target, 2, true);
+        for (Class javaClass : SOURCE_CLASSES) {
+            assertStale(javaClass, true);
+        }
+    }
+
+    public void testIncrementalPersistenceXMLChange() throws Exception {
+        weave(source, target, 1, true);
+        markStale();
+
+        writePersistenceXML("<properties><property name=\"eclipselink.weaving.fetchgroups\" value=\"false\"/></properties>");
+        weave(source, target, 1, true);
+        for (Class javaClass : SOURCE_CLASSES) {
+            assertStale(javaClass, false);
+        }
+    }
+
+    public void testIncrementalManifestChange() throws Exception {
+        weave(source, target, 1, true);
+        markStale();
+
+        // A class whose hash in the manifest does not match is woven again.
+        File manifestFile = new File(target.getPath() + StaticWeaveProcessor.MANIFEST_SUFFIX);
+        Properties manifest = new Properties();
+        InputStream input = new FileInputStream(manifestFile);
+        try {
+            manifest.load(input);
+        } finally {
+            input.close();
+        }
+        String key = "entry." + getEntryName(PostAddressId.class);
+        assertNotNull("Class not in manifest", manifest.getProperty(key));
+        manifest.setProperty(key, "0" + manifest.getProperty(key));
+        OutputStream output = new FileOutputStream(manifestFile);
+        try {
+            manifest.store(output, null);
+        } finally {
+            output.close();
+        }
+        weave(source, target, 1, true);
+        assertStale(PostAddressId.class, false);
+        assertStale(Bar.class, true);
+
+        // Without a manifest every class is woven.
+        markStale();
+        assertTrue(manifestFile.delete());
+        weave(source, target, 1, true);
+        for (Class javaClass : SOURCE_CLASSES) {
+            assertStale(javaClass, false);
+        }
+    }
+
+    public void testIncrementalInPlace() throws Exception {
+        byte[] original = readFile(new File(source, getEntryName(Bar.class)));
+        weave(source, source, 1, true);
+        assertTrue("No class woven", !Arrays.equals(original, readFile(new File(source, getEntryName(Bar.class)))));
+
+        // The classes woven in place are the target of the last weave, so they are up to date.
+        for (Class javaClass : SOURCE_CLASSES) {
+            assertTrue(new File(source, getEntryName(javaClass)).setLastModified(1000L));
+        }
+        weave(source, source, 1, true);
+        for (Class javaClass : SOURCE_CLASSES) {
+            assertEquals("Unchanged class woven in place: " + javaClass.getName(), 1000L, new File(source, getEntryName(javaClass)).lastModified());
+        }
+
+        // A recompiled class is woven again.
+        writeFile(new File(source, getEntryName(Bar.class)), original);
+        weave(source, source, 1, true);
+        assertTrue("Changed class not woven in place", !Arrays.equals(original, readFile(new File(source, getEntryName(Bar.class)))));
+    }
+
+    protected void weave(File source, File target, int threadCount, boolean isIncremental) throws Exception {
+        StaticWeaveProcessor processor = new StaticWeaveProcessor(source, target);
+        // The classes must be loaded from the source, not from the test classpath.
+        processor.setClassLoader(new URLClassLoader(new URL[0], new NonTestingClassLoader()));
+        processor.setThreadCount(threadCount);
+        processor.setIncremental(isIncremental);
+        processor.performWeaving();
+    }
+
+    /**
+     * Replace the woven classes of the target, so that the classes woven again can be found.
+     */
+    protected void markStale() throws IOException {
+        for (Class javaClass : SOURCE_CLASSES) {
+            writeFile(new File(target, getEntryName(javaClass)), STALE);
+        }
+    }
+
+    protected void assertStale(Class javaClass, boolean isStale) throws IOException {
+        boolean isWoven = !Arrays.equals(STALE, readFile(new File(target, getEntryName(javaClass))));
+        assertEquals((isStale ? "Unchanged class woven: " : "Changed class not woven: ") + javaClass.getName(), isStale, !isWoven);
+    }
+
+    protected void writePersistenceXML(String content) throws IOException {
+        String xml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+            + "<persistence xmlns=\"http://java.sun.com/xml/ns/persistence\" version=\"2.0\">\n"
+            + "<persistence-unit name=\"static-weave\" transaction-type=\"RESOURCE_LOCAL\">\n"
+            + "<class>" + Bar.class.getName() + "</class>\n"
+            + "<class>" + PostAddress.class.getName() + "</class>\n"
+            + "<exclude-unlisted-classes>false</exclude-unlisted-classes>\n"
+            + content + "\n"
+            + "</persistence-unit>\n"
+            + "</persistence>\n";
+        writeFile(new File(source, PERSISTENCE_XML), xml.getBytes("UTF-8"));
+    }
+
+    /**
+     * Return the class bytes with a different source file attribute.
+     */
+    protected static byte[] changeSourceFile(byte[] classBytes) {
+        ClassWriter writer = new ClassWriter(0);
+        new ClassReader(classBytes).accept(new ClassVisitor(Opcodes.ASM5, writer) {
+            public void visitSource(String sourceFile, String debug) {
+                super.visitSource("Changed" + sourceFile, debug);
+            }
+        }, 0);
+        return writer.toByteArray();
+    }
+
+    protected static String getEntryName(Class javaClass) {
+        return javaClass.getName().replace('.', '/') + ".class";
+    }
+
+    protected static byte[] readClass(Class javaClass) throws IOException {
+        return readStream(javaClass.getClassLoader().getResourceAsStream(getEntryName(javaClass)));
+    }
+
+    protected static byte[] readFile(File file) throws IOException {
+        return readStream(new FileInputStream(file));
+    }
+
+    protected static byte[] readStream(InputStream input) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try {
+            byte[] buffer = new byte[4096];
+            int count = input.read(buffer);
+            while (count != -1) {
+                output.write(buffer, 0, count);
+                count = input.read(buffer);
+            }
+        } finally {
+            input.close();
+        }
+        return output.toByteArray();
+    }
+
+    protected static void writeFile(File file, byte[] bytes) throws IOException {
+        file.getParentFile().mkdirs();
+        OutputStream output = new FileOutputStream(file);
+        try {
+            output.write(bytes);
+        } finally {
+            output.close();
+        }
+    }
+
+    protected static void addJarEntry(JarOutputStream output, String entryName, byte[] bytes) throws IOException {
+        output.putNextEntry(new JarEntry(entryName));
+        output.write(bytes);
+        output.closeEntry();
+    }
+
+    /**
+     * Read the file entries of the jar in order.
+     */
+    protected static void readJar(File jar, List<String> entryNames, List<byte[]> entryBytes) throws IOException {
+        JarInputStream input = new JarInputStream(new FileInputStream(jar));
+        try {
+            JarEntry entry = input.getNextJarEntry();
+            while (entry != null) {
+                if (!entry.isDirectory()) {
+                    entryNames.add(entry.getName());
+                    ByteArrayOutputStream output = new ByteArrayOutputStream();
+                    byte[] buffer = new byte[4096];
+                    int count = input.read(buffer);
+                    while (count != -1) {
+                        output.write(buffer, 0, count);
+                        count = input.read(buffer);
+                    }
+                    entryBytes.add(output.toByteArray());
+                }
+                entry = input.getNextJarEntry();
+            }
+        } finally {
+            input.close();
+        }
+    }
+
+    /**
+     * Loads the EclipseLink classes that classes woven in place refer to, but not the test classes.
+     */
+    protected static class NonTestingClassLoader extends ClassLoader {
+        public NonTestingClassLoader() {
+            super(StaticWeaveProcessor.class.getClassLoader());
+        }
+
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (name.startsWith("org.eclipse.persistence.testing.")) {
+                throw new ClassNotFoundException(name);
+            }
+            return super.loadClass(name, resolve);
+        }
+
+        public URL getResource(String name) {
+            if (name.startsWith("org/eclipse/persistence/testing/")) {
+                return null;
+            }
+            return super.getResource(name);
+        }
+    }
+
+    protected static void delete(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+}
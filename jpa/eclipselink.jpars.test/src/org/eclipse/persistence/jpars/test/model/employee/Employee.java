@@ -66,6 +66,9 @@ import org.eclipse.persistence.annotations.PrivateOwned;
         @NamedQuery(
                 name = "Employee.findAll",
                 query = "SELECT e FROM Employee e ORDER BY e.id"),
+        @NamedQuery(
+                name = "Employee.findAllOrderByGenderAndLastName",
+                query = "SELECT e FROM Employee e ORDER BY e.gender, e.lastName, e.id"),
         @NamedQuery(
                 name = "Employee.deleteAll",
                 query = "DELETE FROM Employee e")
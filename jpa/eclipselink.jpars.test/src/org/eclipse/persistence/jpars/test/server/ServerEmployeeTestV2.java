@@ -12,6 +12,7 @@
  ******************************************************************************/
 package org.eclipse.persistence.jpars.test.server;
 
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
@@ -247,6 +248,16 @@ public class ServerEmployeeTestV2 {
         executeQueryGetAll(MediaType.APPLICATION_JSON_TYPE);
     }
 
+    /**
+     * Test named query keyset paging json.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void testNamedQueryKeysetPagingJSON() throws Exception {
+        namedQueryKeysetPaging(MediaType.APPLICATION_JSON_TYPE);
+    }
+
     /**
      * Test execute single result query xml.
      *
@@ -987,6 +998,58 @@ public class ServerEmployeeTestV2 {
         RestUtils.restDelete(context, new Integer(11025), Employee.class.getSimpleName(), Employee.class, null, null, mediaType);
     }
 
+    private void namedQueryKeysetPaging(MediaType mediaType) throws Exception {
+        // ordered by gender (F, M data values), last name and id
+        Employee holiday = new Employee();
+        holiday.setFirstName("Billie");
+        holiday.setLastName("Holiday");
+        holiday.setGender(Gender.Female);
+        holiday = RestUtils.restUpdate(context, holiday, Employee.class.getSimpleName(), Employee.class, null, mediaType, true);
+        assertNotNull("Employee holiday create failed.", holiday);
+
+        Employee davis = new Employee();
+        davis.setFirstName("Miles");
+        davis.setLastName("Davis, Jr.");
+        davis.setGender(Gender.Male);
+        davis = RestUtils.restUpdate(context, davis, Employee.class.getSimpleName(), Employee.class, null, mediaType, true);
+        assertNotNull("Employee davis create failed.", davis);
+
+        Employee parker = new Employee();
+        parker.setFirstName("Charlie");
+        parker.setLastName("Parker");
+        parker.setGender(Gender.Male);
+        parker = RestUtils.restUpdate(context, parker, Employee.class.getSimpleName(), Employee.class, null, mediaType, true);
+        assertNotNull("Employee parker create failed.", parker);
+
+        // the page after holiday, the gender data value is converted through the gender converter
+        Map<String, String> hints = new HashMap<String, String>();
+        hints.put("limit", "1");
+        hints.put("after", "F%2CHoliday%2C" + holiday.getId());
+        String result = RestUtils.restNamedPagedMultiResultQuery(context, "Employee.findAllOrderByGenderAndLastName", null, hints, mediaType);
+        assertTrue(result, result.contains("\"lastName\":\"Davis, Jr.\""));
+        assertFalse(result, result.contains("\"lastName\":\"Holiday\""));
+        assertFalse(result, result.contains("\"lastName\":\"Parker\""));
+
+        // the next link continues after the last employee of the page, the comma in the last name is escaped
+        String nextAfter = "M%2CDavis%5C%2C%20Jr.%2C" + davis.getId();
+        assertTrue(result, result.contains("after=" + nextAfter));
+        assertTrue(result, result.contains("\"rel\":\"next\""));
+
+        hints.put("after", nextAfter);
+        result = RestUtils.restNamedPagedMultiResultQuery(context, "Employee.findAllOrderByGenderAndLastName", null, hints, mediaType);
+        assertTrue(result, result.contains("\"lastName\":\"Parker\""));
+        assertFalse(result, result.contains("\"lastName\":\"Davis, Jr.\""));
+
+        // the last page has no next link
+        hints.put("after", "M%2CParker%2C" + parker.getId());
+        result = RestUtils.restNamedPagedMultiResultQuery(context, "Employee.findAllOrderByGenderAndLastName", null, hints, mediaType);
+        assertFalse(result, result.contains("\"rel\":\"next\""));
+
+        RestUtils.restDelete(context, holiday.getId(), Employee.class.getSimpleName(), Employee.class, null, null, mediaType);
+        RestUtils.restDelete(context, davis.getId(), Employee.class.getSimpleName(), Employee.class, null, null, mediaType);
+        RestUtils.restDelete(context, parker.getId(), Employee.class.getSimpleName(), Employee.class, null, null, mediaType);
+    }
+
     private void executeQueryGetAll(MediaType mediaType) throws Exception {
         // create address1
         EmployeeAddress address1 = new EmployeeAddress("Newyork City", "USA", "NY", "10005", "Wall Street");
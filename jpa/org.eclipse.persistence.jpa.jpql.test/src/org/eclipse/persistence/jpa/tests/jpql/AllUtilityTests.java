@@ -22,6 +22,7 @@ import org.junit.runners.Suite.SuiteClasses;
 @SuiteClasses({
 	WordParserTest.class,
 	ExpressionToolsTest.class,
+	IdentifierTableTest.class,
 	DefaultContentAssistProposalsTest.class,
 	XmlEscapeCharacterConverterTest.class
 })
@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 and Eclipse Distribution License v. 1.0
+ * which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * Contributors:
+ *     Oracle - 2.6 - initial implementation
+ *
+ ******************************************************************************/
+package org.eclipse.persistence.jpa.tests.jpql;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.eclipse.persistence.jpa.jpql.IdentifierTable;
+import org.eclipse.persistence.jpa.jpql.parser.DefaultEclipseLinkJPQLGrammar;
+import org.eclipse.persistence.jpa.jpql.parser.Expression;
+import org.eclipse.persistence.jpa.jpql.parser.IdentifierRole;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit-tests for {@link IdentifierTable}.
+ *
+ * @version 2.6
+ * @since 2.6
+ */
+@SuppressWarnings("nls")
+public final class IdentifierTableTest {
+
+	private IdentifierTable<String> buildTable() {
+		Map<String, String> entries = new HashMap<String, String>();
+		entries.put(Expression.SELECT, "select");
+		entries.put(Expression.FROM,   "from");
+		entries.put(Expression.WHERE,  "where");
+		entries.put(Expression.ORDER_BY, "order by");
+		return new IdentifierTable<String>(entries);
+	}
+
+	@Test
+	public void testContainsKey() {
+		IdentifierTable<String> table = buildTable();
+		assertTrue(table.containsKey("SELECT"));
+		assertTrue(table.containsKey("order BY"));
+		assertFalse(table.containsKey("SELECTS"));
+		assertFalse(table.containsKey("ORDER"));
+		assertFalse(table.containsKey(""));
+	}
+
+	@Test
+	public void testEmpty() {
+		IdentifierTable<String> table = new IdentifierTable<String>(new HashMap<String, String>());
+		assertEquals(0, table.size());
+		assertNull(table.get("SELECT"));
+		assertFalse(table.containsKey(""));
+	}
+
+	@Test
+	public void testGet() {
+		IdentifierTable<String> table = buildTable();
+		assertEquals(4, table.size());
+		assertEquals("select", table.get("SELECT"));
+		assertEquals("select", table.get("select"));
+		assertEquals("from",   table.get("FroM"));
+		assertNull(table.get("e"));
+	}
+
+	@Test
+	public void testGetRegion() {
+		IdentifierTable<String> table = buildTable();
+		String query = "SELECT e FROM Employee e where e.name = 'JPQL'";
+		assertEquals("select", table.get(query, 0, 6));
+		assertEquals("from",   table.get(query, 9, 13));
+		assertEquals("where",  table.get(query, 25, 30));
+		assertNull(table.get(query, 14, 22));
+		assertNull(table.get(query, 0, 5));
+	}
+
+	@Test
+	public void testGrammarIdentifiers() {
+		Map<String, IdentifierRole> entries = new HashMap<String, IdentifierRole>();
+		for (String identifier : DefaultEclipseLinkJPQLGrammar.instance().getExpressionRegistry().getIdentifiers()) {
+			entries.put(identifier, IdentifierRole.FUNCTION);
+		}
+		IdentifierTable<IdentifierRole> table = new IdentifierTable<IdentifierRole>(entries);
+		assertTrue(table.isPerfect());
+		assertEquals(entries.size(), table.size());
+		for (String identifier : entries.keySet()) {
+			assertSame(identifier, table.intern(identifier, 0, identifier.length()));
+			assertTrue(table.containsKey(identifier.toLowerCase()));
+		}
+	}
+
+	@Test
+	public void testIntern() {
+		IdentifierTable<String> table = buildTable();
+		String query = "SELECT e FROM Employee e where e.name = 'JPQL'";
+		assertSame(Expression.SELECT, table.intern(query, 0, 6));
+		assertSame(Expression.FROM,   table.intern(query, 9, 13));
+		assertNull(table.intern(query, 25, 30));
+		assertNull(table.intern(query, 14, 22));
+	}
+}
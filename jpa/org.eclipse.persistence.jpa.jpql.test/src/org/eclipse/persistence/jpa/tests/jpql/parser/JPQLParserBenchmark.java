@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 and Eclipse Distribution License v. 1.0
+ * which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * Contributors:
+ *     Oracle - 2.6 - initial implementation
+ *
+ ******************************************************************************/
+package org.eclipse.persistence.jpa.tests.jpql.parser;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.persistence.jpa.jpql.parser.EclipseLinkJPQLGrammar2_4;
+import org.eclipse.persistence.jpa.jpql.parser.EclipseLinkJPQLGrammar2_5;
+import org.eclipse.persistence.jpa.jpql.parser.JPQLExpression;
+import org.eclipse.persistence.jpa.jpql.parser.JPQLGrammar;
+import org.eclipse.persistence.jpa.jpql.parser.JPQLGrammar1_0;
+import org.eclipse.persistence.jpa.jpql.parser.JPQLGrammar2_0;
+import org.eclipse.persistence.jpa.jpql.parser.JPQLGrammar2_1;
+import org.eclipse.persistence.jpa.tests.jpql.EclipseLinkJPQLQueries2_4;
+import org.eclipse.persistence.jpa.tests.jpql.EclipseLinkJPQLQueries2_5;
+import org.eclipse.persistence.jpa.tests.jpql.JPQLQueries1_0;
+import org.eclipse.persistence.jpa.tests.jpql.JPQLQueries2_0;
+import org.eclipse.persistence.jpa.tests.jpql.JPQLQueries2_1;
+
+/**
+ * Measures the time taken to parse the JPQL queries written for each grammar, which is used to
+ * track the performance of the parser. This is not a unit-test, it is run as an application, the
+ * optional arguments are the number of warm-up iterations and the number of measured iterations.
+ *
+ * @version 2.6
+ * @since 2.6
+ */
+@SuppressWarnings("nls")
+public final class JPQLParserBenchmark {
+
+	private JPQLParserBenchmark() {
+		super();
+	}
+
+	public static void main(String[] args) throws Exception {
+
+		int warmUpIterations   = (args.length > 0) ? Integer.parseInt(args[0]) : 200;
+		int measuredIterations = (args.length > 1) ? Integer.parseInt(args[1]) : 1000;
+
+		run("JPQL 1.0",              JPQLGrammar1_0.instance(),            JPQLQueries1_0.class,            warmUpIterations, measuredIterations);
+		run("JPQL 2.0",              JPQLGrammar2_0.instance(),            JPQLQueries2_0.class,            warmUpIterations, measuredIterations);
+		run("JPQL 2.1",              JPQLGrammar2_1.instance(),            JPQLQueries2_1.class,            warmUpIterations, measuredIterations);
+		run("EclipseLink JPQL 2.4",  EclipseLinkJPQLGrammar2_4.instance(), EclipseLinkJPQLQueries2_4.class, warmUpIterations, measuredIterations);
+		run("EclipseLink JPQL 2.5",  EclipseLinkJPQLGrammar2_5.instance(), EclipseLinkJPQLQueries2_5.class, warmUpIterations, measuredIterations);
+	}
+
+	private static void parse(List<String> queries, JPQLGrammar grammar, int iterations) {
+		for (int iteration = iterations; --iteration >= 0; ) {
+			for (String query : queries) {
+				new JPQLExpression(query, grammar, true);
+			}
+		}
+	}
+
+	private static List<String> queries(Class<?> queriesClass) throws Exception {
+
+		List<String> queries = new ArrayList<String>();
+
+		for (Method method : queriesClass.getDeclaredMethods()) {
+			if (Modifier.isStatic(method.getModifiers()) &&
+			    method.getName().startsWith("query_") &&
+			    (method.getParameterTypes().length == 0)) {
+
+				queries.add((String) method.invoke(null));
+			}
+		}
+
+		return queries;
+	}
+
+	private static void run(String name,
+	                        JPQLGrammar grammar,
+	                        Class<?> queriesClass,
+	                        int warmUpIterations,
+	                        int measuredIterations) throws Exception {
+
+		List<String> queries = queries(queriesClass);
+
+		parse(queries, grammar, warmUpIterations);
+
+		long start = System.nanoTime();
+		parse(queries, grammar, measuredIterations);
+		long elapsed = System.nanoTime() - start;
+
+		double microseconds = elapsed / 1000.0 / measuredIterations / queries.size();
+
+		System.out.println(String.format(
+			"%-22s %4d queries  %8.2f us/parse",
+			name, queries.size(), microseconds
+		));
+	}
+}
@@ -1554,4 +1554,34 @@ public final class WordParserTest {
 		assertEquals("'value'", word);
 		assertSame(WordType.STRING_LITERAL, wordParser.getWordType());
 	}
+
+	@Test
+	public void testWord_96() {
+
+		String query = "SELECT e FROM Employee e WHERE e.name = 'JPQL'";
+
+		WordParser wordParser = new WordParser(query);
+		assertSame(Expression.SELECT, wordParser.word());
+
+		wordParser.moveForward("SELECT e ");
+		assertSame(Expression.FROM, wordParser.word());
+
+		wordParser.moveForward("FROM Employee e ");
+		assertSame(Expression.WHERE, wordParser.moveForward(Expression.WHERE));
+	}
+
+	@Test
+	public void testWord_97() {
+
+		String query = "select e from Employee e";
+
+		WordParser wordParser = new WordParser(query);
+		String word = wordParser.word();
+		assertEquals("select", word);
+		assertNotSame(Expression.SELECT, word);
+
+		wordParser.moveForward("select ");
+		assertSame(wordParser.word(), wordParser.word());
+		assertEquals("e", wordParser.word());
+	}
 }
\ No newline at end of file
@@ -0,0 +1,323 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 and Eclipse Distribution License v. 1.0
+ * which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * Contributors:
+ *     Oracle - 2.6 - initial implementation
+ *
+ ******************************************************************************/
+package org.eclipse.persistence.jpa.jpql;
+
+import java.util.Map;
+
+/**
+ * An immutable lookup table keyed by JPQL identifiers where the case of the characters is ignored.
+ * A lookup can be done directly on a region of the JPQL query, which means the word does not have
+ * to be converted into a string nor into upper case first.
+ * <p>
+ * When the table is created, a table size and a hash seed that give every identifier its own slot
+ * are searched for, which means a lookup compares the word with at most one identifier. If no such
+ * combination is found, the table falls back to linear probing.
+ * <p>
+ * Provisional API: This interface is part of an interim API that is still under development and
+ * expected to change significantly before reaching stability. It is available at this early stage
+ * to solicit feedback from pioneering adopters on the understanding that any code that uses this
+ * API will almost certainly be broken (repeatedly) as the API evolves.
+ *
+ * @param <V> The type of the values associated with the identifiers
+ * @version 2.6
+ * @since 2.6
+ */
+public final class IdentifierTable<V> {
+
+	/**
+	 * The identifiers, each one stored at the slot calculated from its hash.
+	 */
+	private final String[] keys;
+
+	/**
+	 * The mask used to convert a hash into a slot, the length of the table minus one.
+	 */
+	private final int mask;
+
+	/**
+	 * Determines whether each identifier has its own slot, in which case a lookup never probes.
+	 */
+	private final boolean perfect;
+
+	/**
+	 * The seed mixed with the hash of the identifiers.
+	 */
+	private final int seed;
+
+	/**
+	 * The number of identifiers.
+	 */
+	private final int size;
+
+	/**
+	 * The values, stored at the same slot as their identifier.
+	 */
+	private final Object[] values;
+
+	/**
+	 * The number of seeds tried for each table size before trying a larger table.
+	 */
+	private static final int SEED_COUNT = 32;
+
+	/**
+	 * Creates a new <code>IdentifierTable</code>.
+	 *
+	 * @param entries The identifiers mapped to their value, two identifiers cannot differ only by
+	 * the case of their characters
+	 */
+	public IdentifierTable(Map<String, ? extends V> entries) {
+		super();
+
+		String[] identifiers = entries.keySet().toArray(new String[entries.size()]);
+		int[] hashes = new int[identifiers.length];
+
+		for (int index = identifiers.length; --index >= 0; ) {
+			hashes[index] = hash(identifiers[index], 0, identifiers[index].length());
+		}
+
+		// Search for a table size and a seed without any collision
+		int minimumLength = tableLength(identifiers.length * 2);
+		int maximumLength = tableLength(identifiers.length * 8);
+		int length = -1;
+		int seed = 0;
+
+		search: for (int tableLength = minimumLength; tableLength <= maximumLength; tableLength <<= 1) {
+			boolean[] used = new boolean[tableLength];
+
+			for (int seedIndex = 0; seedIndex < SEED_COUNT; seedIndex++) {
+				int candidate = seedIndex * 0x9E3779B9;
+
+				if (isPerfect(hashes, candidate, used)) {
+					length = tableLength;
+					seed   = candidate;
+					break search;
+				}
+
+				for (int index = tableLength; --index >= 0; ) {
+					used[index] = false;
+				}
+			}
+		}
+
+		this.perfect = (length != -1);
+		this.seed    = seed;
+		this.size    = identifiers.length;
+		this.keys    = new String[perfect ? length : minimumLength];
+		this.values  = new Object[keys.length];
+		this.mask    = keys.length - 1;
+
+		for (int index = 0; index < identifiers.length; index++) {
+			int slot = slot(hashes[index]);
+
+			while (keys[slot] != null) {
+				slot = (slot + 1) & mask;
+			}
+
+			keys[slot]   = identifiers[index];
+			values[slot] = entries.get(identifiers[index]);
+		}
+	}
+
+	/**
+	 * Determines whether the given text contains an identifier in this table.
+	 *
+	 * @param text The text to look up, the case of the characters is ignored
+	 * @return <code>true</code> if the text is an identifier; <code>false</code> otherwise
+	 */
+	public boolean containsKey(CharSequence text) {
+		return find(text, 0, text.length(), true) != -1;
+	}
+
+	/**
+	 * Looks up the slot of the identifier matching the given portion of text.
+	 *
+	 * @param text The text containing the word
+	 * @param startIndex The beginning of the word, inclusive
+	 * @param endIndex The end of the word, exclusive
+	 * @param ignoreCase Whether the case of the characters is ignored
+	 * @return The slot of the identifier or -1 if the word is not an identifier
+	 */
+	private int find(CharSequence text, int startIndex, int endIndex, boolean ignoreCase) {
+
+		if (size == 0) {
+			return -1;
+		}
+
+		int slot = slot(hash(text, startIndex, endIndex));
+
+		for (String key = keys[slot]; key != null; key = keys[slot]) {
+
+			if (matches(key, text, startIndex, endIndex, ignoreCase)) {
+				return slot;
+			}
+
+			if (perfect) {
+				break;
+			}
+
+			slot = (slot + 1) & mask;
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Retrieves the value associated with the identifier matching the given text.
+	 *
+	 * @param text The text to look up, the case of the characters is ignored
+	 * @return The value associated with the identifier or <code>null</code> if the text is not an
+	 * identifier
+	 */
+	public V get(CharSequence text) {
+		return get(text, 0, text.length());
+	}
+
+	/**
+	 * Retrieves the value associated with the identifier matching the given portion of text.
+	 *
+	 * @param text The text containing the word to look up, the case of the characters is ignored
+	 * @param startIndex The beginning of the word, inclusive
+	 * @param endIndex The end of the word, exclusive
+	 * @return The value associated with the identifier or <code>null</code> if the word is not an
+	 * identifier
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(CharSequence text, int startIndex, int endIndex) {
+		int slot = find(text, startIndex, endIndex, true);
+		return (slot == -1) ? null : (V) values[slot];
+	}
+
+	/**
+	 * Calculates the hash of the given portion of text, the case of the characters is ignored.
+	 *
+	 * @param text The text containing the word
+	 * @param startIndex The beginning of the word, inclusive
+	 * @param endIndex The end of the word, exclusive
+	 * @return The hash of the word
+	 */
+	private static int hash(CharSequence text, int startIndex, int endIndex) {
+		int hash = 0;
+		for (int index = startIndex; index < endIndex; index++) {
+			hash = 31 * hash + Character.toUpperCase(text.charAt(index));
+		}
+		return hash;
+	}
+
+	/**
+	 * Returns the identifier stored in this table that has the exact same characters as the given
+	 * portion of text, which lets a word be converted into a string without creating a new one.
+	 *
+	 * @param text The text containing the word to look up
+	 * @param startIndex The beginning of the word, inclusive
+	 * @param endIndex The end of the word, exclusive
+	 * @return The identifier or <code>null</code> if the word is not an identifier or if the case
+	 * of its characters is different
+	 */
+	public String intern(CharSequence text, int startIndex, int endIndex) {
+		int slot = find(text, startIndex, endIndex, false);
+		return (slot == -1) ? null : keys[slot];
+	}
+
+	/**
+	 * Determines whether the hashes can be stored in a table of the given length without collision.
+	 *
+	 * @param hashes The hashes of the identifiers
+	 * @param seed The seed to mix with the hashes
+	 * @param used The table of used slots, which is initially empty
+	 * @return <code>true</code> if each hash has its own slot; <code>false</code> otherwise
+	 */
+	private static boolean isPerfect(int[] hashes, int seed, boolean[] used) {
+		int mask = used.length - 1;
+		for (int hash : hashes) {
+			int slot = mix(hash, seed) & mask;
+			if (used[slot]) {
+				return false;
+			}
+			used[slot] = true;
+		}
+		return true;
+	}
+
+	/**
+	 * Determines whether each identifier has its own slot, in which case a lookup compares the word
+	 * with at most one identifier.
+	 *
+	 * @return <code>true</code> if there is no collision in this table; <code>false</code> otherwise
+	 */
+	public boolean isPerfect() {
+		return perfect;
+	}
+
+	/**
+	 * Determines whether the given identifier has the same characters as the given portion of text.
+	 */
+	private static boolean matches(String key, CharSequence text, int startIndex, int endIndex, boolean ignoreCase) {
+
+		if (key.length() != endIndex - startIndex) {
+			return false;
+		}
+
+		for (int index = key.length(); --index >= 0; ) {
+			char character1 = key.charAt(index);
+			char character2 = text.charAt(startIndex + index);
+
+			if ((character1 != character2) &&
+			    (!ignoreCase || (Character.toUpperCase(character1) != Character.toUpperCase(character2)))) {
+
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Mixes the bits of the given hash with the seed so the low bits used for the slot depend on all
+	 * of the characters.
+	 */
+	private static int mix(int hash, int seed) {
+		hash ^= seed;
+		hash *= 0x85EBCA6B;
+		hash ^= (hash >>> 15);
+		hash *= 0xC2B2AE35;
+		return hash ^ (hash >>> 16);
+	}
+
+	/**
+	 * Returns the number of identifiers contained in this table.
+	 *
+	 * @return The number of identifiers
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Converts the given hash into the slot where the identifier is stored or starts to be probed.
+	 */
+	private int slot(int hash) {
+		return mix(hash, seed) & mask;
+	}
+
+	/**
+	 * Returns the smallest power of two that is equal to or greater than the given count.
+	 */
+	private static int tableLength(int count) {
+		int length = 2;
+		while (length < count) {
+			length <<= 1;
+		}
+		return length;
+	}
+}
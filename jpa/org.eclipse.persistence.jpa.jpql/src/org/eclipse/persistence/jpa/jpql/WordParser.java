@@ -13,6 +13,12 @@
  ******************************************************************************/
 package org.eclipse.persistence.jpa.jpql;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+import org.eclipse.persistence.jpa.jpql.parser.Expression;
+
 /**
  * This "parser/scanner" holds onto the string version of the JPQL query that is parsed into a
  * parsed tree. It uses a cursor that lets the current {@link org.eclipse.persistence.jpa.jpql.
@@ -23,12 +29,35 @@ package org.eclipse.persistence.jpa.jpql;
  * to solicit feedback from pioneering adopters on the understanding that any code that uses this
  * API will almost certainly be broken (repeatedly) as the API evolves.
  *
- * @version 2.5.1
+ * @version 2.6
  * @since 2.3
  * @author Pascal Filion
  */
 public final class WordParser {
 
+	/**
+	 * The strings of the ASCII characters, a word of one character is one of them rather than a new
+	 * string.
+	 *
+	 * @since 2.6
+	 */
+	private static final String[] CHARACTERS;
+
+	/**
+	 * The JPQL identifiers made of a single word, defined by {@link Expression}. A word that is one
+	 * of these identifiers, with the same case, is the constant rather than a new string.
+	 *
+	 * @since 2.6
+	 */
+	private static final IdentifierTable<String> IDENTIFIERS;
+
+	/**
+	 * The length of the longest identifier in {@link #IDENTIFIERS}, a longer word is not looked up.
+	 *
+	 * @since 2.6
+	 */
+	private static final int IDENTIFIER_MAXIMUM_LENGTH;
+
 	/**
 	 * The current position of the cursor within the JPQL query.
 	 */
@@ -53,6 +82,35 @@ public final class WordParser {
 	 */
 	private WordType wordType;
 
+	static {
+		CHARACTERS = new String[128];
+
+		for (int index = CHARACTERS.length; --index >= 0; ) {
+			CHARACTERS[index] = String.valueOf((char) index);
+		}
+
+		Map<String, String> identifiers = new HashMap<String, String>();
+		int maximumLength = 0;
+
+		for (Field field : Expression.class.getFields()) {
+			if ((field.getType() == String.class) && Modifier.isStatic(field.getModifiers())) {
+				try {
+					String identifier = (String) field.get(null);
+					if (identifier.indexOf(' ') == -1) {
+						identifiers.put(identifier, identifier);
+						maximumLength = Math.max(maximumLength, identifier.length());
+					}
+				}
+				catch (IllegalAccessException e) {
+					// Not possible, the constants of an interface are public
+				}
+			}
+		}
+
+		IDENTIFIERS = new IdentifierTable<String>(identifiers);
+		IDENTIFIER_MAXIMUM_LENGTH = maximumLength;
+	}
+
 	/**
 	 * Creates a new <code>WordParser</code>.
 	 *
@@ -935,6 +993,23 @@ public final class WordParser {
 	 * @return The remain of the string that is within the given positions
 	 */
 	public String substring(int startIndex, int endIndex) {
+
+		int count = endIndex - startIndex;
+
+		// Single characters and JPQL identifiers are returned without creating a new string
+		if (count == 1) {
+			char character = text.charAt(startIndex);
+			if (character < CHARACTERS.length) {
+				return CHARACTERS[character];
+			}
+		}
+		else if ((count > 1) && (count <= IDENTIFIER_MAXIMUM_LENGTH)) {
+			String identifier = IDENTIFIERS.intern(text, startIndex, endIndex);
+			if (identifier != null) {
+				return identifier;
+			}
+		}
+
 		return text.subSequence(startIndex, endIndex).toString();
 	}
 
@@ -19,6 +19,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 import org.eclipse.persistence.jpa.jpql.Assert;
+import org.eclipse.persistence.jpa.jpql.IdentifierTable;
 import org.eclipse.persistence.jpa.jpql.JPAVersion;
 
 /**
@@ -52,6 +53,12 @@ public class ExpressionRegistry {
 	 */
 	private Map<String, IdentifierRole> identifiers;
 
+	/**
+	 * The lookup table of {@link #identifiers}, which does not require the identifier to be converted
+	 * to upper case. It is created when first used and discarded when an identifier is registered.
+	 */
+	private volatile IdentifierTable<IdentifierRole> identifierTable;
+
 	/**
 	 * This table specify in which JPA version the identifiers was introduced.
 	 */
@@ -163,7 +170,7 @@ public class ExpressionRegistry {
 	 * @return The {@link IdentifierRole} of the given JPQL identifier
 	 */
 	public IdentifierRole getIdentifierRole(String identifier) {
-		return identifiers.get(identifier.toUpperCase());
+		return identifierTable().get(identifier);
 	}
 
 	/**
@@ -224,7 +231,16 @@ public class ExpressionRegistry {
 	 * @return <code>true</code> if the word is an identifier, <code>false</code> otherwise
 	 */
 	public boolean isIdentifier(String text) {
-		return identifiers.containsKey(text.toUpperCase());
+		return identifierTable().containsKey(text);
+	}
+
+	private IdentifierTable<IdentifierRole> identifierTable() {
+		IdentifierTable<IdentifierRole> table = identifierTable;
+		if (table == null) {
+			table = new IdentifierTable<IdentifierRole>(identifiers);
+			identifierTable = table;
+		}
+		return table;
 	}
 
 	/**
@@ -270,6 +286,7 @@ public class ExpressionRegistry {
 		Assert.isNotNull(role,       "The IdentifierRole cannot be null");
 
 		identifiers.put(identifier, role);
+		identifierTable = null;
 	}
 
 	/**
@@ -20,6 +20,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import org.eclipse.persistence.jpa.jpql.IdentifierTable;
 import org.eclipse.persistence.jpa.jpql.utility.filter.Filter;
 import org.eclipse.persistence.jpa.jpql.utility.filter.NullFilter;
 import org.eclipse.persistence.jpa.jpql.utility.iterable.ArrayIterable;
@@ -47,9 +48,9 @@ public abstract class JPQLQueryBNF {
 
 	/**
 	 * Caches the {@link ExpressionFactory} mapped by their the JPQL identifier registered with those
-	 * {@link ExpressionFactory}.
+	 * {@link ExpressionFactory}. The table is looked up without converting the word to upper case.
 	 */
-	private Map<String, ExpressionFactory> cachedExpressionFactories;
+	private IdentifierTable<ExpressionFactory> cachedExpressionFactories;
 
 	/**
 	 * Caches the collection of unique identifiers of the {@link ExpressionFactory} registered with
@@ -216,7 +217,7 @@ public abstract class JPQLQueryBNF {
 				cachedIdentifiers = new String[factories.size()];
 				factories.keySet().toArray(cachedIdentifiers);
 
-				cachedExpressionFactories = factories;
+				cachedExpressionFactories = new IdentifierTable<ExpressionFactory>(factories);
 			}
 		}
 	}
@@ -310,13 +311,13 @@ public abstract class JPQLQueryBNF {
 
 		// No need to synchronize if the map was calculated
 		if (cachedExpressionFactories != null) {
-			return cachedExpressionFactories.get(identifier.toUpperCase());
+			return cachedExpressionFactories.get(identifier);
 		}
 
 		// Synchronize to make sure only one thread populates the list of JPQL identifiers
 		calculateExpressionFactories();
 
-		return cachedExpressionFactories.get(identifier.toUpperCase());
+		return cachedExpressionFactories.get(identifier);
 	}
 
 	/**
@@ -516,13 +517,13 @@ public abstract class JPQLQueryBNF {
 
 		// No need to synchronize if the map of cached ExpressionFactory was calculated
 		if (cachedExpressionFactories != null) {
-			return cachedExpressionFactories.containsKey(word);
+			return cachedExpressionFactories.intern(word, 0, word.length()) != null;
 		}
 
 		// Synchronize to make sure only one thread calculates it
 		calculateExpressionFactories();
 
-		return cachedExpressionFactories.containsKey(word);
+		return cachedExpressionFactories.intern(word, 0, word.length()) != null;
 	}
 
 	/**
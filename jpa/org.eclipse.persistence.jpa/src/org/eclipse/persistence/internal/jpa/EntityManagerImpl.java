@@ -53,6 +53,7 @@ import org.eclipse.persistence.descriptors.*;
 import org.eclipse.persistence.exceptions.*;
 import org.eclipse.persistence.expressions.Expression;
 import org.eclipse.persistence.internal.databaseaccess.Accessor;
+import org.eclipse.persistence.internal.databaseaccess.DatabasePlatform;
 import org.eclipse.persistence.internal.descriptors.OptimisticLockingPolicy;
 import org.eclipse.persistence.internal.helper.BasicTypeHelperImpl;
 import org.eclipse.persistence.internal.identitymaps.CacheId;
@@ -64,6 +65,7 @@ import org.eclipse.persistence.internal.localization.ExceptionLocalization;
 import org.eclipse.persistence.internal.sessions.*;
 import org.eclipse.persistence.jpa.JpaEntityManager;
 import org.eclipse.persistence.logging.SessionLog;
+import org.eclipse.persistence.mappings.ForeignReferenceMapping;
 import org.eclipse.persistence.queries.*;
 import org.eclipse.persistence.sessions.*;
 import org.eclipse.persistence.sessions.UnitOfWork.CommitOrderType;
@@ -768,20 +770,177 @@ public class EntityManagerImpl implements org.eclipse.persistence.jpa.JpaEntityM
     }
 
     /**
-     * Find by primary key.
+     * Find all of the entities of the class with the primary keys.
+     * 
+     * @see JpaEntityManager#findAll(Class, Collection)
+     * @since EclipseLink 2.6
+     */
+    public <T> List<T> findAll(Class<T> entityClass, Collection<?> primaryKeys) {
+        return findAll(entityClass, primaryKeys, getQueryHints(entityClass, OperationType.FIND));
+    }
+
+    /**
+     * Find all of the entities of the class with the primary keys, using the
+     * specified properties.
+     * 
+     * @see JpaEntityManager#findAll(Class, Collection, Map)
+     * @since EclipseLink 2.6
+     */
+    public <T> List<T> findAll(Class<T> entityClass, Collection<?> primaryKeys, Map<String, Object> properties) {
+        try {
+            verifyOpen();
+            if (primaryKeys == null) {
+                throw new IllegalArgumentException(ExceptionLocalization.buildMessage("null_pk"));
+            }
+            AbstractSession session = this.databaseSession;
+            ClassDescriptor descriptor = session.getDescriptor(entityClass);
+            if (descriptor == null || descriptor.isDescriptorTypeAggregate()) {
+                throw new IllegalArgumentException(ExceptionLocalization.buildMessage("unknown_bean_class", new Object[] { entityClass }));
+            }
+            if (!descriptor.shouldBeReadOnly() || !descriptor.isSharedIsolation()) {
+                session = (AbstractSession) getActiveSession();
+            } else {
+                session = (AbstractSession) getReadOnlySession();
+            }
+
+            // Be sure to use the descriptor from the active session.
+            if (descriptor.hasTablePerMultitenantPolicy()) {
+                descriptor = session.getDescriptor(entityClass);
+            }
+            return (List<T>) findAllInternal(descriptor, session, primaryKeys, properties);
+        } catch (RuntimeException e) {
+            setRollbackOnly();
+            throw e;
+        }
+    }
+
+    /**
+     * Find all of the entities with the primary keys.  The cache is checked
+     * for each key first, the misses are read in as few queries as the
+     * platform's IN list size allows.  The result has the entity, or null, for
+     * each primary key in the order given.
+     */
+    protected List<Object> findAllInternal(ClassDescriptor descriptor, AbstractSession session, Collection<?> ids, Map<String, Object> properties) {
+        Object[] primaryKeys = new Object[ids.size()];
+        int index = 0;
+        for (Object id : ids) {
+            primaryKeys[index++] = buildPrimaryKey(descriptor, session, id);
+        }
+
+        // Cache usage hints can bypass or refresh the cache, so the cache is
+        // only checked when none are given, as in findInternal.
+        Map<Object, Object> found;
+        if ((properties == null || ( !properties.containsKey(QueryHints.CACHE_USAGE) && !properties.containsKey(QueryHints.CACHE_RETRIEVE_MODE) && !properties.containsKey(QueryHints.CACHE_STORE_MODE) 
+                && !properties.containsKey("javax.persistence.cacheRetrieveMode") && !properties.containsKey("javax.persistence.cacheStoreMode")))
+                && !descriptor.shouldDisableCacheHits()) {
+            found = findAllInCache(descriptor, session, primaryKeys);
+        } else {
+            found = new HashMap<Object, Object>(primaryKeys.length);
+        }
+
+        List<Object> misses = new ArrayList<Object>(primaryKeys.length - found.size());
+        Set<Object> missed = new HashSet<Object>();
+        for (Object primaryKey : primaryKeys) {
+            if (!found.containsKey(primaryKey) && missed.add(primaryKey)) {
+                misses.add(primaryKey);
+            }
+        }
+        for (int hits = primaryKeys.length - misses.size(); hits > 0; hits--) {
+            session.incrementProfile(SessionProfiler.CacheHits);
+        }
+        for (int count = misses.size(); count > 0; count--) {
+            session.incrementProfile(SessionProfiler.CacheMisses);
+        }
+
+        if (!misses.isEmpty()) {
+            if (session.getDatasourcePlatform() instanceof DatabasePlatform) {
+                // Composite keys are read with a nested IN, each key uses a value per primary key field.
+                int chunkSize = Math.max(1, session.getPlatform().getMaxINListSize() / descriptor.getPrimaryKeyFields().size());
+                for (int start = 0; start < misses.size(); start += chunkSize) {
+                    List<Object> chunk = misses.subList(start, Math.min(start + chunkSize, misses.size()));
+                    for (Object result : readAllByPrimaryKey(descriptor, session, chunk, properties)) {
+                        found.put(descriptor.getObjectBuilder().extractPrimaryKeyFromObject(result, session), result);
+                    }
+                }
+            } else {
+                // Non relational platforms have no IN batch criteria.
+                for (Object primaryKey : misses) {
+                    found.put(primaryKey, findInternal(descriptor, session, primaryKey, null, properties));
+                }
+            }
+        }
+
+        List<Object> results = new ArrayList<Object>(primaryKeys.length);
+        for (Object primaryKey : primaryKeys) {
+            results.add(found.get(primaryKey));
+        }
+        return results;
+    }
+
+    /**
+     * Return the entities found in the cache for the primary keys.  In a unit
+     * of work the unit of work cache is checked first, then the shared cache,
+     * and shared objects are registered.  An entity removed in the unit of
+     * work is found as null.
+     */
+    protected Map<Object, Object> findAllInCache(ClassDescriptor descriptor, AbstractSession session, Object[] primaryKeys) {
+        if (!session.isUnitOfWork()) {
+            return session.getIdentityMapAccessorInstance().getAllFromIdentityMapWithEntityPK(primaryKeys, descriptor);
+        }
+        UnitOfWorkImpl unitOfWork = (UnitOfWorkImpl) session;
+        org.eclipse.persistence.internal.sessions.IdentityMapAccessor accessor = unitOfWork.getIdentityMapAccessorInstance();
+        Class javaClass = descriptor.getJavaClass();
+        // After a modify all or native query the shared cache may be stale for this transaction.
+        boolean shouldCheckParent = !unitOfWork.shouldReadFromDB();
+        Map<Object, Object> found = new HashMap<Object, Object>(primaryKeys.length);
+        for (Object primaryKey : primaryKeys) {
+            Object cachedObject;
+            if (shouldCheckParent) {
+                cachedObject = accessor.getFromIdentityMap(primaryKey, null, javaClass, false, descriptor);
+            } else {
+                cachedObject = accessor.getFromLocalIdentityMap(primaryKey, javaClass, false, descriptor);
+            }
+            if (cachedObject != null) {
+                if (unitOfWork.isObjectDeleted(cachedObject)) {
+                    cachedObject = null;
+                }
+                found.put(primaryKey, cachedObject);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Read the entities with the primary keys in a single query, using the
+     * descriptor's IN batch criteria.
+     */
+    protected List<Object> readAllByPrimaryKey(ClassDescriptor descriptor, AbstractSession session, List<Object> primaryKeys, Map<String, Object> properties) {
+        List<Object> keyValues = new ArrayList<Object>(primaryKeys.size());
+        for (Object primaryKey : primaryKeys) {
+            if (primaryKey instanceof CacheId) {
+                keyValues.add(Arrays.asList(((CacheId) primaryKey).getPrimaryKey()));
+            } else {
+                keyValues.add(primaryKey);
+            }
+        }
+        ReadAllQuery query = new ReadAllQuery(descriptor.getJavaClass());
+        query.setIsExecutionClone(true);
+        QueryHintsHandler.apply(properties, query, session.getLoader(), session);
+        query.addArgument(ForeignReferenceMapping.QUERY_BATCH_PARAMETER);
+        query.addArgumentValue(keyValues);
+        query.setSession(session);
+        query.setSelectionCriteria(descriptor.buildBatchCriteriaByPK(query.getExpressionBuilder(), query));
+        return (List<Object>) session.executeQuery(query);
+    }
+
+    /**
+     * Return the cache primary key for the id given to find.
      * 
-     * @param entityClass
-     *            - the entity class to find.
-     * @param primaryKey
-     *            - the entity primary key value, or primary key class, or a
-     *            List of primary key values.
-     * @return the found entity instance or null, if the entity does not exist.
      * @throws IllegalArgumentException
-     *             if the first argument does not denote an entity type or the
-     *             second argument is not a valid type for that entity's primary
-     *             key.
+     *             if the id is null or is not a valid type for the entity's
+     *             primary key.
      */
-    protected Object findInternal(ClassDescriptor descriptor, AbstractSession session, Object id, LockModeType lockMode, Map<String, Object> properties) {
+    protected Object buildPrimaryKey(ClassDescriptor descriptor, AbstractSession session, Object id) {
         if (id == null) { // gf721 - check for null PK
             throw new IllegalArgumentException(ExceptionLocalization.buildMessage("null_pk"));
         }
@@ -807,7 +966,26 @@ public class EntityManagerImpl implements org.eclipse.persistence.jpa.JpaEntityM
             }
             primaryKey = policy.createPrimaryKeyFromId(id, session);
         }
-        
+        return primaryKey;
+    }
+
+    /**
+     * Find by primary key.
+     * 
+     * @param entityClass
+     *            - the entity class to find.
+     * @param primaryKey
+     *            - the entity primary key value, or primary key class, or a
+     *            List of primary key values.
+     * @return the found entity instance or null, if the entity does not exist.
+     * @throws IllegalArgumentException
+     *             if the first argument does not denote an entity type or the
+     *             second argument is not a valid type for that entity's primary
+     *             key.
+     */
+    protected Object findInternal(ClassDescriptor descriptor, AbstractSession session, Object id, LockModeType lockMode, Map<String, Object> properties) {
+        Object primaryKey = buildPrimaryKey(descriptor, session, id);
+
         // If the LockModeType is PESSIMISTIC*, check the unitofwork cache and return the entity if it has previously been locked
         // Must avoid using the new JPA 2.0 Enum values directly to allow JPA 1.0 jars to still work.
         if (lockMode != null && (lockMode.name().equals(ObjectLevelReadQuery.PESSIMISTIC_READ) || lockMode.name().equals(ObjectLevelReadQuery.PESSIMISTIC_WRITE)
@@ -1548,7 +1726,7 @@ public class EntityManagerImpl implements org.eclipse.persistence.jpa.JpaEntityM
     public <T> TypedQuery<T> createQuery(CriteriaQuery<T> criteriaQuery) {
         try{
             verifyOpen();
-            return new EJBQueryImpl<T>(((CriteriaQueryImpl<T>)criteriaQuery).translate(), this);
+            return new EJBQueryImpl<T>(((CriteriaQueryImpl<T>)criteriaQuery).translate(getActiveSessionIfExists()), this);
         }catch (RuntimeException e){
             setRollbackOnly();
             throw e;
@@ -165,6 +165,7 @@ import org.eclipse.persistence.internal.helper.Helper;
 import org.eclipse.persistence.internal.helper.JPAClassLoaderHolder;
 import org.eclipse.persistence.internal.helper.JPAConversionManager;
 import org.eclipse.persistence.internal.jpa.deployment.BeanValidationInitializationHelper;
+import org.eclipse.persistence.internal.jpa.deployment.PersistenceUnitDigest;
 import org.eclipse.persistence.internal.jpa.deployment.PersistenceUnitProcessor;
 import org.eclipse.persistence.internal.jpa.deployment.SEPersistenceUnitInfo;
 import org.eclipse.persistence.internal.jpa.jdbc.DataSourceImpl;
@@ -198,6 +199,7 @@ import org.eclipse.persistence.internal.security.SecurableObjectHolder;
 import org.eclipse.persistence.internal.sessions.AbstractSession;
 import org.eclipse.persistence.internal.sessions.DatabaseSessionImpl;
 import org.eclipse.persistence.internal.sessions.PropertiesHandler;
+import org.eclipse.persistence.internal.sessions.QueryWarmUp;
 import org.eclipse.persistence.internal.sessions.remote.RemoteConnection;
 import org.eclipse.persistence.jpa.metadata.FileBasedProjectCache;
 import org.eclipse.persistence.jpa.metadata.MetadataSource;
@@ -206,6 +208,7 @@ import org.eclipse.persistence.jpa.metadata.XMLMetadataSource;
 import org.eclipse.persistence.logging.AbstractSessionLog;
 import org.eclipse.persistence.logging.DefaultSessionLog;
 import org.eclipse.persistence.logging.SessionLog;
+import org.eclipse.persistence.platform.database.DatabasePlatform;
 import org.eclipse.persistence.platform.database.converters.StructConverter;
 import org.eclipse.persistence.platform.database.events.DatabaseEventListener;
 import org.eclipse.persistence.platform.database.partitioning.DataPartitioningCallback;
@@ -247,6 +250,7 @@ import org.eclipse.persistence.sessions.server.ServerSession;
 import org.eclipse.persistence.tools.profiler.PerformanceMonitor;
 import org.eclipse.persistence.tools.profiler.PerformanceProfiler;
 import org.eclipse.persistence.tools.profiler.QueryMonitor;
+import org.eclipse.persistence.tools.profiler.QueryStatisticsMonitor;
 import org.eclipse.persistence.tools.schemaframework.SchemaManager;
 import org.eclipse.persistence.tools.tuning.SafeModeTuner;
 import org.eclipse.persistence.tools.tuning.SessionTuner;
@@ -284,6 +288,8 @@ public class EntityManagerSetupImpl implements MetadataRefreshListener {
     protected boolean isSessionLoadedFromSessionsXML=false;
     //project caching:
     protected ProjectCache projectCacheAccessor = null;
+    // digest of the persistence unit metadata the cached project must match
+    protected String projectCacheDigest = null;
     protected boolean shouldBuildProject = true;
     // indicates whether weaving was used on the first run through predeploy (in STATE_INITIAL)
     protected Boolean enableWeaving = null;
@@ -609,7 +615,7 @@ public class EntityManagerSetupImpl implements MetadataRefreshListener {
 
                             if (this.projectCacheAccessor != null) {
                                 //cache the project:
-                                this.projectCacheAccessor.storeProject(this.session.getProject(), deployProperties, this.session.getSessionLog());
+                                this.projectCacheAccessor.storeProject(this.session.getProject(), getProjectCacheProperties(deployProperties), this.session.getSessionLog());
                             }
 
                             // The project is initially created using class names rather than classes.  This call will make the conversion.
@@ -743,6 +749,7 @@ public class EntityManagerSetupImpl implements MetadataRefreshListener {
                             
                             // Generate the DDL using the correct connection. 
                             writeDDL(deployProperties, getDatabaseSession(deployProperties), classLoaderToUse);    
+                            startQueryWarmUp(deployProperties);
                         }
                     }
                     updateTunerPostDeploy(deployProperties, classLoaderToUse);
@@ -1211,6 +1218,10 @@ public class EntityManagerSetupImpl implements MetadataRefreshListener {
                 session.setProfiler(new PerformanceMonitor());
                 return;
             }
+            if (newProfilerClassName.equals(ProfilerType.QueryStatisticsMonitor)) {
+                session.setProfiler(new QueryStatisticsMonitor());
+                return;
+            }
             
             if (newProfilerClassName.equals(ProfilerType.DMSProfiler)) {
                 newProfilerClassName = ProfilerType.DMSProfilerClassName;
@@ -1246,6 +1257,17 @@ public class EntityManagerSetupImpl implements MetadataRefreshListener {
     }
     
     
+    /**
+     * Check for the QUERY_STATISTICS persistence or system property and record the statistics
+     * of each statement with a QueryStatisticsMonitor, which forwards to the session's profiler.
+     */
+    protected void updateQueryStatistics(Map persistenceProperties) {
+        String queryStatistics = getConfigPropertyAsStringLogDebug(PersistenceUnitProperties.QUERY_STATISTICS, persistenceProperties, session);
+        if ("true".equalsIgnoreCase(queryStatistics) && !(session.getProfiler() instanceof QueryStatisticsMonitor)) {
+            session.setProfiler(new QueryStatisticsMonitor(session.getProfiler()));
+        }
+    }
+
     protected static Class findClass(String className, ClassLoader loader) throws ClassNotFoundException, PrivilegedActionException {
         if (System.getSecurityManager() != null){
             return (Class)AccessController.doPrivileged(new PrivilegedClassForName(className, true, loader));
@@ -1672,6 +1694,7 @@ public class EntityManagerSetupImpl implements MetadataRefreshListener {
                         
                         //Update performance profiler
                         updateProfiler(predeployProperties, classLoaderToUse);
+                        updateQueryStatistics(predeployProperties);
                     } else {
                         // predeploy is used for static weaving
                         Writer writer = this.staticWeaveInfo.getLogWriter(); 
@@ -1692,9 +1715,20 @@ public class EntityManagerSetupImpl implements MetadataRefreshListener {
                 //Project Cache accessor processing
                 updateProjectCache(predeployProperties, classLoaderToUse);
 
+                if (projectCacheAccessor!=null) {
+                    try {
+                        this.projectCacheDigest = PersistenceUnitDigest.buildDigest(getPersistenceUnitInfo(), predeployProperties, classLoaderToUse);
+                    } catch (Exception exception) {
+                        // A cached project that can't be validated may be stale, so process the metadata instead.
+                        session.log(SessionLog.WARNING, SessionLog.JPA, "project_cache_digest_failed", new Object[]{exception});
+                        session.logThrowable(SessionLog.FINER, SessionLog.JPA, exception);
+                        this.projectCacheAccessor = null;
+                    }
+                }
+
                 if (projectCacheAccessor!=null) {
                     //get the project from the cache
-                    Project project = projectCacheAccessor.retrieveProject(predeployProperties, classLoaderToUse, session.getSessionLog());
+                    Project project = projectCacheAccessor.retrieveProject(getProjectCacheProperties(predeployProperties), classLoaderToUse, session.getSessionLog());
 
                     if (project!=null) {
                         try {
@@ -2587,6 +2621,7 @@ public class EntityManagerSetupImpl implements MetadataRefreshListener {
         if (!session.hasBroker()) {
             updateLoggers(m, serverPlatformChanged, loader);        
             updateProfiler(m,loader);
+            updateQueryStatistics(m);
         }
 
         if(session.isBroker()) {
@@ -2649,6 +2684,8 @@ public class EntityManagerSetupImpl implements MetadataRefreshListener {
             updateSQLCastSetting(m);
             updateUppercaseSetting(m);
             updateCacheStatementSettings(m);
+            updateExpressionQueryCacheSize(m);
+            updateAdaptiveFetchSize(m);
             updateTemporalMutableSetting(m);
             updateTableCreationSettings(m);
             updateIndexForeignKeys(m);
@@ -3071,6 +3108,34 @@ public class EntityManagerSetupImpl implements MetadataRefreshListener {
         }
     }
 
+    /**
+     * Start preparing the named queries in the background if the query
+     * warm-up is enabled.  Deploy does not wait for it, a query that is used
+     * before it is prepared is prepared on first use as usual.
+     * @see PersistenceUnitProperties#QUERY_WARM_UP
+     */
+    protected void startQueryWarmUp(Map m) {
+        String warmUp = EntityManagerFactoryProvider.getConfigPropertyAsStringLogDebug(PersistenceUnitProperties.QUERY_WARM_UP, m, this.session);
+        if (warmUp == null || warmUp.equalsIgnoreCase("false")) {
+            return;
+        } else if (!warmUp.equalsIgnoreCase("true")) {
+            this.session.handleException(ValidationException.invalidBooleanValueForProperty(warmUp, PersistenceUnitProperties.QUERY_WARM_UP));
+            return;
+        }
+        int threadCount = Runtime.getRuntime().availableProcessors();
+        String threads = EntityManagerFactoryProvider.getConfigPropertyAsStringLogDebug(PersistenceUnitProperties.QUERY_WARM_UP_THREADS, m, this.session);
+        if (threads != null) {
+            try {
+                threadCount = Integer.parseInt(threads.trim());
+            } catch (NumberFormatException exception) {
+                this.session.handleException(ValidationException.invalidValueForProperty(threads, PersistenceUnitProperties.QUERY_WARM_UP_THREADS, exception));
+            }
+        }
+        QueryWarmUp queryWarmUp = new QueryWarmUp(this.session, Math.max(1, threadCount));
+        getDatabaseSession().setQueryWarmUp(queryWarmUp);
+        queryWarmUp.start();
+    }
+
     /**
      * Allow the deployment metadata to be freed post-deploy to conserve memory.
      */
@@ -3121,6 +3186,19 @@ public class EntityManagerSetupImpl implements MetadataRefreshListener {
         }
     }
 
+    /**
+     * Return the properties to pass to the projectCacheAccessor, including the
+     * persistence unit digest if it was computed.
+     */
+    protected Map getProjectCacheProperties(Map properties) {
+        if (this.projectCacheDigest == null) {
+            return properties;
+        }
+        Map cacheProperties = (properties == null) ? new HashMap() : new HashMap(properties);
+        cacheProperties.put(ProjectCache.PROJECT_CACHE_DIGEST, this.projectCacheDigest);
+        return cacheProperties;
+    }
+
     /**
      * Load the projectCacheAccessor for JPA project caching
      */
@@ -3291,6 +3369,78 @@ public class EntityManagerSetupImpl implements MetadataRefreshListener {
         }
     }
 
+    /**
+     * Update the size of the expression query cache of all of the descriptors.
+     * The method needs to be called in deploy stage.
+     */
+    protected void updateExpressionQueryCacheSize(Map m) {
+        String cacheSize = EntityManagerFactoryProvider.getConfigPropertyAsStringLogDebug(PersistenceUnitProperties.EXPRESSION_QUERY_CACHE_SIZE, m, this.session);
+        if (cacheSize != null) {
+            try {
+                int size = Integer.parseInt(cacheSize.trim());
+                if (size < 0) {
+                    this.session.handleException(ValidationException.invalidValueForProperty(cacheSize, PersistenceUnitProperties.EXPRESSION_QUERY_CACHE_SIZE, new IllegalArgumentException(cacheSize)));
+                    return;
+                }
+                for (ClassDescriptor descriptor : this.session.getProject().getDescriptors().values()) {
+                    descriptor.getQueryManager().setExpressionQueryCacheMaxSize(size);
+                }
+            } catch (NumberFormatException exception) {
+                this.session.handleException(ValidationException.invalidValueForProperty(cacheSize, PersistenceUnitProperties.EXPRESSION_QUERY_CACHE_SIZE, exception));
+            }
+        }
+    }
+
+    /**
+     * Enable or disable the adaptive fetch size, update its bounds.
+     * The method needs to be called in deploy stage.
+     */
+    protected void updateAdaptiveFetchSize(Map m) {
+        String adaptive = EntityManagerFactoryProvider.getConfigPropertyAsStringLogDebug(PersistenceUnitProperties.ADAPTIVE_FETCH_SIZE, m, this.session);
+        if (adaptive != null) {
+            if (adaptive.equalsIgnoreCase("true")) {
+                this.session.getPlatform().setUsesAdaptiveFetchSize(true);
+            } else if (adaptive.equalsIgnoreCase("false")) {
+                this.session.getPlatform().setUsesAdaptiveFetchSize(false);
+            } else {
+                this.session.handleException(ValidationException.invalidBooleanValueForProperty(adaptive, PersistenceUnitProperties.ADAPTIVE_FETCH_SIZE));
+            }
+        }
+        DatabasePlatform platform = this.session.getPlatform();
+        int minimum = getAdaptiveFetchSizeBound(m, PersistenceUnitProperties.ADAPTIVE_FETCH_SIZE_MIN, platform.getAdaptiveFetchSizeMinimum());
+        int maximum = getAdaptiveFetchSizeBound(m, PersistenceUnitProperties.ADAPTIVE_FETCH_SIZE_MAX, platform.getAdaptiveFetchSizeMaximum());
+        int maxMemory = getAdaptiveFetchSizeBound(m, PersistenceUnitProperties.ADAPTIVE_FETCH_SIZE_MAX_MEMORY, platform.getAdaptiveFetchSizeMaxMemory());
+        if (minimum > maximum) {
+            String value = String.valueOf(minimum);
+            this.session.handleException(ValidationException.invalidValueForProperty(value, PersistenceUnitProperties.ADAPTIVE_FETCH_SIZE_MIN, new IllegalArgumentException(value)));
+            return;
+        }
+        platform.setAdaptiveFetchSizeMinimum(minimum);
+        platform.setAdaptiveFetchSizeMaximum(maximum);
+        platform.setAdaptiveFetchSizeMaxMemory(maxMemory);
+    }
+
+    /**
+     * Return the adaptive fetch size bound of the property, or the current
+     * bound if the property is not set or its value is not a non negative integer.
+     */
+    protected int getAdaptiveFetchSizeBound(Map m, String property, int bound) {
+        String value = EntityManagerFactoryProvider.getConfigPropertyAsStringLogDebug(property, m, this.session);
+        if (value != null) {
+            try {
+                int size = Integer.parseInt(value.trim());
+                if (size < 0) {
+                    this.session.handleException(ValidationException.invalidValueForProperty(value, property, new IllegalArgumentException(value)));
+                } else {
+                    return size;
+                }
+            } catch (NumberFormatException exception) {
+                this.session.handleException(ValidationException.invalidValueForProperty(value, property, exception));
+            }
+        }
+        return bound;
+    }
+
     /**
      * Enable or disable default allowing 0 as an id. 
      */
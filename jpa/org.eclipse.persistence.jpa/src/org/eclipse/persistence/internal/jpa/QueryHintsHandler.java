@@ -23,9 +23,12 @@ package org.eclipse.persistence.internal.jpa;
 import java.security.AccessController;
 import java.security.PrivilegedActionException;
 import java.sql.Time;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.StringTokenizer;
@@ -245,11 +248,14 @@ public class QueryHintsHandler {
             addHint(new BatchSizeHint());
             addHint(new FetchHint());
             addHint(new LeftFetchHint());
+            addHint(new BatchCollectionJoinsHint());
             addHint(new ReadOnlyHint());
             addHint(new JDBCTimeoutHint());
             addHint(new JDBCFetchSizeHint());
             addHint(new JDBCMaxRowsHint());
             addHint(new JDBCFirstResultHint());
+            addHint(new KeysetValuesHint());
+            addHint(new ParallelObjectBuildingHint());
             addHint(new ResultCollectionTypeHint());
             addHint(new RedirectorHint());
             addHint(new PartitioningHint());
@@ -832,7 +838,8 @@ public class QueryHintsHandler {
                 {ResultType.Map, ResultType.Map},
                 {ResultType.Array, ResultType.Array},
                 {ResultType.Value, ResultType.Value},
-                {ResultType.Attribute, ResultType.Attribute}
+                {ResultType.Attribute, ResultType.Attribute},
+                {ResultType.Columns, ResultType.Columns}
             };
         }
     
@@ -846,6 +853,8 @@ public class QueryHintsHandler {
                     ((DataReadQuery)query).setResultType(DataReadQuery.ATTRIBUTE);
                 } else if (valueToApply == ResultType.Value) {
                     ((DataReadQuery)query).setResultType(DataReadQuery.VALUE);
+                } else if (valueToApply == ResultType.Columns) {
+                    throw new IllegalArgumentException(ExceptionLocalization.buildMessage("ejb30-wrong-type-for-query-hint",new Object[]{getQueryId(query), name, getPrintValue(valueToApply)}));
                 }
             } else if (query.isReportQuery()) {
                 if (valueToApply == ResultType.Map) {
@@ -856,6 +865,8 @@ public class QueryHintsHandler {
                     ((ReportQuery)query).setReturnType(ReportQuery.ShouldReturnSingleAttribute);
                 } else if (valueToApply == ResultType.Value) {
                     ((ReportQuery)query).setReturnType(ReportQuery.ShouldReturnSingleValue);
+                } else if (valueToApply == ResultType.Columns) {
+                    ((ReportQuery)query).setReturnType(ReportQuery.ShouldReturnColumns);
                 }
             } else {
                 throw new IllegalArgumentException(ExceptionLocalization.buildMessage("ejb30-wrong-type-for-query-hint",new Object[]{getQueryId(query), name, getPrintValue(valueToApply)}));
@@ -964,6 +975,25 @@ public class QueryHintsHandler {
         }
     }
     
+    protected static class BatchCollectionJoinsHint extends Hint {
+        BatchCollectionJoinsHint() {
+            super(QueryHints.BATCH_COLLECTION_JOINS, HintValues.FALSE);
+            valueArray = new Object[][] { 
+                {HintValues.FALSE, Boolean.FALSE},
+                {HintValues.TRUE, Boolean.TRUE}
+            };
+        }
+    
+        DatabaseQuery applyToDatabaseQuery(Object valueToApply, DatabaseQuery query, ClassLoader loader, AbstractSession activeSession) {
+            if (query.isObjectLevelReadQuery()) {
+                ((ObjectLevelReadQuery)query).setShouldBatchCollectionJoins(((Boolean)valueToApply).booleanValue());
+            } else {
+                throw new IllegalArgumentException(ExceptionLocalization.buildMessage("ejb30-wrong-type-for-query-hint",new Object[]{getQueryId(query), name, getPrintValue(valueToApply)}));
+            }
+            return query;
+        }
+    }
+
     protected static class InheritanceJoinHint extends Hint {
         InheritanceJoinHint() {
             super(QueryHints.INHERITANCE_OUTER_JOIN, HintValues.FALSE);
@@ -1943,6 +1973,45 @@ public class QueryHintsHandler {
         }
     }
     
+    protected static class KeysetValuesHint extends Hint {
+        KeysetValuesHint() {
+            super(QueryHints.KEYSET_VALUES, "");
+        }
+    
+        DatabaseQuery applyToDatabaseQuery(Object valueToApply, DatabaseQuery query, ClassLoader loader, AbstractSession activeSession) {
+            if (query.isReadAllQuery()) {
+                List<Object> keysetValues = null;
+                if (valueToApply instanceof List) {
+                    keysetValues = new ArrayList<Object>((List)valueToApply);
+                } else if (valueToApply instanceof Object[]) {
+                    keysetValues = Arrays.asList((Object[])valueToApply);
+                } else if (valueToApply != null) {
+                    keysetValues = new ArrayList<Object>(1);
+                    keysetValues.add(valueToApply);
+                }
+                ((ReadAllQuery)query).setKeysetValues(keysetValues);
+            } else {
+                throw new IllegalArgumentException(ExceptionLocalization.buildMessage("ejb30-wrong-type-for-query-hint",new Object[]{getQueryId(query), name, getPrintValue(valueToApply)}));
+            }
+            return query;
+        }
+    }
+    
+    protected static class ParallelObjectBuildingHint extends Hint {
+        ParallelObjectBuildingHint() {
+            super(QueryHints.PARALLEL_OBJECT_BUILDING, "");
+        }
+    
+        DatabaseQuery applyToDatabaseQuery(Object valueToApply, DatabaseQuery query, ClassLoader loader, AbstractSession activeSession) {
+            if (query.isReadAllQuery()) {
+                ((ReadAllQuery)query).setParallelObjectBuildingChunkSize(QueryHintsHandler.parseIntegerHint(valueToApply, QueryHints.PARALLEL_OBJECT_BUILDING));
+            } else {
+                throw new IllegalArgumentException(ExceptionLocalization.buildMessage("ejb30-wrong-type-for-query-hint",new Object[]{getQueryId(query), name, getPrintValue(valueToApply)}));
+            }
+            return query;
+        }
+    }
+    
     protected static class ResultCollectionTypeHint extends Hint {
         ResultCollectionTypeHint() {
             super(QueryHints.RESULT_COLLECTION_TYPE, "");
@@ -0,0 +1,200 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 and Eclipse Distribution License v. 1.0
+ * which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * Contributors:
+ *     Oracle - 2.6 - initial implementation
+ ******************************************************************************/
+package org.eclipse.persistence.internal.jpa.deployment;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.security.MessageDigest;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import javax.persistence.spi.PersistenceUnitInfo;
+
+import org.eclipse.persistence.Version;
+import org.eclipse.persistence.internal.helper.Helper;
+import org.eclipse.persistence.jpa.Archive;
+import org.eclipse.persistence.jpa.metadata.ProjectCache;
+
+/**
+ * INTERNAL:
+ * Computes a digest of everything the metadata processing of a persistence
+ * unit depends on: the EclipseLink version, the persistence unit properties,
+ * the listed classes and mapping files, and the class and XML files of the
+ * persistence unit archives. Files are added by their size and time stamp
+ * (a jar file as a whole), their content is not read. A cached project is
+ * only valid for the digest it was built with.
+ *
+ * @see ProjectCache#PROJECT_CACHE_DIGEST
+ * @since EclipseLink 2.6
+ */
+public class PersistenceUnitDigest {
+    /** Digest algorithm, required on every Java platform. */
+    protected static final String ALGORITHM = "SHA-256";
+
+    protected MessageDigest digest;
+    protected ClassLoader loader;
+
+    protected PersistenceUnitDigest(ClassLoader loader) throws Exception {
+        this.digest = MessageDigest.getInstance(ALGORITHM);
+        this.loader = loader;
+    }
+
+    /**
+     * INTERNAL:
+     * Return the hex digest of the persistence unit.
+     */
+    public static String buildDigest(PersistenceUnitInfo persistenceUnitInfo, Map properties, ClassLoader loader) throws Exception {
+        PersistenceUnitDigest digest = new PersistenceUnitDigest(loader);
+        digest.addString(Version.getVersionString());
+        digest.addString(persistenceUnitInfo.getPersistenceUnitName());
+        digest.addProperties(properties);
+        for (String className : persistenceUnitInfo.getManagedClassNames()) {
+            digest.addResource(className.replace('.', '/') + ".class");
+        }
+        for (String mappingFileName : persistenceUnitInfo.getMappingFileNames()) {
+            digest.addResource(mappingFileName);
+        }
+        for (URL url : persistenceUnitInfo.getJarFileUrls()) {
+            digest.addArchive(url, properties);
+        }
+        digest.addArchive(persistenceUnitInfo.getPersistenceUnitRootUrl(), properties);
+        return Helper.buildHexStringFromBytes(digest.digest.digest());
+    }
+
+    /**
+     * Add the String valued properties in key order. Other values (data
+     * sources, class loaders, ...) have no stable value to add.
+     */
+    protected void addProperties(Map properties) {
+        if (properties == null) {
+            return;
+        }
+        Map<String, String> sortedProperties = new TreeMap<String, String>();
+        for (Object entry : properties.entrySet()) {
+            Object key = ((Map.Entry) entry).getKey();
+            Object value = ((Map.Entry) entry).getValue();
+            if ((key instanceof String) && (value instanceof String) && !ProjectCache.PROJECT_CACHE_DIGEST.equals(key)) {
+                sortedProperties.put((String) key, (String) value);
+            }
+        }
+        for (Map.Entry<String, String> entry : sortedProperties.entrySet()) {
+            addString(entry.getKey());
+            addString(entry.getValue());
+        }
+    }
+
+    /**
+     * Add the class and XML files of the archive in name order, or the jar
+     * file itself.
+     */
+    protected void addArchive(URL url, Map properties) throws Exception {
+        if (url == null) {
+            return;
+        }
+        addString(url.toString());
+        File file = getFile(url);
+        if ((file != null) && file.isFile()) {
+            // Any change to an entry changes the jar file.
+            addLong(file.length());
+            addLong(file.lastModified());
+            return;
+        }
+        Archive archive = PersistenceUnitProcessor.getArchiveFactory(this.loader).createArchive(url, properties);
+        if (archive == null) {
+            return;
+        }
+        try {
+            Set<String> entries = new TreeSet<String>();
+            for (Iterator<String> iterator = archive.getEntries(); iterator.hasNext();) {
+                String entry = iterator.next();
+                if (entry.endsWith(".class") || entry.endsWith(".xml")) {
+                    entries.add(entry);
+                }
+            }
+            for (String entry : entries) {
+                addString(entry);
+                addStamp(archive.getEntryAsURL(entry));
+            }
+        } finally {
+            archive.close();
+        }
+    }
+
+    /**
+     * Add the class loader resource, or only its name if it does not exist.
+     */
+    protected void addResource(String name) throws IOException {
+        addString(name);
+        addStamp(this.loader.getResource(name));
+    }
+
+    /**
+     * Add the size and time stamp of the file or jar entry.
+     */
+    protected void addStamp(URL url) throws IOException {
+        if (url == null) {
+            this.digest.update((byte) 0);
+            return;
+        }
+        File file = getFile(url);
+        if (file != null) {
+            addLong(file.length());
+            addLong(file.lastModified());
+            return;
+        }
+        // The size is read from the jar entry, the time stamp is the jar's.
+        URLConnection connection = url.openConnection();
+        addLong(connection.getContentLength());
+        addLong(connection.getLastModified());
+    }
+
+    /**
+     * Return the file of a file URL, otherwise null.
+     */
+    protected File getFile(URL url) {
+        if (!"file".equals(url.getProtocol())) {
+            return null;
+        }
+        try {
+            return new File(Helper.toURI(url));
+        } catch (Exception invalidURI) {
+            // Same fall back as ArchiveFactoryImpl.
+            return new File(url.getPath());
+        }
+    }
+
+    protected void addLong(long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            this.digest.update((byte) (value >>> shift));
+        }
+    }
+
+    protected void addString(String value) {
+        if (value == null) {
+            this.digest.update((byte) 0);
+            return;
+        }
+        try {
+            this.digest.update(value.getBytes("UTF-8"));
+        } catch (IOException notPossible) {
+            // UTF-8 is always supported.
+        }
+        // Separate values so that ("ab", "c") and ("a", "bc") differ.
+        this.digest.update((byte) 0);
+    }
+}
@@ -23,8 +23,10 @@ import java.net.MalformedURLException;
 import java.security.AccessController;
 import java.security.PrivilegedActionException;
 import java.util.Enumeration;
+import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -91,6 +93,12 @@ public class PersistenceUnitProcessor {
      */
     public static ArchiveFactory ARCHIVE_FACTORY = null;
 
+    /** 
+     * Index of the persistent classes of an archive, generated at build time
+     * by StaticIndex. One class name per line, lines starting with # are comments.
+     */
+    public static final String CLASS_INDEX = "META-INF/eclipselink-class-index";
+
     /** Path to application classes directory in WAR file. */
     private static final String WEBINF_CLASSES_STR = "WEB-INF/classes/";
 
@@ -444,12 +452,41 @@ public class PersistenceUnitProcessor {
     }
     
     public static Set<String> getClassNamesFromURL(URL url, ClassLoader loader, Map properties) {
+        return getClassNamesFromURL(url, loader, properties, false);
+    }
+
+    /**
+     * Return the class names at the url. If useIndex is true and the archive
+     * contains a class index, only the indexed class names are returned and the
+     * archive is not listed. A stale index loses the persistent classes added
+     * after it was built, and an indexed class that is no longer in the archive
+     * is logged and ignored.
+     * @see #CLASS_INDEX
+     */
+    public static Set<String> getClassNamesFromURL(URL url, ClassLoader loader, Map properties, boolean useIndex) {
         Set<String> classNames = new HashSet<String>();
         Archive archive = null;
         try {
             archive = PersistenceUnitProcessor.getArchiveFactory(loader).createArchive(url, properties);
 
             if (archive != null) {
+                if (useIndex) {
+                    InputStream index = archive.getEntry(CLASS_INDEX);
+                    if (index != null) {
+                        readClassIndex(index, classNames);
+                        for (Iterator<String> iterator = classNames.iterator(); iterator.hasNext();) {
+                            String className = iterator.next();
+                            InputStream classFile = archive.getEntry(className.replace('.', '/') + ".class"); // NOI18N
+                            if (classFile == null) {
+                                AbstractSessionLog.getLog().log(AbstractSessionLog.WARNING, "class_index_class_not_found", new Object[] { className, url });
+                                iterator.remove();
+                            } else {
+                                classFile.close();
+                            }
+                        }
+                        return classNames;
+                    }
+                }
                 for (Iterator<String> entries = archive.getEntries(); entries.hasNext();) {
                     String entry = entries.next();
                     if (entry.endsWith(".class")){ // NOI18N
@@ -469,6 +506,26 @@ public class PersistenceUnitProcessor {
         return classNames;
     }
     
+    /**
+     * Read the class names from a class index into the set.
+     * @see #CLASS_INDEX
+     */
+    public static void readClassIndex(InputStream index, Set<String> classNames) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(index, "UTF-8"));
+        try {
+            String line = reader.readLine();
+            while (line != null) {
+                line = line.trim();
+                if ((line.length() > 0) && (line.charAt(0) != '#')) {
+                    classNames.add(line);
+                }
+                line = reader.readLine();
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
     /**
      * Return if a given class is annotated with @Embeddable.
      */
@@ -47,6 +47,11 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import javax.persistence.spi.PersistenceUnitInfo;
 
@@ -54,6 +59,7 @@ import org.eclipse.persistence.config.DescriptorCustomizer;
 import org.eclipse.persistence.config.PersistenceUnitProperties;
 import org.eclipse.persistence.exceptions.PersistenceUnitLoadingException;
 import org.eclipse.persistence.exceptions.ValidationException;
+import org.eclipse.persistence.internal.jpa.EntityManagerFactoryProvider;
 import org.eclipse.persistence.internal.jpa.EntityManagerSetupImpl;
 import org.eclipse.persistence.internal.jpa.deployment.PersistenceUnitProcessor;
 import org.eclipse.persistence.internal.jpa.deployment.PersistenceUnitProcessor.Mode;
@@ -183,6 +189,28 @@ public class MetadataProcessor {
         return m_metadataSource;
     }
 
+    /**
+     * INTERNAL:
+     * Return the class names scanned from the archive at the url, rethrowing
+     * any failure from the scan.
+     */
+    protected Set<String> getClassNamesFromURL(Future<Set<String>> classNames, URL url) {
+        try {
+            return classNames.get();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw PersistenceUnitLoadingException.exceptionSearchingForEntities(url, exception);
+        } catch (ExecutionException exception) {
+            Throwable cause = exception.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw PersistenceUnitLoadingException.exceptionSearchingForEntities(url, exception);
+        }
+    }
+    
     /**
      * INTERNAL:
      * Returns projects owned by compositeProcessor minus the passed project.
@@ -226,6 +254,30 @@ public class MetadataProcessor {
         return classSet;
     }
 
+    /**
+     * INTERNAL:
+     * Return the number of threads used to scan the persistence unit archives
+     * and read its classes. Defaults to 1, which processes everything on the
+     * deploying thread, so no threads are created unless configured.
+     * @see PersistenceUnitProperties#METADATA_PROCESSING_THREADS
+     */
+    protected int getProcessingThreadCount() {
+        String threads = EntityManagerFactoryProvider.getConfigPropertyAsString(PersistenceUnitProperties.METADATA_PROCESSING_THREADS, m_predeployProperties);
+        if (threads == null) {
+            return 1;
+        }
+        int threadCount;
+        try {
+            threadCount = Integer.parseInt(threads.trim());
+        } catch (NumberFormatException exception) {
+            throw ValidationException.invalidValueForProperty(threads, PersistenceUnitProperties.METADATA_PROCESSING_THREADS, exception);
+        }
+        if (threadCount < 1) {
+            throw ValidationException.invalidValueForProperty(threads, PersistenceUnitProperties.METADATA_PROCESSING_THREADS, new IllegalArgumentException(threads));
+        }
+        return threadCount;
+    }
+    
     /**
      * INTERNAL:
      */
@@ -316,22 +368,62 @@ public class MetadataProcessor {
         }
         
         // 4 - Iterate through the classes that are referenced from the
-        // persistence.xml file.
+        // persistence.xml file. When more than one processing thread is 
+        // configured the archives are scanned, and the class files read, in
+        // parallel. The classes are still added below in the same order.
         PersistenceUnitInfo persistenceUnitInfo = m_project.getPersistenceUnitInfo();
         List<String> classNames = new ArrayList<String>();
-        
-        // Add all the <class> specifications.
-        classNames.addAll(persistenceUnitInfo.getManagedClassNames());
+        Set<String> unlistedClasses = Collections.EMPTY_SET;
+        int threadCount = getProcessingThreadCount();
+        // Archives with a class index are not listed, see StaticIndex.
+        boolean useIndex = !"false".equalsIgnoreCase(EntityManagerFactoryProvider.getConfigPropertyAsString(PersistenceUnitProperties.METADATA_PROCESSING_CLASS_INDEX, m_predeployProperties));
+        ExecutorService executor = (threadCount > 1) ? Executors.newFixedThreadPool(threadCount) : null;
+        try {
+            long startTime = System.nanoTime();
+            
+            // Add all the <class> specifications.
+            classNames.addAll(persistenceUnitInfo.getManagedClassNames());
 
-        // Add all the classes from the <jar> specifications.
-        for (URL url : persistenceUnitInfo.getJarFileUrls()) {
-            classNames.addAll(PersistenceUnitProcessor.getClassNamesFromURL(url, m_loader, null));
-        }
+            if (executor == null) {
+                // Add all the classes from the <jar> specifications.
+                for (URL url : persistenceUnitInfo.getJarFileUrls()) {
+                    classNames.addAll(PersistenceUnitProcessor.getClassNamesFromURL(url, m_loader, null, useIndex));
+                }
 
-        // Add all the classes off the classpath at the persistence unit root url.
-        Set<String> unlistedClasses = Collections.EMPTY_SET;
-        if (! persistenceUnitInfo.excludeUnlistedClasses()) {
-            unlistedClasses = PersistenceUnitProcessor.getClassNamesFromURL(persistenceUnitInfo.getPersistenceUnitRootUrl(), m_loader, m_predeployProperties);
+                // Add all the classes off the classpath at the persistence unit root url.
+                if (! persistenceUnitInfo.excludeUnlistedClasses()) {
+                    unlistedClasses = PersistenceUnitProcessor.getClassNamesFromURL(persistenceUnitInfo.getPersistenceUnitRootUrl(), m_loader, m_predeployProperties, useIndex);
+                }
+            } else {
+                List<URL> jarFileUrls = persistenceUnitInfo.getJarFileUrls();
+                List<Future<Set<String>>> jarClassNames = new ArrayList<Future<Set<String>>>(jarFileUrls.size());
+                for (URL url : jarFileUrls) {
+                    jarClassNames.add(submitClassNamesFromURL(executor, url, null, useIndex));
+                }
+                Future<Set<String>> rootClassNames = null;
+                if (! persistenceUnitInfo.excludeUnlistedClasses()) {
+                    rootClassNames = submitClassNamesFromURL(executor, persistenceUnitInfo.getPersistenceUnitRootUrl(), m_predeployProperties, useIndex);
+                }
+                
+                for (int index = 0; index < jarFileUrls.size(); index++) {
+                    classNames.addAll(getClassNamesFromURL(jarClassNames.get(index), jarFileUrls.get(index)));
+                }
+                if (rootClassNames != null) {
+                    unlistedClasses = getClassNamesFromURL(rootClassNames, persistenceUnitInfo.getPersistenceUnitRootUrl());
+                }
+            }
+            logPhaseTime("scan-archives", startTime);
+            
+            if (executor != null) {
+                startTime = System.nanoTime();
+                m_factory.buildClassMetadata(classNames, false, executor);
+                m_factory.buildClassMetadata(unlistedClasses, true, executor);
+                logPhaseTime("read-classes", startTime);
+            }
+        } finally {
+            if (executor != null) {
+                executor.shutdown();
+            }
         }
         
         // 5 - Go through all the class names we found and add those classes 
@@ -381,6 +473,8 @@ public class MetadataProcessor {
      * not change the order of invocation.
      */
     public void loadMappingFiles(boolean throwExceptionOnFail) {
+        long startTime = System.nanoTime();
+        
         // Read all the standard XML mapping files first.
         loadStandardMappingFiles(MetadataHelper.JPA_ORM_FILE);
         
@@ -404,6 +498,8 @@ public class MetadataProcessor {
                 m_project.addEntityMappings(entityMappings);
             }
         }
+        
+        logPhaseTime("load-mapping-files", startTime);
     }
 
     /**
@@ -498,6 +594,19 @@ public class MetadataProcessor {
         }
     }
     
+    /**
+     * INTERNAL:
+     * Log how long the metadata processing phase took, when the metadata
+     * category is logging at FINER.
+     */
+    protected void logPhaseTime(String phase, long startTime) {
+        SessionLog log = getSessionLog();
+        if (log.shouldLog(SessionLog.FINER, SessionLog.METADATA)) {
+            long elapsed = (System.nanoTime() - startTime) / 1000000;
+            log.log(SessionLog.FINER, SessionLog.METADATA, "metadata_processing_phase_time", new Object[] { phase, m_project.getPersistenceUnitInfo().getPersistenceUnitName(), elapsed }, true);
+        }
+    }
+    
     /**
      * INTERNAL: 
      * Process the customizer for those entities and embeddables that have one
@@ -545,12 +654,16 @@ public class MetadataProcessor {
             
             // 2 - Initialize all the persistence unit class with the meta data we
             // processed in step 1.
+            long startTime = System.nanoTime();
             initPersistenceUnitClasses();
+            logPhaseTime("init-classes", startTime);
 
             // 3 - Now process the entity mappings metadata.
+            startTime = System.nanoTime();
             for (XMLEntityMappings entityMappings : m_project.getEntityMappings()) {
                 entityMappings.process();
             }
+            logPhaseTime("process-entity-mappings", startTime);
         }
     }
 
@@ -561,12 +674,19 @@ public class MetadataProcessor {
      */
     public void processORMMetadata(PersistenceUnitProcessor.Mode mode) {
         if (mode == Mode.ALL || mode == Mode.COMPOSITE_MEMBER_INITIAL) {
+            long startTime = System.nanoTime();
             m_project.processStage1();
+            logPhaseTime("process-stage-1", startTime);
+            
+            startTime = System.nanoTime();
             m_project.processStage2();
+            logPhaseTime("process-stage-2", startTime);
         }
         
         if (mode != PersistenceUnitProcessor.Mode.COMPOSITE_MEMBER_INITIAL) {
+            long startTime = System.nanoTime();
             m_project.processStage3(mode);
+            logPhaseTime("process-stage-3", startTime);
         }
     }
 
@@ -593,4 +713,17 @@ public class MetadataProcessor {
     public void setMetadataSource(MetadataSource source){
         m_metadataSource = source;
     }
+    
+    /**
+     * INTERNAL:
+     * Scan the archive at the url for class names using the executor.
+     */
+    protected Future<Set<String>> submitClassNamesFromURL(ExecutorService executor, final URL url, final Map properties, final boolean useIndex) {
+        final ClassLoader loader = m_loader;
+        return executor.submit(new Callable<Set<String>>() {
+            public Set<String> call() {
+                return PersistenceUnitProcessor.getClassNamesFromURL(url, loader, properties, useIndex);
+            }
+        });
+    }
 }
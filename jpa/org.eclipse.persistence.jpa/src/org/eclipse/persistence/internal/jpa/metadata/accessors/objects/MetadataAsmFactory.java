@@ -25,7 +25,12 @@ package org.eclipse.persistence.internal.jpa.metadata.accessors.objects;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.eclipse.persistence.internal.helper.Helper;
 import org.eclipse.persistence.internal.jpa.metadata.MetadataDescriptor;
@@ -117,6 +122,76 @@ public class MetadataAsmFactory extends MetadataFactory {
         }
     }
 
+    /**
+     * INTERNAL:
+     * Read the class metadata for the class names using the executor, so that
+     * the class bytes of a large persistence unit are read and parsed in
+     * parallel.  Each class is built into its own MetadataClass and only
+     * registered with this factory once all the reads are complete, any
+     * class that can't be read is left to be built (and report its error)
+     * on demand by getMetadataClass.
+     */
+    public void buildClassMetadata(Collection<String> classNames, final boolean isLazy, ExecutorService executor) {
+        List<Future<MetadataClass>> futures = new ArrayList<Future<MetadataClass>>(classNames.size());
+        for (final String className : classNames) {
+            if ((className == null) || metadataClassExists(className)) {
+                continue;
+            }
+            futures.add(executor.submit(new Callable<MetadataClass>() {
+                public MetadataClass call() {
+                    return readClassMetadata(className, isLazy);
+                }
+            }));
+        }
+        for (Future<MetadataClass> future : futures) {
+            MetadataClass metadataClass = null;
+            try {
+                metadataClass = future.get();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException exception) {
+                // Ignore, the class will be built on demand.
+            }
+            if ((metadataClass != null) && !metadataClassExists(metadataClass.getName())) {
+                addMetadataClass(metadataClass);
+            }
+        }
+    }
+
+    /**
+     * Read the class metadata for the class name without registering it, or
+     * return null if it can't be read.  This is called concurrently so must
+     * not touch the factory state.
+     */
+    protected MetadataClass readClassMetadata(String className, boolean isLazy) {
+        InputStream stream = null;
+        try {
+            stream = m_loader.getResourceAsStream(className.replace('.', '/') + ".class");
+            if (stream == null) {
+                return null;
+            }
+            ClassReader reader = new ClassReader(stream);
+            // A class file with another name would be registered by the visitor.
+            if (!toClassName(reader.getClassName()).equals(className)) {
+                return null;
+            }
+            MetadataClass metadataClass = new MetadataClass(this, className, isLazy);
+            reader.accept(new ClassMetadataVisitor(metadataClass, isLazy), new Attribute[0], ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+            return metadataClass;
+        } catch (Exception exception) {
+            return null;
+        } finally {
+            try {
+                if (stream != null) {
+                    stream.close();
+                }
+            } catch (IOException ignore) {
+                // Ignore.
+            }
+        }
+    }
+
     /**
      * Return the class metadata for the class name.
      */
@@ -12,9 +12,11 @@
  ******************************************************************************/  
 package org.eclipse.persistence.internal.jpa.metadata.accessors.objects;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 
 import org.eclipse.persistence.internal.jpa.metadata.MetadataDescriptor;
 import org.eclipse.persistence.internal.jpa.metadata.MetadataLogger;
@@ -76,6 +78,15 @@ public abstract class MetadataFactory {
         m_metadataClasses.put(name, metadataClass);
     }
     
+    /**
+     * INTERNAL:
+     * Build the class metadata for the class names ahead of their use, using
+     * the executor. By default nothing is done and each class is built on
+     * demand by getMetadataClass.
+     */
+    public void buildClassMetadata(Collection<String> classNames, boolean isLazy, ExecutorService executor) {
+    }
+    
     /**
      * INTERNAL:
      */
@@ -0,0 +1,324 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 and Eclipse Distribution License v. 1.0
+ * which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * Contributors:
+ *     Oracle - 2.6 - initial implementation
+ ******************************************************************************/
+package org.eclipse.persistence.internal.jpa.querydef;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.persistence.Tuple;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Fetch;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.Order;
+import javax.persistence.criteria.ParameterExpression;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+
+import org.eclipse.persistence.expressions.ExpressionBuilder;
+import org.eclipse.persistence.internal.expressions.ConstantExpression;
+import org.eclipse.persistence.internal.expressions.FunctionExpression;
+import org.eclipse.persistence.internal.expressions.LogicalExpression;
+import org.eclipse.persistence.internal.expressions.QueryKeyExpression;
+import org.eclipse.persistence.internal.expressions.RelationExpression;
+
+/**
+ * <p>
+ * <b>Purpose</b>: A canonical structural key for a criteria query.
+ * <p>
+ * <b>Description</b>: Two criteria queries have equal fingerprints if they
+ * translate to the same DatabaseQuery and so the same SQL.  Parameter values
+ * are not part of a criteria query, so queries that only differ in the values
+ * bound when they are executed share a fingerprint.  Literal values are part of
+ * the SQL and are included.
+ * <p>
+ * The expression trees are written as a flat list of tokens.  Nodes are
+ * numbered in the order they are first visited and later visits only refer to
+ * that number, so queries that share a node (i.e. the same join used twice)
+ * and queries that use two equal but distinct nodes (two joins over the same
+ * attribute) differ.
+ * <p>
+ * Only the expression types with a fully known structure are supported.  A
+ * criteria query using anything else (subqueries, case expressions, unnamed
+ * parameters, mutable literals, ...) has no fingerprint and is not cached.
+ *
+ * @see org.eclipse.persistence.sessions.Project#getCriteriaQueryCache()
+ *
+ * @since EclipseLink 2.6
+ */
+public final class CriteriaFingerprint {
+
+    private final List<Object> tokens;
+    private final int hashCode;
+
+    private CriteriaFingerprint(List<Object> tokens) {
+        this.tokens = tokens;
+        this.hashCode = tokens.hashCode();
+    }
+
+    /**
+     * INTERNAL:
+     * Return the fingerprint of the criteria query, or null if the query
+     * can't be fingerprinted and should not be cached.
+     */
+    public static CriteriaFingerprint build(CriteriaQueryImpl<?> criteriaQuery) {
+        Builder builder = new Builder();
+        if (builder.addQuery(criteriaQuery)) {
+            return new CriteriaFingerprint(builder.tokens);
+        }
+        return null;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof CriteriaFingerprint)) {
+            return false;
+        }
+        CriteriaFingerprint fingerprint = (CriteriaFingerprint) object;
+        return (this.hashCode == fingerprint.hashCode) && this.tokens.equals(fingerprint.tokens);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return "CriteriaFingerprint" + this.tokens;
+    }
+
+    /**
+     * Walks a criteria query, each add method returns false as soon as part of
+     * the query can't be fingerprinted.
+     */
+    private static class Builder {
+
+        List<Object> tokens = new ArrayList<Object>();
+        Map<org.eclipse.persistence.expressions.Expression, Integer> nodeIds = new IdentityHashMap<org.eclipse.persistence.expressions.Expression, Integer>();
+
+        boolean addQuery(CriteriaQueryImpl<?> query) {
+            // Tuple results refer back to the criteria selections so can't be shared.
+            if ((query.queryResult == AbstractQueryImpl.ResultType.TUPLE) || (query.queryType == Tuple.class)
+                    || ((query.selection != null) && (query.selection.getJavaType() == Tuple.class))) {
+                return false;
+            }
+            this.tokens.add(query.queryResult);
+            this.tokens.add(query.queryType);
+            this.tokens.add(query.distinct);
+            for (ParameterExpression<?> parameter : query.getParameters()) {
+                ParameterExpressionImpl<?> parameterImpl = (ParameterExpressionImpl<?>) parameter;
+                // Unnamed parameters get a generated name, which differs between queries.
+                if ((parameterImpl.getName() == null) && (parameterImpl.getPosition() == null)) {
+                    return false;
+                }
+                this.tokens.add(parameterImpl.getInternalName());
+                this.tokens.add(parameterImpl.getPosition());
+                this.tokens.add(parameterImpl.getJavaType());
+            }
+            this.tokens.add("roots");
+            for (Root<?> root : query.getRoots()) {
+                if (!addFrom((FromImpl) root)) {
+                    return false;
+                }
+            }
+            this.tokens.add("select");
+            if ((query.selection != null) && !addSelection(query.selection)) {
+                return false;
+            }
+            this.tokens.add("where");
+            if ((query.where != null) && !addSelection((InternalSelection) query.where)) {
+                return false;
+            }
+            this.tokens.add("groupBy");
+            if (query.groupBy != null) {
+                for (Expression<?> grouping : query.groupBy) {
+                    if (!addSelection((InternalSelection) grouping)) {
+                        return false;
+                    }
+                }
+            }
+            this.tokens.add("having");
+            if ((query.havingClause != null) && !addSelection((InternalSelection) query.havingClause)) {
+                return false;
+            }
+            this.tokens.add("orderBy");
+            if (query.orderBy != null) {
+                for (Order order : query.orderBy) {
+                    OrderImpl orderImpl = (OrderImpl) order;
+                    this.tokens.add(orderImpl.isAscending());
+                    if (!addSelection((InternalSelection) orderImpl.getExpression())) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Add a root or join along with its nested joins and fetches.
+         */
+        boolean addFrom(FromImpl<?, ?> from) {
+            this.tokens.add(from.getClass());
+            this.tokens.add(from.isJoin);
+            this.tokens.add(from.isFetch);
+            if (!addNode(from.getCurrentNode())) {
+                return false;
+            }
+            Set<? extends Join<?, ?>> joins = from.getJoins();
+            if (joins != null) {
+                this.tokens.add(joins.size());
+                for (Join<?, ?> join : joins) {
+                    if (!addFrom((FromImpl) join)) {
+                        return false;
+                    }
+                }
+            }
+            Set<? extends Fetch<?, ?>> fetches = from.getFetches();
+            if (fetches != null) {
+                this.tokens.add(fetches.size());
+                for (Fetch<?, ?> fetch : fetches) {
+                    if (!addFrom((FromImpl) fetch)) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        boolean addSelection(InternalSelection selection) {
+            this.tokens.add(selection.getClass());
+            if (selection instanceof SelectionImpl) {
+                SelectionImpl<?> selectionImpl = (SelectionImpl<?>) selection;
+                this.tokens.add(selectionImpl.getAlias());
+                this.tokens.add(selectionImpl.getJavaType());
+                if (selectionImpl.isCompoundSelection()) {
+                    List<Selection<?>> items = selectionImpl.getCompoundSelectionItems();
+                    this.tokens.add(items.size());
+                    for (Selection<?> item : items) {
+                        if (!addSelection((InternalSelection) item)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }
+            }
+            if (selection instanceof FunctionExpressionImpl) {
+                this.tokens.add(((FunctionExpressionImpl<?>) selection).getOperation());
+            }
+            org.eclipse.persistence.expressions.Expression node = selection.getCurrentNode();
+            if (node == null) {
+                // An empty conjunction or disjunction.
+                if (selection instanceof PredicateImpl) {
+                    this.tokens.add(((PredicateImpl) selection).getJunctionValue());
+                    return true;
+                }
+                return false;
+            }
+            return addNode(node);
+        }
+
+        /**
+         * Add an EclipseLink expression node, only the node types whose state
+         * is fully captured here are supported.
+         */
+        boolean addNode(org.eclipse.persistence.expressions.Expression node) {
+            if (node == null) {
+                this.tokens.add(null);
+                return true;
+            }
+            Integer id = this.nodeIds.get(node);
+            if (id != null) {
+                this.tokens.add(id);
+                return true;
+            }
+            this.nodeIds.put(node, this.nodeIds.size());
+            Class<?> nodeClass = node.getClass();
+            this.tokens.add(nodeClass);
+            if (nodeClass == ExpressionBuilder.class) {
+                ExpressionBuilder builder = (ExpressionBuilder) node;
+                if ((builder.getViewTable() != null) || (builder.getAsOfClause() != null)) {
+                    return false;
+                }
+                this.tokens.add(builder.getQueryClass());
+                return true;
+            } else if (nodeClass == QueryKeyExpression.class) {
+                QueryKeyExpression queryKey = (QueryKeyExpression) node;
+                if ((queryKey.getJoinSource() != null) || (queryKey.getAsOfClause() != null)) {
+                    return false;
+                }
+                this.tokens.add(queryKey.getName());
+                this.tokens.add(queryKey.shouldQueryToManyRelationship());
+                this.tokens.add(queryKey.shouldUseOuterJoin());
+                this.tokens.add(queryKey.shouldUseOuterJoinForMultitableInheritance());
+                this.tokens.add(queryKey.getCastClass());
+                return addNode(queryKey.getBaseExpression()) && addNode(queryKey.getOnClause());
+            } else if ((nodeClass == LogicalExpression.class) || (nodeClass == RelationExpression.class)) {
+                org.eclipse.persistence.internal.expressions.CompoundExpression compound = (org.eclipse.persistence.internal.expressions.CompoundExpression) node;
+                this.tokens.add(compound.getOperator());
+                return addNode(compound.getFirstChild()) && addNode(compound.getSecondChild());
+            } else if (nodeClass == FunctionExpression.class) {
+                FunctionExpression function = (FunctionExpression) node;
+                this.tokens.add(function.getOperator());
+                this.tokens.add(function.getResultType());
+                List<?> children = function.getChildren();
+                this.tokens.add(children.size());
+                for (Object child : children) {
+                    if (!addNode((org.eclipse.persistence.expressions.Expression) child)) {
+                        return false;
+                    }
+                }
+                return true;
+            } else if (nodeClass == org.eclipse.persistence.internal.expressions.ParameterExpression.class) {
+                org.eclipse.persistence.internal.expressions.ParameterExpression parameter = (org.eclipse.persistence.internal.expressions.ParameterExpression) node;
+                this.tokens.add(parameter.getField().getName());
+                this.tokens.add(parameter.getType());
+                this.tokens.add(parameter.isProperty());
+                return addNode(parameter.getLocalBase()) && addNode(parameter.getBaseExpression());
+            } else if (nodeClass == ConstantExpression.class) {
+                ConstantExpression constant = (ConstantExpression) node;
+                Object value = constant.getValue();
+                if (!isImmutableValue(value)) {
+                    return false;
+                }
+                this.tokens.add(value);
+                return addNode(constant.getLocalBase());
+            }
+            return false;
+        }
+
+        /**
+         * Only values that can't change after being cached, and whose equals
+         * is their value, can be part of a fingerprint.
+         */
+        static boolean isImmutableValue(Object value) {
+            if (value == null) {
+                return true;
+            }
+            Class<?> valueClass = value.getClass();
+            return (valueClass == String.class) || (valueClass == Integer.class) || (valueClass == Long.class)
+                || (valueClass == Boolean.class) || (valueClass == Double.class) || (valueClass == Float.class)
+                || (valueClass == Short.class) || (valueClass == Byte.class) || (valueClass == Character.class)
+                || (valueClass == BigDecimal.class) || (valueClass == BigInteger.class) || (value instanceof Enum);
+        }
+
+    }
+
+}
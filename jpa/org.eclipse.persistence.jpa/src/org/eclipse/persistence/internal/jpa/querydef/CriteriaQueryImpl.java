@@ -32,15 +32,18 @@ import javax.persistence.metamodel.Type.PersistenceType;
 
 import org.eclipse.persistence.internal.helper.BasicTypeHelperImpl;
 import org.eclipse.persistence.internal.helper.ClassConstants;
+import org.eclipse.persistence.internal.helper.ConcurrentFixedCache;
 import org.eclipse.persistence.internal.jpa.metamodel.MetamodelImpl;
 import org.eclipse.persistence.internal.jpa.metamodel.TypeImpl;
 import org.eclipse.persistence.internal.localization.ExceptionLocalization;
 import org.eclipse.persistence.internal.security.PrivilegedAccessHelper;
 import org.eclipse.persistence.internal.security.PrivilegedGetConstructorFor;
+import org.eclipse.persistence.internal.sessions.AbstractSession;
 import org.eclipse.persistence.queries.DatabaseQuery;
 import org.eclipse.persistence.queries.ObjectLevelReadQuery;
 import org.eclipse.persistence.queries.ReadAllQuery;
 import org.eclipse.persistence.queries.ReportQuery;
+import org.eclipse.persistence.sessions.DatabaseRecord;
 
 /**
  * <p>
@@ -719,4 +722,33 @@ public class CriteriaQueryImpl<T> extends AbstractQueryImpl<T> implements Criter
         return query;
     }
 
+    /**
+     * Translates from the criteria query to a prepared EclipseLink Database Query.
+     * PERF: The prepared query is cached in the session's criteria query cache
+     * by the structure of the criteria query, so building the same criteria
+     * query again skips both the translation and the SQL generation.  As with
+     * the JPQL parse cache, the returned query is shared and must be cloned
+     * before being changed.
+     */
+    public DatabaseQuery translate(AbstractSession session) {
+        CriteriaFingerprint fingerprint = CriteriaFingerprint.build(this);
+        if (fingerprint == null) {
+            return translate();
+        }
+        ConcurrentFixedCache cache = session.getProject().getCriteriaQueryCache();
+        DatabaseQuery query = (DatabaseQuery) cache.get(fingerprint);
+        if ((query != null) && query.isPrepared()) {
+            return query;
+        }
+        query = translate();
+        try {
+            query.checkPrepare(session, new DatabaseRecord());
+        } catch (RuntimeException exception) {
+            // Leave the error to be reported when the query is executed, as it was before caching.
+            return query;
+        }
+        cache.put(fingerprint, query);
+        return query;
+    }
+
 }
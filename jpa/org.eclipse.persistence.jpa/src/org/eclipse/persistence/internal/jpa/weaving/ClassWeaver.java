@@ -19,7 +19,9 @@
  ******************************************************************************/
 package org.eclipse.persistence.internal.jpa.weaving;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 
 import org.eclipse.persistence.internal.helper.Helper;
 import org.eclipse.persistence.internal.libraries.asm.ClassVisitor;
@@ -63,6 +65,10 @@ public class ClassWeaver extends ClassVisitor implements Opcodes {
     public static final String PERSISTENCE_ENTITY_SHORT_SIGNATURE = "org/eclipse/persistence/internal/descriptors/PersistenceEntity";
     public static final String PERSISTENCE_OBJECT_SHORT_SIGNATURE = "org/eclipse/persistence/internal/descriptors/PersistenceObject";
     public static final String PERSISTENCE_OBJECT_SIGNATURE = "L" + PERSISTENCE_OBJECT_SHORT_SIGNATURE + ";";
+    public static final String INDEXED_PERSISTENCE_OBJECT_SHORT_SIGNATURE = "org/eclipse/persistence/internal/descriptors/IndexedPersistenceObject";
+    // The index of an attribute is its class depth in the high bits, and its position in the low bits.
+    public static final int INDEX_DEPTH_SHIFT = 16;
+    public static final int INDEX_POSITION_MASK = 0xFFFF;
     public static final String VECTOR_SIGNATURE = "Ljava/util/Vector;";
     public static final String OBJECT_SIGNATURE = "Ljava/lang/Object;";
     public static final String STRING_SIGNATURE = "Ljava/lang/String;";
@@ -1006,6 +1012,215 @@ public class ClassWeaver extends ClassVisitor implements Opcodes {
         cv_set.visitMaxs(0, 0);
     }
 
+    /**
+     * Add internal index based get and set methods, and a method comparing
+     * primitive attributes. This is used to avoid reflection, the attribute
+     * name comparisons of the String based methods, and boxing primitives
+     * for change detection. The index of an attribute is the depth of its
+     * class in the weaved hierarchy in the high bits, and its position in
+     * its class in the low bits.
+     * 
+     * public int _persistence_index(String attribute) { if
+     * (attribute.equals("address")) { return 0; } if (attribute.equals("id"))
+     * { return 1; } return -1; }
+     * 
+     * public Object _persistence_get(int index) { if ((index >>> 16) != 0) {
+     * return null; } switch (index & 0xFFFF) { case 0: return this.address;
+     * case 1: return Long.valueOf(this.id); } return null; }
+     * 
+     * public boolean _persistence_primitiveEquals(int index, Object object) {
+     * if ((index >>> 16) != 0) { return false; } switch (index & 0xFFFF) {
+     * case 1: return this.id == ((Employee)object).id; } return false; }
+     * 
+     * and the same set method, subclasses call super for the indexes of their
+     * superclass instead of returning the default.
+     */
+    public void addPersistenceIndexedGetSet(ClassDetails classDetails) {
+        List<AttributeDetails> attributes = new ArrayList<AttributeDetails>();
+        for (AttributeDetails attributeDetails : classDetails.getAttributesMap().values()) {
+            if (!attributeDetails.isAttributeOnSuperClass() && !attributeDetails.isVirtualProperty()) {
+                attributes.add(attributeDetails);
+            }
+        }
+        int depth = 0;
+        for (ClassDetails superClassDetails = classDetails.getSuperClassDetails(); superClassDetails != null; superClassDetails = superClassDetails.getSuperClassDetails()) {
+            depth++;
+        }
+
+        // create the _persistence_index() method
+        MethodVisitor cv_index = cv.visitMethod(ACC_PUBLIC, "_persistence_index", "(" + STRING_SIGNATURE + ")I", null, null);
+        for (int position = 0; position < attributes.size(); position++) {
+            // if (attribute.equals("address")) return index;
+            Label label = new Label();
+            cv_index.visitVarInsn(ALOAD, 1);
+            cv_index.visitLdcInsn(attributes.get(position).getAttributeName());
+            cv_index.visitMethodInsn(INVOKEVIRTUAL, "java/lang/String", "equals", "(" + OBJECT_SIGNATURE + ")Z", false);
+            cv_index.visitJumpInsn(IFEQ, label);
+            cv_index.visitLdcInsn(Integer.valueOf((depth << INDEX_DEPTH_SHIFT) | position));
+            cv_index.visitInsn(IRETURN);
+            cv_index.visitLabel(label);
+        }
+        if (classDetails.getSuperClassDetails() == null) {
+            // return -1;
+            cv_index.visitInsn(ICONST_M1);
+        } else {
+            cv_index.visitVarInsn(ALOAD, 0);
+            cv_index.visitVarInsn(ALOAD, 1);
+            cv_index.visitMethodInsn(INVOKESPECIAL, classDetails.getSuperClassName(), "_persistence_index", "(" + STRING_SIGNATURE + ")I", false);
+        }
+        cv_index.visitInsn(IRETURN);
+        cv_index.visitMaxs(0, 0);
+
+        int[] keys = new int[attributes.size()];
+        Label[] labels = new Label[attributes.size()];
+        for (int position = 0; position < labels.length; position++) {
+            keys[position] = position;
+            labels[position] = new Label();
+        }
+
+        // create the _persistence_get() method
+        String getDescriptor = "(I)" + OBJECT_SIGNATURE;
+        MethodVisitor cv_get = cv.visitMethod(ACC_PUBLIC, "_persistence_get", getDescriptor, null, null);
+        Label defaultLabel = new Label();
+        visitIndexSwitch(cv_get, classDetails, depth, "_persistence_get", getDescriptor, ARETURN, keys, labels, defaultLabel);
+        for (int position = 0; position < labels.length; position++) {
+            AttributeDetails attributeDetails = attributes.get(position);
+            // case position: return this.address;
+            cv_get.visitLabel(labels[position]);
+            cv_get.visitVarInsn(ALOAD, 0);
+            cv_get.visitFieldInsn(GETFIELD, classDetails.getClassName(), attributeDetails.getAttributeName(), attributeDetails.getReferenceClassType().getDescriptor());
+            String wrapper = ClassWeaver.wrapperFor(attributeDetails.getReferenceClassType().getSort());
+            if (wrapper != null) {
+                cv_get.visitMethodInsn(INVOKESTATIC, wrapper, "valueOf", "(" + attributeDetails.getReferenceClassType().getDescriptor() + ")L" + wrapper + ";", false);
+            }
+            cv_get.visitInsn(ARETURN);
+        }
+        // return null;
+        cv_get.visitLabel(defaultLabel);
+        cv_get.visitInsn(ACONST_NULL);
+        cv_get.visitInsn(ARETURN);
+        cv_get.visitMaxs(0, 0);
+
+        // create the _persistence_set() method
+        String setDescriptor = "(I" + OBJECT_SIGNATURE + ")V";
+        MethodVisitor cv_set = cv.visitMethod(ACC_PUBLIC, "_persistence_set", setDescriptor, null, null);
+        defaultLabel = new Label();
+        for (int position = 0; position < labels.length; position++) {
+            labels[position] = new Label();
+        }
+        visitIndexSwitch(cv_set, classDetails, depth, "_persistence_set", setDescriptor, RETURN, keys, labels, defaultLabel);
+        for (int position = 0; position < labels.length; position++) {
+            AttributeDetails attributeDetails = attributes.get(position);
+            // case position: this.address = (String)value; return;
+            cv_set.visitLabel(labels[position]);
+            cv_set.visitVarInsn(ALOAD, 0);
+            cv_set.visitVarInsn(ALOAD, 2);
+            String wrapper = wrapperFor(attributeDetails.getReferenceClassType().getSort());
+            if (wrapper == null) {
+                wrapper = attributeDetails.getReferenceClassName().replace('.', '/');
+            }
+            cv_set.visitTypeInsn(CHECKCAST, wrapper);
+            // Unwrap any primitive wrapper to its value.
+            unwrapPrimitive(attributeDetails, cv_set);
+            cv_set.visitFieldInsn(PUTFIELD, classDetails.getClassName(), attributeDetails.getAttributeName(), attributeDetails.getReferenceClassType().getDescriptor());
+            cv_set.visitInsn(RETURN);
+        }
+        cv_set.visitLabel(defaultLabel);
+        cv_set.visitInsn(RETURN);
+        cv_set.visitMaxs(0, 0);
+
+        // create the _persistence_primitiveEquals() method, only primitive attributes have a case
+        List<AttributeDetails> primitives = new ArrayList<AttributeDetails>();
+        List<Integer> positions = new ArrayList<Integer>();
+        for (int position = 0; position < attributes.size(); position++) {
+            if (wrapperFor(attributes.get(position).getReferenceClassType().getSort()) != null) {
+                primitives.add(attributes.get(position));
+                positions.add(position);
+            }
+        }
+        keys = new int[primitives.size()];
+        labels = new Label[primitives.size()];
+        for (int index = 0; index < labels.length; index++) {
+            keys[index] = positions.get(index);
+            labels[index] = new Label();
+        }
+        String equalsDescriptor = "(I" + OBJECT_SIGNATURE + ")Z";
+        MethodVisitor cv_equals = cv.visitMethod(ACC_PUBLIC, "_persistence_primitiveEquals", equalsDescriptor, null, null);
+        defaultLabel = new Label();
+        visitIndexSwitch(cv_equals, classDetails, depth, "_persistence_primitiveEquals", equalsDescriptor, IRETURN, keys, labels, defaultLabel);
+        for (int index = 0; index < labels.length; index++) {
+            AttributeDetails attributeDetails = primitives.get(index);
+            Type type = attributeDetails.getReferenceClassType();
+            // case position: return this.id == ((Employee)object).id;
+            cv_equals.visitLabel(labels[index]);
+            cv_equals.visitVarInsn(ALOAD, 0);
+            cv_equals.visitFieldInsn(GETFIELD, classDetails.getClassName(), attributeDetails.getAttributeName(), type.getDescriptor());
+            visitComparable(cv_equals, type);
+            cv_equals.visitVarInsn(ALOAD, 2);
+            cv_equals.visitTypeInsn(CHECKCAST, classDetails.getClassName());
+            cv_equals.visitFieldInsn(GETFIELD, classDetails.getClassName(), attributeDetails.getAttributeName(), type.getDescriptor());
+            visitComparable(cv_equals, type);
+            if ((type.getSort() == Type.LONG) || (type.getSort() == Type.DOUBLE)) {
+                cv_equals.visitInsn(LCMP);
+                cv_equals.visitJumpInsn(IFNE, defaultLabel);
+            } else {
+                cv_equals.visitJumpInsn(IF_ICMPNE, defaultLabel);
+            }
+            cv_equals.visitInsn(ICONST_1);
+            cv_equals.visitInsn(IRETURN);
+        }
+        // return false;
+        cv_equals.visitLabel(defaultLabel);
+        cv_equals.visitInsn(ICONST_0);
+        cv_equals.visitInsn(IRETURN);
+        cv_equals.visitMaxs(0, 0);
+    }
+
+    /**
+     * Switch on the position of the index to the labels.  An index of another
+     * class depth is passed to super, or jumps to the default label in the
+     * root of the weaved hierarchy.
+     */
+    protected void visitIndexSwitch(MethodVisitor visitor, ClassDetails classDetails, int depth, String methodName, String descriptor, int returnOpcode, int[] keys, Label[] labels, Label defaultLabel) {
+        // if ((index >>> 16) != depth) return super._persistence_get(index);
+        visitor.visitVarInsn(ILOAD, 1);
+        visitor.visitLdcInsn(Integer.valueOf(INDEX_DEPTH_SHIFT));
+        visitor.visitInsn(IUSHR);
+        visitor.visitLdcInsn(Integer.valueOf(depth));
+        if (classDetails.getSuperClassDetails() == null) {
+            visitor.visitJumpInsn(IF_ICMPNE, defaultLabel);
+        } else {
+            Label local = new Label();
+            visitor.visitJumpInsn(IF_ICMPEQ, local);
+            visitor.visitVarInsn(ALOAD, 0);
+            visitor.visitVarInsn(ILOAD, 1);
+            if (Type.getArgumentTypes(descriptor).length > 1) {
+                visitor.visitVarInsn(ALOAD, 2);
+            }
+            visitor.visitMethodInsn(INVOKESPECIAL, classDetails.getSuperClassName(), methodName, descriptor, false);
+            visitor.visitInsn(returnOpcode);
+            visitor.visitLabel(local);
+        }
+        // switch (index & 0xFFFF)
+        visitor.visitVarInsn(ILOAD, 1);
+        visitor.visitLdcInsn(Integer.valueOf(INDEX_POSITION_MASK));
+        visitor.visitInsn(IAND);
+        visitor.visitLookupSwitchInsn(defaultLabel, keys, labels);
+    }
+
+    /**
+     * Convert the primitive value on the stack to an int or long that is equal
+     * only if the values are equal as their wrappers, floating point values
+     * are compared as their bits.
+     */
+    protected void visitComparable(MethodVisitor visitor, Type type) {
+        if (type.getSort() == Type.FLOAT) {
+            visitor.visitMethodInsn(INVOKESTATIC, "java/lang/Float", "floatToIntBits", "(F)I", false);
+        } else if (type.getSort() == Type.DOUBLE) {
+            visitor.visitMethodInsn(INVOKESTATIC, "java/lang/Double", "doubleToLongBits", "(D)J", false);
+        }
+    }
+
     /**
      * Adds get/set method for PersistenceEntity interface. This adds the
      * following methods:
@@ -1238,10 +1453,13 @@ public class ClassWeaver extends ClassVisitor implements Opcodes {
         }
         // PersistenceObject
         int persistenceObjectIndex = 0;
+        int indexedPersistenceObjectIndex = 0;
         boolean persistenceObject = classDetails.shouldWeaveInternal();
         if (persistenceObject) {
             persistenceObjectIndex = newInterfacesLength;
             newInterfacesLength++;
+            indexedPersistenceObjectIndex = newInterfacesLength;
+            newInterfacesLength++;
         }
         // FetchGroupTracker
         int fetchGroupTrackerIndex = 0;
@@ -1301,6 +1519,7 @@ public class ClassWeaver extends ClassVisitor implements Opcodes {
         // interface.
         if (persistenceObject) {
             newInterfaces[persistenceObjectIndex] = PERSISTENCE_OBJECT_SHORT_SIGNATURE;
+            newInterfaces[indexedPersistenceObjectIndex] = INDEXED_PERSISTENCE_OBJECT_SHORT_SIGNATURE;
         }
         // Add org.eclipse.persistence.queries.FetchGroupTracker interface.
         if (fetchGroupTracker) {
@@ -1381,6 +1600,7 @@ public class ClassWeaver extends ClassVisitor implements Opcodes {
                 // Add empty new method and generic get/set methods.
                 addPersistenceNew(this.classDetails);
                 addPersistenceGetSet(this.classDetails);
+                addPersistenceIndexedGetSet(this.classDetails);
             }
 
             boolean attributeAccess = false;
@@ -12,7 +12,9 @@
  ******************************************************************************/  
 package org.eclipse.persistence.jpa;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.persistence.queries.AttributeGroup;
 import org.eclipse.persistence.queries.Call;
@@ -152,4 +154,24 @@ public interface JpaEntityManager extends javax.persistence.EntityManager {
      * The AttributeGroup should correspond to the entity type. 
      */
     public Object copy(Object entityOrEntities, AttributeGroup group);
+
+    /**
+     * Find the entities of the class with the primary keys.
+     * The entities in the persistence context or the shared cache are returned from there,
+     * only the remaining entities are read from the database, using as few IN queries as the
+     * platform allows.
+     * The result has the entity for each primary key in the order given, or null if the
+     * entity does not exist.
+     * @throws IllegalArgumentException if the class is not an entity, or a primary key is null
+     * or not a valid type for the entity's primary key.
+     * @since EclipseLink 2.6
+     */
+    public <T> List<T> findAll(Class<T> entityClass, Collection<?> primaryKeys);
+
+    /**
+     * Find the entities of the class with the primary keys, using the specified properties and query hints.
+     * @see #findAll(Class, Collection)
+     * @since EclipseLink 2.6
+     */
+    public <T> List<T> findAll(Class<T> entityClass, Collection<?> primaryKeys, Map<String, Object> properties);
 }
@@ -24,7 +24,12 @@ import org.eclipse.persistence.sessions.Project;
 /**
  * <p><b>Purpose</b>: Support serializing/deserializing a project representing application metadata
  * to/from a file.  
+ * <p>
+ * When EclipseLink provides the persistence unit digest, it is written ahead of the project and 
+ * a file written for another digest is ignored, so the project is rebuilt (and the file rewritten)
+ * when the persistence unit classes, mapping files or properties change.
  * 
+ * @see ProjectCache#PROJECT_CACHE_DIGEST
  */
 public class FileBasedProjectCache implements ProjectCache {
 
@@ -40,7 +45,21 @@ public class FileBasedProjectCache implements ProjectCache {
                 java.io.File file = new java.io.File(fileName);
                 java.io.FileInputStream fis = new java.io.FileInputStream(file);
                 in = new java.io.ObjectInputStream(fis);
-                project = (Project)in.readObject();
+                Object object = in.readObject();
+                String digest = (properties == null) ? null : (String)properties.get(PROJECT_CACHE_DIGEST);
+                if (object instanceof String) {
+                    // The digest the project was stored with.
+                    if (digest != null && !digest.equals(object)) {
+                        log.log(SessionLog.FINER, SessionLog.JPA, "project_cache_digest_mismatch", new Object[]{fileName});
+                        return null;
+                    }
+                    object = in.readObject();
+                } else if (digest != null) {
+                    // Stored without a digest, so it can't be validated.
+                    log.log(SessionLog.FINER, SessionLog.JPA, "project_cache_digest_mismatch", new Object[]{fileName});
+                    return null;
+                }
+                project = (Project)object;
             } catch (Exception e) {
               //need exception differentiation,logging and warnings
               //the project not being cached should be different than an exception from reading the stream
@@ -66,13 +85,27 @@ public class FileBasedProjectCache implements ProjectCache {
         if (fileName != null && fileName.length() > 0) {
             FileOutputStream fos = null;
             ObjectOutputStream out = null;
+            File file = new File(fileName);
+            // Write to a temporary file first so a concurrent or failed write never leaves a partial file.
+            File tempFile = new File(fileName + ".tmp");
             try {
-                File file = new File(fileName);
-                // creates the file
-                file.createNewFile();
-                fos = new FileOutputStream(file);
+                fos = new FileOutputStream(tempFile);
                 out = new ObjectOutputStream(fos);
+                String digest = (properties == null) ? null : (String)properties.get(PROJECT_CACHE_DIGEST);
+                if (digest != null) {
+                    out.writeObject(digest);
+                }
                 out.writeObject(project);
+                out.close();
+                out = null;
+                fos = null;
+                if (!tempFile.renameTo(file)) {
+                    // Some platforms can't rename over an existing file.
+                    file.delete();
+                    if (!tempFile.renameTo(file)) {
+                        throw new java.io.IOException(tempFile.getPath());
+                    }
+                }
             } catch (Exception e) {
                 //the session is still usable, just not cachable so log a warning
                 log.logThrowable(SessionLog.WARNING, SessionLog.JPA, e);
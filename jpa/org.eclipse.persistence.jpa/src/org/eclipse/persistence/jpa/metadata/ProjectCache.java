@@ -28,6 +28,16 @@ import org.eclipse.persistence.sessions.Project;
  */
 public interface ProjectCache {
 
+    /**
+     * The property set by EclipseLink, on the properties passed to retrieveProject and
+     * storeProject, to the digest of the persistence unit classes, mapping files and
+     * properties.  A project stored with one digest should not be retrieved for another.
+     * It is not set if the digest could not be computed.
+     * 
+     * @since EclipseLink 2.6
+     */
+    public static final String PROJECT_CACHE_DIGEST = "eclipselink.project-cache.digest";
+
     /**
      * PUBLIC: This method is responsible for returning the cached metadata as represented
      * by a Project instance.  This instance will have limited processing performed to turn
@@ -0,0 +1,245 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 and Eclipse Distribution License v. 1.0
+ * which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * Contributors:
+ *     Oracle - 2.6 - initial implementation
+ ******************************************************************************/
+package org.eclipse.persistence.tools.weaving.jpa;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.net.URL;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import org.eclipse.persistence.internal.helper.Helper;
+import org.eclipse.persistence.internal.jpa.deployment.PersistenceUnitProcessor;
+import org.eclipse.persistence.internal.localization.ToStringLocalization;
+import org.eclipse.persistence.internal.libraries.asm.AnnotationVisitor;
+import org.eclipse.persistence.internal.libraries.asm.ClassReader;
+import org.eclipse.persistence.internal.libraries.asm.ClassVisitor;
+import org.eclipse.persistence.internal.libraries.asm.Opcodes;
+import org.eclipse.persistence.jpa.Archive;
+
+/**
+* <p>
+* <b>Description</b>: This is the command line class that builds the class index of
+* a persistence unit archive.  The index lists the classes annotated as an Entity,
+* Embeddable, MappedSuperclass, Converter or StaticMetamodel, so that deployment
+* can find them without reading every class in the archive.
+* <p>
+*&nbsp;<b>Usage</b>:<br>
+*&nbsp;&nbsp;StaticIndex source [target]<br>
+*&nbsp;The source is a directory or jar. The target is the index file to write. If it is not given
+*&nbsp;the index is written as META-INF/eclipselink-class-index inside a directory source, or the
+*&nbsp;jar source is updated to contain it.<br>
+*&nbsp;The index must be rebuilt whenever the classes of the archive change. Deployment only
+*&nbsp;processes the indexed classes, so a persistent class added after the index was built
+*&nbsp;is not found. An indexed class that is no longer in the archive is logged and ignored.<br>
+*<b>Example</b>:<br>
+*&nbsp;StaticIndex target/classes
+*
+* @see PersistenceUnitProcessor#CLASS_INDEX
+* @see org.eclipse.persistence.config.PersistenceUnitProperties#METADATA_PROCESSING_CLASS_INDEX
+* @since EclipseLink 2.6
+**/
+public class StaticIndex {
+
+    private static final Set<String> INDEXED_ANNOTATIONS = new TreeSet<String>();
+    static {
+        INDEXED_ANNOTATIONS.add("Ljavax/persistence/Entity;");
+        INDEXED_ANNOTATIONS.add("Ljavax/persistence/Embeddable;");
+        INDEXED_ANNOTATIONS.add("Ljavax/persistence/MappedSuperclass;");
+        INDEXED_ANNOTATIONS.add("Ljavax/persistence/Converter;");
+        INDEXED_ANNOTATIONS.add("Ljavax/persistence/metamodel/StaticMetamodel;");
+    }
+
+    public static void main(String[] argv) throws Exception {
+        if (argv.length < 1 || argv.length > 2) {
+            printUsage(System.out);
+            System.exit(1);
+        }
+        File source = new File(argv[0]);
+        if (!source.exists()) {
+            printUsage(System.out);
+            System.exit(1);
+        }
+        Set<String> classNames = buildIndex(source.toURI().toURL());
+        File target = null;
+        if (argv.length == 2) {
+            target = new File(argv[1]);
+        } else if (source.isDirectory()) {
+            target = new File(source, PersistenceUnitProcessor.CLASS_INDEX);
+        } else {
+            writeIndex(classNames, source);
+            return;
+        }
+        if (target.getParentFile() != null) {
+            target.getParentFile().mkdirs();
+        }
+        Writer writer = new OutputStreamWriter(new FileOutputStream(target), "UTF-8");
+        try {
+            writeIndex(classNames, writer);
+        } finally {
+            writer.close();
+        }
+    }
+
+    /**
+     * Return the names of the indexed classes of the directory or jar, in
+     * name order.
+     */
+    public static Set<String> buildIndex(URL url) throws Exception {
+        Set<String> classNames = new TreeSet<String>();
+        Archive archive = PersistenceUnitProcessor.getArchiveFactory(StaticIndex.class.getClassLoader()).createArchive(url, null);
+        if (archive == null) {
+            return classNames;
+        }
+        try {
+            for (Iterator<String> entries = archive.getEntries(); entries.hasNext();) {
+                String entry = entries.next();
+                if (entry.endsWith(".class")) {
+                    InputStream stream = archive.getEntry(entry);
+                    try {
+                        ClassReader reader = new ClassReader(stream);
+                        AnnotationFinder finder = new AnnotationFinder();
+                        reader.accept(finder, ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+                        if (finder.isIndexed) {
+                            classNames.add(reader.getClassName().replace('/', '.'));
+                        }
+                    } finally {
+                        stream.close();
+                    }
+                }
+            }
+        } finally {
+            archive.close();
+        }
+        return classNames;
+    }
+
+    /**
+     * Write the index, one class name per line.
+     */
+    public static void writeIndex(Set<String> classNames, Writer writer) throws Exception {
+        writer.write("# EclipseLink class index, generated by StaticIndex\n");
+        for (String className : classNames) {
+            writer.write(className);
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    /**
+     * Add the index to the jar, replacing any index it already contains.
+     * The jar is rewritten to a temporary file next to it, which then
+     * replaces the jar.
+     */
+    public static void writeIndex(Set<String> classNames, File jar) throws Exception {
+        File temp = File.createTempFile(jar.getName(), ".tmp", jar.getAbsoluteFile().getParentFile());
+        try {
+            ZipInputStream in = new ZipInputStream(new FileInputStream(jar));
+            try {
+                ZipOutputStream out = new ZipOutputStream(new FileOutputStream(temp));
+                try {
+                    byte[] buffer = new byte[8192];
+                    for (ZipEntry entry = in.getNextEntry(); entry != null; entry = in.getNextEntry()) {
+                        if (entry.getName().equals(PersistenceUnitProcessor.CLASS_INDEX)) {
+                            continue;
+                        }
+                        // The compressed size of the copy may differ.
+                        ZipEntry copy = new ZipEntry(entry.getName());
+                        copy.setTime(entry.getTime());
+                        copy.setComment(entry.getComment());
+                        copy.setExtra(entry.getExtra());
+                        out.putNextEntry(copy);
+                        copy(in, out, buffer);
+                        out.closeEntry();
+                    }
+                    out.putNextEntry(new ZipEntry(PersistenceUnitProcessor.CLASS_INDEX));
+                    Writer writer = new OutputStreamWriter(out, "UTF-8");
+                    writeIndex(classNames, writer);
+                    out.closeEntry();
+                } finally {
+                    out.close();
+                }
+            } finally {
+                in.close();
+            }
+            if (!jar.delete() || !temp.renameTo(jar)) {
+                throw new IOException(jar.getPath());
+            }
+        } finally {
+            temp.delete();
+        }
+    }
+
+    private static void copy(InputStream in, OutputStream out, byte[] buffer) throws IOException {
+        int count = in.read(buffer);
+        while (count != -1) {
+            out.write(buffer, 0, count);
+            count = in.read(buffer);
+        }
+    }
+
+    static void printUsage(PrintStream out) {
+        // Because we can no longer use Helper.cr() inside of message bundles, we must break
+        // up the message into separate lines and use Helper.cr() here instead.
+        String messageString = ToStringLocalization.buildMessage("staticindex_commandline_help_message_usage");
+        messageString += Helper.cr() + Helper.cr();
+        messageString += ToStringLocalization.buildMessage("staticindex_commandline_help_message_source");
+        messageString += Helper.cr();
+        messageString += ToStringLocalization.buildMessage("staticindex_commandline_help_message_source_description");
+        messageString += Helper.cr();
+        messageString += ToStringLocalization.buildMessage("staticindex_commandline_help_message_target");
+        messageString += Helper.cr();
+        messageString += ToStringLocalization.buildMessage("staticindex_commandline_help_message_target_description", new Object[] { PersistenceUnitProcessor.CLASS_INDEX });
+        messageString += Helper.cr() + Helper.cr();
+        messageString += ToStringLocalization.buildMessage("staticindex_commandline_help_message_stale");
+        messageString += Helper.cr() + Helper.cr();
+        messageString += ToStringLocalization.buildMessage("staticindex_commandline_help_message_example");
+        messageString += Helper.cr();
+        messageString += ToStringLocalization.buildMessage("staticindex_commandline_help_message_example_command");
+        messageString += Helper.cr() + Helper.cr();
+
+        out.println(messageString);
+    }
+
+    /**
+     * Only the class annotations are visited, the fields and methods are
+     * skipped.
+     */
+    static class AnnotationFinder extends ClassVisitor {
+        boolean isIndexed;
+
+        AnnotationFinder() {
+            super(Opcodes.ASM5);
+        }
+
+        @Override
+        public AnnotationVisitor visitAnnotation(String desc, boolean visible) {
+            if (INDEXED_ANNOTATIONS.contains(desc)) {
+                this.isIndexed = true;
+            }
+            return null;
+        }
+    }
+
+}
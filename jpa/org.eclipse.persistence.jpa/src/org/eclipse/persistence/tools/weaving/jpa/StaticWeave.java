@@ -41,7 +41,11 @@ import org.eclipse.persistence.logging.SessionLog;
 *&nbsp;&nbsp;-loglevel<br>
 *&nbsp;&nbsp;&nbsp;&nbsp;Specify a literal value for eclipselink log level(OFF,SEVERE,WARNING,INFO,CONFIG,FINE,FINER,FINEST). The default value is OFF.<br>
 *&nbsp;&nbsp;-persistenceinfo<br>
-*&nbsp;&nbsp;&nbsp;&nbsp;The path contains META-INF/persistence.xml. This is ONLY required when the source does not include it.
+*&nbsp;&nbsp;&nbsp;&nbsp;The path contains META-INF/persistence.xml. This is ONLY required when the source does not include it.<br>
+*&nbsp;&nbsp;-threads<br>
+*&nbsp;&nbsp;&nbsp;&nbsp;The number of threads weaving classes. The default value is 1.<br>
+*&nbsp;&nbsp;-incremental<br>
+*&nbsp;&nbsp;&nbsp;&nbsp;Only weave the classes changed since the last weave of a directory target, using the manifest written next to the target.<br>
 *&nbsp;The classpath must contain all the classes necessary in oder to perform weaving.<br><br>
 *&nbsp;The weaving will be performed in place if source and target point to the same location. Weaving in place is ONLY applicable for directory-based sources.<br>
 *<b>Example</b>:<br>
@@ -74,6 +78,10 @@ public class StaticWeave {
         
         private String[] classpaths;
 
+        private int threads = 1;
+
+        private boolean incremental = false;
+
         public static void main(String[] argv) {
 
             StaticWeave staticweaver = new StaticWeave(argv);
@@ -112,6 +120,8 @@ public class StaticWeave {
                staticWeaverProcessor.setLog(logWriter);
             }
             staticWeaverProcessor.setLogLevel(loglevel);
+            staticWeaverProcessor.setThreadCount(threads);
+            staticWeaverProcessor.setIncremental(incremental);
             staticWeaverProcessor.performWeaving();
         }
 
@@ -121,7 +131,7 @@ public class StaticWeave {
          */
         void processCommandLine() throws Exception
         {
-            if (argv.length < 2 || argv.length>12) {
+            if (argv.length < 2 || argv.length>15) {
                 printUsage();
                 System.exit(1);
             }
@@ -157,6 +167,29 @@ public class StaticWeave {
                     continue;
                 }
                 
+                if (argv[i].equalsIgnoreCase("-threads")) {
+                    if ((i + 1) >= argv.length ){
+                           printUsage();
+                           System.exit(1);
+                    }
+                    try {
+                        threads=Integer.parseInt(argv[i+1]);
+                    } catch (NumberFormatException e) {
+                        threads=0;
+                    }
+                    if (threads < 1) {
+                        printUsage();
+                        System.exit(1);
+                    }
+                    i++;
+                    continue;
+                }
+                
+                if (argv[i].equalsIgnoreCase("-incremental")) {
+                    incremental=true;
+                    continue;
+                }
+                
                 if (argv[i].equalsIgnoreCase("-log")) {
                     if ((i + 1) >= argv.length ){
                            printUsage();
@@ -260,6 +293,14 @@ public class StaticWeave {
             messageString += ToStringLocalization.buildMessage("staticweave_commandline_help_message_12of19");
             messageString += Helper.cr();
             messageString += ToStringLocalization.buildMessage("staticweave_commandline_help_message_13of19");
+            messageString += Helper.cr();
+            messageString += ToStringLocalization.buildMessage("staticweave_commandline_help_message_threads");
+            messageString += Helper.cr();
+            messageString += ToStringLocalization.buildMessage("staticweave_commandline_help_message_threads_description");
+            messageString += Helper.cr();
+            messageString += ToStringLocalization.buildMessage("staticweave_commandline_help_message_incremental");
+            messageString += Helper.cr();
+            messageString += ToStringLocalization.buildMessage("staticweave_commandline_help_message_incremental_description");
             messageString += Helper.cr() + Helper.cr();
             messageString += ToStringLocalization.buildMessage("staticweave_commandline_help_message_14of19");
             messageString += Helper.cr();
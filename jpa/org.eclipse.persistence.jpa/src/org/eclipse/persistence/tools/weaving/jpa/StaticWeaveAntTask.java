@@ -76,6 +76,8 @@ public class StaticWeaveAntTask extends Task{
     private Vector classPaths = new Vector();
     private int logLevel = SessionLog.OFF;
     private Writer logWriter;    
+    private int threads = 1;
+    private boolean incremental = false;
     
     /**
      * Set the input archive to be used to weave.
@@ -126,6 +128,20 @@ public class StaticWeaveAntTask extends Task{
         this.persistencexml = persistenceXMLLocation;
     }
     
+    /**
+     * Set the number of threads weaving classes, the default is 1.
+     */
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+    
+    /**
+     * Set whether only the classes changed since the last weave of a directory target are woven.
+     */
+    public void setIncremental(boolean incremental) {
+        this.incremental = incremental;
+    }
+    
     /**
      * Add the dependent classpath in order to load classes from the specified input jar.
      */
@@ -212,6 +228,8 @@ public class StaticWeaveAntTask extends Task{
                weave.setLog(logWriter);
            }
            weave.setLogLevel(this.logLevel);
+           weave.setThreadCount(this.threads);
+           weave.setIncremental(this.incremental);
            weave.performWeaving();
        } catch (Exception e) {
            AbstractSessionLog.getLog().logThrowable(AbstractSessionLog.SEVERE, AbstractSessionLog.WEAVER, e);
@@ -12,11 +12,15 @@
  ******************************************************************************/  
 package org.eclipse.persistence.tools.weaving.jpa;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UnsupportedEncodingException;
 import java.io.Writer;
 import java.lang.instrument.IllegalClassFormatException;
 import java.net.MalformedURLException;
@@ -24,7 +28,19 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
 import java.util.jar.JarEntry;
 import java.util.jar.JarOutputStream;
 
@@ -58,9 +74,21 @@ public class StaticWeaveProcessor {
     private Writer logWriter;
     private ClassLoader classLoader;
     private int logLevel = SessionLog.OFF; 
+    private int threadCount = 1;
+    private boolean isIncremental = false;
+    private StaticWeaveClassTransformer classTransformer;
     
     private static final int NUMBER_OF_BYTES = 1024;
     
+    /** Number of entries read ahead of the entry being written, for each weaving thread. */
+    private static final int ENTRIES_PER_THREAD = 4;
+    
+    /** Suffix of the manifest written next to the target by an incremental weave. */
+    public static final String MANIFEST_SUFFIX = ".weave-manifest";
+    private static final String MANIFEST_METADATA = "metadata";
+    private static final String MANIFEST_ENTRY = "entry.";
+    private static final String WOVEN = " woven";
+    
     /**
      * Constructs an instance of StaticWeaveProcessor
      * @param source the name of the location to be weaved
@@ -120,6 +148,37 @@ public class StaticWeaveProcessor {
         this.classLoader=classLoader;
     }
     
+    /**
+     * Set the number of threads weaving classes, the default is 1.
+     * The entries of a jar target are always written in the order of the source.
+     */
+    public void setThreadCount(int threadCount){
+        if (threadCount < 1) {
+            throw new IllegalArgumentException(String.valueOf(threadCount));
+        }
+        this.threadCount = threadCount;
+    }
+    
+    public int getThreadCount(){
+        return threadCount;
+    }
+    
+    /**
+     * Set whether only the classes changed since the last weave are woven.
+     * The hash of every source entry is kept in a manifest next to the target
+     * (the target path with the suffix ".weave-manifest").  For a directory woven in place
+     * the hash of the entry written to the target is kept, as it is the source of the next weave.
+     * Only a directory target is woven incrementally, a jar target is always woven in full.
+     * Changes to the classpath are not detected, weave in full after changing it.
+     */
+    public void setIncremental(boolean isIncremental){
+        this.isIncremental = isIncremental;
+    }
+    
+    public boolean isIncremental(){
+        return isIncremental;
+    }
+    
     /**
      * Set an explicitly identified URL of the location containing persistence.xml.
      * @param persistenceInfo the URL of the location containing persistence.xml, the URL 
@@ -232,7 +291,8 @@ public class StaticWeaveProcessor {
     private void process() throws IOException,URISyntaxException{
         // Instantiate output handler.
         AbstractStaticWeaveOutputHandler swoh;
-        if (isDirectory(this.target)) {
+        boolean isDirectoryTarget = isDirectory(this.target);
+        if (isDirectoryTarget) {
             swoh= new StaticWeaveDirectoryOutputHandler(this.source,this.target);
         }else{
             swoh= new StaticWeaveJAROutputHandler(new JarOutputStream(new FileOutputStream(new File(Helper.toURI(this.target)))));
@@ -242,101 +302,403 @@ public class StaticWeaveProcessor {
         this.classLoader = (this.classLoader == null)? Thread.currentThread().getContextClassLoader():this.classLoader;
         this.classLoader = new URLClassLoader(getURLs(), this.classLoader);
         
-        // Instantiate the classtransformer, we check if the persistenceinfo URL has been specified.
-        StaticWeaveClassTransformer classTransformer=null;
-        if (persistenceInfo!=null) {
-            classTransformer = new StaticWeaveClassTransformer(persistenceInfo, persistenceXMLLocation, this.classLoader,this.logWriter,this.logLevel);
-        } else{
-            classTransformer = new StaticWeaveClassTransformer(source, persistenceXMLLocation, this.classLoader,this.logWriter,this.logLevel);
+        // A jar target is always rewritten, so only a directory target can be woven incrementally.
+        File manifestFile = null;
+        Properties previousManifest = null;
+        Properties manifest = null;
+        if (this.isIncremental && isDirectoryTarget) {
+            manifestFile = new File(new File(Helper.toURI(this.target)).getPath() + MANIFEST_SUFFIX);
+            previousManifest = readManifest(manifestFile);
+            manifest = new Properties();
         }
+        boolean isInPlace = isDirectoryTarget && new File(Helper.toURI(this.source)).getCanonicalFile().equals(new File(Helper.toURI(this.target)).getCanonicalFile());
 
         // Starting process.
         Archive sourceArchive =(new ArchiveFactoryImpl()).createArchive(source, null, null);
         if (sourceArchive != null) {
+            Map<String, String> hashes = null;
+            Map<String, String> persistenceInfoHashes = null;
+            Map<String, byte[]> sourceEntries = null;
+            ExecutorService executor = null;
             try {
+                // Unchanged classes are only skipped if the persistence unit metadata they were woven with is unchanged.
+                boolean isUpToDate = false;
+                if (manifest != null) {
+                    hashes = new HashMap<String, String>();
+                    persistenceInfoHashes = hashPersistenceInfo();
+                    if (previousManifest != null) {
+                        // The entries read to check if the classes are up to date are kept, so each entry is only read once.
+                        sourceEntries = readEntries(sourceArchive, hashes);
+                        isUpToDate = buildMetadataDigest(hashes, persistenceInfoHashes, previousManifest).equals(previousManifest.getProperty(MANIFEST_METADATA));
+                    }
+                }
+                // Processing the persistence unit is only avoided if every class is up to date.
+                this.classTransformer = null;
+                if (!isUpToDate) {
+                    getClassTransformer();
+                }
+
+                // Classes are woven by the executor threads, the entries are written in the source order
+                // by this thread, with at most ENTRIES_PER_THREAD entries per thread read ahead.
+                if (this.threadCount > 1) {
+                    executor = Executors.newFixedThreadPool(this.threadCount);
+                }
+                int maxPendingEntries = this.threadCount * ENTRIES_PER_THREAD;
+                LinkedList<WeaveEntry> pendingEntries = new LinkedList<WeaveEntry>();
                 Iterator entries = sourceArchive.getEntries();
                 while (entries.hasNext()){
                     String entryName = (String)entries.next();
-                    InputStream entryInputStream = sourceArchive.getEntry(entryName);
-                
-                    // Add a directory entry
-                    swoh.addDirEntry(getDirectoryFromEntryName(entryName));
-                
-                    // Add a regular entry
-                    JarEntry newEntry = new JarEntry(entryName);
-                
-                    // Ignore non-class files.
-                    if (!(entryName.endsWith(".class"))) {
-                        swoh.addEntry(entryInputStream, newEntry);
-                        continue;            
+                    byte[] entryBytes = (sourceEntries == null) ? readEntry(sourceArchive, entryName) : sourceEntries.remove(entryName);
+                    if (hashes != null && !hashes.containsKey(entryName)) {
+                        hashes.put(entryName, hash(entryBytes));
                     }
-                
-                    String className = PersistenceUnitProcessor.buildClassNameFromEntryString(entryName) ;
-                
-                    byte[] originalClassBytes=null;
-                    byte[] transferredClassBytes=null;
-                    try {
-                        Class thisClass = this.classLoader.loadClass(className);
-                        // If the class is not in the classpath, we simply copy the entry
-                        // to the target(no weaving).
-                        if (thisClass == null){
-                            swoh.addEntry(entryInputStream, newEntry);
-                            continue;
-                        }
                     
-                        // Try to read the loaded class bytes, the class bytes is required for
-                        // classtransformer to perform transfer. Simply copy entry to the target(no weaving)
-                        // if the class bytes can't be read.
-                        InputStream is = this.classLoader.getResourceAsStream(entryName);
-                        if (is!=null){
-                            ByteArrayOutputStream baos = null;
-                            try{
-                                baos = new ByteArrayOutputStream();
-                                byte[] bytes = new byte[NUMBER_OF_BYTES];
-                                int bytesRead = is.read(bytes, 0, NUMBER_OF_BYTES);
-                                while (bytesRead >= 0){
-                                    baos.write(bytes, 0, bytesRead);
-                                    bytesRead = is.read(bytes, 0, NUMBER_OF_BYTES);
-                                }
-                                originalClassBytes = baos.toByteArray();
-                            } finally {
-                                baos.close();
-                                is.close();
-                            }
-                        } else {
-                            swoh.addEntry(entryInputStream, newEntry);
-                            continue;
-                        }
-                    
-                        // If everything is OK so far, we perform the weaving. we need three parameters in order to
-                        // class to perform weaving for that class, the class name,the class object and class bytes.
-                        transferredClassBytes = classTransformer.transform(className.replace('.', '/'), thisClass, originalClassBytes);
+                    // Keep the woven class from the last weave if the class has not changed since.
+                    if (isUpToDate && entryName.endsWith(".class") && hashes.get(entryName).equals(getManifestHash(previousManifest, entryName))
+                            && new File(new File(Helper.toURI(this.target)), entryName).exists()) {
+                        manifest.setProperty(MANIFEST_ENTRY + entryName, previousManifest.getProperty(MANIFEST_ENTRY + entryName));
+                        continue;
+                    }
                     
-                        // If transferredClassBytes is null means the class dose not get woven.
-                        if (transferredClassBytes!=null){
-                            swoh.addEntry(newEntry, transferredClassBytes);
+                    WeaveEntry entry = new WeaveEntry(entryName, entryBytes);
+                    // Ignore non-class files.
+                    if (entryName.endsWith(".class")) {
+                        // Build the class transformer before the weaving threads use it.
+                        getClassTransformer();
+                        if (executor == null) {
+                            entry.wovenBytes.run();
                         } else {
-                            swoh.addEntry(entryInputStream, newEntry);
+                            executor.execute(entry.wovenBytes);
                         }
-                    } catch (IllegalClassFormatException e) {
-                        AbstractSessionLog.getLog().logThrowable(AbstractSessionLog.WARNING, AbstractSessionLog.WEAVER, e);
-                        // Anything went wrong, we need log a warning message, copy the entry to the target and
-                        // process next entry.
-                        swoh.addEntry(entryInputStream, newEntry);
-                        continue;
-                    } catch (ClassNotFoundException e) {
-                        AbstractSessionLog.getLog().logThrowable(AbstractSessionLog.WARNING, AbstractSessionLog.WEAVER, e);
-                        swoh.addEntry(entryInputStream, newEntry);
-                        continue;
-                    } finally {
-                        // Need close the inputstream for current entry before processing next one. 
-                        entryInputStream.close();
+                    }
+                    pendingEntries.add(entry);
+                    if (pendingEntries.size() >= maxPendingEntries) {
+                        writeEntry(swoh, pendingEntries.removeFirst(), manifest, hashes, isInPlace);
                     }
                 }
+                while (!pendingEntries.isEmpty()) {
+                    writeEntry(swoh, pendingEntries.removeFirst(), manifest, hashes, isInPlace);
+                }
             } finally {
+                if (executor != null) {
+                    executor.shutdownNow();
+                }
                 sourceArchive.close();
                 swoh.closeOutputStream();
             }
+            
+            // The manifest is only written once the weave is complete.
+            if (manifest != null) {
+                manifest.setProperty(MANIFEST_METADATA, buildMetadataDigest(hashes, persistenceInfoHashes, manifest));
+                writeManifest(manifestFile, manifest);
+            }
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Instantiate the classtransformer on first use, we check if the persistenceinfo URL has been specified.
+     */
+    private StaticWeaveClassTransformer getClassTransformer() throws IOException,URISyntaxException{
+        if (this.classTransformer == null) {
+            if (persistenceInfo!=null) {
+                this.classTransformer = new StaticWeaveClassTransformer(persistenceInfo, persistenceXMLLocation, this.classLoader,this.logWriter,this.logLevel);
+            } else{
+                this.classTransformer = new StaticWeaveClassTransformer(source, persistenceXMLLocation, this.classLoader,this.logWriter,this.logLevel);
+            }
+        }
+        return this.classTransformer;
+    }
+
+    /**
+     * INTERNAL:
+     * Write the entry to the target, the woven bytes if the class was woven,
+     * otherwise a copy of the source entry.
+     */
+    private void writeEntry(AbstractStaticWeaveOutputHandler swoh, WeaveEntry entry, Properties manifest, Map<String, String> hashes, boolean isInPlace) throws IOException,URISyntaxException{
+        // Add a directory entry
+        swoh.addDirEntry(getDirectoryFromEntryName(entry.entryName));
+
+        // Add a regular entry
+        JarEntry newEntry = new JarEntry(entry.entryName);
+        byte[] transferredClassBytes = null;
+        if (entry.entryName.endsWith(".class")) {
+            try {
+                transferredClassBytes = entry.wovenBytes.get();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException(entry.entryName);
+            } catch (ExecutionException exception) {
+                Throwable cause = exception.getCause();
+                if (cause instanceof IOException) {
+                    throw (IOException)cause;
+                } else if (cause instanceof RuntimeException) {
+                    throw (RuntimeException)cause;
+                } else if (cause instanceof Error) {
+                    throw (Error)cause;
+                }
+                throw new IOException(cause);
+            }
+        }
+        
+        // If transferredClassBytes is null means the class dose not get woven.
+        if (transferredClassBytes!=null){
+            swoh.addEntry(newEntry, transferredClassBytes);
+        } else {
+            swoh.addEntry(new ByteArrayInputStream(entry.entryBytes), newEntry);
+        }
+        if (manifest != null) {
+            String hash = hashes.get(entry.entryName);
+            // The woven class replaces the source of a directory woven in place, so it is the source of the next weave.
+            if (isInPlace && (transferredClassBytes != null)) {
+                hash = hash(transferredClassBytes);
+                hashes.put(entry.entryName, hash);
+            }
+            manifest.setProperty(MANIFEST_ENTRY + entry.entryName, (transferredClassBytes != null) ? hash + WOVEN : hash);
+        }
+    }
+    
+    /**
+     * INTERNAL:
+     * Return the woven bytes of the class, or null if the class does not get woven.
+     * This is called concurrently by the weaving threads.
+     */
+    private byte[] weave(String entryName) throws IOException{
+        String className = PersistenceUnitProcessor.buildClassNameFromEntryString(entryName) ;
+        try {
+            Class thisClass = this.classLoader.loadClass(className);
+            // If the class is not in the classpath, we simply copy the entry
+            // to the target(no weaving).
+            if (thisClass == null){
+                return null;
+            }
+        
+            // Try to read the loaded class bytes, the class bytes is required for
+            // classtransformer to perform transfer. Simply copy entry to the target(no weaving)
+            // if the class bytes can't be read.
+            InputStream is = this.classLoader.getResourceAsStream(entryName);
+            if (is == null){
+                return null;
+            }
+            byte[] originalClassBytes = readBytes(is);
+        
+            // If everything is OK so far, we perform the weaving. we need three parameters in order to
+            // class to perform weaving for that class, the class name,the class object and class bytes.
+            return this.classTransformer.transform(className.replace('.', '/'), thisClass, originalClassBytes);
+        } catch (IllegalClassFormatException e) {
+            // Anything went wrong, we need log a warning message, copy the entry to the target and
+            // process next entry.
+            AbstractSessionLog.getLog().logThrowable(AbstractSessionLog.WARNING, AbstractSessionLog.WEAVER, e);
+            return null;
+        } catch (ClassNotFoundException e) {
+            AbstractSessionLog.getLog().logThrowable(AbstractSessionLog.WARNING, AbstractSessionLog.WEAVER, e);
+            return null;
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Read the bytes of the archive entry.
+     */
+    private static byte[] readEntry(Archive archive, String entryName) throws IOException{
+        InputStream entryInputStream = archive.getEntry(entryName);
+        if (entryInputStream == null) {
+            return new byte[0];
+        }
+        return readBytes(entryInputStream);
+    }
+
+    /**
+     * INTERNAL:
+     * Read and close the stream.
+     */
+    private static byte[] readBytes(InputStream is) throws IOException{
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try{
+            byte[] bytes = new byte[NUMBER_OF_BYTES];
+            int bytesRead = is.read(bytes, 0, NUMBER_OF_BYTES);
+            while (bytesRead >= 0){
+                baos.write(bytes, 0, bytesRead);
+                bytesRead = is.read(bytes, 0, NUMBER_OF_BYTES);
+            }
+            return baos.toByteArray();
+        } finally {
+            baos.close();
+            is.close();
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Return the hash of every entry of the archive.
+     */
+    private static Map<String, String> hashEntries(Archive archive) throws IOException{
+        Map<String, String> hashes = new HashMap<String, String>();
+        Iterator entries = archive.getEntries();
+        while (entries.hasNext()){
+            String entryName = (String)entries.next();
+            hashes.put(entryName, hash(readEntry(archive, entryName)));
+        }
+        return hashes;
+    }
+
+    /**
+     * INTERNAL:
+     * Read every entry of the archive, and put its hash in the hashes.
+     */
+    private static Map<String, byte[]> readEntries(Archive archive, Map<String, String> hashes) throws IOException{
+        Map<String, byte[]> entryBytes = new HashMap<String, byte[]>();
+        Iterator entries = archive.getEntries();
+        while (entries.hasNext()){
+            String entryName = (String)entries.next();
+            byte[] bytes = readEntry(archive, entryName);
+            hashes.put(entryName, hash(bytes));
+            entryBytes.put(entryName, bytes);
+        }
+        return entryBytes;
+    }
+
+    /**
+     * INTERNAL:
+     * Return the hash of every entry of the persistence info location, or null
+     * if persistence.xml is read from the source.
+     */
+    private Map<String, String> hashPersistenceInfo() throws IOException,URISyntaxException{
+        if (this.persistenceInfo == null) {
+            return null;
+        }
+        Archive persistenceInfoArchive = (new ArchiveFactoryImpl()).createArchive(this.persistenceInfo, null, null);
+        if (persistenceInfoArchive == null) {
+            return null;
+        }
+        try {
+            return hashEntries(persistenceInfoArchive);
+        } finally {
+            persistenceInfoArchive.close();
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Return the digest of what the weaving of a class depends on besides the class itself:
+     * the resources (persistence.xml, mapping files) of the source and persistence info
+     * location, and the classes that were woven according to the manifest.  A change to
+     * any persistent class can change the weaving of the others, so it changes the digest.
+     */
+    private String buildMetadataDigest(Map<String, String> hashes, Map<String, String> persistenceInfoHashes, Properties manifest) {
+        StringBuilder digest = new StringBuilder();
+        digest.append(this.persistenceXMLLocation).append('\n');
+        for (String entryName : new TreeSet<String>(hashes.keySet())) {
+            if (!entryName.endsWith(".class") || isWoven(manifest, entryName)) {
+                digest.append(entryName).append('=').append(hashes.get(entryName)).append('\n');
+            }
+        }
+        if (persistenceInfoHashes != null) {
+            digest.append(this.persistenceInfo).append('\n');
+            for (String entryName : new TreeSet<String>(persistenceInfoHashes.keySet())) {
+                digest.append(entryName).append('=').append(persistenceInfoHashes.get(entryName)).append('\n');
+            }
+        }
+        try {
+            return hash(digest.toString().getBytes("UTF-8"));
+        } catch (UnsupportedEncodingException notPossible) {
+            // UTF-8 is always supported.
+            throw new RuntimeException(notPossible);
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Return the hex SHA-256 hash of the bytes.
+     */
+    private static String hash(byte[] bytes) {
+        try {
+            return Helper.buildHexStringFromBytes(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException notPossible) {
+            // SHA-256 is required on every Java platform.
+            throw new RuntimeException(notPossible);
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Return the hash of the entry in the manifest, or null if the entry is not in the manifest.
+     */
+    private static String getManifestHash(Properties manifest, String entryName) {
+        String value = manifest.getProperty(MANIFEST_ENTRY + entryName);
+        if ((value != null) && value.endsWith(WOVEN)) {
+            return value.substring(0, value.length() - WOVEN.length());
+        }
+        return value;
+    }
+
+    /**
+     * INTERNAL:
+     * Return if the entry is a class that was woven according to the manifest.
+     */
+    private static boolean isWoven(Properties manifest, String entryName) {
+        String value = manifest.getProperty(MANIFEST_ENTRY + entryName);
+        return (value != null) && value.endsWith(WOVEN);
+    }
+
+    /**
+     * INTERNAL:
+     * Read the manifest of the last weave, or return null if there is none
+     * or it can't be read, in which case every class is woven.
+     */
+    private static Properties readManifest(File manifestFile) {
+        if (!manifestFile.isFile()) {
+            return null;
+        }
+        Properties manifest = new Properties();
+        InputStream is = null;
+        try {
+            is = new FileInputStream(manifestFile);
+            manifest.load(is);
+        } catch (IOException exception) {
+            AbstractSessionLog.getLog().logThrowable(SessionLog.WARNING, SessionLog.WEAVER, exception);
+            return null;
+        } finally {
+            Helper.close(is);
+        }
+        return manifest;
+    }
+
+    /**
+     * INTERNAL:
+     * Write the manifest, replacing the one of the last weave.
+     */
+    private static void writeManifest(File manifestFile, Properties manifest) throws IOException{
+        File tempFile = new File(manifestFile.getPath() + ".tmp");
+        FileOutputStream fos = new FileOutputStream(tempFile);
+        try {
+            manifest.store(fos, "EclipseLink static weave manifest");
+        } finally {
+            fos.close();
+        }
+        manifestFile.delete();
+        if (!tempFile.renameTo(manifestFile)) {
+            throw new IOException(manifestFile.getPath());
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * A source entry, and for a class the task weaving it.
+     */
+    private class WeaveEntry implements Callable<byte[]> {
+        final String entryName;
+        final byte[] entryBytes;
+        final FutureTask<byte[]> wovenBytes;
+
+        WeaveEntry(String entryName, byte[] entryBytes) {
+            this.entryName = entryName;
+            this.entryBytes = entryBytes;
+            this.wovenBytes = new FutureTask<byte[]>(this);
+        }
+
+        public byte[] call() throws IOException {
+            return weave(this.entryName);
         }
     }
     
@@ -950,7 +950,11 @@ public abstract class JAXBTestCases extends XMLMappingTestCases {
         }
 
         public Result createOutput(String namespaceURI, String suggestedFileName)throws IOException {
-            File schemaFile = new File(suggestedFileName);
+            String tmpdir = System.getenv("T_WORK");
+            if (tmpdir == null) {
+                tmpdir = System.getProperty("java.io.tmpdir");
+            }
+            File schemaFile = new File(tmpdir, suggestedFileName);
             if(namespaceURI == null){
                 namespaceURI ="";
             }
@@ -29,6 +29,7 @@ import org.eclipse.persistence.testing.jaxb.prefixmapper.PrefixMapperMapTestCase
 import org.eclipse.persistence.testing.jaxb.prefixmapper.PrefixMapperTestCases;
 import org.eclipse.persistence.testing.jaxb.properties.PropertyTestCases;
 import org.eclipse.persistence.testing.jaxb.readonly.ReadAndWriteOnlyTestCases;
+import org.eclipse.persistence.testing.jaxb.stax.UnmarshalIteratorTestCases;
 import org.eclipse.persistence.testing.jaxb.stax.XMLStreamReaderEndEventTestCases;
 import org.eclipse.persistence.testing.jaxb.stax.XMLStreamWriterDefaultNamespaceTestCases;
 import org.eclipse.persistence.testing.jaxb.unmarshaller.DefaultValueTestCases;
@@ -80,6 +81,7 @@ public class JAXBTestSuite3 extends TestCase {
         suite.addTestSuite(org.eclipse.persistence.testing.jaxb.xmlmarshaller.HandleListenerExceptionsTestCases.class);
         suite.addTestSuite(XMLStreamWriterDefaultNamespaceTestCases.class);
         suite.addTestSuite(XMLStreamReaderEndEventTestCases.class);
+        suite.addTestSuite(UnmarshalIteratorTestCases.class);
         suite.addTestSuite(org.eclipse.persistence.testing.jaxb.qname.QNameTestCases.class);
         suite.addTestSuite(org.eclipse.persistence.testing.jaxb.qname.defaultnamespace.QNameTestCases.class);
         suite.addTestSuite(org.eclipse.persistence.testing.jaxb.xmlmarshaller.locator.AnyTestCases.class);
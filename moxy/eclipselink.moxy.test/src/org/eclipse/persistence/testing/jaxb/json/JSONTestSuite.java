@@ -15,6 +15,7 @@ package org.eclipse.persistence.testing.jaxb.json;
 import org.eclipse.persistence.testing.jaxb.json.adapter.JsonMapAdapterTestCases;
 import org.eclipse.persistence.testing.jaxb.json.any.AnyTestCases;
 import org.eclipse.persistence.testing.jaxb.json.attribute.JSONAttributeNoXmlRootElementIncludeRootFalseTestCases;
+import org.eclipse.persistence.testing.jaxb.json.cbor.CBORTestCases;
 import org.eclipse.persistence.testing.jaxb.json.attribute.JSONAttributeNoXmlRootElementInheritanceTestCases;
 import org.eclipse.persistence.testing.jaxb.json.attribute.JSONAttributeNoXmlRootElementJAXBElementTestCases;
 import org.eclipse.persistence.testing.jaxb.json.attribute.JSONAttributeNoXmlRootElementTestCases;
@@ -85,6 +86,7 @@ public class JSONTestSuite extends TestSuite {
           suite.addTest(AnyTestCases.suite());
           suite.addTest(AllWrapperTestCases.suite());
           suite.addTestSuite(MultiLineStringTestCases.class);
+          suite.addTestSuite(CBORTestCases.class);
           
           return suite;
 	}
@@ -0,0 +1,48 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 and Eclipse Distribution License v. 1.0
+ * which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * Contributors:
+ *     Oracle - 2.6 - initial implementation
+ ******************************************************************************/
+package org.eclipse.persistence.testing.jaxb.json.cbor;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlAttribute;
+
+@XmlAccessorType(XmlAccessType.FIELD)
+public class Address {
+
+    @XmlAttribute
+    public String type;
+    public String street;
+    public String city;
+
+    public boolean equals(Object obj) {
+        if (!(obj instanceof Address)) {
+            return false;
+        }
+        Address address = (Address) obj;
+        return equals(type, address.type)
+            && equals(street, address.street)
+            && equals(city, address.city);
+    }
+
+    private boolean equals(Object control, Object test) {
+        if (null == control) {
+            return null == test;
+        }
+        return control.equals(test);
+    }
+
+    public String toString() {
+        return "Address(" + type + ", " + street + ", " + city + ")";
+    }
+
+}
@@ -0,0 +1,206 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 and Eclipse Distribution License v. 1.0
+ * which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * Contributors:
+ *     Oracle - 2.6 - initial implementation
+ ******************************************************************************/
+package org.eclipse.persistence.testing.jaxb.json.cbor;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBElement;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.transform.stream.StreamSource;
+
+import junit.framework.TestCase;
+
+import org.eclipse.persistence.exceptions.XMLMarshalException;
+import org.eclipse.persistence.jaxb.JAXBContextFactory;
+import org.eclipse.persistence.jaxb.MarshallerProperties;
+import org.eclipse.persistence.jaxb.UnmarshallerProperties;
+import org.eclipse.persistence.oxm.MediaType;
+
+public class CBORTestCases extends TestCase {
+
+    private JAXBContext jaxbContext;
+
+    public CBORTestCases(String name) {
+        super(name);
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        jaxbContext = JAXBContextFactory.createContext(new Class[] {Customer.class}, null);
+    }
+
+    public void testRoundTrip() throws Exception {
+        Customer control = getControlObject(1);
+        byte[] cbor = marshal(control, MediaType.APPLICATION_CBOR, true);
+
+        assertEquals("Expected an indefinite length map", 0xBF, cbor[0] & 0xFF);
+        assertEquals(control, unmarshal(cbor, true).getValue());
+    }
+
+    public void testRoundTripNoRoot() throws Exception {
+        Customer control = getControlObject(2);
+        byte[] cbor = marshal(control, MediaType.APPLICATION_CBOR, false);
+
+        assertEquals(control, unmarshal(cbor, false).getValue());
+    }
+
+    public void testRoundTripRootLevelList() throws Exception {
+        List<Customer> control = new ArrayList<Customer>();
+        control.add(getControlObject(1));
+        control.add(getControlObject(2));
+        byte[] cbor = marshal(control, MediaType.APPLICATION_CBOR, false);
+
+        assertEquals("Expected an indefinite length array", 0x9F, cbor[0] & 0xFF);
+        assertEquals(control, unmarshal(cbor, false).getValue());
+    }
+
+    public void testSmallerThanJSON() throws Exception {
+        List<Customer> customers = new ArrayList<Customer>();
+        for (int x = 0; x < 100; x++) {
+            customers.add(getControlObject(x));
+        }
+        int jsonSize = marshal(customers, MediaType.APPLICATION_JSON, false).length;
+        int cborSize = marshal(customers, MediaType.APPLICATION_CBOR, false).length;
+        assertTrue("CBOR " + cborSize + " bytes, JSON " + jsonSize + " bytes", cborSize < jsonSize);
+    }
+
+    public void testUnmarshalDefiniteLengths() throws Exception {
+        // {"name":"Bob","phone-number":["1","2"]} as written by other encoders
+        byte[] cbor = new byte[] {(byte) 0xA2,
+            0x64, 'n', 'a', 'm', 'e', 0x63, 'B', 'o', 'b',
+            0x6C, 'p', 'h', 'o', 'n', 'e', '-', 'n', 'u', 'm', 'b', 'e', 'r', (byte) 0x82, 0x61, '1', 0x61, '2'};
+        Customer customer = (Customer) unmarshal(cbor, false).getValue();
+
+        assertEquals("Bob", customer.name);
+        assertEquals(2, customer.phoneNumbers.size());
+        assertEquals("2", customer.phoneNumbers.get(1));
+    }
+
+    public void testRoundTripAttributePrefix() throws Exception {
+        Customer control = getControlObject(3);
+        Marshaller marshaller = jaxbContext.createMarshaller();
+        marshaller.setProperty(MarshallerProperties.MEDIA_TYPE, MediaType.APPLICATION_CBOR);
+        marshaller.setProperty(MarshallerProperties.JSON_ATTRIBUTE_PREFIX, "@");
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        marshaller.marshal(control, outputStream);
+
+        Unmarshaller unmarshaller = jaxbContext.createUnmarshaller();
+        unmarshaller.setProperty(UnmarshallerProperties.MEDIA_TYPE, MediaType.APPLICATION_CBOR);
+        unmarshaller.setProperty(UnmarshallerProperties.JSON_ATTRIBUTE_PREFIX, "@");
+        Object test = unmarshaller.unmarshal(new StreamSource(new ByteArrayInputStream(outputStream.toByteArray())), Customer.class).getValue();
+        assertEquals(control, test);
+    }
+
+    public void testUnmarshalAttributesAfterElements() throws Exception {
+        // {"name":"Bob","address":{"street":"Main","type":"home"},"id":7}
+        byte[] cbor = new byte[] {(byte) 0xA3,
+            0x64, 'n', 'a', 'm', 'e', 0x63, 'B', 'o', 'b',
+            0x67, 'a', 'd', 'd', 'r', 'e', 's', 's', (byte) 0xA2,
+                0x66, 's', 't', 'r', 'e', 'e', 't', 0x64, 'M', 'a', 'i', 'n',
+                0x64, 't', 'y', 'p', 'e', 0x64, 'h', 'o', 'm', 'e',
+            0x62, 'i', 'd', 0x07};
+        Customer customer = (Customer) unmarshal(cbor, false).getValue();
+
+        assertEquals("Bob", customer.name);
+        assertEquals("Main", customer.address.street);
+        assertEquals("home", customer.address.type);
+        assertEquals(7, customer.id);
+    }
+
+    public void testUnmarshalNotMapOrArray() throws Exception {
+        assertUnmarshalErrorCode(new byte[] {0x61, 'a'}, XMLMarshalException.CBOR_ROOT_NOT_MAP_OR_ARRAY);
+    }
+
+    public void testUnmarshalMalformed() throws Exception {
+        // {"balance":4([1])}, a decimal fraction must have an exponent and a mantissa
+        byte[] cbor = new byte[] {(byte) 0xA1,
+            0x67, 'b', 'a', 'l', 'a', 'n', 'c', 'e', (byte) 0xC4, (byte) 0x81, 0x01};
+        assertUnmarshalErrorCode(cbor, XMLMarshalException.MALFORMED_CBOR_DOCUMENT);
+    }
+
+    public void testMarshalToWriter() throws Exception {
+        Marshaller marshaller = jaxbContext.createMarshaller();
+        marshaller.setProperty(MarshallerProperties.MEDIA_TYPE, "application/cbor");
+        try {
+            marshaller.marshal(getControlObject(1), new StringWriter());
+            fail("Expected a JAXBException");
+        } catch (JAXBException e) {
+        }
+    }
+
+    public void testUnmarshalFromReader() throws Exception {
+        Unmarshaller unmarshaller = jaxbContext.createUnmarshaller();
+        unmarshaller.setProperty(UnmarshallerProperties.MEDIA_TYPE, MediaType.APPLICATION_CBOR);
+        try {
+            unmarshaller.unmarshal(new StreamSource(new StringReader("{}")), Customer.class);
+            fail("Expected a JAXBException");
+        } catch (JAXBException e) {
+        }
+    }
+
+    private void assertUnmarshalErrorCode(byte[] cbor, int errorCode) throws Exception {
+        try {
+            unmarshal(cbor, false);
+            fail("Expected a JAXBException");
+        } catch (JAXBException e) {
+            XMLMarshalException cause = (XMLMarshalException) e.getLinkedException();
+            assertEquals(errorCode, cause.getErrorCode());
+        }
+    }
+
+    private Customer getControlObject(int id) {
+        Customer customer = new Customer();
+        customer.id = id;
+        customer.name = "Customer \u00e9\u4e2d\ud83d\ude00 " + id;
+        customer.balance = new BigDecimal("-1234.56");
+        customer.points = new BigInteger("123456789012345678901234567890");
+        customer.reference = Long.MIN_VALUE + id;
+        customer.rating = id + 0.1;
+        customer.active = id % 2 == 0;
+        customer.grade = 'A';
+        customer.phoneNumbers.add("555-0100");
+        customer.phoneNumbers.add("555-0199");
+        customer.address = new Address();
+        customer.address.type = "home";
+        customer.address.street = id + " Main Street";
+        customer.address.city = "Ottawa";
+        return customer;
+    }
+
+    private byte[] marshal(Object object, MediaType mediaType, boolean includeRoot) throws Exception {
+        Marshaller marshaller = jaxbContext.createMarshaller();
+        marshaller.setProperty(MarshallerProperties.MEDIA_TYPE, mediaType);
+        marshaller.setProperty(MarshallerProperties.JSON_INCLUDE_ROOT, includeRoot);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        marshaller.marshal(object, outputStream);
+        return outputStream.toByteArray();
+    }
+
+    private JAXBElement<?> unmarshal(byte[] cbor, boolean includeRoot) throws Exception {
+        Unmarshaller unmarshaller = jaxbContext.createUnmarshaller();
+        unmarshaller.setProperty(UnmarshallerProperties.MEDIA_TYPE, MediaType.APPLICATION_CBOR);
+        unmarshaller.setProperty(UnmarshallerProperties.JSON_INCLUDE_ROOT, includeRoot);
+        return unmarshaller.unmarshal(new StreamSource(new ByteArrayInputStream(cbor)), Customer.class);
+    }
+
+}
@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 and Eclipse Distribution License v. 1.0
+ * which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * Contributors:
+ *     Oracle - 2.6 - initial implementation
+ ******************************************************************************/
+package org.eclipse.persistence.testing.jaxb.json.cbor;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+
+@XmlRootElement
+@XmlAccessorType(XmlAccessType.FIELD)
+public class Customer {
+
+    @XmlAttribute
+    public int id;
+    public String name;
+    public BigDecimal balance;
+    public BigInteger points;
+    public long reference;
+    public double rating;
+    public boolean active;
+    public char grade;
+    public String nickname;
+    public Address address;
+    @XmlElement(name="phone-number")
+    public List<String> phoneNumbers = new ArrayList<String>();
+
+    public boolean equals(Object obj) {
+        if (!(obj instanceof Customer)) {
+            return false;
+        }
+        Customer customer = (Customer) obj;
+        return id == customer.id
+            && equals(name, customer.name)
+            && equals(balance, customer.balance)
+            && equals(points, customer.points)
+            && reference == customer.reference
+            && rating == customer.rating
+            && active == customer.active
+            && grade == customer.grade
+            && equals(nickname, customer.nickname)
+            && equals(address, customer.address)
+            && phoneNumbers.equals(customer.phoneNumbers);
+    }
+
+    private boolean equals(Object control, Object test) {
+        if (null == control) {
+            return null == test;
+        }
+        return control.equals(test);
+    }
+
+    public String toString() {
+        return "Customer(" + id + ", " + name + ", " + balance + ", " + points + ", " + reference + ", " + rating + ", " + active + ", " + grade + ", " + nickname + ", " + address + ", " + phoneNumbers + ")";
+    }
+
+}
@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 and Eclipse Distribution License v. 1.0
+ * which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * Contributors:
+ *     Oracle - 2.6 - initial implementation
+ ******************************************************************************/
+package org.eclipse.persistence.testing.jaxb.listofobjects;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBElement;
+import javax.xml.bind.Marshaller;
+import javax.xml.namespace.QName;
+
+import junit.framework.TestCase;
+
+import org.eclipse.persistence.jaxb.JAXBContextFactory;
+import org.eclipse.persistence.jaxb.MarshallerProperties;
+import org.eclipse.persistence.oxm.MediaType;
+
+public class JAXBEmployeeIteratorTestCases extends TestCase {
+
+    private JAXBContext jaxbContext;
+    private List<Employee> employees;
+
+    public JAXBEmployeeIteratorTestCases(String name) {
+        super(name);
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        jaxbContext = JAXBContextFactory.createContext(new Class[] {Employee.class}, null);
+        employees = new ArrayList<Employee>();
+        for (int x = 0; x < 3; x++) {
+            Employee employee = new Employee();
+            employee.id = x;
+            employee.firstName = "first" + x;
+            employee.lastName = "last" + x;
+            employees.add(employee);
+        }
+    }
+
+    public void testMarshalIteratorXML() throws Exception {
+        Marshaller marshaller = jaxbContext.createMarshaller();
+        marshaller.setProperty(MarshallerProperties.COLLECTION_FLUSH_SIZE, 2);
+        StringWriter writer = new StringWriter();
+        JAXBElement<Iterator> root = new JAXBElement<Iterator>(new QName("employees"), Iterator.class, employees.iterator());
+        marshaller.marshal(root, writer);
+
+        String xml = writer.toString();
+        assertEquals("Expected a single XML declaration", xml.indexOf("<?xml"), xml.lastIndexOf("<?xml"));
+        assertTrue(xml, xml.contains("<employees>"));
+        assertTrue(xml, xml.endsWith("</employees>"));
+        assertEquals(3, count(xml, "<employee-data "));
+        assertTrue(xml, xml.indexOf("first0") < xml.indexOf("first1") && xml.indexOf("first1") < xml.indexOf("first2"));
+    }
+
+    public void testMarshalIteratorXMLHeader() throws Exception {
+        Marshaller marshaller = jaxbContext.createMarshaller();
+        marshaller.setProperty("com.sun.xml.bind.xmlHeaders", "<!-- header -->");
+        StringWriter writer = new StringWriter();
+        JAXBElement<Iterator> root = new JAXBElement<Iterator>(new QName("employees"), Iterator.class, employees.iterator());
+        marshaller.marshal(root, writer);
+
+        String xml = writer.toString();
+        assertEquals("Expected a single header", 1, count(xml, "<!-- header -->"));
+        assertTrue(xml, xml.indexOf("<!-- header -->") < xml.indexOf("<employees>"));
+        assertEquals(3, count(xml, "<employee-data "));
+    }
+
+    public void testMarshalIteratorJSON() throws Exception {
+        Marshaller marshaller = jaxbContext.createMarshaller();
+        marshaller.setProperty(MarshallerProperties.MEDIA_TYPE, MediaType.APPLICATION_JSON);
+        marshaller.setProperty(MarshallerProperties.COLLECTION_FLUSH_SIZE, 2);
+        StringWriter writer = new StringWriter();
+        marshaller.marshal(employees.iterator(), writer);
+
+        String json = writer.toString();
+        assertTrue(json, json.startsWith("["));
+        assertTrue(json, json.endsWith("]"));
+        assertEquals(3, count(json, "\"firstName\""));
+    }
+
+    private int count(String text, String token) {
+        int count = 0;
+        int index = text.indexOf(token);
+        while (index > -1) {
+            count++;
+            index = text.indexOf(token, index + token.length());
+        }
+        return count;
+    }
+
+}
@@ -69,6 +69,7 @@ public class JAXBListOfObjectsSuite extends TestCase {
 		suite.addTestSuite(NullSetsMapTestCases.class);
 		suite.addTestSuite(NullContainerTestCases.class);
 		suite.addTestSuite(ListOfStringArrayTestCases.class);
+		suite.addTestSuite(JAXBEmployeeIteratorTestCases.class);
 		return suite;
 	}
 }
@@ -0,0 +1,215 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 and Eclipse Distribution License v. 1.0
+ * which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * Contributors:
+ *     Oracle - 2.6 - initial implementation
+ ******************************************************************************/
+package org.eclipse.persistence.testing.jaxb.rs;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.annotation.XmlRootElement;
+
+import org.eclipse.persistence.jaxb.rs.MOXyJsonProvider;
+
+import junit.framework.TestCase;
+
+public class PoolTestCases extends TestCase {
+
+    @XmlRootElement(name="customer")
+    public static class Customer {
+
+        public int id;
+
+        public Customer() {
+        }
+
+        public Customer(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if(null == obj || obj.getClass() != this.getClass()) {
+                return false;
+            }
+            return id == ((Customer) obj).id;
+        }
+
+    }
+
+    public static class CustomizedMOXyJsonProvider extends MOXyJsonProvider {
+
+        @Override
+        protected void preWriteTo(Object object, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType, MultivaluedMap<String, Object> httpHeaders, Marshaller marshaller) throws JAXBException {
+        }
+
+    }
+
+    private MOXyJsonProvider moxyJsonProvider;
+
+    @Override
+    protected void setUp() throws Exception {
+        moxyJsonProvider = new MOXyJsonProvider();
+    }
+
+    public void testMarshallerReused() throws Exception {
+        assertEquals("{\"id\":1}", write(new Customer(1)));
+        assertEquals("{\"id\":2}", write(new Customer(2)));
+        assertEquals("{\"id\":3}", write(new Customer(3)));
+        assertEquals(1, moxyJsonProvider.getMarshallerPoolMisses());
+        assertEquals(2, moxyJsonProvider.getMarshallerPoolHits());
+    }
+
+    public void testUnmarshallerReused() throws Exception {
+        assertEquals(new Customer(1), read("{\"id\":1}"));
+        assertEquals(new Customer(2), read("{\"id\":2}"));
+        assertEquals(1, moxyJsonProvider.getUnmarshallerPoolMisses());
+        assertEquals(1, moxyJsonProvider.getUnmarshallerPoolHits());
+    }
+
+    public void testMediaTypesPooledSeparately() throws Exception {
+        write(new Customer(1));
+        ByteArrayOutputStream entityStream = new ByteArrayOutputStream();
+        moxyJsonProvider.writeTo(new Customer(1), Customer.class, Customer.class, null, new MediaType("application", "cbor"), null, entityStream);
+        assertEquals(0xBF, entityStream.toByteArray()[0] & 0xFF);
+        assertEquals("{\"id\":1}", write(new Customer(1)));
+        assertEquals(2, moxyJsonProvider.getMarshallerPoolMisses());
+        assertEquals(1, moxyJsonProvider.getMarshallerPoolHits());
+    }
+
+    public void testSettingChangeClearsPool() throws Exception {
+        write(new Customer(1));
+        moxyJsonProvider.setIncludeRoot(true);
+        assertEquals("{\"customer\":{\"id\":1}}", write(new Customer(1)));
+        assertEquals(2, moxyJsonProvider.getMarshallerPoolMisses());
+        assertEquals(0, moxyJsonProvider.getMarshallerPoolHits());
+    }
+
+    public void testSettingChangeDuringWrite() throws Exception {
+        final CountDownLatch writing = new CountDownLatch(1);
+        final CountDownLatch settingChanged = new CountDownLatch(1);
+        final ByteArrayOutputStream blockingStream = new ByteArrayOutputStream() {
+            @Override
+            public void write(byte[] b, int off, int len) {
+                writing.countDown();
+                try {
+                    settingChanged.await(10, TimeUnit.SECONDS);
+                } catch(InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.write(b, off, len);
+            }
+            @Override
+            public void write(int b) {
+                write(new byte[] {(byte) b}, 0, 1);
+            }
+        };
+        final Exception[] failure = new Exception[1];
+        Thread writer = new Thread() {
+            @Override
+            public void run() {
+                try {
+                    moxyJsonProvider.writeTo(new Customer(1), Customer.class, Customer.class, null, null, null, blockingStream);
+                } catch(Exception e) {
+                    failure[0] = e;
+                }
+            }
+        };
+        writer.start();
+        assertTrue(writing.await(10, TimeUnit.SECONDS));
+        moxyJsonProvider.setIncludeRoot(true);
+        settingChanged.countDown();
+        writer.join(10000);
+        assertNull(failure[0]);
+        assertEquals("{\"id\":1}", blockingStream.toString("UTF-8"));
+
+        // The marshaller configured before the change must not be reused.
+        assertEquals("{\"customer\":{\"id\":2}}", write(new Customer(2)));
+        assertEquals("{\"customer\":{\"id\":3}}", write(new Customer(3)));
+        assertEquals(2, moxyJsonProvider.getMarshallerPoolMisses());
+        assertEquals(1, moxyJsonProvider.getMarshallerPoolHits());
+    }
+
+    public void testConcurrentWrites() throws Exception {
+        final int threadCount = 8;
+        final CountDownLatch start = new CountDownLatch(1);
+        final Exception[] failure = new Exception[1];
+        Thread[] writers = new Thread[threadCount];
+        for(int x=0; x<threadCount; x++) {
+            final int id = x;
+            writers[x] = new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                        for(int y=0; y<50; y++) {
+                            String json = write(new Customer(id));
+                            if(!json.equals("{\"id\":" + id + "}") && !json.equals("{\"customer\":{\"id\":" + id + "}}")) {
+                                throw new IOException(json);
+                            }
+                        }
+                    } catch(Exception e) {
+                        failure[0] = e;
+                    }
+                }
+            };
+            writers[x].start();
+        }
+        start.countDown();
+        moxyJsonProvider.setIncludeRoot(true);
+        for(Thread writer : writers) {
+            writer.join(10000);
+        }
+        assertNull(failure[0]);
+        for(int x=0; x<threadCount; x++) {
+            assertEquals("{\"customer\":{\"id\":" + x + "}}", write(new Customer(x)));
+        }
+    }
+
+    public void testPoolSizeZero() throws Exception {
+        moxyJsonProvider.setPoolSize(0);
+        write(new Customer(1));
+        write(new Customer(2));
+        assertEquals(2, moxyJsonProvider.getMarshallerPoolMisses());
+        assertEquals(0, moxyJsonProvider.getMarshallerPoolHits());
+    }
+
+    public void testPreWriteToOverridden() throws Exception {
+        moxyJsonProvider = new CustomizedMOXyJsonProvider();
+        write(new Customer(1));
+        write(new Customer(2));
+        assertEquals(0, moxyJsonProvider.getMarshallerPoolHits());
+        read("{\"id\":1}");
+        read("{\"id\":2}");
+        assertEquals(1, moxyJsonProvider.getUnmarshallerPoolHits());
+    }
+
+    private String write(Customer customer) throws Exception {
+        ByteArrayOutputStream entityStream = new ByteArrayOutputStream();
+        moxyJsonProvider.writeTo(customer, Customer.class, Customer.class, null, null, null, entityStream);
+        return entityStream.toString("UTF-8");
+    }
+
+    private Object read(String json) throws Exception {
+        Class<Object> type = (Class) Customer.class;
+        return moxyJsonProvider.readFrom(type, Customer.class, null, null, null, new ByteArrayInputStream(json.getBytes("UTF-8")));
+    }
+
+}
@@ -24,6 +24,7 @@ public class RESTfulTestSuite extends TestSuite {
         suite.addTestSuite(SimpleListTestCases.class);
         suite.addTestSuite(ArrayTestCases.class);
         suite.addTestSuite(LinkedListTestCases.class);
+        suite.addTestSuite(PoolTestCases.class);
         return suite;
     }
 
@@ -37,7 +37,7 @@ import org.eclipse.persistence.testing.jaxb.schemagen.deploymentxml.Employee;
 import junit.framework.TestCase;
 
 public class SchemaGenTestCases extends TestCase {
-    protected static String tmpdir = (System.getenv("T_WORK") == null ? "" : (System.getenv("T_WORK") + "/"));
+    protected static String tmpdir = (System.getenv("T_WORK") == null ? System.getProperty("java.io.tmpdir") : System.getenv("T_WORK")) + "/";
     protected static ClassLoader loader = Thread.currentThread().getContextClassLoader();
 
     /**
@@ -38,7 +38,7 @@ public class SchemaGenXmlElementRefByteArrayTestCases  extends TestCase {
 
     public SchemaGenXmlElementRefByteArrayTestCases(String name) throws Exception {
         super(name);
-        tmpdir = (System.getenv("T_WORK") == null ? "" : (System.getenv("T_WORK") + "/"));
+        tmpdir = (System.getenv("T_WORK") == null ? System.getProperty("java.io.tmpdir") : System.getenv("T_WORK")) + "/";
     }
 
     /**
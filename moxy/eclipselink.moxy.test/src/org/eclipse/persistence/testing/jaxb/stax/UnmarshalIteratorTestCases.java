@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 and Eclipse Distribution License v. 1.0
+ * which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * Contributors:
+ *     Oracle - 2.6 - initial implementation
+ ******************************************************************************/
+package org.eclipse.persistence.testing.jaxb.stax;
+
+import java.io.StringReader;
+import java.util.Iterator;
+
+import javax.json.Json;
+import javax.json.stream.JsonParser;
+import javax.xml.bind.JAXBContext;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamReader;
+
+import org.eclipse.persistence.jaxb.JAXBContextFactory;
+import org.eclipse.persistence.jaxb.JAXBUnmarshaller;
+import org.eclipse.persistence.jaxb.UnmarshallerProperties;
+import org.eclipse.persistence.oxm.MediaType;
+
+import junit.framework.TestCase;
+
+public class UnmarshalIteratorTestCases extends TestCase {
+
+    private static final String XML = "<root><foo><bar>A</bar></foo><other><foo><bar>X</bar></foo></other><foo><bar>B</bar></foo></root>";
+    private static final String JSON = "{\"other\":[{\"bar\":\"X\"}],\"items\":[{\"bar\":\"A\"},{\"bar\":\"B\"}]}";
+    private static final String JSON_ARRAY = "[{\"bar\":\"A\"},{\"bar\":\"B\"}]";
+
+    private JAXBUnmarshaller unmarshaller;
+
+    @Override
+    protected void setUp() throws Exception {
+        JAXBContext jc = JAXBContextFactory.createContext(new Class[] {EndEventChild.class}, null);
+        unmarshaller = (JAXBUnmarshaller) jc.createUnmarshaller();
+    }
+
+    public void testXMLStreamReaderIterator() throws Exception {
+        XMLStreamReader xsr = XMLInputFactory.newFactory().createXMLStreamReader(new StringReader(XML));
+        Iterator<EndEventChild> iterator = unmarshaller.unmarshalIterator(xsr, "root/foo", EndEventChild.class);
+        assertRecords(iterator);
+    }
+
+    public void testXMLStreamReaderIteratorNoMatch() throws Exception {
+        XMLStreamReader xsr = XMLInputFactory.newFactory().createXMLStreamReader(new StringReader(XML));
+        Iterator<EndEventChild> iterator = unmarshaller.unmarshalIterator(xsr, "root/bar", EndEventChild.class);
+        assertFalse(iterator.hasNext());
+    }
+
+    public void testJsonParserIterator() throws Exception {
+        unmarshaller.setProperty(UnmarshallerProperties.MEDIA_TYPE, MediaType.APPLICATION_JSON);
+        unmarshaller.setProperty(UnmarshallerProperties.JSON_INCLUDE_ROOT, false);
+        JsonParser parser = Json.createParser(new StringReader(JSON));
+        Iterator<EndEventChild> iterator = unmarshaller.unmarshalIterator(parser, "items", EndEventChild.class);
+        assertRecords(iterator);
+    }
+
+    public void testJsonParserIteratorRootArray() throws Exception {
+        unmarshaller.setProperty(UnmarshallerProperties.MEDIA_TYPE, MediaType.APPLICATION_JSON);
+        unmarshaller.setProperty(UnmarshallerProperties.JSON_INCLUDE_ROOT, false);
+        JsonParser parser = Json.createParser(new StringReader(JSON_ARRAY));
+        Iterator<EndEventChild> iterator = unmarshaller.unmarshalIterator(parser, null, EndEventChild.class);
+        assertRecords(iterator);
+    }
+
+    private void assertRecords(Iterator<EndEventChild> iterator) {
+        assertTrue(iterator.hasNext());
+        assertEquals("A", iterator.next().bar);
+        assertTrue(iterator.hasNext());
+        assertTrue(iterator.hasNext());
+        assertEquals("B", iterator.next().bar);
+        assertFalse(iterator.hasNext());
+    }
+
+}
@@ -57,7 +57,7 @@ public class GenerateSchemaTestCases extends TestCase {
     
     public GenerateSchemaTestCases(String name) throws Exception {
         super(name);
-        TMP_DIR = (System.getenv("T_WORK") == null ? "" : (System.getenv("T_WORK") + "/"));
+        TMP_DIR = (System.getenv("T_WORK") == null ? System.getProperty("java.io.tmpdir") : System.getenv("T_WORK")) + "/";
         sg = new SchemaModelGenerator(XMLConversionManager.getDefaultXMLManager());
         DocumentBuilderFactory builderFactory = DocumentBuilderFactory.newInstance();
         builderFactory.setIgnoringElementContentWhitespace(true);
@@ -32,6 +32,7 @@ public class XPathEngineTestSuite extends TestCase {
 		suite.addTestSuite(XPathEngineCreateTestCases.class);
 		suite.addTestSuite(XPathEngineRemoveTestCases.class);
 		suite.addTestSuite(XPathEngineReplaceTestCases.class);
+		suite.addTestSuite(XPathNodeChildrenTestCases.class);
 		return suite;
 	}
 
@@ -0,0 +1,193 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 and Eclipse Distribution License v. 1.0
+ * which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * Contributors:
+ *     Oracle - 2.6 - initial implementation
+ ******************************************************************************/
+package org.eclipse.persistence.testing.oxm.xpathengine;
+
+import java.io.StringReader;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+import org.eclipse.persistence.internal.core.sessions.CoreAbstractSession;
+import org.eclipse.persistence.internal.oxm.NamespaceResolver;
+import org.eclipse.persistence.internal.oxm.NodeValue;
+import org.eclipse.persistence.internal.oxm.XPathFragment;
+import org.eclipse.persistence.internal.oxm.XPathNode;
+import org.eclipse.persistence.internal.oxm.record.MarshalContext;
+import org.eclipse.persistence.internal.oxm.record.MarshalRecord;
+import org.eclipse.persistence.oxm.XMLContext;
+import org.eclipse.persistence.oxm.XMLDescriptor;
+import org.eclipse.persistence.oxm.mappings.XMLDirectMapping;
+import org.eclipse.persistence.sessions.Project;
+
+/**
+ * Tests that the children of an XPathNode resolved through its dispatch table
+ * are the ones its children maps return.
+ */
+public class XPathNodeChildrenTestCases extends TestCase {
+    private NamespaceResolver namespaceResolver;
+    private XPathNode root;
+
+    public XPathNodeChildrenTestCases(String name) {
+        super(name);
+    }
+
+    public void setUp() throws Exception {
+        namespaceResolver = new NamespaceResolver();
+        namespaceResolver.put("x", "urn:x");
+        namespaceResolver.put("y", "urn:y");
+        root = new XPathNode();
+    }
+
+    public void testNamespaceAwareMatch() {
+        XPathNode xChild = addChild("x:a");
+        XPathNode yChild = addChild("y:a");
+        XPathNode noNamespaceChild = addChild("a");
+        root.initializeChildrenDispatchTables();
+
+        assertSame(xChild, root.getNonAttributeChild(lookupFragment("a", "urn:x", true)));
+        assertSame(yChild, root.getNonAttributeChild(lookupFragment("a", "urn:y", true)));
+        assertSame(noNamespaceChild, root.getNonAttributeChild(lookupFragment("a", null, true)));
+        assertNull(root.getNonAttributeChild(lookupFragment("a", "urn:z", true)));
+        assertNull(root.getNonAttributeChild(lookupFragment("b", "urn:x", true)));
+    }
+
+    public void testNonNamespaceAwareMatch() {
+        XPathNode child = addChild("x:a");
+        addChild("b");
+        root.initializeChildrenDispatchTables();
+
+        assertSame(child, root.getNonAttributeChild(lookupFragment("a", null, false)));
+        assertSame(child, root.getNonAttributeChild(lookupFragment("a", "urn:y", false)));
+        assertNull(root.getNonAttributeChild(lookupFragment("c", null, false)));
+    }
+
+    public void testAmbiguousMatchOrder() {
+        addChild("x:a");
+        addChild("y:a");
+        addChild("a");
+        root.initializeChildrenDispatchTables();
+
+        XPathFragment lookupFragment = lookupFragment("a", null, false);
+        XPathNode firstMatch = null;
+        for (Map.Entry<XPathFragment, XPathNode> entry : root.getNonAttributeChildrenMap().entrySet()) {
+            if ("a".equals(entry.getKey().getLocalName())) {
+                firstMatch = entry.getValue();
+                break;
+            }
+        }
+        assertNotNull(firstMatch);
+        assertSame(firstMatch, root.getNonAttributeChild(lookupFragment));
+        assertSame(root.getNonAttributeChildrenMap().get(lookupFragment), root.getNonAttributeChild(lookupFragment));
+    }
+
+    public void testInvalidatedByAddChild() {
+        addChild("a");
+        root.initializeChildrenDispatchTables();
+        assertNull(root.getNonAttributeChild(lookupFragment("b", null, true)));
+
+        XPathNode child = addChild("b");
+        assertSame(child, root.getNonAttributeChild(lookupFragment("b", null, true)));
+
+        XPathNode attributeChild = addChild("@b");
+        XPathFragment attributeFragment = lookupFragment("b", null, true);
+        attributeFragment.setAttribute(true);
+        assertSame(attributeChild, root.getAttributeChild(attributeFragment));
+        assertSame(child, root.getNonAttributeChild(lookupFragment("b", null, true)));
+    }
+
+    public void testNestedChildren() {
+        XPathNode child = root.addChild(new XPathFragment("x:a"), new TestNodeValue(), namespaceResolver);
+        XPathNode grandChild = child.addChild(new XPathFragment("b"), new TestNodeValue(), namespaceResolver);
+        root.initializeChildrenDispatchTables();
+
+        assertSame(grandChild, child.getNonAttributeChild(lookupFragment("b", null, true)));
+    }
+
+    public void testIndexedChildUsesChildrenMap() {
+        XPathNode indexedChild = addChild("a[2]");
+        root.initializeChildrenDispatchTables();
+
+        XPathFragment lookupFragment = new XPathFragment("a[2]");
+        assertSame(indexedChild, root.getNonAttributeChild(lookupFragment));
+        assertNull(root.getNonAttributeChild(lookupFragment("a", null, true)));
+    }
+
+    public void testUnmarshalAttributes() {
+        Project project = new Project();
+        XMLDescriptor descriptor = new XMLDescriptor();
+        descriptor.setJavaClass(Attributes.class);
+        descriptor.setDefaultRootElement("root");
+        org.eclipse.persistence.oxm.NamespaceResolver descriptorNamespaceResolver = new org.eclipse.persistence.oxm.NamespaceResolver();
+        descriptorNamespaceResolver.put("x", "urn:x");
+        descriptorNamespaceResolver.put("y", "urn:y");
+        descriptor.setNamespaceResolver(descriptorNamespaceResolver);
+        addAttributeMapping(descriptor, "a", "@a");
+        addAttributeMapping(descriptor, "xA", "@x:a");
+        addAttributeMapping(descriptor, "yB", "@y:b");
+        addAttributeMapping(descriptor, "c", "@c");
+        addAttributeMapping(descriptor, "childD", "child/@d");
+        project.addDescriptor(descriptor);
+
+        // The attributes are in a different order to the mappings, and y:a and x:c must not match @x:a and @c.
+        String xml = "<root xmlns:x=\"urn:x\" xmlns:y=\"urn:y\" c=\"4\" y:a=\"ignored\" y:b=\"3\" x:c=\"ignored\" x:a=\"2\" a=\"1\">"
+            + "<child d=\"5\" a=\"ignored\"/></root>";
+        Attributes attributes = (Attributes) new XMLContext(project).createUnmarshaller().unmarshal(new StringReader(xml));
+
+        assertEquals("1", attributes.a);
+        assertEquals("2", attributes.xA);
+        assertEquals("3", attributes.yB);
+        assertEquals("4", attributes.c);
+        assertEquals("5", attributes.childD);
+    }
+
+    private void addAttributeMapping(XMLDescriptor descriptor, String attributeName, String xPath) {
+        XMLDirectMapping mapping = new XMLDirectMapping();
+        mapping.setAttributeName(attributeName);
+        mapping.setXPath(xPath);
+        descriptor.addMapping(mapping);
+    }
+
+    private XPathNode addChild(String xPath) {
+        return root.addChild(new XPathFragment(xPath), new TestNodeValue(), namespaceResolver);
+    }
+
+    /**
+     * Return a fragment as built by the unmarshal record for an element event.
+     */
+    private XPathFragment lookupFragment(String localName, String namespaceURI, boolean namespaceAware) {
+        XPathFragment xPathFragment = new XPathFragment();
+        xPathFragment.setNamespaceAware(namespaceAware);
+        xPathFragment.setLocalName(localName);
+        xPathFragment.setNamespaceURI(namespaceURI);
+        return xPathFragment;
+    }
+
+    public static class Attributes {
+        public String a;
+        public String xA;
+        public String yB;
+        public String c;
+        public String childD;
+    }
+
+    private static class TestNodeValue extends NodeValue {
+        public boolean marshal(XPathFragment xPathFragment, MarshalRecord marshalRecord, Object object, CoreAbstractSession session, NamespaceResolver namespaceResolver) {
+            return false;
+        }
+
+        public boolean marshalSingleValue(XPathFragment xPathFragment, MarshalRecord marshalRecord, Object object, Object objectValue, CoreAbstractSession session, NamespaceResolver namespaceResolver, MarshalContext marshalContext) {
+            return false;
+        }
+    }
+
+}
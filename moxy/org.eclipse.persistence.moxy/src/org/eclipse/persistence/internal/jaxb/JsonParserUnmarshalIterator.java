@@ -0,0 +1,212 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 and Eclipse Distribution License v. 1.0
+ * which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * Contributors:
+ *     Oracle - 2.6 - initial implementation
+ ******************************************************************************/
+package org.eclipse.persistence.internal.jaxb;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringTokenizer;
+
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import javax.json.stream.JsonParser;
+import javax.json.stream.JsonParser.Event;
+import javax.xml.bind.JAXBElement;
+import javax.xml.bind.JAXBException;
+
+import org.eclipse.persistence.jaxb.JAXBUnmarshaller;
+import org.eclipse.persistence.oxm.json.JsonStructureSource;
+
+/**
+ * INTERNAL:
+ * <p><b>Purpose: </b>Lazily unmarshal the objects of a JSON array read from a
+ * javax.json.stream.JsonParser.
+ * <p>The path is a '/' separated list of keys leading from the root object to
+ * the array, for example "customers" for {"customers":[{...},{...}]}.  An empty
+ * path means the root value itself is the array.  Only the object currently
+ * being unmarshalled is materialized as a JsonObject.
+ */
+public class JsonParserUnmarshalIterator<T> extends UnmarshalIterator<T> {
+
+    private JsonParser parser;
+    private String[] path;
+
+    /** The number of arrays and objects currently open. */
+    private int depth;
+    /** The number of leading path keys matched by the open objects. */
+    private int matched;
+    /** True when the last key read is the next step of the path. */
+    private boolean keyMatched;
+    /** True while the parser is inside the array holding the records. */
+    private boolean inArray;
+
+    private JsonObject record;
+
+    public JsonParserUnmarshalIterator(JAXBUnmarshaller unmarshaller, JsonParser parser, String path, Class<T> javaClass) {
+        super(unmarshaller, javaClass);
+        this.parser = parser;
+        this.path = parsePath(path);
+    }
+
+    @Override
+    protected boolean advance() throws Exception {
+        while (parser.hasNext()) {
+            Event event = parser.next();
+            switch (event) {
+                case KEY_NAME: {
+                    keyMatched = depth == matched + 1 && matched < path.length && path[matched].equals(parser.getString());
+                    break;
+                }
+                case START_OBJECT: {
+                    if (inArray && depth == path.length + 1) {
+                        record = readObject();
+                        return true;
+                    }
+                    depth++;
+                    if (keyMatched && matched < path.length - 1) {
+                        matched++;
+                    }
+                    keyMatched = false;
+                    break;
+                }
+                case START_ARRAY: {
+                    depth++;
+                    if (depth == path.length + 1 && (path.length == 0 || (keyMatched && matched == path.length - 1))) {
+                        matched = path.length;
+                        inArray = true;
+                    }
+                    keyMatched = false;
+                    break;
+                }
+                case END_OBJECT:
+                case END_ARRAY: {
+                    depth--;
+                    if (inArray && depth < path.length + 1) {
+                        inArray = false;
+                    }
+                    if (matched > depth - 1) {
+                        matched = Math.max(depth - 1, 0);
+                    }
+                    break;
+                }
+                default: {
+                    keyMatched = false;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected JAXBElement<T> unmarshalRecord() throws JAXBException {
+        JsonObject jsonObject = record;
+        record = null;
+        return unmarshaller.unmarshal(new JsonStructureSource(jsonObject), javaClass);
+    }
+
+    /**
+     * Build the object the parser is positioned on, consuming events up to
+     * and including its END_OBJECT.
+     */
+    private JsonObject readObject() {
+        JsonObjectBuilder builder = Json.createObjectBuilder();
+        String key = null;
+        while (parser.hasNext()) {
+            Event event = parser.next();
+            switch (event) {
+                case KEY_NAME:
+                    key = parser.getString();
+                    break;
+                case START_OBJECT:
+                    builder.add(key, readObject());
+                    break;
+                case START_ARRAY:
+                    builder.add(key, readArray());
+                    break;
+                case VALUE_STRING:
+                    builder.add(key, parser.getString());
+                    break;
+                case VALUE_NUMBER:
+                    builder.add(key, parser.getBigDecimal());
+                    break;
+                case VALUE_TRUE:
+                    builder.add(key, true);
+                    break;
+                case VALUE_FALSE:
+                    builder.add(key, false);
+                    break;
+                case VALUE_NULL:
+                    builder.addNull(key);
+                    break;
+                case END_OBJECT:
+                    return builder.build();
+                default:
+                    break;
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Build the array the parser is positioned on, consuming events up to
+     * and including its END_ARRAY.
+     */
+    private JsonArray readArray() {
+        JsonArrayBuilder builder = Json.createArrayBuilder();
+        while (parser.hasNext()) {
+            Event event = parser.next();
+            switch (event) {
+                case START_OBJECT:
+                    builder.add(readObject());
+                    break;
+                case START_ARRAY:
+                    builder.add(readArray());
+                    break;
+                case VALUE_STRING:
+                    builder.add(parser.getString());
+                    break;
+                case VALUE_NUMBER:
+                    builder.add(parser.getBigDecimal());
+                    break;
+                case VALUE_TRUE:
+                    builder.add(true);
+                    break;
+                case VALUE_FALSE:
+                    builder.add(false);
+                    break;
+                case VALUE_NULL:
+                    builder.addNull();
+                    break;
+                case END_ARRAY:
+                    return builder.build();
+                default:
+                    break;
+            }
+        }
+        return builder.build();
+    }
+
+    private static String[] parsePath(String path) {
+        List<String> steps = new ArrayList<String>();
+        if (null != path) {
+            StringTokenizer tokenizer = new StringTokenizer(path, "/");
+            while (tokenizer.hasMoreTokens()) {
+                steps.add(tokenizer.nextToken());
+            }
+        }
+        return steps.toArray(new String[steps.size()]);
+    }
+
+}
@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 and Eclipse Distribution License v. 1.0
+ * which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * Contributors:
+ *     Oracle - 2.6 - initial implementation
+ ******************************************************************************/
+package org.eclipse.persistence.internal.jaxb;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import javax.xml.bind.JAXBElement;
+import javax.xml.bind.JAXBException;
+
+import org.eclipse.persistence.exceptions.XMLMarshalException;
+import org.eclipse.persistence.jaxb.JAXBUnmarshaller;
+
+/**
+ * INTERNAL:
+ * <p><b>Purpose: </b>Base class for the lazy iterators returned by
+ * JAXBUnmarshaller.unmarshalIterator.  Each repeating record is located in the
+ * underlying stream and unmarshalled only when it is requested, so memory use
+ * is bounded by the size of a single record rather than the whole document.
+ * <p><b>Responsibilities:</b><ul>
+ * <li>Position the underlying reader on the next record (subclasses)</li>
+ * <li>Unmarshal the record through the owning JAXBUnmarshaller (subclasses)</li>
+ * <li>Convert checked exceptions into XMLMarshalExceptions</li>
+ * </ul>
+ */
+public abstract class UnmarshalIterator<T> implements Iterator<T> {
+
+    protected JAXBUnmarshaller unmarshaller;
+    protected Class<T> javaClass;
+
+    /** True when the reader is positioned on a record that has not been returned yet. */
+    private boolean pending;
+    private boolean exhausted;
+
+    protected UnmarshalIterator(JAXBUnmarshaller unmarshaller, Class<T> javaClass) {
+        this.unmarshaller = unmarshaller;
+        this.javaClass = javaClass;
+    }
+
+    public boolean hasNext() {
+        if (pending) {
+            return true;
+        }
+        if (exhausted) {
+            return false;
+        }
+        try {
+            pending = advance();
+        } catch (XMLMarshalException e) {
+            throw e;
+        } catch (Exception e) {
+            throw XMLMarshalException.unmarshalException(e);
+        }
+        exhausted = !pending;
+        return pending;
+    }
+
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        pending = false;
+        try {
+            JAXBElement<T> element = unmarshalRecord();
+            if (null == element) {
+                return null;
+            }
+            return element.getValue();
+        } catch (JAXBException e) {
+            throw XMLMarshalException.unmarshalException(e);
+        }
+    }
+
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Move the underlying reader forward until it is positioned on the start
+     * of the next record.  Return false if the end of the input was reached.
+     */
+    protected abstract boolean advance() throws Exception;
+
+    /**
+     * Unmarshal the record the underlying reader is positioned on.  The whole
+     * record must be consumed so that a subsequent call to advance() continues
+     * after it.
+     */
+    protected abstract JAXBElement<T> unmarshalRecord() throws JAXBException;
+
+}
@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Oracle and/or its affiliates. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 and Eclipse Distribution License v. 1.0
+ * which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * Contributors:
+ *     Oracle - 2.6 - initial implementation
+ ******************************************************************************/
+package org.eclipse.persistence.internal.jaxb;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.bind.JAXBElement;
+import javax.xml.bind.JAXBException;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamReader;
+
+import org.eclipse.persistence.internal.oxm.Constants;
+import org.eclipse.persistence.jaxb.JAXBUnmarshaller;
+
+/**
+ * INTERNAL:
+ * <p><b>Purpose: </b>Lazily unmarshal the repeating elements found at a path
+ * in an XMLStreamReader.
+ * <p>The path is a '/' separated list of element names starting at the
+ * document root, the last step being the repeating element, for example
+ * "customers/customer".  A step may be qualified with a namespace URI using
+ * the {uri}local notation.  Unqualified steps match on local name only.
+ */
+public class XMLStreamReaderUnmarshalIterator<T> extends UnmarshalIterator<T> {
+
+    private XMLStreamReader streamReader;
+    private QName[] path;
+
+    /** The number of elements currently open above the reader position. */
+    private int depth;
+    /** The number of leading path steps matched by the open elements. */
+    private int matched;
+
+    public XMLStreamReaderUnmarshalIterator(JAXBUnmarshaller unmarshaller, XMLStreamReader streamReader, String path, Class<T> javaClass) {
+        super(unmarshaller, javaClass);
+        this.streamReader = streamReader;
+        this.path = parsePath(path);
+    }
+
+    @Override
+    protected boolean advance() throws Exception {
+        while (true) {
+            int eventType = streamReader.getEventType();
+            if (eventType == XMLStreamReader.START_ELEMENT) {
+                if (matched == depth && matched < path.length && matches(path[matched])) {
+                    if (matched == path.length - 1) {
+                        // Leave the reader on the record, unmarshalRecord will consume it
+                        return true;
+                    }
+                    matched++;
+                }
+                depth++;
+            } else if (eventType == XMLStreamReader.END_ELEMENT) {
+                depth--;
+                if (matched > depth) {
+                    matched = depth;
+                }
+            } else if (eventType == XMLStreamReader.END_DOCUMENT) {
+                return false;
+            }
+            if (!streamReader.hasNext()) {
+                return false;
+            }
+            streamReader.next();
+        }
+    }
+
+    @Override
+    protected JAXBElement<T> unmarshalRecord() throws JAXBException {
+        return unmarshaller.unmarshal(streamReader, javaClass);
+    }
+
+    private boolean matches(QName step) {
+        if (!step.getLocalPart().equals(streamReader.getLocalName())) {
+            return false;
+        }
+        String namespaceURI = step.getNamespaceURI();
+        if (Constants.EMPTY_STRING.equals(namespaceURI)) {
+            return true;
+        }
+        return namespaceURI.equals(streamReader.getNamespaceURI());
+    }
+
+    private static QName[] parsePath(String path) {
+        List<QName> steps = new ArrayList<QName>();
+        int start = 0;
+        boolean inNamespace = false;
+        int length = path.length();
+        for (int x = 0; x <= length; x++) {
+            char next = x < length ? path.charAt(x) : '/';
+            if (next == '{') {
+                inNamespace = true;
+            } else if (next == '}') {
+                inNamespace = false;
+            } else if (next == '/' && !inNamespace) {
+                if (x > start) {
+                    steps.add(QName.valueOf(path.substring(start, x)));
+                }
+                start = x + 1;
+            }
+        }
+        if (steps.isEmpty()) {
+            throw new IllegalArgumentException(path);
+        }
+        return steps.toArray(new QName[steps.size()]);
+    }
+
+}
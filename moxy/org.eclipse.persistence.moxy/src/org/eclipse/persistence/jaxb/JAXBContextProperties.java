@@ -83,8 +83,10 @@ public class JAXBContextProperties {
      * <ul>
      * <li>MediaType.APPLICATION_XML (default)
      * <li>MediaType.APPLICATION_JSON
+     * <li>MediaType.APPLICATION_CBOR
      * <li>"application/xml"
      * <li>"application/json"
+     * <li>"application/cbor"
      * </ul>
      * @since 2.4
      * @see org.eclipse.persistence.jaxb.MarshallerProperties.MEDIA_TYPE
@@ -40,6 +40,7 @@ import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -330,6 +331,8 @@ public class JAXBMarshaller implements javax.xml.bind.Marshaller {
             return this.preferredValidatorFactory;
         } else if (MarshallerProperties.BEAN_VALIDATION_GROUPS.equals(key)) {
             return this.beanValidationGroups;
+        } else if (MarshallerProperties.COLLECTION_FLUSH_SIZE.equals(key)) {
+            return xmlMarshaller.getCollectionFlushSize();
         }
         throw new PropertyException(key);
     }
@@ -598,6 +601,8 @@ public class JAXBMarshaller implements javax.xml.bind.Marshaller {
                 newList.add(modifySingleObjectIfNeeded(Array.get(obj, x)));
             }
             return newList;
+        } else if (obj instanceof Iterator) {
+            return new TransformingIterator((Iterator) obj);
         } else {
             return modifySingleObjectIfNeeded(obj);
         }
@@ -607,7 +612,11 @@ public class JAXBMarshaller implements javax.xml.bind.Marshaller {
 	// let the JAXBIntrospector determine if the object is a JAXBElement
         if (obj instanceof JAXBElement) {
             // use the JAXBElement's properties to populate an XMLRoot
-            return createXMLRootFromJAXBElement((JAXBElement) obj);
+            Root xmlRoot = createXMLRootFromJAXBElement((JAXBElement) obj);
+            if (xmlRoot.getObject() instanceof Iterator) {
+                xmlRoot.setObject(new TransformingIterator((Iterator) xmlRoot.getObject()));
+            }
+            return xmlRoot;
         } else if(obj != null && obj.getClass().isEnum()) {
         	return wrapEnumeration(obj, obj.getClass());
         } else if (obj instanceof JSONWithPadding){
@@ -943,6 +952,11 @@ public class JAXBMarshaller implements javax.xml.bind.Marshaller {
                     throw new PropertyException(key, Constants.EMPTY_STRING);
                 }
                 this.beanValidationGroups = ((Class<?>[]) value);
+            } else if (MarshallerProperties.COLLECTION_FLUSH_SIZE.equals(key)) {
+                if(value == null){
+                    throw new PropertyException(key, Constants.EMPTY_STRING);
+                }
+                xmlMarshaller.setCollectionFlushSize((Integer) value);
             } else {
                 throw new PropertyException(key, value);
             }
@@ -975,6 +989,33 @@ public class JAXBMarshaller implements javax.xml.bind.Marshaller {
         return beanValidator.getConstraintViolations();
     }
 
+    /**
+     * Applies the JAXB specific transformations and bean validation to each
+     * element of an Iterator as it is marshalled, so that the elements are
+     * never collected in memory.
+     */
+    private class TransformingIterator implements Iterator {
+
+        private Iterator iterator;
+
+        public TransformingIterator(Iterator iterator) {
+            this.iterator = iterator;
+        }
+
+        public boolean hasNext() {
+            return iterator.hasNext();
+        }
+
+        public Object next() {
+            return validateAndTransformIfNeeded(iterator.next());
+        }
+
+        public void remove() {
+            iterator.remove();
+        }
+
+    }
+
     private static class CharacterEscapeHandlerWrapper extends org.eclipse.persistence.internal.oxm.record.CharacterEscapeHandlerWrapper implements CharacterEscapeHandler {
 
         public CharacterEscapeHandlerWrapper(Object sunHandler) {
@@ -28,6 +28,7 @@ import java.util.Map.Entry;
 import java.util.Set;
 import java.util.StringTokenizer;
 
+import javax.json.stream.JsonParser;
 import javax.validation.ConstraintViolation;
 import javax.validation.ValidatorFactory;
 import javax.xml.bind.JAXBElement;
@@ -77,8 +78,10 @@ import org.eclipse.persistence.jaxb.JAXBContext.RootLevelXmlAdapter;
 import org.eclipse.persistence.jaxb.attachment.AttachmentUnmarshallerAdapter;
 import org.eclipse.persistence.internal.core.helper.CoreClassConstants;
 import org.eclipse.persistence.internal.jaxb.IDResolverWrapper;
+import org.eclipse.persistence.internal.jaxb.JsonParserUnmarshalIterator;
 import org.eclipse.persistence.internal.jaxb.ObjectGraphImpl;
 import org.eclipse.persistence.internal.jaxb.WrappedValue;
+import org.eclipse.persistence.internal.jaxb.XMLStreamReaderUnmarshalIterator;
 import org.eclipse.persistence.internal.jaxb.many.ManyValue;
 
 /**
@@ -146,7 +149,7 @@ public class JAXBUnmarshaller implements Unmarshaller {
 
     public Object unmarshal(InputStream inputStream) throws JAXBException {
         try {
-            if (xmlUnmarshaller.isAutoDetectMediaType() || xmlUnmarshaller.getMediaType() == MediaType.APPLICATION_JSON || null == jaxbContext.getXMLInputFactory() || XMLUnmarshaller.NONVALIDATING != xmlUnmarshaller.getValidationMode()) {
+            if (xmlUnmarshaller.isAutoDetectMediaType() || xmlUnmarshaller.isApplicationJSON() || null == jaxbContext.getXMLInputFactory() || XMLUnmarshaller.NONVALIDATING != xmlUnmarshaller.getValidationMode()) {
                 return validateAndTransformIfRequired(xmlUnmarshaller.unmarshal(inputStream)); // xml bindings + object inside inputStream
             } else {
                 if (null == inputStream) {
@@ -194,7 +197,7 @@ public class JAXBUnmarshaller implements Unmarshaller {
     public Object unmarshal(Reader reader) throws JAXBException {
 
         try {
-            if (xmlUnmarshaller.isAutoDetectMediaType()   || xmlUnmarshaller.getMediaType() == MediaType.APPLICATION_JSON || null == jaxbContext.getXMLInputFactory() || XMLUnmarshaller.NONVALIDATING != xmlUnmarshaller.getValidationMode()) {
+            if (xmlUnmarshaller.isAutoDetectMediaType()   || xmlUnmarshaller.isApplicationJSON() || null == jaxbContext.getXMLInputFactory() || XMLUnmarshaller.NONVALIDATING != xmlUnmarshaller.getValidationMode()) {
 
                 return validateAndTransformIfRequired(xmlUnmarshaller.unmarshal(reader)); // xml bindings + object inside reader
             } else {
@@ -742,6 +745,44 @@ public class JAXBUnmarshaller implements Unmarshaller {
         }
     }
 
+    /**
+     * Return an Iterator that lazily unmarshals the repeating elements found
+     * at the given path of the XMLStreamReader.  Each element is unmarshalled
+     * to an instance of javaClass only when it is requested, so arbitrarily
+     * large documents can be processed with constant memory.
+     * <p>The path is a '/' separated list of element names starting at the
+     * document root, for example "customers/customer".  A step may be
+     * namespace qualified using the {uri}local notation.
+     * <p>Problems encountered while iterating are reported as
+     * XMLMarshalExceptions.
+     *
+     * @since 2.6.0
+     */
+    public <T> Iterator<T> unmarshalIterator(XMLStreamReader streamReader, String path, Class<T> javaClass) throws JAXBException {
+        if(null == streamReader || null == path || null == javaClass) {
+            throw new IllegalArgumentException();
+        }
+        return new XMLStreamReaderUnmarshalIterator<T>(this, streamReader, path, javaClass);
+    }
+
+    /**
+     * Return an Iterator that lazily unmarshals the objects of a JSON array
+     * read from the JsonParser.  Only the object being unmarshalled is held in
+     * memory.  The path is a '/' separated list of keys leading from the root
+     * object to the array, an empty path means the root value is the array.
+     * <p>Each object is unmarshalled as a javax.json.JsonObject using this
+     * Unmarshaller's JSON settings, typically with
+     * UnmarshallerProperties.JSON_INCLUDE_ROOT set to false.
+     *
+     * @since 2.6.0
+     */
+    public <T> Iterator<T> unmarshalIterator(JsonParser jsonParser, String path, Class<T> javaClass) throws JAXBException {
+        if(null == jsonParser || null == javaClass) {
+            throw new IllegalArgumentException();
+        }
+        return new JsonParserUnmarshalIterator<T>(this, jsonParser, path, javaClass);
+    }
+
     public UnmarshallerHandler getUnmarshallerHandler() {
         return new JAXBUnmarshallerHandler(this);
     }
@@ -100,8 +100,10 @@ public class MarshallerProperties {
      * <ul>
      * <li>MediaType.APPLICATION_XML (default)
      * <li>MediaType.APPLICATION_JSON
+     * <li>MediaType.APPLICATION_CBOR
      * <li>"application/xml"
      * <li>"application/json"
+     * <li>"application/cbor"
      * </ul>
      * @since 2.4
      * @see org.eclipse.persistence.jaxb.JAXBContextProperties.MEDIA_TYPE
@@ -216,4 +218,17 @@ public class MarshallerProperties {
      * @see org.eclipse.persistence.jaxb.UnmarshallerProperties#BEAN_VALIDATION_GROUPS
      */
     public static final String BEAN_VALIDATION_GROUPS = JAXBContextProperties.BEAN_VALIDATION_GROUPS;
+
+    /**
+     * The number of elements of a root level Collection, array or Iterator
+     * after which the marshal output is flushed.  Value must be an Integer,
+     * 0 (the default) only flushes once marshalling is complete.
+     * <p>Combined with an Iterator as the object to marshal this allows large
+     * results to be streamed with bounded memory.  When marshalling XML a
+     * JAXBElement whose value is an Iterator is written as a wrapper element
+     * (named by the JAXBElement) containing one child per element, in JSON the
+     * elements are written as an array.
+     * @since 2.6
+     */
+    public static final String COLLECTION_FLUSH_SIZE = "eclipselink.collection-flush-size";
 }
\ No newline at end of file
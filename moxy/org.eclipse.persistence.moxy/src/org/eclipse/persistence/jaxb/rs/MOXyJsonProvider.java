@@ -27,7 +27,6 @@ import java.lang.reflect.WildcardType;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Deque;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -37,6 +36,12 @@ import java.util.Queue;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.activation.DataSource;
 import javax.ws.rs.Consumes;
@@ -195,21 +200,35 @@ import org.eclipse.persistence.oxm.JSONWithPadding;
  * </pre>
  * @since 2.4
  */
-@Produces({MediaType.APPLICATION_JSON, MediaType.WILDCARD, "application/x-javascript"})
-@Consumes({MediaType.APPLICATION_JSON, MediaType.WILDCARD})
+@Produces({MediaType.APPLICATION_JSON, MediaType.WILDCARD, "application/x-javascript", "application/cbor"})
+@Consumes({MediaType.APPLICATION_JSON, MediaType.WILDCARD, "application/cbor"})
 public class MOXyJsonProvider implements MessageBodyReader<Object>, MessageBodyWriter<Object>{
  
+    private static final String APPLICATION_CBOR = "application/cbor";
     private static final String APPLICATION_XJAVASCRIPT = "application/x-javascript";
+    private static final String CBOR = "cbor";
     private static final String CHARSET = "charset";
+    private static final int DEFAULT_POOL_SIZE = 16;
     private static final QName EMPTY_STRING_QNAME = new QName("");
     private static final String JSON = "json";
+    private static final String PLUS_CBOR = "+cbor";
     private static final String PLUS_JSON = "+json";
 
     @Context
     protected Providers providers;
 
     private String attributePrefix = null;
-    private Map<Class<?>, JAXBContext> contextCache = new HashMap<Class<?>, JAXBContext>();
+    private Map<Class<?>, JAXBContext> contextCache = new ConcurrentHashMap<Class<?>, JAXBContext>();
+    private ConcurrentMap<CacheKey, BlockingQueue<Pooled<Marshaller>>> marshallerPools = new ConcurrentHashMap<CacheKey, BlockingQueue<Pooled<Marshaller>>>();
+    private ConcurrentMap<CacheKey, BlockingQueue<Pooled<Unmarshaller>>> unmarshallerPools = new ConcurrentHashMap<CacheKey, BlockingQueue<Pooled<Unmarshaller>>>();
+    private final AtomicInteger poolGeneration = new AtomicInteger();
+    private final boolean poolMarshallers = !isOverridden("preWriteTo", Object.class, Class.class, Type.class, Annotation[].class, MediaType.class, MultivaluedMap.class, Marshaller.class);
+    private final boolean poolUnmarshallers = !isOverridden("preReadFrom", Class.class, Type.class, Annotation[].class, MediaType.class, MultivaluedMap.class, Unmarshaller.class);
+    private volatile int poolSize = DEFAULT_POOL_SIZE;
+    private AtomicLong marshallerPoolHits = new AtomicLong();
+    private AtomicLong marshallerPoolMisses = new AtomicLong();
+    private AtomicLong unmarshallerPoolHits = new AtomicLong();
+    private AtomicLong unmarshallerPoolMisses = new AtomicLong();
     private boolean formattedOutput = false;
     private boolean includeRoot = false;
     private boolean marshalEmptyCollections = true;
@@ -218,6 +237,86 @@ public class MOXyJsonProvider implements MessageBodyReader<Object>, MessageBodyW
     private String valueWrapper;
     private boolean wrapperAsArrayName = false;
 
+    /**
+     * Return a <i>Marshaller</i> configured with the settings of this
+     * provider, reusing a pooled instance when one is available.  The
+     * generation is read before the settings, so an instance configured while
+     * a setting changes is tagged as stale and is never pooled.
+     */
+    private Pooled<Marshaller> acquireMarshaller(JAXBContext jaxbContext, boolean isCBOR) throws JAXBException {
+        int generation = poolGeneration.get();
+        if(poolMarshallers) {
+            BlockingQueue<Pooled<Marshaller>> pool = marshallerPools.get(new CacheKey(jaxbContext, isCBOR));
+            if(null != pool) {
+                Pooled<Marshaller> pooled;
+                while(null != (pooled = pool.poll())) {
+                    if(pooled.generation == generation) {
+                        marshallerPoolHits.incrementAndGet();
+                        return pooled;
+                    }
+                }
+            }
+            marshallerPoolMisses.incrementAndGet();
+        }
+        Marshaller marshaller = jaxbContext.createMarshaller();
+        marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, formattedOutput);
+        marshaller.setProperty(MarshallerProperties.MEDIA_TYPE, isCBOR ? APPLICATION_CBOR : MediaType.APPLICATION_JSON);
+        marshaller.setProperty(MarshallerProperties.JSON_ATTRIBUTE_PREFIX, attributePrefix);
+        marshaller.setProperty(MarshallerProperties.JSON_INCLUDE_ROOT, includeRoot);
+        marshaller.setProperty(MarshallerProperties.JSON_MARSHAL_EMPTY_COLLECTIONS, marshalEmptyCollections);
+        marshaller.setProperty(MarshallerProperties.JSON_NAMESPACE_SEPARATOR, namespaceSeperator);
+        if(null != valueWrapper) {
+            marshaller.setProperty(MarshallerProperties.JSON_VALUE_WRAPPER, valueWrapper);
+        }
+        marshaller.setProperty(MarshallerProperties.JSON_WRAPPER_AS_ARRAY_NAME, wrapperAsArrayName);
+        marshaller.setProperty(MarshallerProperties.NAMESPACE_PREFIX_MAPPER, namespacePrefixMapper);
+        return new Pooled<Marshaller>(marshaller, generation);
+    }
+
+    /**
+     * Return an <i>Unmarshaller</i> configured with the settings of this
+     * provider, reusing a pooled instance when one is available.
+     */
+    private Pooled<Unmarshaller> acquireUnmarshaller(JAXBContext jaxbContext, boolean isCBOR) throws JAXBException {
+        int generation = poolGeneration.get();
+        if(poolUnmarshallers) {
+            BlockingQueue<Pooled<Unmarshaller>> pool = unmarshallerPools.get(new CacheKey(jaxbContext, isCBOR));
+            if(null != pool) {
+                Pooled<Unmarshaller> pooled;
+                while(null != (pooled = pool.poll())) {
+                    if(pooled.generation == generation) {
+                        unmarshallerPoolHits.incrementAndGet();
+                        return pooled;
+                    }
+                }
+            }
+            unmarshallerPoolMisses.incrementAndGet();
+        }
+        Unmarshaller unmarshaller = jaxbContext.createUnmarshaller();
+        unmarshaller.setProperty(UnmarshallerProperties.MEDIA_TYPE, isCBOR ? APPLICATION_CBOR : MediaType.APPLICATION_JSON);
+        unmarshaller.setProperty(UnmarshallerProperties.JSON_ATTRIBUTE_PREFIX, attributePrefix);
+        unmarshaller.setProperty(UnmarshallerProperties.JSON_INCLUDE_ROOT, includeRoot);
+        unmarshaller.setProperty(UnmarshallerProperties.JSON_NAMESPACE_PREFIX_MAPPER, namespacePrefixMapper);
+        unmarshaller.setProperty(UnmarshallerProperties.JSON_NAMESPACE_SEPARATOR, namespaceSeperator);
+        if(null != valueWrapper) {
+            unmarshaller.setProperty(UnmarshallerProperties.JSON_VALUE_WRAPPER, valueWrapper);
+        }
+        unmarshaller.setProperty(UnmarshallerProperties.JSON_WRAPPER_AS_ARRAY_NAME, wrapperAsArrayName);
+        return new Pooled<Unmarshaller>(unmarshaller, generation);
+    }
+
+    /**
+     * Discard the pooled marshallers and unmarshallers, called when a setting
+     * changes so that instances configured with the old value are not reused.
+     * Instances still in use belong to the previous generation and are dropped
+     * when they are released.
+     */
+    private void clearPools() {
+        poolGeneration.incrementAndGet();
+        marshallerPools.clear();
+        unmarshallerPools.clear();
+    }
+
     /**
      * The value that will be prepended to all keys that are mapped to an XML
      * attribute.  By default there is no attribute prefix.
@@ -325,6 +424,23 @@ public class MOXyJsonProvider implements MessageBodyReader<Object>, MessageBodyW
         }
     }
 
+    /**
+     * The number of times a pooled <i>Marshaller</i> was reused by writeTo.
+     * @since 2.6
+     */
+    public long getMarshallerPoolHits() {
+        return marshallerPoolHits.get();
+    }
+
+    /**
+     * The number of times writeTo had to create a new <i>Marshaller</i>
+     * because none was available in the pool.
+     * @since 2.6
+     */
+    public long getMarshallerPoolMisses() {
+        return marshallerPoolMisses.get();
+    }
+
     /**
      * By default the JSON-binding will ignore namespace qualification. If this 
      * property is set the portion of the key before the namespace separator
@@ -347,6 +463,15 @@ public class MOXyJsonProvider implements MessageBodyReader<Object>, MessageBodyW
         return this.namespaceSeperator;
     }
 
+    /**
+     * The maximum number of idle marshallers, and of idle unmarshallers, kept
+     * per <i>JAXBContext</i> and media type (default is 16).
+     * @since 2.6
+     */
+    public int getPoolSize() {
+        return poolSize;
+    }
+
     /*
      * @return -1 since the size of the JSON message is not known.
      * @see javax.ws.rs.ext.MessageBodyWriter#getSize(java.lang.Object, java.lang.Class, java.lang.reflect.Type, java.lang.annotation.Annotation[], javax.ws.rs.core.MediaType)
@@ -355,6 +480,23 @@ public class MOXyJsonProvider implements MessageBodyReader<Object>, MessageBodyW
         return -1;
     }
 
+    /**
+     * The number of times a pooled <i>Unmarshaller</i> was reused by readFrom.
+     * @since 2.6
+     */
+    public long getUnmarshallerPoolHits() {
+        return unmarshallerPoolHits.get();
+    }
+
+    /**
+     * The number of times readFrom had to create a new <i>Unmarshaller</i>
+     * because none was available in the pool.
+     * @since 2.6
+     */
+    public long getUnmarshallerPoolMisses() {
+        return unmarshallerPoolMisses.get();
+    }
+
     /**
      * The key that will correspond to the property mapped with @XmlValue.  This
      * key will only be used if there are other mapped properties.
@@ -391,6 +533,25 @@ public class MOXyJsonProvider implements MessageBodyReader<Object>, MessageBodyW
         return marshalEmptyCollections;
     }
 
+    /**
+     * Return true if a subclass declares the given hook method.  If this
+     * can't be determined the method is assumed to be overridden.
+     */
+    private boolean isOverridden(String methodName, Class<?>... parameterTypes) {
+        try {
+            for(Class<?> clazz = getClass(); clazz != MOXyJsonProvider.class; clazz = clazz.getSuperclass()) {
+                try {
+                    clazz.getDeclaredMethod(methodName, parameterTypes);
+                    return true;
+                } catch(NoSuchMethodException e) {
+                }
+            }
+            return false;
+        } catch(SecurityException e) {
+            return true;
+        }
+    }
+
     /**
      * @return true indicating that <i>MOXyJsonProvider</i> will
      * be used for the JSON binding if the media type is of the following 
@@ -585,16 +746,9 @@ public class MOXyJsonProvider implements MessageBodyReader<Object>, MessageBodyW
 
             Class<?> domainClass = getDomainClass(genericType);
             JAXBContext jaxbContext = getJAXBContext(domainClass, annotations, mediaType, httpHeaders);
-            Unmarshaller unmarshaller = jaxbContext.createUnmarshaller();
-            unmarshaller.setProperty(UnmarshallerProperties.MEDIA_TYPE, MediaType.APPLICATION_JSON);
-            unmarshaller.setProperty(UnmarshallerProperties.JSON_ATTRIBUTE_PREFIX, attributePrefix);
-            unmarshaller.setProperty(UnmarshallerProperties.JSON_INCLUDE_ROOT, includeRoot);
-            unmarshaller.setProperty(UnmarshallerProperties.JSON_NAMESPACE_PREFIX_MAPPER, namespacePrefixMapper);
-            unmarshaller.setProperty(UnmarshallerProperties.JSON_NAMESPACE_SEPARATOR, namespaceSeperator);
-            if(null != valueWrapper) {
-                unmarshaller.setProperty(UnmarshallerProperties.JSON_VALUE_WRAPPER, valueWrapper);
-            }
-            unmarshaller.setProperty(UnmarshallerProperties.JSON_WRAPPER_AS_ARRAY_NAME, wrapperAsArrayName);
+            boolean isCBOR = isCBOR(mediaType);
+            Pooled<Unmarshaller> pooledUnmarshaller = acquireUnmarshaller(jaxbContext, isCBOR);
+            Unmarshaller unmarshaller = pooledUnmarshaller.instance;
             preReadFrom(type, genericType, annotations, mediaType, httpHeaders, unmarshaller);
 
             StreamSource jsonSource;
@@ -602,7 +756,7 @@ public class MOXyJsonProvider implements MessageBodyReader<Object>, MessageBodyW
             if(null != mediaType) {
                 mediaTypeParameters = mediaType.getParameters();
             }
-            if(null != mediaTypeParameters && mediaTypeParameters.containsKey(CHARSET)) {
+            if(!isCBOR && null != mediaTypeParameters && mediaTypeParameters.containsKey(CHARSET)) {
                 String charSet = mediaTypeParameters.get(CHARSET);
                 Reader entityReader = new InputStreamReader(entityStream, charSet);
                 jsonSource = new StreamSource(entityReader);
@@ -611,6 +765,7 @@ public class MOXyJsonProvider implements MessageBodyReader<Object>, MessageBodyW
             }
 
             JAXBElement<?> jaxbElement = unmarshaller.unmarshal(jsonSource, domainClass);
+            releaseUnmarshaller(jaxbContext, isCBOR, pooledUnmarshaller);
             if(type.isAssignableFrom(JAXBElement.class)) {
                 return jaxbElement;
             } else {
@@ -664,6 +819,52 @@ public class MOXyJsonProvider implements MessageBodyReader<Object>, MessageBodyW
         }
     }
 
+    /**
+     * Return the <i>Marshaller</i> to the pool after a successful writeTo.  An
+     * instance that failed to marshal is not returned and is left to be
+     * garbage collected, as is an instance configured before a setting
+     * changed.
+     */
+    private void releaseMarshaller(JAXBContext jaxbContext, boolean isCBOR, Pooled<Marshaller> marshaller) {
+        int size = poolSize;
+        if(!poolMarshallers || size <= 0 || marshaller.generation != poolGeneration.get()) {
+            return;
+        }
+        CacheKey key = new CacheKey(jaxbContext, isCBOR);
+        BlockingQueue<Pooled<Marshaller>> pool = marshallerPools.get(key);
+        if(null == pool) {
+            BlockingQueue<Pooled<Marshaller>> newPool = new ArrayBlockingQueue<Pooled<Marshaller>>(size);
+            pool = marshallerPools.putIfAbsent(key, newPool);
+            if(null == pool) {
+                pool = newPool;
+            }
+        }
+        pool.offer(marshaller);
+    }
+
+    /**
+     * Return the <i>Unmarshaller</i> to the pool after a successful readFrom.
+     * An instance that failed to unmarshal is not returned and is left to be
+     * garbage collected, as is an instance configured before a setting
+     * changed.
+     */
+    private void releaseUnmarshaller(JAXBContext jaxbContext, boolean isCBOR, Pooled<Unmarshaller> unmarshaller) {
+        int size = poolSize;
+        if(!poolUnmarshallers || size <= 0 || unmarshaller.generation != poolGeneration.get()) {
+            return;
+        }
+        CacheKey key = new CacheKey(jaxbContext, isCBOR);
+        BlockingQueue<Pooled<Unmarshaller>> pool = unmarshallerPools.get(key);
+        if(null == pool) {
+            BlockingQueue<Pooled<Unmarshaller>> newPool = new ArrayBlockingQueue<Pooled<Unmarshaller>>(size);
+            pool = unmarshallerPools.putIfAbsent(key, newPool);
+            if(null == pool) {
+                pool = newPool;
+            }
+        }
+        pool.offer(unmarshaller);
+    }
+
     private boolean wrapItemInJAXBElement(Type genericType) {
         if(genericType == JAXBElement.class) {
             return true;
@@ -698,6 +899,7 @@ public class MOXyJsonProvider implements MessageBodyReader<Object>, MessageBodyW
      */
     public void setAttributePrefix(String attributePrefix) {
         this.attributePrefix = attributePrefix;
+        clearPools();
     }
 
     /**
@@ -707,6 +909,7 @@ public class MOXyJsonProvider implements MessageBodyReader<Object>, MessageBodyW
      */
     public void setFormattedOutput(boolean formattedOutput) {
         this.formattedOutput = formattedOutput;
+        clearPools();
     }
 
     /**
@@ -719,6 +922,7 @@ public class MOXyJsonProvider implements MessageBodyReader<Object>, MessageBodyW
      */
     public void setIncludeRoot(boolean includeRoot) {
         this.includeRoot = includeRoot;
+        clearPools();
     }
 
     /**
@@ -728,6 +932,7 @@ public class MOXyJsonProvider implements MessageBodyReader<Object>, MessageBodyW
      */
     public void setMarshalEmptyCollections(boolean marshalEmptyCollections) {
         this.marshalEmptyCollections = marshalEmptyCollections;
+        clearPools();
     }
 
    /**
@@ -740,6 +945,7 @@ public class MOXyJsonProvider implements MessageBodyReader<Object>, MessageBodyW
      */
     public void setNamespacePrefixMapper(Map<String, String> namespacePrefixMapper) {
         this.namespacePrefixMapper = namespacePrefixMapper;
+        clearPools();
     }
 
     /**
@@ -751,6 +957,22 @@ public class MOXyJsonProvider implements MessageBodyReader<Object>, MessageBodyW
      */
     public void setNamespaceSeparator(char namespaceSeparator) {
         this.namespaceSeperator = namespaceSeparator;
+        clearPools();
+    }
+
+    /**
+     * Specify the maximum number of idle marshallers, and of idle
+     * unmarshallers, kept per <i>JAXBContext</i> and media type (default is
+     * 16).  Pooled instances are configured once with the settings of this
+     * provider and reused by later readFrom/writeTo calls.  A value of 0
+     * disables pooling.  Instances are never pooled for the operation whose
+     * preReadFrom/preWriteTo method is overridden by a subclass, as those
+     * customizations may differ per request.
+     * @since 2.6
+     */
+    public void setPoolSize(int poolSize) {
+        this.poolSize = poolSize;
+        clearPools();
     }
 
     /**
@@ -797,6 +1019,7 @@ public class MOXyJsonProvider implements MessageBodyReader<Object>, MessageBodyW
      */
     public void setWrapperAsArrayName(boolean wrapperAsArrayName) {
         this.wrapperAsArrayName = wrapperAsArrayName;
+        clearPools();
     }
 
     /**
@@ -808,18 +1031,32 @@ public class MOXyJsonProvider implements MessageBodyReader<Object>, MessageBodyW
      */
     public void setValueWrapper(String valueWrapper) {
         this.valueWrapper = valueWrapper;
+        clearPools();
     }
 
     /**
-     * @return true for all media types of the pattern *&#47;json and 
-     * *&#47;*+json.
+     * @return true for all media types of the pattern *&#47;json, 
+     * *&#47;*+json, *&#47;cbor and *&#47;*+cbor.
      */
     protected boolean supportsMediaType(MediaType mediaType) {
         if(null == mediaType) {
             return true;
         }
         String subtype = mediaType.getSubtype();
-        return subtype.equals(JSON) || subtype.endsWith(PLUS_JSON);
+        return subtype.equals(JSON) || subtype.endsWith(PLUS_JSON) || isCBOR(mediaType);
+    }
+
+    /**
+     * @return true for media types of the pattern *&#47;cbor and *&#47;*+cbor
+     * which are read and written as the CBOR encoding of the JSON binding.
+     * @since 2.6
+     */
+    private boolean isCBOR(MediaType mediaType) {
+        if(null == mediaType) {
+            return false;
+        }
+        String subtype = mediaType.getSubtype();
+        return subtype.equals(CBOR) || subtype.endsWith(PLUS_CBOR);
     }
 
     /**
@@ -833,26 +1070,19 @@ public class MOXyJsonProvider implements MessageBodyReader<Object>, MessageBodyW
 
             Class<?> domainClass = getDomainClass(genericType);
             JAXBContext jaxbContext = getJAXBContext(domainClass, annotations, mediaType, httpHeaders);
-            Marshaller marshaller = jaxbContext.createMarshaller();
-            marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, formattedOutput);
-            marshaller.setProperty(MarshallerProperties.MEDIA_TYPE, MediaType.APPLICATION_JSON);
-            marshaller.setProperty(MarshallerProperties.JSON_ATTRIBUTE_PREFIX, attributePrefix);
-            marshaller.setProperty(MarshallerProperties.JSON_INCLUDE_ROOT, includeRoot);
-            marshaller.setProperty(MarshallerProperties.JSON_MARSHAL_EMPTY_COLLECTIONS, marshalEmptyCollections);
-            marshaller.setProperty(MarshallerProperties.JSON_NAMESPACE_SEPARATOR, namespaceSeperator);
-            if(null != valueWrapper) {
-                marshaller.setProperty(MarshallerProperties.JSON_VALUE_WRAPPER, valueWrapper);
-            }
-            marshaller.setProperty(MarshallerProperties.JSON_WRAPPER_AS_ARRAY_NAME, wrapperAsArrayName);
-            marshaller.setProperty(MarshallerProperties.NAMESPACE_PREFIX_MAPPER, namespacePrefixMapper);
+            boolean isCBOR = isCBOR(mediaType);
+            Pooled<Marshaller> pooledMarshaller = acquireMarshaller(jaxbContext, isCBOR);
+            Marshaller marshaller = pooledMarshaller.instance;
 
+            boolean encodingSet = false;
             Map<String, String> mediaTypeParameters = null;
             if(null != mediaType) {
                 mediaTypeParameters = mediaType.getParameters();
             }
-            if(null != mediaTypeParameters && mediaTypeParameters.containsKey(CHARSET)) {
+            if(!isCBOR && null != mediaTypeParameters && mediaTypeParameters.containsKey(CHARSET)) {
                 String charSet = mediaTypeParameters.get(CHARSET);
                 marshaller.setProperty(Marshaller.JAXB_ENCODING, charSet);
+                encodingSet = true;
             }
 
             preWriteTo(object, type, genericType, annotations, mediaType, httpHeaders, marshaller);
@@ -861,9 +1091,61 @@ public class MOXyJsonProvider implements MessageBodyReader<Object>, MessageBodyW
                 object = new JAXBElement(new QName((String) marshaller.getProperty(MarshallerProperties.JSON_VALUE_WRAPPER)), domainClass, object);
             }
             marshaller.marshal(object, entityStream);
+            if(encodingSet) {
+                marshaller.setProperty(Marshaller.JAXB_ENCODING, Constants.DEFAULT_XML_ENCODING);
+            }
+            releaseMarshaller(jaxbContext, isCBOR, pooledMarshaller);
         } catch(JAXBException jaxbException) {
             throw new WebApplicationException(jaxbException);
         }
     }
 
+    /**
+     * A pooled <i>Marshaller</i> or <i>Unmarshaller</i> and the pool
+     * generation whose settings it was configured with.
+     */
+    private static final class Pooled<T> {
+
+        final T instance;
+        final int generation;
+
+        Pooled(T instance, int generation) {
+            this.instance = instance;
+            this.generation = generation;
+        }
+
+    }
+
+    /**
+     * Key for the pool caches, the two parts are compared with equals.
+     */
+    private static final class CacheKey {
+
+        private final Object first;
+        private final Object second;
+
+        CacheKey(Object first, Object second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if(this == obj) {
+                return true;
+            }
+            if(!(obj instanceof CacheKey)) {
+                return false;
+            }
+            CacheKey key = (CacheKey) obj;
+            return first.equals(key.first) && (null == second ? null == key.second : second.equals(key.second));
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * first.hashCode() + (null == second ? 0 : second.hashCode());
+        }
+
+    }
+
 }
\ No newline at end of file